@@ -0,0 +1,203 @@
+package com.binance.api.client.benchmark;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.impl.BinanceApiAsyncExecutorRestClientImpl;
+import com.binance.api.client.impl.BinanceApiAsyncRestClientAdapter;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of dispatching a call through BinanceApiAsyncExecutorRestClientImpl: the hop to the request executor,
+ * the weight scheduler, the hop to the response executor and, on failure, the extra submit of onFailure.
+ * The REST client is stubbed so no time is spent on the network.
+ *
+ * Run with {@code mvn -Pbenchmarks verify -Djmh.args="AsyncDispatch -prof gc"} for the allocation rate, and
+ * {@code -t} in the arguments to set the number of calling threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncDispatchBenchmark {
+
+    /**
+     * The request and response executors under test.
+     */
+    public enum ExecutorConfig {
+        /** runs every task on the calling thread, the cost of the future chain alone */
+        DIRECT,
+        SINGLE,
+        FIXED_4,
+        WORK_STEALING;
+
+        ExecutorService create() {
+            switch (this) {
+                case DIRECT:
+                    return new DirectExecutorService();
+                case SINGLE:
+                    return Executors.newSingleThreadExecutor();
+                case FIXED_4:
+                    return Executors.newFixedThreadPool(4);
+                default:
+                    return Executors.newWorkStealingPool();
+            }
+        }
+    }
+
+    @Param({"DIRECT", "SINGLE", "FIXED_4", "WORK_STEALING"})
+    public ExecutorConfig requestExecutor;
+
+    @Param({"DIRECT", "SINGLE", "FIXED_4", "WORK_STEALING"})
+    public ExecutorConfig responseExecutor;
+
+    private BinanceApiRestClient stub;
+    private ExecutorService requestService;
+    private ExecutorService responseService;
+    private BinanceApiAsyncExecutorRestClient client;
+    private BinanceApiAsyncRestClient adapter;
+
+    @Setup
+    public void setUp() {
+        stub = StubBinanceApiRestClient.create();
+        requestService = requestExecutor.create();
+        responseService = responseExecutor.create();
+        // a budget the benchmark never exhausts, the scheduler's bookkeeping is still measured
+        RequestWeightScheduler unlimited = new RequestWeightScheduler(Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, Duration.ZERO);
+        client = new BinanceApiAsyncExecutorRestClientImpl(stub, requestService, responseService,
+                BinanceApiAsyncExecutorOptions.defaults().requestWeightScheduler(unlimited));
+        adapter = new BinanceApiAsyncRestClientAdapter(client);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestService.shutdownNow();
+        responseService.shutdownNow();
+    }
+
+    /**
+     * The stubbed call made directly, the floor of every other benchmark.
+     */
+    @Benchmark
+    public Long direct() {
+        return stub.getServerTime();
+    }
+
+    /**
+     * A call without a callback, waiting on the returned future.
+     */
+    @Benchmark
+    public ServerTime future() {
+        return client.getServerTime(null).join();
+    }
+
+    /**
+     * A call waiting for its callback to run on the response executor.
+     */
+    @Benchmark
+    public ServerTime callback() {
+        Completion<ServerTime> done = new Completion<>();
+        client.getServerTime(done);
+        return done.join();
+    }
+
+    /**
+     * A coalesced read, which also goes through the in-flight table.
+     */
+    @Benchmark
+    public TickerPrice sharedCallback() {
+        Completion<TickerPrice> done = new Completion<>();
+        client.getPrice("ETHBTC", done);
+        return done.join();
+    }
+
+    /**
+     * A call failing in the REST client, waiting for onFailure.
+     */
+    @Benchmark
+    public Throwable failureCallback() {
+        Completion<Account> done = new Completion<>();
+        client.getAccount(done);
+        return done.handle((v, e) -> e).join();
+    }
+
+    /**
+     * A call through the upstream BinanceApiAsyncRestClient interface by way of the adapter.
+     */
+    @Benchmark
+    public ServerTime adapterCallback() {
+        Completion<ServerTime> done = new Completion<>();
+        adapter.getServerTime(done);
+        return done.join();
+    }
+
+    /**
+     * A callback completing a future the benchmark thread waits on.
+     */
+    private static final class Completion<T> extends CompletableFuture<T> implements BinanceApiCallback<T> {
+        @Override
+        public void onResponse(T response) {
+            complete(response);
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Runs tasks on the submitting thread.
+     */
+    private static final class DirectExecutorService extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
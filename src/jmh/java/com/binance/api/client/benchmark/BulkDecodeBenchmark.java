@@ -0,0 +1,143 @@
+package com.binance.api.client.benchmark;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.market.FixedPointBookTickers;
+import com.binance.api.client.market.StreamingMarketDataDecoder;
+import com.binance.api.client.market.SymbolLookup;
+import com.binance.api.client.market.SymbolScales;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding the bulk ticker responses of 2000 symbols: binding the whole response to domain objects, as
+ * the upstream client's Jackson converter does, and then picking the wanted symbols, against decoding it token by
+ * token with {@link StreamingMarketDataDecoder}, which skips the unwanted symbols.  The responses are held in
+ * memory so no time is spent on the network, and every symbol takes the default scale.
+ *
+ * Run with {@code mvn -Pbenchmarks verify -Djmh.args="BulkDecode -prof gc"} for the garbage created per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkDecodeBenchmark {
+    private static final int SYMBOLS = 2000;
+
+    /**
+     * The number of symbols wanted out of the response.
+     */
+    @Param({"50", "2000"})
+    public int wanted;
+
+    private byte[] statistics;
+    private byte[] bookTickers;
+    private Set<String> symbols;
+    private ObjectReader statisticsReader;
+    private ObjectReader bookTickersReader;
+    private StreamingMarketDataDecoder decoder;
+    private FixedPointBookTickers view;
+
+    @Setup
+    public void setUp() {
+        statistics = statistics().getBytes(StandardCharsets.UTF_8);
+        bookTickers = bookTickers().getBytes(StandardCharsets.UTF_8);
+        symbols = new HashSet<>();
+        for (int i = 0; i < SYMBOLS && symbols.size() < wanted; i += SYMBOLS / wanted) {
+            symbols.add(symbol(i));
+        }
+        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        statisticsReader = mapper.readerFor(new TypeReference<List<TickerStatistics>>() {});
+        bookTickersReader = mapper.readerFor(new TypeReference<List<BookTicker>>() {});
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(Collections.emptyList());
+        decoder = new StreamingMarketDataDecoder(SymbolLookup.of(symbols), SymbolScales.from(exchangeInfo));
+        view = new FixedPointBookTickers();
+    }
+
+    /**
+     * The upstream path: the response bound to a list of TickerStatistics, then filtered.
+     */
+    @Benchmark
+    public void bindStatistics(Blackhole bh) throws IOException {
+        List<TickerStatistics> all = statisticsReader.readValue(statistics);
+        for (TickerStatistics t : all) {
+            if (symbols.contains(t.getSymbol())) {
+                bh.consume(t);
+            }
+        }
+    }
+
+    /**
+     * The streaming path: the wanted rows decoded to fixed point into the decoder's row.
+     */
+    @Benchmark
+    public int streamStatistics(Blackhole bh) throws IOException {
+        return decoder.decodeStatistics24Hr(new ByteArrayInputStream(statistics), bh::consume);
+    }
+
+    @Benchmark
+    public void bindBookTickers(Blackhole bh) throws IOException {
+        List<BookTicker> all = bookTickersReader.readValue(bookTickers);
+        for (BookTicker t : all) {
+            if (symbols.contains(t.getSymbol())) {
+                bh.consume(t);
+            }
+        }
+    }
+
+    @Benchmark
+    public FixedPointBookTickers streamBookTickers() throws IOException {
+        return decoder.decodeBookTickers(new ByteArrayInputStream(bookTickers), view);
+    }
+
+    private static String symbol(int i) {
+        return "SYM" + i + "USDT";
+    }
+
+    private static String statistics() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < SYMBOLS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"symbol\":\"").append(symbol(i)).append("\",\"priceChange\":\"-0.00100000\",")
+                    .append("\"priceChangePercent\":\"-1.234\",\"weightedAvgPrice\":\"1.23456789\",")
+                    .append("\"prevClosePrice\":\"1.00000000\",\"lastPrice\":\"1.00").append(i % 100).append("000\",")
+                    .append("\"lastQty\":\"5.00000000\",\"bidPrice\":\"1.00000000\",\"bidQty\":\"2.00000000\",")
+                    .append("\"askPrice\":\"1.01000000\",\"askQty\":\"3.00000000\",\"openPrice\":\"1.00000000\",")
+                    .append("\"highPrice\":\"1.10000000\",\"lowPrice\":\"0.90000000\",\"volume\":\"12345.00000000\",")
+                    .append("\"quoteVolume\":\"15000.12345678\",\"openTime\":1700000000000,\"closeTime\":1700086400000,")
+                    .append("\"firstId\":100,\"lastId\":200,\"count\":101}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String bookTickers() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < SYMBOLS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"symbol\":\"").append(symbol(i)).append("\",\"bidPrice\":\"1.00").append(i % 100)
+                    .append("000\",\"bidQty\":\"2.00000000\",\"askPrice\":\"1.01000000\",\"askQty\":\"3.00000000\"}");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.binance.api.client.benchmark;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * A BinanceApiRestClient answering from memory, so the benchmarks measure the dispatch and not the network.
+ */
+final class StubBinanceApiRestClient {
+    static final String FAILURE = "stubbed failure";
+
+    private StubBinanceApiRestClient() {
+    }
+
+    /**
+     * getServerTime and getPrice return canned responses, getAccount throws and every other call returns null.
+     */
+    static BinanceApiRestClient create() {
+        Long serverTime = 1640995200000L;
+        TickerPrice price = new TickerPrice();
+        price.setSymbol("ETHBTC");
+        price.setPrice("0.08000000");
+        BinanceApiException failure = new BinanceApiException(FAILURE);
+        return (BinanceApiRestClient) Proxy.newProxyInstance(BinanceApiRestClient.class.getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getServerTime":
+                            return serverTime;
+                        case "getPrice":
+                            return price;
+                        case "getAccount":
+                            throw failure;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
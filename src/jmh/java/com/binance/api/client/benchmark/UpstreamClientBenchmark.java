@@ -0,0 +1,158 @@
+package com.binance.api.client.benchmark;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.impl.BinanceApiAsyncExecutorRestClientImpl;
+import com.binance.api.client.impl.BinanceApiAsyncRestClientImpl;
+import com.binance.api.client.impl.BinanceApiRestClientImpl;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import com.binance.api.client.impl.NonBlockingBinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.binance.api.client.replay.RecordedCall;
+import com.binance.api.client.replay.ReplayServer;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips over HTTP to a local {@link ReplayServer}, answering at once, through the upstream
+ * BinanceApiAsyncRestClientImpl, which enqueues its calls on OkHttp's dispatcher, and through the clients built on
+ * the upstream ones: BinanceApiAsyncExecutorRestClientImpl blocking a request thread in BinanceApiRestClientImpl,
+ * and NonBlockingBinanceApiAsyncExecutorRestClient on top of BinanceApiAsyncRestClientImpl.  The difference to
+ * the upstream client is what the extensions cost on a real connection.
+ *
+ * The upstream clients are pointed at the server by giving them a Retrofit service built for the server's url,
+ * over the upstream shared OkHttpClient.
+ *
+ * Run with {@code mvn -Pbenchmarks verify -Djmh.args="UpstreamClient -prof gc"}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpstreamClientBenchmark {
+    private ReplayServer server;
+    private ExecutorService requestService;
+    private ExecutorService responseService;
+    private BinanceApiAsyncRestClient upstream;
+    private BinanceApiAsyncExecutorRestClient executor;
+    private BinanceApiAsyncExecutorRestClient nonBlocking;
+
+    @Setup
+    public void setUp() throws IOException, ReflectiveOperationException {
+        server = new ReplayServer(Arrays.asList(
+                response("getServerTime", "[]", "{\"serverTime\":1650000000000}"),
+                response("getPrice", "[\"ETHBTC\"]", "{\"symbol\":\"ETHBTC\",\"price\":\"0.07473200\"}")), 0);
+        BinanceApiService service = new Retrofit.Builder()
+                .baseUrl(server.getBaseUrl())
+                .client(BinanceApiServiceGenerator.getSharedClient())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(BinanceApiService.class);
+        upstream = withService(new BinanceApiAsyncRestClientImpl(null, null), service);
+        BinanceApiRestClient blocking = withService(new BinanceApiRestClientImpl(null, null), service);
+
+        requestService = Executors.newFixedThreadPool(4);
+        responseService = Executors.newFixedThreadPool(4);
+        // a budget the benchmark never exhausts, as in AsyncDispatchBenchmark
+        RequestWeightScheduler unlimited = new RequestWeightScheduler(Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, Duration.ZERO);
+        executor = new BinanceApiAsyncExecutorRestClientImpl(blocking, requestService, responseService,
+                BinanceApiAsyncExecutorOptions.defaults().requestWeightScheduler(unlimited));
+        nonBlocking = new NonBlockingBinanceApiAsyncExecutorRestClient(upstream, responseService,
+                BinanceApiAsyncExecutorOptions.defaults().requestWeightScheduler(unlimited));
+    }
+
+    private static RecordedCall response(String method, String arguments, String body) {
+        return new RecordedCall(0, 0, method, arguments, RecordedCall.Outcome.RESPONSE, 0,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Replaces the Retrofit service of an upstream client, the field is found by its type.
+     */
+    private static <T> T withService(T client, BinanceApiService service) throws ReflectiveOperationException {
+        for (Field field : client.getClass().getDeclaredFields()) {
+            if (field.getType() == BinanceApiService.class) {
+                field.setAccessible(true);
+                field.set(client, service);
+                return client;
+            }
+        }
+        throw new NoSuchFieldException("No BinanceApiService in " + client.getClass());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+        requestService.shutdownNow();
+        responseService.shutdownNow();
+    }
+
+    @Benchmark
+    public ServerTime upstreamServerTime() {
+        Completion<ServerTime> done = new Completion<>();
+        upstream.getServerTime(done);
+        return done.join();
+    }
+
+    @Benchmark
+    public ServerTime executorServerTime() {
+        return executor.getServerTime(null).join();
+    }
+
+    @Benchmark
+    public ServerTime nonBlockingServerTime() {
+        return nonBlocking.getServerTime(null).join();
+    }
+
+    @Benchmark
+    public TickerPrice upstreamPrice() {
+        Completion<TickerPrice> done = new Completion<>();
+        upstream.getPrice("ETHBTC", done);
+        return done.join();
+    }
+
+    @Benchmark
+    public TickerPrice executorPrice() {
+        return executor.getPrice("ETHBTC", null).join();
+    }
+
+    @Benchmark
+    public TickerPrice nonBlockingPrice() {
+        return nonBlocking.getPrice("ETHBTC", null).join();
+    }
+
+    /**
+     * A callback completing a future the benchmark thread waits on.
+     */
+    private static final class Completion<T> extends CompletableFuture<T> implements BinanceApiCallback<T> {
+        @Override
+        public void onResponse(T response) {
+            complete(response);
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.binance.api.client;
+
+import com.binance.api.client.impl.HedgingPolicy;
+import com.binance.api.client.impl.RetryPolicy;
+import com.binance.api.client.limit.AdaptiveConcurrencyLimiter;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+
+/**
+ * Optional behaviour of the {@link BinanceApiAsyncExecutorRestClient}.
+ */
+public class BinanceApiAsyncExecutorOptions {
+  private RequestWeightScheduler requestWeightScheduler = new RequestWeightScheduler();
+  private BinanceApiMetrics metrics = BinanceApiMetrics.NOOP;
+  private boolean orderedCallbacks;
+  private HedgingPolicy hedgingPolicy;
+  private AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private RetryPolicy retryPolicy;
+
+  /**
+   * @return options with the defaults for every setting.
+   */
+  public static BinanceApiAsyncExecutorOptions defaults() {
+    return new BinanceApiAsyncExecutorOptions();
+  }
+
+  public RequestWeightScheduler getRequestWeightScheduler() {
+    return requestWeightScheduler;
+  }
+
+  /**
+   * The scheduler keeping requests within Binance's rate limits.  Share one scheduler between all the clients
+   * of a process as the limits are applied per IP and account.
+   */
+  public BinanceApiAsyncExecutorOptions requestWeightScheduler(RequestWeightScheduler requestWeightScheduler) {
+    this.requestWeightScheduler = requestWeightScheduler;
+    return this;
+  }
+
+  public BinanceApiMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Receives the queue, call and response timings of every request, see
+   * {@link com.binance.api.client.metrics.HistogramBinanceApiMetrics}.  Nothing is recorded by default.
+   */
+  public BinanceApiAsyncExecutorOptions metrics(BinanceApiMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  public boolean isOrderedCallbacks() {
+    return orderedCallbacks;
+  }
+
+  /**
+   * Runs the callbacks of the requests for one symbol one at a time, in the order the requests were made, while
+   * callbacks of different symbols run in parallel on the response executor.  Calls without a symbol are not
+   * ordered.  Off by default.
+   */
+  public BinanceApiAsyncExecutorOptions orderedCallbacks(boolean orderedCallbacks) {
+    this.orderedCallbacks = orderedCallbacks;
+    return this;
+  }
+
+  public HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
+  /**
+   * Sends slow idempotent reads a second time and uses the first answer, see {@link HedgingPolicy}.  Off by
+   * default.
+   */
+  public BinanceApiAsyncExecutorOptions hedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+    return this;
+  }
+
+  public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
+  /**
+   * Caps the requests in flight with a limit adapted to the observed round trips, queueing and shedding the
+   * requests over it, see {@link AdaptiveConcurrencyLimiter}.  Requests are not limited by default.
+   */
+  public BinanceApiAsyncExecutorOptions concurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+    return this;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Retries idempotent requests which failed transiently, and holds back every request while the exchange is
+   * rejecting them for exceeding its rate limits, see {@link RetryPolicy}.  Requests are not retried by default.
+   */
+  public BinanceApiAsyncExecutorOptions retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+}
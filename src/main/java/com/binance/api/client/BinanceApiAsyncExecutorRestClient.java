@@ -7,12 +7,23 @@ import com.binance.api.client.domain.general.Asset;
 import com.binance.api.client.domain.general.ExchangeInfo;
 import com.binance.api.client.domain.general.ServerTime;
 import com.binance.api.client.domain.market.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Binance API facade, supporting asynchronous/non-blocking access Binance's REST API using ExecutorServices to
  * handling the request and response threading.
+ *
+ * Identical market data requests made while one is already in flight may be served by that single call, in which
+ * case the response objects are shared between the callers and should be treated as read only.
+ *
+ * Cancelling a returned future aborts its call, and a deadline can be set for the calls made on a thread with
+ * {@link BinanceApiRequestContext}.  A call to an endpoint which is not idempotent, such as a new order, aborted
+ * after it was sent fails with a {@link com.binance.api.client.exception.BinanceApiUnknownOutcomeException}.
+ * A call shared between identical requests is only aborted once every request sharing it has been cancelled, and
+ * a request only shares a call whose deadline is no earlier than its own.
  */
 public interface BinanceApiAsyncExecutorRestClient {
 
@@ -160,6 +171,23 @@ public interface BinanceApiAsyncExecutorRestClient {
    */
   CompletableFuture<List<BookTicker>> getBookTickers(BinanceApiCallback<List<BookTicker>> callback);
 
+  /**
+   * Get latest prices for several symbols (asynchronous).  Depending on the number of symbols the prices are
+   * requested one by one or taken from a single call for all symbols, whichever costs the least request weight.
+   *
+   * @param symbols ticker symbols (e.g. ETHBTC)
+   * @param callback the callback that handles the response, a map of price by symbol. Unknown symbols are absent.
+   */
+  CompletableFuture<Map<String, TickerPrice>> getPrices(Collection<String> symbols, BinanceApiCallback<Map<String, TickerPrice>> callback);
+
+  /**
+   * Get best price/qty on the order book for several symbols, taken from a single call for all symbols (asynchronous).
+   *
+   * @param symbols ticker symbols (e.g. ETHBTC)
+   * @param callback the callback that handles the response, a map of book ticker by symbol. Unknown symbols are absent.
+   */
+  CompletableFuture<Map<String, BookTicker>> getBookTickers(Collection<String> symbols, BinanceApiCallback<Map<String, BookTicker>> callback);
+
   // Account endpoints
 
   /**
@@ -4,7 +4,16 @@ import com.binance.api.client.config.BinanceApiConfig;
 import com.binance.api.client.impl.BinanceApiAsyncExecutorRestClientImpl;
 import com.binance.api.client.impl.BinanceApiAsyncRestClientAdapter;
 import com.binance.api.client.impl.BinanceApiAsyncRestClientImpl;
+import com.binance.api.client.impl.CachingBinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.impl.CallCanceller;
+import com.binance.api.client.impl.NonBlockingBinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.impl.PriorityLaneExecutor;
+import com.binance.api.client.impl.VirtualThreadExecutors;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.binance.api.client.market.StreamingMarketDataClient;
 
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
 public class BinanceApiClientExtensionFactory {
@@ -13,6 +22,16 @@ public class BinanceApiClientExtensionFactory {
      */
     private BinanceApiClientFactory factory;
 
+    /**
+     * API Key
+     */
+    private final String apiKey;
+
+    /**
+     * Secret
+     */
+    private final String secret;
+
     /**
      * Instantiates a new binance api client factory.
      *
@@ -21,6 +40,29 @@ public class BinanceApiClientExtensionFactory {
      */
     private BinanceApiClientExtensionFactory(String apiKey, String secret) {
         factory = BinanceApiClientFactory.newInstance(apiKey, secret);
+        this.apiKey = apiKey;
+        this.secret = secret;
+    }
+
+    /**
+     * New instance.
+     *
+     * @param apiKey the API key
+     * @param secret the Secret
+     *
+     * @return the binance api client extension factory
+     */
+    public static BinanceApiClientExtensionFactory newInstance(String apiKey, String secret) {
+        return new BinanceApiClientExtensionFactory(apiKey, secret);
+    }
+
+    /**
+     * New instance without authentication.
+     *
+     * @return the binance api client extension factory
+     */
+    public static BinanceApiClientExtensionFactory newInstance() {
+        return new BinanceApiClientExtensionFactory(null, null);
     }
 
     /**
@@ -33,7 +75,139 @@ public class BinanceApiClientExtensionFactory {
      */
     public BinanceApiAsyncExecutorRestClient newAsyncExecutorRestClient(ExecutorService requestService,
                                                                         ExecutorService responseService) {
-        return new BinanceApiAsyncExecutorRestClientImpl(factory.newRestClient(), requestService, responseService);
+        return newAsyncExecutorRestClient(requestService, responseService, BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that uses Executor Services for handling
+     * the request and response threading.  Its HTTP calls are cancelled when aborted, rather than holding their
+     * request thread until the read timeout.
+     *
+     * @param requestService
+     * @param responseService
+     * @param options
+     * @return
+     */
+    public BinanceApiAsyncExecutorRestClient newAsyncExecutorRestClient(ExecutorService requestService,
+                                                                        ExecutorService responseService,
+                                                                        BinanceApiAsyncExecutorOptions options) {
+        CallCanceller canceller = new CallCanceller(options.getRetryPolicy(), options.getRequestWeightScheduler());
+        return new BinanceApiAsyncExecutorRestClientImpl(canceller.newRestClient(apiKey, secret), canceller, requestService,
+                responseService, options);
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client on top of the non-blocking HTTP client, so no thread is
+     * held while a request is in flight.  The response service only runs the callbacks.
+     *
+     * @param responseService
+     * @return
+     */
+    public BinanceApiAsyncExecutorRestClient newNonBlockingAsyncExecutorRestClient(ExecutorService responseService) {
+        return newNonBlockingAsyncExecutorRestClient(responseService, BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client on top of the non-blocking HTTP client, so no thread is
+     * held while a request is in flight.  The response service only runs the callbacks.  The rate limit headers of
+     * the responses are given to the options' scheduler and retry policy, see {@link CallCanceller}.
+     *
+     * @param responseService
+     * @param options
+     * @return
+     */
+    public BinanceApiAsyncExecutorRestClient newNonBlockingAsyncExecutorRestClient(ExecutorService responseService,
+                                                                                   BinanceApiAsyncExecutorOptions options) {
+        CallCanceller headers = new CallCanceller(options.getRetryPolicy(), options.getRequestWeightScheduler());
+        return new NonBlockingBinanceApiAsyncExecutorRestClient(headers.newAsyncRestClient(BinanceApiConfig.getApiBaseUrl(), apiKey, secret),
+                responseService, options);
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that caches the exchange info, assets and deposit
+     * addresses, refreshing them in the background once they are older than their default TTL.
+     *
+     * @param requestService
+     * @param responseService
+     * @return
+     */
+    public CachingBinanceApiAsyncExecutorRestClient newCachingAsyncExecutorRestClient(ExecutorService requestService,
+                                                                                      ExecutorService responseService) {
+        return new CachingBinanceApiAsyncExecutorRestClient(newAsyncExecutorRestClient(requestService, responseService),
+                responseService);
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that runs each blocking request on its own virtual
+     * thread, so the number of requests in flight is not bounded by the size of a request pool.
+     * Requires JDK 21 or later.
+     *
+     * @param responseService
+     * @return
+     * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+     */
+    public BinanceApiAsyncExecutorRestClient newVirtualThreadAsyncExecutorRestClient(ExecutorService responseService) {
+        return newVirtualThreadAsyncExecutorRestClient(responseService, BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that runs each blocking request on its own virtual
+     * thread, so the number of requests in flight is not bounded by the size of a request pool.
+     * Requires JDK 21 or later.
+     *
+     * @param responseService
+     * @param options
+     * @return
+     * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+     */
+    public BinanceApiAsyncExecutorRestClient newVirtualThreadAsyncExecutorRestClient(ExecutorService responseService,
+                                                                                     BinanceApiAsyncExecutorOptions options) {
+        return newAsyncExecutorRestClient(VirtualThreadExecutors.newVirtualThreadPerTaskExecutor(), responseService, options);
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that queues requests in priority lanes: orders first,
+     * then account calls, then market data, with threads reserved for each lane.
+     *
+     * @param maxConcurrency the maximum number of requests running at once
+     * @param reserved the number of threads reserved for each lane, see {@link PriorityLaneExecutor#defaultReserved()}
+     * @param responseService
+     * @return
+     */
+    public BinanceApiAsyncExecutorRestClient newPriorityLaneAsyncExecutorRestClient(int maxConcurrency,
+                                                                                    Map<BinanceApiEndpoint.Lane, Integer> reserved,
+                                                                                    ExecutorService responseService) {
+        return newPriorityLaneAsyncExecutorRestClient(maxConcurrency, reserved, responseService,
+                BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    /**
+     * Creates a new asynchronous/non-blocking REST client that queues requests in priority lanes: orders first,
+     * then account calls, then market data, with threads reserved for each lane.
+     *
+     * @param maxConcurrency the maximum number of requests running at once
+     * @param reserved the number of threads reserved for each lane, see {@link PriorityLaneExecutor#defaultReserved()}
+     * @param responseService
+     * @param options
+     * @return
+     */
+    public BinanceApiAsyncExecutorRestClient newPriorityLaneAsyncExecutorRestClient(int maxConcurrency,
+                                                                                    Map<BinanceApiEndpoint.Lane, Integer> reserved,
+                                                                                    ExecutorService responseService,
+                                                                                    BinanceApiAsyncExecutorOptions options) {
+        return newAsyncExecutorRestClient(new PriorityLaneExecutor(maxConcurrency, reserved), responseService, options);
+    }
+
+    /**
+     * Creates a new client fetching the bulk market data endpoints and decoding them as they stream in, keeping
+     * only the symbols wanted.
+     *
+     * @param requestService
+     * @param scheduler the scheduler shared with the other clients, see {@link BinanceApiAsyncExecutorOptions#getRequestWeightScheduler()}
+     * @return
+     */
+    public StreamingMarketDataClient newStreamingMarketDataClient(Executor requestService, RequestWeightScheduler scheduler) {
+        return new StreamingMarketDataClient(BinanceApiConfig.getApiBaseUrl(), requestService, scheduler);
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.binance.api.client;
+
+/**
+ * The REST endpoints reachable through {@link BinanceApiAsyncExecutorRestClient} along with the request weight
+ * Binance charges for each of them.
+ */
+public enum BinanceApiEndpoint {
+
+  // General endpoints
+  PING(1, Lane.MARKET_DATA),
+  SERVER_TIME(1, Lane.MARKET_DATA),
+  EXCHANGE_INFO(10, Lane.MARKET_DATA),
+  ALL_ASSETS(1, Lane.MARKET_DATA),
+
+  // Market Data endpoints
+  ORDER_BOOK(1, Lane.MARKET_DATA),
+  TRADES(1, Lane.MARKET_DATA),
+  HISTORICAL_TRADES(5, Lane.MARKET_DATA),
+  AGG_TRADES(1, Lane.MARKET_DATA),
+  CANDLESTICK_BARS(1, Lane.MARKET_DATA),
+  PRICE_STATISTICS_24HR(1, Lane.MARKET_DATA),
+  ALL_PRICE_STATISTICS_24HR(40, Lane.MARKET_DATA),
+  ALL_PRICES(2, Lane.MARKET_DATA),
+  PRICE(1, Lane.MARKET_DATA),
+  BOOK_TICKERS(2, Lane.MARKET_DATA),
+
+  // Account endpoints
+  NEW_ORDER(1, Lane.TRADING),
+  NEW_ORDER_TEST(1, Lane.TRADING),
+  ORDER_STATUS(1, Lane.TRADING),
+  CANCEL_ORDER(1, Lane.TRADING),
+  OPEN_ORDERS(1, Lane.ACCOUNT),
+  ALL_ORDERS(5, Lane.ACCOUNT),
+  ACCOUNT(5, Lane.ACCOUNT),
+  MY_TRADES(5, Lane.ACCOUNT),
+  WITHDRAW(1, Lane.ACCOUNT),
+  DEPOSIT_HISTORY(1, Lane.ACCOUNT),
+  WITHDRAW_HISTORY(1, Lane.ACCOUNT),
+  DEPOSIT_ADDRESS(1, Lane.ACCOUNT),
+
+  // User stream endpoints
+  START_USER_DATA_STREAM(1, Lane.ACCOUNT),
+  KEEP_ALIVE_USER_DATA_STREAM(1, Lane.ACCOUNT),
+  CLOSE_USER_DATA_STREAM(1, Lane.ACCOUNT);
+
+  /**
+   * Weight of the open orders endpoint when no symbol is given.
+   */
+  private static final int ALL_OPEN_ORDERS_WEIGHT = 40;
+
+  /**
+   * The priority lanes requests are queued in, highest priority first.
+   */
+  public enum Lane {
+    /** placing, cancelling and querying orders */
+    TRADING,
+    /** account, wallet and user stream calls */
+    ACCOUNT,
+    /** public market data */
+    MARKET_DATA
+  }
+
+  private final int weight;
+  private final Lane lane;
+
+  BinanceApiEndpoint(int weight, Lane lane) {
+    this.weight = weight;
+    this.lane = lane;
+  }
+
+  /**
+   * @return the request weight of a call with default parameters.
+   */
+  public int getWeight() {
+    return weight;
+  }
+
+  /**
+   * @return the priority lane of the calls to this endpoint.
+   */
+  public Lane getLane() {
+    return lane;
+  }
+
+  /**
+   * @return true if a call to this endpoint counts towards the ORDERS rate limit.
+   */
+  public boolean isOrder() {
+    return this == NEW_ORDER;
+  }
+
+  /**
+   * @return false if repeating a call to this endpoint can have a different effect than making it once, so a call
+   * aborted in flight has an unknown outcome and must not be retried blindly.
+   */
+  public boolean isIdempotent() {
+    return this != NEW_ORDER && this != CANCEL_ORDER && this != WITHDRAW;
+  }
+
+  /**
+   * Request weight of the order book endpoint, which is charged by depth.
+   *
+   * @param limit depth of the order book, null for the default of 100
+   */
+  public static int orderBookWeight(Integer limit) {
+    if (limit == null || limit <= 100) {
+      return 1;
+    } else if (limit <= 500) {
+      return 5;
+    } else if (limit <= 1000) {
+      return 10;
+    }
+    return 50;
+  }
+
+  /**
+   * Request weight of the open orders endpoint, which is charged heavily when no symbol is given.
+   *
+   * @param symbol the symbol to query or null for all symbols
+   */
+  public static int openOrdersWeight(String symbol) {
+    return symbol == null ? ALL_OPEN_ORDERS_WEIGHT : OPEN_ORDERS.weight;
+  }
+}
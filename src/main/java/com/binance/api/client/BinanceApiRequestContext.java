@@ -0,0 +1,83 @@
+package com.binance.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A deadline for the requests made on the current thread:
+ * <pre>
+ * try (BinanceApiRequestContext.Scope scope = BinanceApiRequestContext.withTimeout(Duration.ofMillis(200))) {
+ *     client.getOrderStatus(request, callback);
+ * }
+ * </pre>
+ * A request still queued at its deadline is dropped without being sent.  A request in flight at its deadline is
+ * aborted by interrupting the thread making the call, its future fails with a
+ * {@link com.binance.api.client.exception.BinanceApiDeadlineExceededException}, or with a
+ * {@link com.binance.api.client.exception.BinanceApiUnknownOutcomeException} if the endpoint is not idempotent.
+ *
+ * Scopes nest, a request gets the earliest deadline of the scopes open when it is made.
+ */
+public final class BinanceApiRequestContext {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final ThreadLocal<long[]> DEADLINE = ThreadLocal.withInitial(() -> new long[]{NO_DEADLINE});
+
+    private BinanceApiRequestContext() {
+    }
+
+    /**
+     * An open deadline, closing it restores the previous one.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final long previous;
+        private boolean closed;
+
+        private Scope(long previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                DEADLINE.get()[0] = previous;
+            }
+        }
+    }
+
+    /**
+     * Sets a deadline for the requests made on this thread until the scope is closed.
+     */
+    public static Scope withTimeout(Duration timeout) {
+        return withDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Sets a deadline for the requests made on this thread until the scope is closed.
+     *
+     * @param deadlineNanos the deadline on the {@link System#nanoTime()} clock
+     */
+    public static Scope withDeadline(long deadlineNanos) {
+        long[] current = DEADLINE.get();
+        Scope scope = new Scope(current[0]);
+        if (current[0] == NO_DEADLINE || deadlineNanos - current[0] < 0) {
+            current[0] = deadlineNanos;
+        }
+        return scope;
+    }
+
+    /**
+     * @return the deadline of this thread on the {@link System#nanoTime()} clock, or NO_DEADLINE.
+     */
+    public static long getDeadline() {
+        return DEADLINE.get()[0];
+    }
+
+    /**
+     * @return the time left until the deadline of this thread, Long.MAX_VALUE if there is none.
+     */
+    public static long remaining(TimeUnit unit) {
+        long deadline = getDeadline();
+        return deadline == NO_DEADLINE ? Long.MAX_VALUE : unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+}
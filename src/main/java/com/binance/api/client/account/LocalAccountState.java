@@ -0,0 +1,460 @@
+package com.binance.api.client.account;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEventType;
+import com.binance.api.client.market.FixedPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balances and open orders of an account maintained locally from a {@link BinanceApiAsyncExecutorRestClient#getAccount}
+ * and {@link BinanceApiAsyncExecutorRestClient#getOpenOrders} snapshot and the events of a user data stream:
+ * <ol>
+ *     <li>a user data stream is started and its events are buffered while the snapshot is fetched</li>
+ *     <li>the buffered events newer than the snapshot are applied in order on top of it, older ones are already
+ *     reflected in it and dropped</li>
+ *     <li>each following event updates the balances of the assets it carries, or the order it is about</li>
+ * </ol>
+ * The listen key of the stream is kept alive on a schedule and the state is periodically reconciled with a new
+ * snapshot, so an event missed without the feed failing is corrected.  A failure of the feed, or of a keepalive,
+ * starts a new stream and rebuilds the state.
+ *
+ * An event is newer than the snapshot if its time is after the account's update time, which moves with every
+ * order placed, filled or cancelled as each of them locks or releases a balance.
+ *
+ * Open orders are identified by their symbol and order id, order ids are only unique within a symbol.
+ *
+ * Balances are held as fixed point longs with 8 decimals, see {@link FixedPoint}.  The read methods do not call
+ * the exchange and can be called from any thread while the state is updated.
+ */
+public class LocalAccountState implements Closeable {
+    public static final int SCALE = 8;
+    public static final Duration DEFAULT_KEEP_ALIVE_INTERVAL = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final BinanceApiAsyncExecutorRestClient client;
+    private final UserDataEventSource source;
+    private final long keepAliveMillis;
+    private final long reconcileMillis;
+    private final long retryDelayMillis;
+
+    private final ArrayDeque<UserDataUpdateEvent> buffer = new ArrayDeque<>();
+    private final Object sync = new Object();
+
+    private volatile Map<String, Balance> balances = new ConcurrentHashMap<>();
+    private volatile Map<OrderKey, Order> orders = new ConcurrentHashMap<>();
+    private volatile boolean live;
+    private volatile long lastEventTime;
+    private volatile long restartCount;
+    private volatile long reconcileCount;
+    private volatile boolean closed;
+    private boolean started;
+    private boolean syncing;
+    private int generation;
+    private String listenKey;
+    private Closeable subscription;
+
+    public LocalAccountState(BinanceApiAsyncExecutorRestClient client, UserDataEventSource source) {
+        this(client, source, DEFAULT_KEEP_ALIVE_INTERVAL, DEFAULT_RECONCILE_INTERVAL, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * @param client the client fetching the snapshots and managing the user data stream
+     * @param source the user data events
+     * @param keepAliveInterval the interval between keepalives of the listen key, Binance expires it after 60 minutes
+     * @param reconcileInterval the interval between snapshots fetched to reconcile the state
+     * @param retryDelay the delay before retrying a snapshot or a stream start which failed
+     */
+    public LocalAccountState(BinanceApiAsyncExecutorRestClient client, UserDataEventSource source,
+                             Duration keepAliveInterval, Duration reconcileInterval, Duration retryDelay) {
+        this.client = client;
+        this.source = source;
+        this.keepAliveMillis = keepAliveInterval.toMillis();
+        this.reconcileMillis = reconcileInterval.toMillis();
+        this.retryDelayMillis = retryDelay.toMillis();
+    }
+
+    /**
+     * Starts a user data stream, subscribes to its events and fetches the first snapshot.
+     */
+    public void start() {
+        synchronized (sync) {
+            if (started || closed) {
+                throw new IllegalStateException("Account state already started");
+            }
+            started = true;
+            connect();
+        }
+        schedule(keepAliveMillis, this::keepAlive);
+        schedule(reconcileMillis, this::reconcile);
+    }
+
+    private static void schedule(long delayMillis, Runnable task) {
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(task);
+    }
+
+    /**
+     * Starts a new user data stream and rebuilds the state from it, called holding the sync monitor.  Events of
+     * the previous stream are ignored from now on.
+     */
+    private void connect() {
+        int g = ++generation;
+        live = false;
+        syncing = true;
+        buffer.clear();
+        if (subscription != null) {
+            closeQuietly(subscription);
+            subscription = null;
+        }
+        client.startUserDataStream(null).whenComplete((key, e) -> {
+            synchronized (sync) {
+                if (closed || g != generation) {
+                    return;
+                }
+                if (e != null) {
+                    retry(g, this::connect);
+                    return;
+                }
+                listenKey = key.getListenKey();
+                subscription = source.subscribe(listenKey, new BinanceApiCallback<UserDataUpdateEvent>() {
+                    @Override
+                    public void onResponse(UserDataUpdateEvent event) {
+                        onEvent(g, event);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable cause) {
+                        restart(g);
+                    }
+                });
+                fetchSnapshot(g);
+            }
+        });
+    }
+
+    /**
+     * Runs an action of the current generation after the retry delay.
+     */
+    private void retry(int g, Runnable action) {
+        schedule(retryDelayMillis, () -> {
+            synchronized (sync) {
+                if (!closed && g == generation) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void restart(int g) {
+        synchronized (sync) {
+            if (closed || g != generation) {
+                return;
+            }
+            restartCount++;
+            connect();
+        }
+    }
+
+    private static void closeQuietly(Closeable c) {
+        try {
+            c.close();
+        } catch (IOException | RuntimeException e) {
+            // the subscription is being replaced
+        }
+    }
+
+    /**
+     * Fetches a snapshot, called holding the sync monitor.  Events are buffered until it arrives.
+     */
+    private void fetchSnapshot(int g) {
+        syncing = true;
+        CompletableFuture<Account> account = client.getAccount(null);
+        CompletableFuture<List<Order>> openOrders = client.getOpenOrders(new OrderRequest(null), null);
+        CompletableFuture.allOf(account, openOrders).whenComplete((v, e) -> {
+            synchronized (sync) {
+                if (closed || g != generation) {
+                    return;
+                }
+                if (e != null) {
+                    retry(g, () -> fetchSnapshot(g));
+                } else {
+                    onSnapshot(account.join(), openOrders.join());
+                }
+            }
+        });
+    }
+
+    private void onSnapshot(Account account, List<Order> openOrders) {
+        Map<String, Balance> balances = new ConcurrentHashMap<>();
+        for (AssetBalance balance : account.getBalances()) {
+            balances.put(balance.getAsset(), new Balance(balance));
+        }
+        Map<OrderKey, Order> orders = new ConcurrentHashMap<>();
+        for (Order order : openOrders) {
+            orders.put(new OrderKey(order.getSymbol(), order.getOrderId()), order);
+        }
+        while (!buffer.isEmpty()) {
+            UserDataUpdateEvent event = buffer.poll();
+            if (event.getEventTime() > account.getUpdateTime()) {
+                apply(event, balances, orders);
+            }
+        }
+        this.balances = balances;
+        this.orders = orders;
+        syncing = false;
+        live = true;
+    }
+
+    private void onEvent(int g, UserDataUpdateEvent event) {
+        synchronized (sync) {
+            if (closed || g != generation) {
+                return;
+            }
+            if (syncing) {
+                buffer.add(event);
+            } else {
+                apply(event, balances, orders);
+            }
+        }
+    }
+
+    private void apply(UserDataUpdateEvent event, Map<String, Balance> balances, Map<OrderKey, Order> orders) {
+        if (event.getEventType() == UserDataUpdateEventType.ACCOUNT_UPDATE) {
+            for (AssetBalance balance : event.getAccountUpdateEvent().getBalances()) {
+                balances.put(balance.getAsset(), new Balance(balance));
+            }
+        } else if (event.getEventType() == UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+            apply(event.getOrderTradeUpdateEvent(), orders);
+        }
+        lastEventTime = event.getEventTime();
+    }
+
+    /**
+     * Replaces the open order with its new state, or removes it once it is no longer open.  Order objects are
+     * never changed once they are in the state, readers may hold on to them.
+     */
+    private static void apply(OrderTradeUpdateEvent event, Map<OrderKey, Order> orders) {
+        OrderKey key = new OrderKey(event.getSymbol(), event.getOrderId());
+        switch (event.getOrderStatus()) {
+            case NEW:
+            case PARTIALLY_FILLED:
+            case PENDING_CANCEL:
+                Order previous = orders.get(key);
+                Order order = new Order();
+                order.setSymbol(event.getSymbol());
+                order.setOrderId(event.getOrderId());
+                order.setClientOrderId(event.getNewClientOrderId());
+                order.setPrice(event.getPrice());
+                order.setOrigQty(event.getOriginalQuantity());
+                order.setExecutedQty(event.getAccumulatedQuantity());
+                order.setStatus(event.getOrderStatus());
+                order.setTimeInForce(event.getTimeInForce());
+                order.setType(event.getType());
+                order.setSide(event.getSide());
+                if (previous != null) {
+                    order.setStopPrice(previous.getStopPrice());
+                    order.setIcebergQty(previous.getIcebergQty());
+                    order.setTime(previous.getTime());
+                } else {
+                    order.setTime(event.getOrderTradeTime() != null ? event.getOrderTradeTime() : event.getEventTime());
+                }
+                orders.put(key, order);
+                break;
+            default:
+                orders.remove(key);
+        }
+    }
+
+    private void keepAlive() {
+        String key;
+        int g;
+        synchronized (sync) {
+            if (closed) {
+                return;
+            }
+            key = listenKey;
+            g = generation;
+        }
+        if (key != null) {
+            client.keepAliveUserDataStream(key, null).whenComplete((v, e) -> {
+                if (e != null) {
+                    // the listen key may have expired, its events would stop without the feed failing
+                    restart(g);
+                }
+            });
+        }
+        schedule(keepAliveMillis, this::keepAlive);
+    }
+
+    private void reconcile() {
+        synchronized (sync) {
+            if (closed) {
+                return;
+            }
+            if (!syncing) {
+                reconcileCount++;
+                fetchSnapshot(generation);
+            }
+        }
+        schedule(reconcileMillis, this::reconcile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Closeable s;
+        String key;
+        synchronized (sync) {
+            closed = true;
+            live = false;
+            s = subscription;
+            subscription = null;
+            key = listenKey;
+            buffer.clear();
+        }
+        if (key != null) {
+            client.closeUserDataStream(key, null);
+        }
+        if (s != null) {
+            s.close();
+        }
+    }
+
+    /**
+     * @return true if the state is in sync with the exchange, false while it is waiting for the first snapshot
+     * of a stream.
+     */
+    public boolean isLive() {
+        return live;
+    }
+
+    /**
+     * @return the time of the last event applied.
+     */
+    public long getLastEventTime() {
+        return lastEventTime;
+    }
+
+    /**
+     * @return the number of times a new stream had to be started after a failure.
+     */
+    public long getRestartCount() {
+        return restartCount;
+    }
+
+    /**
+     * @return the number of snapshots fetched to reconcile the state.
+     */
+    public long getReconcileCount() {
+        return reconcileCount;
+    }
+
+    /**
+     * @return the free balance of the asset, or 0 if the account holds none.
+     */
+    public long getFree(String asset) {
+        Balance balance = balances.get(asset);
+        return balance == null ? 0 : balance.free;
+    }
+
+    /**
+     * @return the balance of the asset locked in open orders, or 0 if the account holds none.
+     */
+    public long getLocked(String asset) {
+        Balance balance = balances.get(asset);
+        return balance == null ? 0 : balance.locked;
+    }
+
+    /**
+     * @return the assets the account holds a balance of.
+     */
+    public Set<String> getAssets() {
+        return Collections.unmodifiableSet(balances.keySet());
+    }
+
+    /**
+     * @return the open order, or null if it is not open.
+     */
+    public Order getOpenOrder(String symbol, long orderId) {
+        return orders.get(new OrderKey(symbol, orderId));
+    }
+
+    /**
+     * @return the open orders of all symbols.
+     */
+    public List<Order> getOpenOrders() {
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * @return the open orders of the symbol.
+     */
+    public List<Order> getOpenOrders(String symbol) {
+        List<Order> open = new ArrayList<>();
+        for (Order order : orders.values()) {
+            if (order.getSymbol().equals(symbol)) {
+                open.add(order);
+            }
+        }
+        return open;
+    }
+
+    /**
+     * @return the number of open orders of all symbols.
+     */
+    public int getOpenOrderCount() {
+        return orders.size();
+    }
+
+    private static final class OrderKey {
+        private final String symbol;
+        private final long orderId;
+
+        private OrderKey(String symbol, long orderId) {
+            this.symbol = symbol;
+            this.orderId = orderId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof OrderKey)) {
+                return false;
+            }
+            OrderKey other = (OrderKey) o;
+            return orderId == other.orderId && symbol.equals(other.symbol);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * symbol.hashCode() + Long.hashCode(orderId);
+        }
+    }
+
+    private static final class Balance {
+        private final long free;
+        private final long locked;
+
+        private Balance(AssetBalance balance) {
+            this.free = FixedPoint.parse(balance.getFree(), SCALE);
+            this.locked = FixedPoint.parse(balance.getLocked(), SCALE);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.binance.api.client.account;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+
+import java.io.Closeable;
+
+/**
+ * A feed of user data events, such as the user data web socket stream or a replay of recorded events.
+ */
+@FunctionalInterface
+public interface UserDataEventSource {
+
+  /**
+   * Starts delivering the account and order events of a user data stream.  Events must be delivered in order and
+   * one at a time.
+   *
+   * @param listenKey the listen key of the stream
+   * @param callback receives the events
+   * @return closing it stops the events
+   */
+  Closeable subscribe(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback);
+}
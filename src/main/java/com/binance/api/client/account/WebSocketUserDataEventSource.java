@@ -0,0 +1,23 @@
+package com.binance.api.client.account;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+
+import java.io.Closeable;
+
+/**
+ * User data events from Binance's user data web socket stream.
+ */
+public class WebSocketUserDataEventSource implements UserDataEventSource {
+    private final BinanceApiWebSocketClient client;
+
+    public WebSocketUserDataEventSource(BinanceApiWebSocketClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Closeable subscribe(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback) {
+        return client.onUserDataUpdateEvent(listenKey, callback);
+    }
+}
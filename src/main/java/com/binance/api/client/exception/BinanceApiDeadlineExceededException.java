@@ -0,0 +1,21 @@
+package com.binance.api.client.exception;
+
+/**
+ * Thrown when a request reaches its deadline, see {@link com.binance.api.client.BinanceApiRequestContext}.
+ * The request was either never sent or, for an idempotent endpoint, aborted while in flight.
+ */
+public class BinanceApiDeadlineExceededException extends BinanceApiException {
+    private final boolean sent;
+
+    public BinanceApiDeadlineExceededException(String message, boolean sent) {
+        super(message);
+        this.sent = sent;
+    }
+
+    /**
+     * @return true if the request may have reached the exchange before it was aborted.
+     */
+    public boolean isSent() {
+        return sent;
+    }
+}
@@ -0,0 +1,12 @@
+package com.binance.api.client.exception;
+
+/**
+ * Thrown when a request is shed by the client because too many requests are already waiting, see
+ * {@link com.binance.api.client.limit.AdaptiveConcurrencyLimiter}.  The request never reached the exchange.
+ */
+public class BinanceApiOverloadException extends BinanceApiException {
+
+    public BinanceApiOverloadException(String message) {
+        super(message);
+    }
+}
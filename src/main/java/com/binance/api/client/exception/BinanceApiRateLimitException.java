@@ -0,0 +1,21 @@
+package com.binance.api.client.exception;
+
+/**
+ * Thrown when a request is rejected locally because sending it would exceed one of Binance's rate limits.
+ * The request never reached the exchange.
+ */
+public class BinanceApiRateLimitException extends BinanceApiException {
+    private final long retryAfterMillis;
+
+    public BinanceApiRateLimitException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return the number of milliseconds after which the request could be admitted, or Long.MAX_VALUE if it never can.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,17 @@
+package com.binance.api.client.exception;
+
+/**
+ * Thrown when a call to an endpoint which is not idempotent, such as a new order, was aborted after it was sent.
+ * The exchange may or may not have acted on it: query its state, for example the order status by client order
+ * id, before sending it again.
+ */
+public class BinanceApiUnknownOutcomeException extends BinanceApiException {
+
+    public BinanceApiUnknownOutcomeException(String message) {
+        super(message);
+    }
+
+    public BinanceApiUnknownOutcomeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,112 @@
+package com.binance.api.client.history;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.market.CandlestickIntervals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Streams historical candlesticks and aggregate trades for a time range.  The range is split into windows which
+ * are fetched concurrently through the async client, so the download runs on its requestService and within the
+ * request weight budget of its scheduler, and the rows are published in timestamp order with backpressure.
+ */
+public class BinanceApiHistoryDownloader {
+    /**
+     * The maximum number of rows Binance returns per call.
+     */
+    public static final int MAX_LIMIT = 1000;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    /**
+     * The longest range Binance accepts for aggregate trades between a start and an end time.  Windows are
+     * requested up to their last millisecond, so a window of exactly this length is accepted.
+     */
+    public static final Duration MAX_AGG_TRADE_WINDOW = Duration.ofHours(1);
+    public static final Duration DEFAULT_AGG_TRADE_WINDOW = MAX_AGG_TRADE_WINDOW;
+
+    private final BinanceApiAsyncExecutorRestClient client;
+    private final Executor deliveryService;
+    private final int maxConcurrency;
+    private final long aggTradeWindowMillis;
+
+    /**
+     * @param client the client making the calls
+     * @param deliveryService the executor the subscribers are called on
+     */
+    public BinanceApiHistoryDownloader(BinanceApiAsyncExecutorRestClient client, Executor deliveryService) {
+        this(client, deliveryService, DEFAULT_MAX_CONCURRENCY, DEFAULT_AGG_TRADE_WINDOW);
+    }
+
+    /**
+     * @param client the client making the calls
+     * @param deliveryService the executor the subscribers are called on
+     * @param maxConcurrency the number of windows fetched, or buffered, ahead of each subscriber
+     * @param aggTradeWindow the length of the windows aggregate trades are fetched in, at most one hour
+     */
+    public BinanceApiHistoryDownloader(BinanceApiAsyncExecutorRestClient client, Executor deliveryService,
+                                       int maxConcurrency, Duration aggTradeWindow) {
+        if (aggTradeWindow.toMillis() <= 0 || aggTradeWindow.compareTo(MAX_AGG_TRADE_WINDOW) > 0) {
+            throw new IllegalArgumentException("Aggregate trade windows must be between 1ms and "
+                    + MAX_AGG_TRADE_WINDOW.toMinutes() + " minutes, not " + aggTradeWindow);
+        }
+        this.client = client;
+        this.deliveryService = deliveryService;
+        this.maxConcurrency = maxConcurrency;
+        this.aggTradeWindowMillis = aggTradeWindow.toMillis();
+    }
+
+    /**
+     * Candlesticks opened in the range, in open time order.
+     *
+     * @param symbol symbol to download (mandatory)
+     * @param interval candlestick interval (mandatory)
+     * @param startTime timestamp in ms of the start of the range, inclusive
+     * @param endTime timestamp in ms of the end of the range, exclusive
+     */
+    public Flow.Publisher<Candlestick> candlesticks(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+        long window = CandlestickIntervals.toMillis(interval) * MAX_LIMIT;
+        return new WindowedHistoryPublisher<>(startTime, endTime, window, maxConcurrency,
+                (from, to) -> client.getCandlestickBars(symbol, interval, MAX_LIMIT, from, to - 1, null),
+                deliveryService);
+    }
+
+    /**
+     * Aggregate trades made in the range, in trade time order.
+     *
+     * @param symbol symbol to download (mandatory)
+     * @param startTime timestamp in ms of the start of the range, inclusive
+     * @param endTime timestamp in ms of the end of the range, exclusive
+     */
+    public Flow.Publisher<AggTrade> aggTrades(String symbol, long startTime, long endTime) {
+        return new WindowedHistoryPublisher<>(startTime, endTime, aggTradeWindowMillis, maxConcurrency,
+                (from, to) -> client.getAggTrades(symbol, null, MAX_LIMIT, from, to - 1, null)
+                        .thenCompose(first -> remainingAggTrades(symbol, to, new ArrayList<>(first), first.size())),
+                deliveryService);
+    }
+
+    /**
+     * A window holding more trades than fit in one call is paged through by trade id until the end of the window.
+     */
+    private CompletableFuture<List<AggTrade>> remainingAggTrades(String symbol, long to, List<AggTrade> trades, int lastPageSize) {
+        if (lastPageSize < MAX_LIMIT || trades.isEmpty()) {
+            return CompletableFuture.completedFuture(trades);
+        }
+        String fromId = String.valueOf(trades.get(trades.size() - 1).getAggregatedTradeId() + 1);
+        return client.getAggTrades(symbol, fromId, MAX_LIMIT, null, null, null).thenCompose(page -> {
+            for (AggTrade trade : page) {
+                if (trade.getTradeTime() >= to) {
+                    return CompletableFuture.completedFuture(trades);
+                }
+                trades.add(trade);
+            }
+            return remainingAggTrades(symbol, to, trades, page.size());
+        });
+    }
+}
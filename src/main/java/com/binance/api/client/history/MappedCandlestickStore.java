@@ -0,0 +1,487 @@
+package com.binance.api.client.history;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.market.FixedPoint;
+import com.binance.api.client.market.SymbolScales;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A persistent columnar store of the closed candlesticks of one symbol and interval.  Each column is a memory
+ * mapped file of longs.  Opening a store only maps the files, so a restart is near instant, and the column
+ * accessors read straight from the mapping without creating objects or taking a lock.
+ *
+ * Prices are held as fixed point with {@link #PRICE_SCALE} decimals, the precision Binance reports them with.
+ * Volumes have a scale of their own, chosen when the store is created: at 8 decimals a long holds volumes below
+ * 92 billion, which the base volume of a low priced token or the monthly quote volume of a major pair can exceed,
+ * while the symbol's lot step size usually needs far fewer, see {@link SymbolScales}.  Bars holding a value which
+ * does not fit its column are rejected, not stored.
+ *
+ * The store covers one contiguous time range: it holds every bar Binance has opened in [coveredFrom, coveredTo).
+ * Bars are added at either end of the range, adding before the start rewrites the columns in place.
+ */
+public class MappedCandlestickStore implements Closeable {
+    public static final int PRICE_SCALE = SymbolScales.DEFAULT_SCALE;
+    public static final int DEFAULT_VOLUME_SCALE = SymbolScales.DEFAULT_SCALE;
+
+    private static final int MAGIC = 0x4B4C4E45;
+    /**
+     * Version 1 held every column at 8 decimals, version 2 adds the volume scales to the header.
+     */
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int OPEN_TIME = 0;
+    private static final int CLOSE_TIME = 1;
+    private static final int OPEN = 2;
+    private static final int HIGH = 3;
+    private static final int LOW = 4;
+    private static final int CLOSE = 5;
+    private static final int VOLUME = 6;
+    private static final int QUOTE_ASSET_VOLUME = 7;
+    private static final int NUMBER_OF_TRADES = 8;
+    private static final int TAKER_BUY_BASE_ASSET_VOLUME = 9;
+    private static final int TAKER_BUY_QUOTE_ASSET_VOLUME = 10;
+    private static final String[] COLUMNS = {"openTime", "closeTime", "open", "high", "low", "close", "volume",
+            "quoteAssetVolume", "numberOfTrades", "takerBuyBaseAssetVolume", "takerBuyQuoteAssetVolume"};
+
+    private final String symbol;
+    private final CandlestickInterval interval;
+    private final FileChannel headerChannel;
+    private final MappedByteBuffer header;
+    private final FileChannel[] channels = new FileChannel[COLUMNS.length];
+    private final MappedByteBuffer[] columns = new MappedByteBuffer[COLUMNS.length];
+    private final int volumeScale;
+    private final int quoteVolumeScale;
+    private final int[] scales = new int[COLUMNS.length];
+    private final StampedLock lock = new StampedLock();
+    private int capacity;
+    private volatile int size;
+    private volatile long coveredFrom;
+    private volatile long coveredTo;
+
+    private MappedCandlestickStore(Path directory, String symbol, CandlestickInterval interval, int volumeScale,
+                                   int quoteVolumeScale) throws IOException {
+        checkScale(volumeScale);
+        checkScale(quoteVolumeScale);
+        this.symbol = symbol;
+        this.interval = interval;
+        Files.createDirectories(directory);
+        headerChannel = FileChannel.open(directory.resolve("header"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = headerChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(0) == MAGIC) {
+            int version = header.getInt(4);
+            if (version < 1 || version > VERSION || header.getInt(8) != PRICE_SCALE) {
+                throw new IOException("Unsupported candlestick store in " + directory);
+            }
+            size = header.getInt(12);
+            coveredFrom = header.getLong(16);
+            coveredTo = header.getLong(24);
+            // an existing store keeps the scales it was created with
+            if (version == 1) {
+                header.putInt(32, PRICE_SCALE);
+                header.putInt(36, PRICE_SCALE);
+                header.putInt(4, VERSION);
+            }
+            volumeScale = header.getInt(32);
+            quoteVolumeScale = header.getInt(36);
+        } else {
+            header.putInt(4, VERSION);
+            header.putInt(8, PRICE_SCALE);
+            header.putInt(12, 0);
+            header.putLong(16, 0);
+            header.putLong(24, 0);
+            header.putInt(32, volumeScale);
+            header.putInt(36, quoteVolumeScale);
+            header.putInt(0, MAGIC);
+        }
+        this.volumeScale = volumeScale;
+        this.quoteVolumeScale = quoteVolumeScale;
+        scales[OPEN] = PRICE_SCALE;
+        scales[HIGH] = PRICE_SCALE;
+        scales[LOW] = PRICE_SCALE;
+        scales[CLOSE] = PRICE_SCALE;
+        scales[VOLUME] = volumeScale;
+        scales[TAKER_BUY_BASE_ASSET_VOLUME] = volumeScale;
+        scales[QUOTE_ASSET_VOLUME] = quoteVolumeScale;
+        scales[TAKER_BUY_QUOTE_ASSET_VOLUME] = quoteVolumeScale;
+        capacity = Math.max(INITIAL_CAPACITY, size);
+        for (int c = 0; c < COLUMNS.length; c++) {
+            channels[c] = FileChannel.open(directory.resolve(COLUMNS[c] + ".col"), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            columns[c] = channels[c].map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * Long.BYTES);
+        }
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > SymbolScales.DEFAULT_SCALE) {
+            throw new IllegalArgumentException("Scale " + scale + " is not between 0 and " + SymbolScales.DEFAULT_SCALE);
+        }
+    }
+
+    /**
+     * Opens, or creates with volumes at {@link #DEFAULT_VOLUME_SCALE} decimals, the store of a symbol and interval
+     * under a root directory.
+     */
+    public static MappedCandlestickStore open(Path root, String symbol, CandlestickInterval interval) throws IOException {
+        return open(root, symbol, interval, DEFAULT_VOLUME_SCALE, DEFAULT_VOLUME_SCALE);
+    }
+
+    /**
+     * Opens, or creates with volumes at the symbol's quantity and quote scales, the store of a symbol and interval.
+     */
+    public static MappedCandlestickStore open(Path root, String symbol, CandlestickInterval interval,
+                                              SymbolScales scales) throws IOException {
+        return open(root, symbol, interval, scales.getQuantityScale(symbol), scales.getQuoteScale(symbol));
+    }
+
+    /**
+     * Opens, or creates, the store of a symbol and interval under a root directory.  An existing store keeps the
+     * scales it was created with.
+     *
+     * @param volumeScale the decimals of base asset volumes in a new store
+     * @param quoteVolumeScale the decimals of quote asset volumes in a new store
+     */
+    public static MappedCandlestickStore open(Path root, String symbol, CandlestickInterval interval, int volumeScale,
+                                              int quoteVolumeScale) throws IOException {
+        return new MappedCandlestickStore(root.resolve(symbol).resolve(interval.name()), symbol, interval,
+                volumeScale, quoteVolumeScale);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public CandlestickInterval getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the decimals of the base asset volumes.
+     */
+    public int getVolumeScale() {
+        return volumeScale;
+    }
+
+    /**
+     * @return the decimals of the quote asset volumes.
+     */
+    public int getQuoteVolumeScale() {
+        return quoteVolumeScale;
+    }
+
+    /**
+     * @return the number of bars held.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the store does not cover any time range yet.
+     */
+    public boolean isEmpty() {
+        return coveredFrom == coveredTo;
+    }
+
+    /**
+     * @return the start of the covered range, inclusive.
+     */
+    public long getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    /**
+     * @return the end of the covered range, exclusive.
+     */
+    public long getCoveredTo() {
+        return coveredTo;
+    }
+
+    /**
+     * @return the index of the first bar opened at or after the time, or size() if there is none.
+     */
+    public int lowerBound(long openTime) {
+        long stamp = lock.readLock();
+        try {
+            return search(openTime);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Binary search of the open times, called holding the lock.
+     */
+    private int search(long openTime) {
+        int low = 0;
+        int high = size - 1;
+        MappedByteBuffer times = columns[OPEN_TIME];
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (times.getLong(mid * Long.BYTES) < openTime) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public long getOpenTime(int row) {
+        return get(OPEN_TIME, row);
+    }
+
+    public long getCloseTime(int row) {
+        return get(CLOSE_TIME, row);
+    }
+
+    /**
+     * @return the open price at {@link #PRICE_SCALE}.
+     */
+    public long getOpen(int row) {
+        return get(OPEN, row);
+    }
+
+    public long getHigh(int row) {
+        return get(HIGH, row);
+    }
+
+    public long getLow(int row) {
+        return get(LOW, row);
+    }
+
+    public long getClose(int row) {
+        return get(CLOSE, row);
+    }
+
+    /**
+     * @return the base asset volume at {@link #getVolumeScale()}.
+     */
+    public long getVolume(int row) {
+        return get(VOLUME, row);
+    }
+
+    /**
+     * @return the quote asset volume at {@link #getQuoteVolumeScale()}.
+     */
+    public long getQuoteAssetVolume(int row) {
+        return get(QUOTE_ASSET_VOLUME, row);
+    }
+
+    public long getNumberOfTrades(int row) {
+        return get(NUMBER_OF_TRADES, row);
+    }
+
+    public long getTakerBuyBaseAssetVolume(int row) {
+        return get(TAKER_BUY_BASE_ASSET_VOLUME, row);
+    }
+
+    public long getTakerBuyQuoteAssetVolume(int row) {
+        return get(TAKER_BUY_QUOTE_ASSET_VOLUME, row);
+    }
+
+    /**
+     * Reads a value optimistically, only taking the lock if bars were added meanwhile.  A column remapped by a
+     * concurrent add is still readable through its previous mapping, the bounds check keeps a read within it.
+     */
+    private long get(int column, int row) {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        MappedByteBuffer buffer = columns[column];
+        int offset = row * Long.BYTES;
+        long value = row >= 0 && row < n && offset + Long.BYTES <= buffer.capacity() ? buffer.getLong(offset) : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                value = row >= 0 && row < n ? columns[column].getLong(offset) : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (row < 0 || row >= n) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + n);
+        }
+        return value;
+    }
+
+    /**
+     * Materialises the bars opened in a time range as domain objects.
+     *
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param limit the maximum number of bars returned
+     */
+    public List<Candlestick> read(long from, long to, int limit) {
+        long stamp = lock.readLock();
+        try {
+            List<Candlestick> bars = new ArrayList<>();
+            for (int row = search(from); row < size && bars.size() < limit; row++) {
+                if (columns[OPEN_TIME].getLong(row * Long.BYTES) >= to) {
+                    break;
+                }
+                bars.add(toCandlestick(row));
+            }
+            return bars;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Candlestick toCandlestick(int row) {
+        int offset = row * Long.BYTES;
+        Candlestick c = new Candlestick();
+        c.setOpenTime(columns[OPEN_TIME].getLong(offset));
+        c.setCloseTime(columns[CLOSE_TIME].getLong(offset));
+        c.setOpen(decimal(OPEN, offset));
+        c.setHigh(decimal(HIGH, offset));
+        c.setLow(decimal(LOW, offset));
+        c.setClose(decimal(CLOSE, offset));
+        c.setVolume(decimal(VOLUME, offset));
+        c.setQuoteAssetVolume(decimal(QUOTE_ASSET_VOLUME, offset));
+        c.setNumberOfTrades(columns[NUMBER_OF_TRADES].getLong(offset));
+        c.setTakerBuyBaseAssetVolume(decimal(TAKER_BUY_BASE_ASSET_VOLUME, offset));
+        c.setTakerBuyQuoteAssetVolume(decimal(TAKER_BUY_QUOTE_ASSET_VOLUME, offset));
+        return c;
+    }
+
+    private String decimal(int column, int offset) {
+        return FixedPoint.toString(columns[column].getLong(offset), scales[column]);
+    }
+
+    /**
+     * Adds the bars of a time range to the store.  The range must touch or overlap the covered range, bars
+     * already held are skipped.
+     *
+     * @param from start of the range the bars were fetched for, inclusive
+     * @param to end of the range the bars were fetched for, exclusive, all its bars must be closed
+     * @param bars every bar opened in the range, in open time order
+     * @throws NumberFormatException if a value of a bar does not fit its column, nothing is added then
+     */
+    public void add(long from, long to, List<Candlestick> bars) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (isEmpty()) {
+                coveredFrom = from;
+                coveredTo = from;
+            }
+            if (to < coveredFrom || from > coveredTo) {
+                throw new IllegalArgumentException("Range [" + from + ", " + to + ") is not contiguous with ["
+                        + coveredFrom + ", " + coveredTo + ")");
+            }
+            // every bar is encoded before any is written, so a bar which does not fit leaves the store unchanged
+            List<long[]> before = new ArrayList<>();
+            List<long[]> after = new ArrayList<>();
+            for (Candlestick bar : bars) {
+                if (bar.getOpenTime() < coveredFrom) {
+                    before.add(encode(bar));
+                } else if (bar.getOpenTime() >= coveredTo) {
+                    after.add(encode(bar));
+                }
+            }
+            ensureCapacity(size + before.size() + after.size());
+            if (!before.isEmpty()) {
+                shift(before.size());
+                for (int i = 0; i < before.size(); i++) {
+                    write(i, before.get(i));
+                }
+            }
+            int row = size + before.size();
+            for (long[] bar : after) {
+                write(row++, bar);
+            }
+            for (MappedByteBuffer column : columns) {
+                column.force();
+            }
+            size = row;
+            coveredFrom = Math.min(coveredFrom, from);
+            coveredTo = Math.max(coveredTo, to);
+            header.putLong(16, coveredFrom);
+            header.putLong(24, coveredTo);
+            header.putInt(12, size);
+            header.force();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the values of a bar's columns.
+     * @throws NumberFormatException if a value does not fit its column
+     */
+    private long[] encode(Candlestick bar) {
+        long[] values = new long[COLUMNS.length];
+        values[OPEN_TIME] = bar.getOpenTime();
+        values[CLOSE_TIME] = bar.getCloseTime();
+        values[OPEN] = FixedPoint.parse(bar.getOpen(), scales[OPEN]);
+        values[HIGH] = FixedPoint.parse(bar.getHigh(), scales[HIGH]);
+        values[LOW] = FixedPoint.parse(bar.getLow(), scales[LOW]);
+        values[CLOSE] = FixedPoint.parse(bar.getClose(), scales[CLOSE]);
+        values[VOLUME] = FixedPoint.parse(bar.getVolume(), scales[VOLUME]);
+        values[QUOTE_ASSET_VOLUME] = FixedPoint.parse(bar.getQuoteAssetVolume(), scales[QUOTE_ASSET_VOLUME]);
+        values[NUMBER_OF_TRADES] = bar.getNumberOfTrades();
+        values[TAKER_BUY_BASE_ASSET_VOLUME] = FixedPoint.parse(bar.getTakerBuyBaseAssetVolume(),
+                scales[TAKER_BUY_BASE_ASSET_VOLUME]);
+        values[TAKER_BUY_QUOTE_ASSET_VOLUME] = FixedPoint.parse(bar.getTakerBuyQuoteAssetVolume(),
+                scales[TAKER_BUY_QUOTE_ASSET_VOLUME]);
+        return values;
+    }
+
+    private void write(int row, long[] values) {
+        int offset = row * Long.BYTES;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columns[c].putLong(offset, values[c]);
+        }
+    }
+
+    /**
+     * Moves every row up to make room at the start of the columns.
+     */
+    private void shift(int rows) {
+        for (MappedByteBuffer column : columns) {
+            for (int row = size - 1; row >= 0; row--) {
+                column.putLong((row + rows) * Long.BYTES, column.getLong(row * Long.BYTES));
+            }
+        }
+    }
+
+    private void ensureCapacity(int rows) throws IOException {
+        if (rows <= capacity) {
+            return;
+        }
+        int newCapacity = capacity;
+        while (newCapacity < rows) {
+            newCapacity *= 2;
+        }
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columns[c] = channels[c].map(FileChannel.MapMode.READ_WRITE, 0, (long) newCapacity * Long.BYTES);
+        }
+        capacity = newCapacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+            headerChannel.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
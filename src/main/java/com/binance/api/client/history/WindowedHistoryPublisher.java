@@ -0,0 +1,194 @@
+package com.binance.api.client.history;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the rows of a time range by splitting it into windows which are fetched concurrently and delivered
+ * in window order.  At most maxConcurrency windows are fetched or buffered ahead of the subscriber, so a slow
+ * subscriber holds back the download rather than letting it pile up in memory.
+ *
+ * @param <T> the type of row
+ */
+class WindowedHistoryPublisher<T> implements Flow.Publisher<T> {
+    private final long startTime;
+    private final long endTime;
+    private final long windowMillis;
+    private final int maxConcurrency;
+    private final WindowFetcher<T> fetcher;
+    private final Executor deliveryService;
+
+    /**
+     * Fetches the rows of one window.
+     */
+    @FunctionalInterface
+    interface WindowFetcher<T> {
+        /**
+         * @param from start of the window, inclusive
+         * @param to end of the window, exclusive
+         * @return the rows of the window in time order
+         */
+        CompletableFuture<List<T>> fetch(long from, long to);
+    }
+
+    WindowedHistoryPublisher(long startTime, long endTime, long windowMillis, int maxConcurrency,
+                             WindowFetcher<T> fetcher, Executor deliveryService) {
+        if (windowMillis <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Invalid window " + windowMillis + "ms with concurrency " + maxConcurrency);
+        }
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.windowMillis = windowMillis;
+        this.maxConcurrency = maxConcurrency;
+        this.fetcher = fetcher;
+        this.deliveryService = deliveryService;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        WindowSubscription s = new WindowSubscription(subscriber);
+        subscriber.onSubscribe(s);
+        s.drain();
+    }
+
+    private final class WindowSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<CompletableFuture<List<T>>> windows = new ArrayDeque<>();
+        private long nextWindow = startTime;
+        private List<T> current;
+        private int index;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean done;
+
+        private WindowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " rows, must be positive");
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        /**
+         * Serialises all work on the subscription, whichever thread calls wins the right to run the loop and
+         * later calls are picked up by it.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    drainLoop();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainLoop() {
+            if (cancelled) {
+                release();
+                return;
+            }
+            if (invalidRequest != null) {
+                terminate(invalidRequest);
+                return;
+            }
+            fetchAhead();
+            long emitted = 0;
+            long requested = demand.get();
+            while (!cancelled) {
+                if (current != null && index < current.size()) {
+                    if (emitted == requested) {
+                        break;
+                    }
+                    subscriber.onNext(current.get(index++));
+                    emitted++;
+                    continue;
+                }
+                current = null;
+                CompletableFuture<List<T>> head = windows.peek();
+                if (head == null) {
+                    if (nextWindow >= endTime) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                    break;
+                }
+                if (!head.isDone()) {
+                    break;
+                }
+                windows.poll();
+                if (head.isCompletedExceptionally()) {
+                    try {
+                        head.join();
+                    } catch (RuntimeException e) {
+                        terminate(e.getCause() != null ? e.getCause() : e);
+                    }
+                    return;
+                }
+                current = head.join();
+                index = 0;
+                fetchAhead();
+            }
+            if (emitted > 0) {
+                demand.addAndGet(-emitted);
+            }
+            if (cancelled) {
+                release();
+            }
+        }
+
+        private void fetchAhead() {
+            while (windows.size() < maxConcurrency && nextWindow < endTime) {
+                long from = nextWindow;
+                long to = Math.min(endTime, from + windowMillis);
+                nextWindow = to;
+                CompletableFuture<List<T>> window;
+                try {
+                    window = fetcher.fetch(from, to);
+                } catch (RuntimeException e) {
+                    // ends the subscription with onError once the windows before it are delivered
+                    window = CompletableFuture.failedFuture(e);
+                }
+                windows.add(window);
+                window.whenCompleteAsync((v, e) -> drain(), deliveryService);
+            }
+        }
+
+        private void terminate(Throwable t) {
+            done = true;
+            release();
+            subscriber.onError(t);
+        }
+
+        private void release() {
+            done = true;
+            current = null;
+            for (CompletableFuture<List<T>> window : windows) {
+                window.cancel(false);
+            }
+            windows.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiDeadlineExceededException;
+import com.binance.api.client.exception.BinanceApiUnknownOutcomeException;
+import com.binance.api.client.limit.AdaptiveConcurrencyLimiter;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request which is cancelled by cancelling its future, and aborted when it reaches its deadline.  A request
+ * aborted before it was sent is dropped.  One aborted after it was sent fails at once, while the subclass aborts
+ * the call itself where it can.  A request to an endpoint which is not idempotent aborted after it was sent fails
+ * with a {@link BinanceApiUnknownOutcomeException}, as it may have been executed.
+ */
+abstract class AbortableRequest<T> extends CompletableFuture<T> implements AdaptiveConcurrencyLimiter.Task {
+    static final int QUEUED = 0;
+    static final int SENT = 1;
+    static final int FINISHED = 2;
+    static final int ABORTED = 3;
+
+    final BinanceApiEndpoint endpoint;
+    final int weight;
+    final long deadline;
+    final long queuedAt = System.nanoTime();
+    int state = QUEUED;
+    Throwable abortedWith;
+
+    AbortableRequest(BinanceApiEndpoint endpoint, int weight, long deadline) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+        this.deadline = deadline;
+    }
+
+    void scheduleDeadline() {
+        if (deadline != BinanceApiRequestContext.NO_DEADLINE && !isDone()) {
+            CompletableFuture.delayedExecutor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    .execute(() -> abort(false));
+        }
+    }
+
+    /**
+     * Called once the request was aborted or dropped, before its future fails.
+     *
+     * @param sent true if the request had been sent
+     */
+    abstract void aborted(boolean sent, Throwable failure);
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return abort(true);
+    }
+
+    /**
+     * Fails a request which has not been sent.
+     */
+    void drop(Throwable failure) {
+        synchronized (this) {
+            if (state != QUEUED) {
+                return;
+            }
+            state = ABORTED;
+            abortedWith = failure;
+        }
+        aborted(false, failure);
+        completeExceptionally(failure);
+    }
+
+    /**
+     * @param cancel true if the caller cancelled the request, false if it reached its deadline
+     */
+    boolean abort(boolean cancel) {
+        boolean sent;
+        Throwable failure;
+        synchronized (this) {
+            if (state != QUEUED && state != SENT) {
+                return false;
+            }
+            sent = state == SENT;
+            state = ABORTED;
+            if (sent && !endpoint.isIdempotent()) {
+                failure = new BinanceApiUnknownOutcomeException(endpoint + " was " + (cancel ? "cancelled" : "aborted at its deadline")
+                        + " after it was sent, it may have been executed");
+            } else if (cancel) {
+                failure = new CancellationException();
+            } else {
+                failure = new BinanceApiDeadlineExceededException(endpoint + (sent ? " aborted in flight" : " dropped before it was sent")
+                        + " at its deadline", sent);
+            }
+            abortedWith = failure;
+        }
+        aborted(sent, failure);
+        if (failure instanceof CancellationException) {
+            return super.cancel(true);
+        }
+        completeExceptionally(failure);
+        return false;
+    }
+}
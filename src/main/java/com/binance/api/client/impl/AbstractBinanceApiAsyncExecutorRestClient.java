@@ -0,0 +1,148 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.limit.AdaptiveConcurrencyLimiter;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.binance.api.client.BinanceApiEndpoint.*;
+
+/**
+ * What the executor based and the non-blocking BinanceApiAsyncExecutorRestClient have in common: the limits and
+ * callback dispatch taken from the options, the sharing of identical reads in flight, and the lookups by symbol
+ * built on the bulk calls.  The clients differ in how a request is sent.
+ */
+abstract class AbstractBinanceApiAsyncExecutorRestClient implements BinanceApiAsyncExecutorRestClient {
+    final RequestWeightScheduler scheduler;
+    final BinanceApiMetrics metrics;
+    final CallbackDispatcher callbacks;
+    final AdaptiveConcurrencyLimiter limiter;
+    final RetryPolicy retry;
+    private final SingleFlight inFlight = new SingleFlight();
+
+    AbstractBinanceApiAsyncExecutorRestClient(ExecutorService responseService, BinanceApiAsyncExecutorOptions options) {
+        this.scheduler = options.getRequestWeightScheduler();
+        this.metrics = options.getMetrics();
+        this.callbacks = new CallbackDispatcher(responseService, options.isOrderedCallbacks(), metrics);
+        this.limiter = options.getConcurrencyLimiter();
+        this.retry = options.getRetryPolicy();
+    }
+
+    /**
+     * Sends the call for the prices of all symbols, without a callback.
+     */
+    abstract CompletableFuture<List<TickerPrice>> sendGetAllPrices();
+
+    /**
+     * Sends the call for the book tickers of all symbols, without a callback.
+     */
+    abstract CompletableFuture<List<BookTicker>> sendGetBookTickers();
+
+    /**
+     * @param symbol the symbol the callback is ordered by, null if it is not ordered
+     */
+    <T> CompletableFuture<T> respond(BinanceApiEndpoint endpoint, String symbol, BinanceApiCallback<T> callback, CompletableFuture<T> f){
+        return callbacks.respond(endpoint, symbol, callback, f);
+    }
+
+    /**
+     * Invokes an idempotent read, sharing the call with any identical request already in flight.  Each caller
+     * gets its own future and callback, the response object itself is shared between them.
+     *
+     * @param send sends the call if none is in flight
+     * @param args the arguments of the call, which with the endpoint identify it
+     */
+    <T> CompletableFuture<T> invokeShared(BinanceApiEndpoint endpoint, String symbol, BinanceApiCallback<T> callback,
+                                          Supplier<CompletableFuture<T>> send, Object... args){
+        Object key = Arrays.asList(endpoint, Arrays.asList(args));
+        long deadline = BinanceApiRequestContext.getDeadline();
+        return respond(endpoint, symbol, callback, inFlight.execute(key, deadline, send));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, TickerPrice>> getPrices(Collection<String> symbols, BinanceApiCallback<Map<String, TickerPrice>> callback) {
+        if (symbols.size() * PRICE.getWeight() <= ALL_PRICES.getWeight()) {
+            Map<String, CompletableFuture<TickerPrice>> prices = new HashMap<>(symbols.size() * 2);
+            for (String symbol : symbols) {
+                prices.put(symbol, absentIfInvalid(getPrice(symbol, null)));
+            }
+            CompletableFuture<Map<String, TickerPrice>> f = CompletableFuture.allOf(prices.values().toArray(new CompletableFuture<?>[0]))
+                    .thenApply(v -> {
+                        Map<String, TickerPrice> bySymbol = new HashMap<>(prices.size() * 2);
+                        prices.forEach((symbol, price) -> {
+                            TickerPrice p = price.join();
+                            if (p != null) {
+                                bySymbol.put(symbol, p);
+                            }
+                        });
+                        return bySymbol;
+                    });
+            return respond(PRICE, null, callback, f);
+        }
+        return respond(ALL_PRICES, null, callback, bySymbol(ALL_PRICES, this::sendGetAllPrices, TickerPrice::getSymbol)
+                .thenApply(all -> select(all, symbols)));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BookTicker>> getBookTickers(Collection<String> symbols, BinanceApiCallback<Map<String, BookTicker>> callback) {
+        return respond(BOOK_TICKERS, null, callback, bySymbol(BOOK_TICKERS, this::sendGetBookTickers, BookTicker::getSymbol)
+                .thenApply(all -> select(all, symbols)));
+    }
+
+    /**
+     * Makes a call for all symbols and indexes the result by symbol.  The call, and the index, is shared with any
+     * identical request already in flight.
+     */
+    private <T> CompletableFuture<Map<String, T>> bySymbol(BinanceApiEndpoint endpoint, Supplier<CompletableFuture<List<T>>> send,
+                                                           Function<T, String> symbolOf){
+        Object key = Arrays.asList(endpoint, Map.class);
+        long deadline = BinanceApiRequestContext.getDeadline();
+        return inFlight.execute(key, deadline, () -> send.get().thenApply(all -> {
+            Map<String, T> bySymbol = new HashMap<>(all.size() * 2);
+            for (T v : all) {
+                bySymbol.put(symbolOf.apply(v), v);
+            }
+            return bySymbol;
+        }));
+    }
+
+    /**
+     * Completes with null rather than failing when the symbol is unknown, as the bulk call leaves it out.
+     */
+    private static <T> CompletableFuture<T> absentIfInvalid(CompletableFuture<T> f) {
+        return f.exceptionally(e -> {
+            if (RetryPolicy.isInvalidSymbol(e)) {
+                return null;
+            }
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        });
+    }
+
+    private static <T> Map<String, T> select(Map<String, T> all, Collection<String> symbols){
+        Map<String, T> selected = new HashMap<>(symbols.size() * 2);
+        for (String symbol : symbols) {
+            T v = all.get(symbol);
+            if (v != null) {
+                selected.put(symbol, v);
+            }
+        }
+        return selected;
+    }
+}
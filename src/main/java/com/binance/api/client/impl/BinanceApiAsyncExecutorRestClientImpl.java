@@ -1,7 +1,9 @@
 package com.binance.api.client.impl;
 
-import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
 import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.domain.account.*;
 import com.binance.api.client.domain.account.request.*;
@@ -10,44 +12,124 @@ import com.binance.api.client.domain.general.Asset;
 import com.binance.api.client.domain.general.ExchangeInfo;
 import com.binance.api.client.domain.general.ServerTime;
 import com.binance.api.client.domain.market.*;
+import com.binance.api.client.limit.AdaptiveConcurrencyLimiter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import static com.binance.api.client.BinanceApiEndpoint.*;
+
 /**
  * Implementation of BinanceApiAsyncExecutorRestClient using ExecutorServices for handling request and responses.
+ * Given a {@link PriorityLaneExecutor} as request service, requests are queued in the lane of their endpoint.
  */
-public class BinanceApiAsyncExecutorRestClientImpl implements BinanceApiAsyncExecutorRestClient {
+public class BinanceApiAsyncExecutorRestClientImpl extends AbstractBinanceApiAsyncExecutorRestClient {
     private final BinanceApiRestClient client;
+    private final CallCanceller canceller;
     private final ExecutorService requestService;
-    private final ExecutorService responseService;
+    private final HedgingPolicy hedging;
 
     public BinanceApiAsyncExecutorRestClientImpl(BinanceApiRestClient client, ExecutorService requestService, ExecutorService responseService) {
+        this(client, requestService, responseService, BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    public BinanceApiAsyncExecutorRestClientImpl(BinanceApiRestClient client, ExecutorService requestService,
+                                                 ExecutorService responseService, BinanceApiAsyncExecutorOptions options) {
+        this(client, null, requestService, responseService, options);
+    }
+
+    /**
+     * @param canceller aborts the HTTP calls of the client, which must make its calls through it, see
+     * {@link CallCanceller#newRestClient(String, String)}.  Without one an aborted call only interrupts its
+     * thread, which keeps it blocked until the read timeout.
+     */
+    public BinanceApiAsyncExecutorRestClientImpl(BinanceApiRestClient client, CallCanceller canceller, ExecutorService requestService,
+                                                 ExecutorService responseService, BinanceApiAsyncExecutorOptions options) {
+        super(responseService, options);
         this.client = client;
+        this.canceller = canceller;
         this.requestService = requestService;
-        this.responseService = responseService;
+        this.hedging = options.getHedgingPolicy();
+    }
+
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, BinanceApiCallback<T> callback, Supplier<T> t){
+        return invoke(endpoint, endpoint.getWeight(), null, callback, t);
+    }
+
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, String symbol, BinanceApiCallback<T> callback, Supplier<T> t){
+        return invoke(endpoint, endpoint.getWeight(), symbol, callback, t);
     }
 
-    private <T> CompletableFuture<T> invoke(BinanceApiCallback<T> callback, Supplier<T> t){
-        CompletableFuture<T> f = CompletableFuture.supplyAsync(t, requestService);
-        if(callback != null){
-            f = f.thenApplyAsync(v -> {
-                callback.onResponse(v);
-                return v;
-            }, responseService);
+    /**
+     * @param symbol the symbol the callback is ordered by, null if it is not ordered
+     */
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, int weight, String symbol, BinanceApiCallback<T> callback, Supplier<T> t){
+        return respond(endpoint, symbol, callback, submit(endpoint, weight, t));
+    }
+
+    private <T> CompletableFuture<T> invokeShared(BinanceApiEndpoint endpoint, int weight, String symbol, BinanceApiCallback<T> callback,
+                                                  Supplier<T> t, Object... args){
+        return invokeShared(endpoint, symbol, callback, () -> submit(endpoint, weight, t), args);
+    }
 
-            f.exceptionally(throwable -> {
-                responseService.submit(()->callback.onFailure(throwable));
-                return null;
+    private <T> CompletableFuture<T> submit(BinanceApiEndpoint endpoint, int weight, Supplier<T> t){
+        long deadline = BinanceApiRequestContext.getDeadline();
+        if (retry == null) {
+            return attempt(endpoint, weight, t, deadline);
+        }
+        return retry.execute(endpoint, deadline, () -> attempt(endpoint, weight, t, deadline));
+    }
+
+    private <T> CompletableFuture<T> attempt(BinanceApiEndpoint endpoint, int weight, Supplier<T> t, long deadline){
+        if (hedging == null || !hedging.isHedged(endpoint)) {
+            return send(endpoint, weight, t, deadline);
+        }
+        Hedged<T> hedged = new Hedged<>(endpoint);
+        hedged.add(send(endpoint, weight, t, deadline), false);
+        long delay = hedging.getDelayNanos(endpoint);
+        if (delay >= 0) {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (!hedged.isDone() && hedging.tryAcquire(endpoint, weight)) {
+                    hedged.add(send(endpoint, weight, t, deadline), true);
+                }
             });
         }
-        return f;
+        return hedged;
+    }
+
+    private <T> Call<T> send(BinanceApiEndpoint endpoint, int weight, Supplier<T> t, long deadline){
+        Call<T> call = new Call<>(endpoint, weight, t, deadline);
+        metrics.onQueued(endpoint);
+        try {
+            if (limiter != null) {
+                limiter.submit(endpoint.getLane(), call, executorFor(endpoint));
+            } else {
+                executorFor(endpoint).execute(call);
+            }
+        } catch (RejectedExecutionException e) {
+            metrics.onStarted(endpoint, 0);
+            metrics.onCompleted(endpoint, 0, e);
+            throw e;
+        }
+        call.scheduleDeadline();
+        return call;
+    }
+
+    private Executor executorFor(BinanceApiEndpoint endpoint){
+        if(requestService instanceof PriorityLaneExecutor){
+            return ((PriorityLaneExecutor) requestService).forLane(endpoint.getLane());
+        }
+        return requestService;
     }
 
     @Override
     public CompletableFuture<Void> ping(BinanceApiCallback<Void> callback) {
-        return invoke(callback,() -> {
+        return invoke(PING, callback,() -> {
             client.ping();
             return null;
         });
@@ -55,7 +137,7 @@ public class BinanceApiAsyncExecutorRestClientImpl implements BinanceApiAsyncExe
 
     @Override
     public CompletableFuture<ServerTime> getServerTime(BinanceApiCallback<ServerTime> callback) {
-        return invoke(callback, () -> {
+        return invoke(SERVER_TIME, callback, () -> {
             ServerTime t = new ServerTime();
             t.setServerTime(client.getServerTime());
             return t;
@@ -64,82 +146,92 @@ public class BinanceApiAsyncExecutorRestClientImpl implements BinanceApiAsyncExe
 
     @Override
     public CompletableFuture<ExchangeInfo> getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
-        return invoke(callback, () -> client.getExchangeInfo());
+        return invokeShared(EXCHANGE_INFO, EXCHANGE_INFO.getWeight(), null, callback, () -> client.getExchangeInfo());
     }
 
     @Override
     public CompletableFuture<List<Asset>> getAllAssets(BinanceApiCallback<List<Asset>> callback) {
-        return invoke(callback, () -> client.getAllAssets());
+        return invokeShared(ALL_ASSETS, ALL_ASSETS.getWeight(), null, callback, () -> client.getAllAssets());
     }
 
     @Override
     public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
-        return invoke(callback, () -> client.getOrderBook(symbol,limit));
+        return invokeShared(ORDER_BOOK, BinanceApiEndpoint.orderBookWeight(limit), symbol, callback, () -> client.getOrderBook(symbol,limit), symbol, limit);
     }
 
     @Override
     public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit, BinanceApiCallback<List<TradeHistoryItem>> callback) {
-        return invoke(callback, () -> client.getTrades(symbol, limit));
+        return invoke(TRADES, symbol, callback, () -> client.getTrades(symbol, limit));
     }
 
     @Override
     public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId, BinanceApiCallback<List<TradeHistoryItem>> callback) {
-        return invoke(callback, () -> client.getHistoricalTrades(symbol, limit, fromId));
+        return invoke(HISTORICAL_TRADES, symbol, callback, () -> client.getHistoricalTrades(symbol, limit, fromId));
     }
 
     @Override
     public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<AggTrade>> callback) {
-        return invoke(callback, () -> client.getAggTrades(symbol,fromId,limit,startTime,endTime));
+        return invoke(AGG_TRADES, symbol, callback, () -> client.getAggTrades(symbol,fromId,limit,startTime,endTime));
     }
 
     @Override
     public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, BinanceApiCallback<List<AggTrade>> callback) {
-        return invoke(callback, () -> client.getAggTrades(symbol));
+        return invoke(AGG_TRADES, symbol, callback, () -> client.getAggTrades(symbol));
     }
 
     @Override
     public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<Candlestick>> callback) {
-        return invoke(callback, () -> client.getCandlestickBars(symbol,interval,limit,startTime, endTime));
+        return invoke(CANDLESTICK_BARS, symbol, callback, () -> client.getCandlestickBars(symbol,interval,limit,startTime, endTime));
     }
 
     @Override
     public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, BinanceApiCallback<List<Candlestick>> callback) {
-        return invoke(callback, () -> client.getCandlestickBars(symbol, interval));
+        return invoke(CANDLESTICK_BARS, symbol, callback, () -> client.getCandlestickBars(symbol, interval));
     }
 
     @Override
     public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol, BinanceApiCallback<TickerStatistics> callback) {
-        return invoke(callback, () -> client.get24HrPriceStatistics(symbol));
+        return invokeShared(PRICE_STATISTICS_24HR, PRICE_STATISTICS_24HR.getWeight(), symbol, callback, () -> client.get24HrPriceStatistics(symbol), symbol);
     }
 
     @Override
     public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics(BinanceApiCallback<List<TickerStatistics>> callback) {
-        return invoke(callback, () -> client.getAll24HrPriceStatistics());
+        return invokeShared(ALL_PRICE_STATISTICS_24HR, ALL_PRICE_STATISTICS_24HR.getWeight(), null, callback, () -> client.getAll24HrPriceStatistics());
     }
 
     @Override
     public CompletableFuture<List<TickerPrice>> getAllPrices(BinanceApiCallback<List<TickerPrice>> callback) {
-        return invoke(callback, () -> client.getAllPrices());
+        return invokeShared(ALL_PRICES, ALL_PRICES.getWeight(), null, callback, () -> client.getAllPrices());
     }
 
     @Override
     public CompletableFuture<TickerPrice> getPrice(String symbol, BinanceApiCallback<TickerPrice> callback) {
-        return invoke(callback, () -> client.getPrice(symbol));
+        return invokeShared(PRICE, PRICE.getWeight(), symbol, callback, () -> client.getPrice(symbol), symbol);
     }
 
     @Override
     public CompletableFuture<List<BookTicker>> getBookTickers(BinanceApiCallback<List<BookTicker>> callback) {
-        return invoke(callback, () -> client.getBookTickers());
+        return invokeShared(BOOK_TICKERS, BOOK_TICKERS.getWeight(), null, callback, () -> client.getBookTickers());
+    }
+
+    @Override
+    CompletableFuture<List<TickerPrice>> sendGetAllPrices() {
+        return submit(ALL_PRICES, ALL_PRICES.getWeight(), () -> client.getAllPrices());
+    }
+
+    @Override
+    CompletableFuture<List<BookTicker>> sendGetBookTickers() {
+        return submit(BOOK_TICKERS, BOOK_TICKERS.getWeight(), () -> client.getBookTickers());
     }
 
     @Override
     public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
-        return invoke(callback, () -> client.newOrder(order));
+        return invoke(NEW_ORDER, order.getSymbol(), callback, () -> client.newOrder(order));
     }
 
     @Override
     public CompletableFuture<Void> newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
-        return invoke(callback, () -> {
+        return invoke(NEW_ORDER_TEST, order.getSymbol(), callback, () -> {
             client.newOrderTest(order);
             return null;
         });
@@ -147,80 +239,81 @@ public class BinanceApiAsyncExecutorRestClientImpl implements BinanceApiAsyncExe
 
     @Override
     public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
-        return invoke(callback, () -> client.getOrderStatus(orderStatusRequest));
+        return invoke(ORDER_STATUS, orderStatusRequest.getSymbol(), callback, () -> client.getOrderStatus(orderStatusRequest));
     }
 
     @Override
     public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
-        return invoke(callback, () -> client.cancelOrder(cancelOrderRequest));
+        return invoke(CANCEL_ORDER, cancelOrderRequest.getSymbol(), callback, () -> client.cancelOrder(cancelOrderRequest));
     }
 
     @Override
     public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
-        return invoke(callback, () -> client.getOpenOrders(orderRequest));
+        return invoke(OPEN_ORDERS, BinanceApiEndpoint.openOrdersWeight(orderRequest.getSymbol()), orderRequest.getSymbol(), callback, () -> client.getOpenOrders(orderRequest));
     }
 
     @Override
     public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
-        return invoke(callback, () -> client.getAllOrders(orderRequest));
+        return invoke(ALL_ORDERS, orderRequest.getSymbol(), callback, () -> client.getAllOrders(orderRequest));
     }
 
     @Override
     public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
-        return invoke(callback, () -> client.getAccount(recvWindow, timestamp));
+        return invoke(ACCOUNT, callback, () -> client.getAccount(recvWindow, timestamp));
     }
 
     @Override
     public CompletableFuture<Account> getAccount(BinanceApiCallback<Account> callback) {
-        return invoke(callback, () -> client.getAccount());
+        return invoke(ACCOUNT, callback, () -> client.getAccount());
     }
 
     @Override
     public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
-        return invoke(callback, () -> client.getMyTrades(symbol, limit, fromId, recvWindow, timestamp));
+        return invoke(MY_TRADES, symbol, callback, () -> client.getMyTrades(symbol, limit, fromId, recvWindow, timestamp));
     }
 
     @Override
     public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, BinanceApiCallback<List<Trade>> callback) {
-        return invoke(callback, () -> client.getMyTrades(symbol, limit));
+        return invoke(MY_TRADES, symbol, callback, () -> client.getMyTrades(symbol, limit));
     }
 
     @Override
     public CompletableFuture<List<Trade>> getMyTrades(String symbol, BinanceApiCallback<List<Trade>> callback) {
-        return invoke(callback, () -> client.getMyTrades(symbol));
+        return invoke(MY_TRADES, symbol, callback, () -> client.getMyTrades(symbol));
     }
 
     @Override
     public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, BinanceApiCallback<WithdrawResult> callback) {
-        return invoke(callback, () -> client.withdraw(asset, address, amount, name, addressTag));
+        return invoke(WITHDRAW, callback, () -> client.withdraw(asset, address, amount, name, addressTag));
     }
 
     @Override
     public CompletableFuture<DepositHistory> getDepositHistory(String asset, BinanceApiCallback<DepositHistory> callback) {
-        return invoke(callback, () -> client.getDepositHistory(asset));
+        return invoke(DEPOSIT_HISTORY, callback, () -> client.getDepositHistory(asset));
     }
 
     @Override
     public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, BinanceApiCallback<WithdrawHistory> callback) {
-        return invoke(callback, () -> client.getWithdrawHistory(asset));
+        return invoke(WITHDRAW_HISTORY, callback, () -> client.getWithdrawHistory(asset));
     }
 
     @Override
     public CompletableFuture<DepositAddress> getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
-        return invoke(callback, () -> client.getDepositAddress(asset));
+        return invoke(DEPOSIT_ADDRESS, callback, () -> client.getDepositAddress(asset));
     }
 
     @Override
     public CompletableFuture<ListenKey> startUserDataStream(BinanceApiCallback<ListenKey> callback) {
-        return invoke(callback, () -> {
-            client.startUserDataStream();
-            return null;
+        return invoke(START_USER_DATA_STREAM, callback, () -> {
+            ListenKey listenKey = new ListenKey();
+            listenKey.setListenKey(client.startUserDataStream());
+            return listenKey;
         });
     }
 
     @Override
     public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
-        return invoke(callback, () -> {
+        return invoke(KEEP_ALIVE_USER_DATA_STREAM, callback, () -> {
             client.keepAliveUserDataStream(listenKey);
             return null;
         });
@@ -228,9 +321,186 @@ public class BinanceApiAsyncExecutorRestClientImpl implements BinanceApiAsyncExe
 
     @Override
     public CompletableFuture<Void> closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
-        return invoke(callback, () -> {
+        return invoke(CLOSE_USER_DATA_STREAM, callback, () -> {
             client.closeUserDataStream(listenKey);
             return null;
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * A request made on the request executor.  Aborting it after it was sent cancels the HTTP call through the
+     * {@link CallCanceller}.  The thread making the call is interrupted too, which ends a wait for the rate limit.
+     */
+    private final class Call<T> extends AbortableRequest<T> {
+        private final Supplier<T> t;
+        private Thread runner;
+        private boolean interrupted;
+        /**
+         * When the call was sent, past any wait for the rate limit or the concurrency limit, 0 until then.
+         */
+        private volatile long sentAt;
+
+        private Call(BinanceApiEndpoint endpoint, int weight, Supplier<T> t, long deadline) {
+            super(endpoint, weight, deadline);
+            this.t = t;
+        }
+
+        @Override
+        public void run() {
+            long start = 0;
+            boolean started = false;
+            Throwable failure = null;
+            try {
+                long left = deadline == BinanceApiRequestContext.NO_DEADLINE ? Long.MAX_VALUE : deadline - System.nanoTime();
+                if (left <= 0) {
+                    abort(false);
+                    return;
+                }
+                synchronized (this) {
+                    if (state != QUEUED) {
+                        return;
+                    }
+                    runner = Thread.currentThread();
+                }
+                scheduler.acquire(endpoint, weight, left == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(left));
+                synchronized (this) {
+                    if (state != QUEUED) {
+                        return;
+                    }
+                    state = SENT;
+                }
+                start = System.nanoTime();
+                started = true;
+                sentAt = start;
+                metrics.onStarted(endpoint, start - queuedAt);
+                complete(t.get());
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    // an aborted call fails with the reason it was aborted, not the interrupt
+                    failure = abortedWith != null ? abortedWith : e;
+                }
+                completeExceptionally(failure);
+            } finally {
+                synchronized (this) {
+                    if (state == SENT) {
+                        state = FINISHED;
+                    }
+                    runner = null;
+                    if (interrupted) {
+                        // the interrupt was aimed at this call, not at the executor's thread
+                        Thread.interrupted();
+                    }
+                    if (failure == null) {
+                        failure = abortedWith;
+                    }
+                }
+                long end = System.nanoTime();
+                if (!started) {
+                    metrics.onStarted(endpoint, end - queuedAt);
+                }
+                metrics.onCompleted(endpoint, started ? end - start : 0, failure);
+                if (limiter != null) {
+                    limiter.release(started ? end - start : -1, AdaptiveConcurrencyLimiter.isDrop(failure));
+                }
+            }
+        }
+
+        @Override
+        public void reject(Throwable cause) {
+            // the call is never run, which would have reported it
+            metrics.onStarted(endpoint, System.nanoTime() - queuedAt);
+            metrics.onCompleted(endpoint, 0, cause);
+            drop(cause);
+        }
+
+        @Override
+        void aborted(boolean sent, Throwable failure) {
+            synchronized (this) {
+                if (runner != null) {
+                    interrupted = true;
+                    runner.interrupt();
+                    if (canceller != null) {
+                        canceller.cancel(runner);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A read sent once more if it is slow, completing with the first answer.  A failure is only reported once
+     * every call has failed.
+     *
+     * The latency of a call is measured from when it was sent, not from when it was queued.  A call cancelled
+     * because the other answered first is recorded with the time it had been waiting, a lower bound of its latency,
+     * so slow calls are not left out of the percentile the hedges are sent at.
+     */
+    private final class Hedged<T> extends CompletableFuture<T> {
+        private final BinanceApiEndpoint endpoint;
+        private final List<Call<T>> calls = new ArrayList<>(2);
+        private int pending;
+
+        private Hedged(BinanceApiEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void add(Call<T> call, boolean hedge) {
+            synchronized (this) {
+                if (!isDone()) {
+                    calls.add(call);
+                    pending++;
+                }
+            }
+            if (isDone()) {
+                call.cancel(true);
+                return;
+            }
+            call.whenComplete((v, e) -> {
+                if (e == null) {
+                    long sentAt = call.sentAt;
+                    if (sentAt != 0) {
+                        hedging.record(endpoint, System.nanoTime() - sentAt);
+                    }
+                    if (complete(v)) {
+                        if (hedge) {
+                            hedging.hedgeWon(endpoint);
+                        }
+                        cancelCalls(true);
+                    }
+                    return;
+                }
+                boolean last;
+                synchronized (this) {
+                    last = --pending == 0;
+                }
+                if (last) {
+                    completeExceptionally(e);
+                }
+            });
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            cancelCalls(false);
+            return cancelled;
+        }
+
+        /**
+         * @param answered true if a call answered, the latency of the others sent is then recorded as censored
+         */
+        private void cancelCalls(boolean answered) {
+            List<Call<T>> running;
+            synchronized (this) {
+                running = new ArrayList<>(calls);
+            }
+            long now = System.nanoTime();
+            for (Call<T> call : running) {
+                long sentAt = call.sentAt;
+                if (call.cancel(true) && answered && sentAt != 0) {
+                    hedging.record(endpoint, now - sentAt);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.domain.account.DepositAddress;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.binance.api.client.BinanceApiEndpoint.*;
+
+/**
+ * Decorator caching slow changing reference data: the exchange info, the list of assets and deposit addresses.
+ *
+ * Entries are refreshed ahead: once an entry is older than the TTL of its endpoint the cached value is still
+ * returned immediately while a single refresh is made through the delegate in the background.  If the refresh
+ * fails the previous value is kept and the next call retries.  Calls for endpoints without a TTL go straight to
+ * the delegate.
+ */
+public class CachingBinanceApiAsyncExecutorRestClient extends ForwardingBinanceApiAsyncExecutorRestClient {
+    public static final Duration DEFAULT_EXCHANGE_INFO_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_ALL_ASSETS_TTL = Duration.ofHours(1);
+    public static final Duration DEFAULT_DEPOSIT_ADDRESS_TTL = Duration.ofHours(1);
+
+    private final Executor responseService;
+    private final Map<BinanceApiEndpoint, Long> ttlNanos = new EnumMap<>(BinanceApiEndpoint.class);
+    private final Map<BinanceApiEndpoint, Stats> stats = new EnumMap<>(BinanceApiEndpoint.class);
+    private final ConcurrentHashMap<Object, Entry<?>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Caches with the default TTLs.
+     *
+     * @param delegate the client making the calls
+     * @param responseService the executor running callbacks for calls served from the cache
+     */
+    public CachingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, Executor responseService) {
+        this(delegate, responseService, defaultTtls());
+    }
+
+    /**
+     * @param delegate the client making the calls
+     * @param responseService the executor running callbacks for calls served from the cache
+     * @param ttls the TTL of each cached endpoint, one of EXCHANGE_INFO, ALL_ASSETS or DEPOSIT_ADDRESS
+     */
+    public CachingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, Executor responseService,
+                                                    Map<BinanceApiEndpoint, Duration> ttls) {
+        super(delegate);
+        this.responseService = responseService;
+        for (Map.Entry<BinanceApiEndpoint, Duration> e : ttls.entrySet()) {
+            if (e.getKey() != EXCHANGE_INFO && e.getKey() != ALL_ASSETS && e.getKey() != DEPOSIT_ADDRESS) {
+                throw new IllegalArgumentException(e.getKey() + " can not be cached");
+            }
+            ttlNanos.put(e.getKey(), e.getValue().toNanos());
+            stats.put(e.getKey(), new Stats());
+        }
+    }
+
+    /**
+     * @return the default TTL of each cached endpoint.
+     */
+    public static Map<BinanceApiEndpoint, Duration> defaultTtls() {
+        Map<BinanceApiEndpoint, Duration> ttls = new EnumMap<>(BinanceApiEndpoint.class);
+        ttls.put(EXCHANGE_INFO, DEFAULT_EXCHANGE_INFO_TTL);
+        ttls.put(ALL_ASSETS, DEFAULT_ALL_ASSETS_TTL);
+        ttls.put(DEPOSIT_ADDRESS, DEFAULT_DEPOSIT_ADDRESS_TTL);
+        return ttls;
+    }
+
+    @Override
+    public CompletableFuture<ExchangeInfo> getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
+        return cached(EXCHANGE_INFO, EXCHANGE_INFO, callback, cb -> delegate.getExchangeInfo(cb));
+    }
+
+    @Override
+    public CompletableFuture<List<Asset>> getAllAssets(BinanceApiCallback<List<Asset>> callback) {
+        return cached(ALL_ASSETS, ALL_ASSETS, callback, cb -> delegate.getAllAssets(cb));
+    }
+
+    @Override
+    public CompletableFuture<DepositAddress> getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
+        return cached(DEPOSIT_ADDRESS, Arrays.asList(DEPOSIT_ADDRESS, asset), callback, cb -> delegate.getDepositAddress(asset, cb));
+    }
+
+    /**
+     * Drops every cached entry, the next call for each endpoint goes to the delegate.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of calls to the endpoint served from the cache.
+     */
+    public long getHitCount(BinanceApiEndpoint endpoint) {
+        Stats s = stats.get(endpoint);
+        return s == null ? 0 : s.hits.sum();
+    }
+
+    /**
+     * @return the number of calls to the endpoint which had to wait for the delegate.
+     */
+    public long getMissCount(BinanceApiEndpoint endpoint) {
+        Stats s = stats.get(endpoint);
+        return s == null ? 0 : s.misses.sum();
+    }
+
+    /**
+     * @return the number of background refreshes of the endpoint.
+     */
+    public long getRefreshCount(BinanceApiEndpoint endpoint) {
+        Stats s = stats.get(endpoint);
+        return s == null ? 0 : s.refreshes.sum();
+    }
+
+    /**
+     * @return the number of background refreshes of the endpoint which failed.
+     */
+    public long getRefreshFailureCount(BinanceApiEndpoint endpoint) {
+        Stats s = stats.get(endpoint);
+        return s == null ? 0 : s.refreshFailures.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> cached(BinanceApiEndpoint endpoint, Object key, BinanceApiCallback<T> callback,
+                                            Function<BinanceApiCallback<T>, CompletableFuture<T>> load) {
+        Long ttl = ttlNanos.get(endpoint);
+        if (ttl == null) {
+            return load.apply(callback);
+        }
+        Stats s = stats.get(endpoint);
+        Entry<T> entry = (Entry<T>) entries.get(key);
+        if (entry == null) {
+            Entry<T> created = new Entry<>();
+            entry = (Entry<T>) entries.putIfAbsent(key, created);
+            if (entry == null) {
+                s.misses.increment();
+                created.load(key, call(load));
+                return respond(callback, created.value.copy());
+            }
+        }
+        if (!entry.value.isDone() || entry.value.isCompletedExceptionally()) {
+            s.misses.increment();
+            return respond(callback, entry.value.copy());
+        }
+        s.hits.increment();
+        if (System.nanoTime() - entry.loadedAt > ttl && entry.refreshing.compareAndSet(false, true)) {
+            s.refreshes.increment();
+            Entry<T> stale = entry;
+            call(load).whenComplete((v, e) -> {
+                if (e == null) {
+                    stale.refreshed(v);
+                } else {
+                    s.refreshFailures.increment();
+                }
+                stale.refreshing.set(false);
+            });
+        }
+        return respond(callback, entry.value.copy());
+    }
+
+    /**
+     * Calls the delegate without a callback.  A call it throws from, such as one its executor rejects, gives a failed
+     * future, so the entry waiting on it is dropped or its refresh ends.
+     */
+    private static <T> CompletableFuture<T> call(Function<BinanceApiCallback<T>, CompletableFuture<T>> load) {
+        try {
+            return load.apply(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> respond(BinanceApiCallback<T> callback, CompletableFuture<T> f) {
+        return respond(callback, f, responseService);
+    }
+
+    private final class Entry<T> {
+        private volatile CompletableFuture<T> value = new CompletableFuture<>();
+        private volatile long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private void load(Object key, CompletableFuture<T> f) {
+            CompletableFuture<T> initial = value;
+            f.whenComplete((v, e) -> {
+                if (e != null) {
+                    entries.remove(key, this);
+                    initial.completeExceptionally(e);
+                } else {
+                    loadedAt = System.nanoTime();
+                    initial.complete(v);
+                }
+            });
+        }
+
+        private void refreshed(T v) {
+            value = CompletableFuture.completedFuture(v);
+            loadedAt = System.nanoTime();
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder refreshes = new LongAdder();
+        private final LongAdder refreshFailures = new LongAdder();
+    }
+}
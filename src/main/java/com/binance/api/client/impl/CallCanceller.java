@@ -0,0 +1,192 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.binance.api.client.security.AuthenticationInterceptor;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An OkHttp interceptor remembering the call each thread is making, so a blocking call can be cancelled from
+ * another thread.  Interrupting the thread does not abort it: OkHttp's socket reads ignore interrupts, so the
+ * thread stays blocked until the read timeout.  Cancelling the call closes its socket at once.
+ *
+ * A call started on an interrupted thread is cancelled straight away, so a cancellation racing the start of the
+ * call is not lost.
+ *
+ * As every call of the client passes through it, the interceptor also reads what the exchange says of its rate
+ * limits, which the upstream client drops: the weight used in the current minute, from the X-MBX-USED-WEIGHT-1M
+ * header, is given to the {@link RequestWeightScheduler}, and a 429 or 418 with its Retry-After header to the
+ * {@link RetryPolicy}.
+ */
+public class CallCanceller implements Interceptor {
+    static final String USED_WEIGHT = "X-MBX-USED-WEIGHT-1M";
+    static final String LEGACY_USED_WEIGHT = "X-MBX-USED-WEIGHT";
+    static final String RETRY_AFTER = "Retry-After";
+
+    private final ConcurrentHashMap<Thread, Call> calls = new ConcurrentHashMap<>();
+    private final RetryPolicy retry;
+    private final RequestWeightScheduler scheduler;
+
+    /**
+     * An interceptor which does not read the rate limit headers.
+     */
+    public CallCanceller() {
+        this(null, null);
+    }
+
+    /**
+     * @param retry the policy told of rate limit failures, null if there is none
+     * @param scheduler the scheduler told of the weight used, null if there is none
+     */
+    public CallCanceller(RetryPolicy retry, RequestWeightScheduler scheduler) {
+        this.retry = retry;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Thread thread = Thread.currentThread();
+        Call call = chain.call();
+        calls.put(thread, call);
+        try {
+            if (thread.isInterrupted()) {
+                call.cancel();
+            }
+            Response response = chain.proceed(chain.request());
+            observe(response);
+            return response;
+        } finally {
+            calls.remove(thread, call);
+        }
+    }
+
+    private void observe(Response response) {
+        if (scheduler != null) {
+            String used = response.header(USED_WEIGHT, response.header(LEGACY_USED_WEIGHT));
+            if (used != null) {
+                try {
+                    scheduler.onUsedWeight(Integer.parseInt(used.trim()));
+                } catch (NumberFormatException e) {
+                    // not a count
+                }
+            }
+        }
+        int status = response.code();
+        if (retry != null && (status == RetryPolicy.TOO_MANY_REQUESTS_STATUS || status == RetryPolicy.IP_BANNED_STATUS)) {
+            retry.onRateLimited(status, retryAfterMillis(response.header(RETRY_AFTER)));
+        }
+    }
+
+    /**
+     * @return the delay in a Retry-After header, which Binance gives in seconds, or -1 if there is none.
+     */
+    static long retryAfterMillis(String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException e) {
+                // an HTTP date, which Binance does not send
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cancels the call the thread is making, if any.
+     *
+     * @return true if the thread was making a call
+     */
+    public boolean cancel(Thread thread) {
+        Call call = calls.get(thread);
+        if (call == null) {
+            return false;
+        }
+        call.cancel();
+        return true;
+    }
+
+    /**
+     * Creates an upstream REST client whose calls go to the exchange through this interceptor.
+     *
+     * @param apiKey the API key, null for a client without authentication
+     * @param secret the secret, null for a client without authentication
+     * @throws IllegalStateException if the upstream client does not hold its Retrofit service where expected
+     * @see #newRestClient(String, String, String)
+     */
+    public BinanceApiRestClient newRestClient(String apiKey, String secret) {
+        return newRestClient(BinanceApiConfig.getApiBaseUrl(), apiKey, secret);
+    }
+
+    /**
+     * Creates an upstream REST client whose calls go through this interceptor.
+     *
+     * The upstream client builds its Retrofit service in its constructor, over the shared OkHttpClient of
+     * BinanceApiServiceGenerator which takes no interceptor.  The client is given a service built over a copy of
+     * that OkHttpClient with this interceptor added, replacing its own.  This requires the upstream client to hold
+     * its service in a field of type BinanceApiService, as binance-api-client 1.0.1 does.  Should a later version
+     * not, this fails rather than returning a client whose calls could not be cancelled.
+     *
+     * @param baseUrl the url of the exchange, such as {@link BinanceApiConfig#getApiBaseUrl()}
+     * @param apiKey the API key, null for a client without authentication
+     * @param secret the secret, null for a client without authentication
+     * @throws IllegalStateException if the upstream client does not hold its Retrofit service where expected
+     */
+    public BinanceApiRestClient newRestClient(String baseUrl, String apiKey, String secret) {
+        return withService(new BinanceApiRestClientImpl(apiKey, secret), newService(baseUrl, apiKey, secret));
+    }
+
+    /**
+     * Creates an upstream non-blocking REST client whose calls go through this interceptor, as
+     * {@link #newRestClient(String, String, String)} does for the blocking one.
+     *
+     * @param baseUrl the url of the exchange, such as {@link BinanceApiConfig#getApiBaseUrl()}
+     * @param apiKey the API key, null for a client without authentication
+     * @param secret the secret, null for a client without authentication
+     * @throws IllegalStateException if the upstream client does not hold its Retrofit service where expected
+     */
+    public BinanceApiAsyncRestClient newAsyncRestClient(String baseUrl, String apiKey, String secret) {
+        return withService(new BinanceApiAsyncRestClientImpl(apiKey, secret), newService(baseUrl, apiKey, secret));
+    }
+
+    private BinanceApiService newService(String baseUrl, String apiKey, String secret) {
+        OkHttpClient.Builder http = BinanceApiServiceGenerator.getSharedClient().newBuilder().addInterceptor(this);
+        if (apiKey != null && !apiKey.isEmpty() && secret != null && !secret.isEmpty()) {
+            http.addInterceptor(new AuthenticationInterceptor(apiKey, secret));
+        }
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(http.build())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(BinanceApiService.class);
+    }
+
+    private static <T> T withService(T client, BinanceApiService service) {
+        for (Field field : client.getClass().getDeclaredFields()) {
+            if (field.getType() == BinanceApiService.class) {
+                try {
+                    field.setAccessible(true);
+                    field.set(client, service);
+                    return client;
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new IllegalStateException("Can not give " + client.getClass().getName() + " a service making its calls through "
+                            + CallCanceller.class.getSimpleName(), e);
+                }
+            }
+        }
+        throw new IllegalStateException("No field of type " + BinanceApiService.class.getName() + " in " + client.getClass().getName()
+                + " to give a service making its calls through " + CallCanceller.class.getSimpleName());
+    }
+}
@@ -0,0 +1,65 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the callbacks of requests on the response executor, after the callbacks of earlier requests for the same
+ * symbol when callbacks are ordered.
+ */
+final class CallbackDispatcher {
+    private final Executor responseService;
+    private final SequencedDispatcher dispatcher;
+    private final BinanceApiMetrics metrics;
+
+    CallbackDispatcher(Executor responseService, boolean ordered, BinanceApiMetrics metrics) {
+        this.responseService = responseService;
+        this.dispatcher = ordered ? new SequencedDispatcher(responseService) : null;
+        this.metrics = metrics;
+    }
+
+    /**
+     * The returned future completes once onResponse has run, or as soon as the call fails, with onFailure run
+     * after.  When onResponse throws, the future fails with what it threw and onFailure is run with it.
+     *
+     * @param symbol the symbol the callback is ordered by, null if it is not ordered
+     */
+    <T> CompletableFuture<T> respond(BinanceApiEndpoint endpoint, String symbol, BinanceApiCallback<T> callback, CompletableFuture<T> f) {
+        if (callback == null) {
+            return f;
+        }
+        SequencedDispatcher.Slot slot = dispatcher == null ? responseService::execute : dispatcher.reserve(symbol);
+        CompletableFuture<T> result = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                // a call which can not be cancelled completes this future with its own failure
+                return f.cancel(mayInterruptIfRunning) && super.cancel(mayInterruptIfRunning);
+            }
+        };
+        f.whenComplete((v, e) -> {
+            long completedAt = System.nanoTime();
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+            slot.execute(() -> {
+                metrics.onCallback(endpoint, System.nanoTime() - completedAt);
+                if (e != null) {
+                    callback.onFailure(e);
+                    return;
+                }
+                try {
+                    callback.onResponse(v);
+                    result.complete(v);
+                } catch (Throwable x) {
+                    result.completeExceptionally(x);
+                    callback.onFailure(x);
+                }
+            });
+        });
+        return result;
+    }
+}
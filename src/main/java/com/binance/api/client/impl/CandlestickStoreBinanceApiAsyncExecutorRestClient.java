@@ -0,0 +1,238 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.history.MappedCandlestickStore;
+import com.binance.api.client.market.CandlestickIntervals;
+import com.binance.api.client.market.SymbolScales;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorator answering candlestick queries from a {@link MappedCandlestickStore} per symbol and interval.
+ *
+ * Closed bars are read from disk, the delegate is only called for the part of a query the store does not cover
+ * yet, and for bars which are still open.  A store covers one contiguous range, so a query beyond it also
+ * fetches, once, the bars between the store and the query.  Queries without a start time, asking for the latest
+ * bars, go straight to the delegate.
+ *
+ * New stores hold volumes at the scales of their symbol when {@link SymbolScales} are given, otherwise at 8
+ * decimals, where bars with volumes too large to fit fail the query rather than being stored.
+ */
+public class CandlestickStoreBinanceApiAsyncExecutorRestClient extends ForwardingBinanceApiAsyncExecutorRestClient
+        implements Closeable {
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+    /**
+     * How long after its close time a bar is considered final, allowing for the local clock running ahead.
+     */
+    public static final Duration DEFAULT_SETTLE_TIME = Duration.ofSeconds(5);
+
+    private final Path root;
+    private final Executor responseService;
+    private final long settleMillis;
+    private final SymbolScales scales;
+    private final ConcurrentHashMap<Object, Store> stores = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the client fetching the bars missing from the stores
+     * @param root the directory holding the stores
+     * @param responseService the executor running callbacks
+     */
+    public CandlestickStoreBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, Path root,
+                                                             Executor responseService) {
+        this(delegate, root, responseService, DEFAULT_SETTLE_TIME);
+    }
+
+    /**
+     * @param delegate the client fetching the bars missing from the stores
+     * @param root the directory holding the stores
+     * @param responseService the executor running callbacks
+     * @param settleTime how long after its close time a bar is stored
+     */
+    public CandlestickStoreBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, Path root,
+                                                             Executor responseService, Duration settleTime) {
+        this(delegate, root, responseService, settleTime, null);
+    }
+
+    /**
+     * @param delegate the client fetching the bars missing from the stores
+     * @param root the directory holding the stores
+     * @param responseService the executor running callbacks
+     * @param settleTime how long after its close time a bar is stored
+     * @param scales the scales volumes are held at in new stores, null for 8 decimals
+     */
+    public CandlestickStoreBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, Path root,
+                                                             Executor responseService, Duration settleTime,
+                                                             SymbolScales scales) {
+        super(delegate);
+        this.root = root;
+        this.responseService = responseService;
+        this.settleMillis = settleTime.toMillis();
+        this.scales = scales;
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit,
+                                                                   Long startTime, Long endTime,
+                                                                   BinanceApiCallback<List<Candlestick>> callback) {
+        if (startTime == null) {
+            return delegate.getCandlestickBars(symbol, interval, limit, startTime, endTime, callback);
+        }
+        int n = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        long to = endTime == null ? Long.MAX_VALUE : endTime + 1;
+        CompletableFuture<List<Candlestick>> f;
+        try {
+            f = query(store(symbol, interval), startTime, to, n);
+        } catch (UncheckedIOException e) {
+            f = new CompletableFuture<>();
+            f.completeExceptionally(e.getCause());
+        }
+        return respond(callback, f, responseService);
+    }
+
+    /**
+     * @return the store of a symbol and interval, opened on first use.
+     */
+    public MappedCandlestickStore getStore(String symbol, CandlestickInterval interval) {
+        return store(symbol, interval).store;
+    }
+
+    private Store store(String symbol, CandlestickInterval interval) {
+        return stores.computeIfAbsent(Arrays.asList(symbol, interval), k -> {
+            try {
+                return new Store(scales == null ? MappedCandlestickStore.open(root, symbol, interval)
+                        : MappedCandlestickStore.open(root, symbol, interval, scales));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Answers a query, the bars opened in [from, to), at most n of them.
+     */
+    private CompletableFuture<List<Candlestick>> query(Store s, long from, long to, int n) {
+        CandlestickInterval interval = s.store.getInterval();
+        long closed = CandlestickIntervals.openTime(interval, System.currentTimeMillis() - settleMillis);
+        long last = Math.min(to, closed);
+        long first = CandlestickIntervals.openTime(interval, from);
+        if (first < from) {
+            first = CandlestickIntervals.nextOpenTime(interval, first);
+        }
+        return cover(s, first, Math.min(last, advance(interval, first, n)), last, from, n).thenCompose(bars -> {
+            if (bars.size() >= n || to <= closed) {
+                return CompletableFuture.completedFuture(bars);
+            }
+            long open = Math.max(from, closed);
+            return delegate.getCandlestickBars(s.store.getSymbol(), interval, n - bars.size(), open, to - 1, null)
+                    .thenApply(live -> {
+                        List<Candlestick> all = new ArrayList<>(bars);
+                        all.addAll(live);
+                        return all;
+                    });
+        });
+    }
+
+    /**
+     * Makes the store cover [first, end) and reads the query, extending the range while exchange downtime left
+     * the store short of n bars.
+     */
+    private CompletableFuture<List<Candlestick>> cover(Store s, long first, long end, long last, long from, int n) {
+        return s.fill(first, end).thenCompose(v -> {
+            List<Candlestick> bars = s.store.read(from, last, n);
+            if (bars.size() >= n || end >= last) {
+                return CompletableFuture.completedFuture(bars);
+            }
+            long next = Math.min(last, advance(s.store.getInterval(), end, n - bars.size()));
+            return cover(s, first, next, last, from, n);
+        });
+    }
+
+    private static long advance(CandlestickInterval interval, long openTime, int bars) {
+        if (CandlestickIntervals.isFixedLength(interval)) {
+            long length = CandlestickIntervals.toMillis(interval);
+            return bars >= (Long.MAX_VALUE - openTime) / length ? Long.MAX_VALUE : openTime + bars * length;
+        }
+        long t = openTime;
+        for (int i = 0; i < bars; i++) {
+            t = CandlestickIntervals.nextOpenTime(interval, t);
+        }
+        return t;
+    }
+
+    /**
+     * Fetches the bars opened in [from, to), paging by the maximum limit.
+     */
+    private CompletableFuture<List<Candlestick>> fetch(MappedCandlestickStore store, long from, long to, List<Candlestick> bars) {
+        return delegate.getCandlestickBars(store.getSymbol(), store.getInterval(), MAX_LIMIT, from, to - 1, null)
+                .thenCompose(page -> {
+                    bars.addAll(page);
+                    if (page.size() < MAX_LIMIT) {
+                        return CompletableFuture.completedFuture(bars);
+                    }
+                    long next = CandlestickIntervals.nextOpenTime(store.getInterval(), page.get(page.size() - 1).getOpenTime());
+                    return next >= to ? CompletableFuture.completedFuture(bars) : fetch(store, next, to, bars);
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Store s : stores.values()) {
+            s.store.close();
+        }
+        stores.clear();
+    }
+
+    /**
+     * A store and the chain of fills made to it, run one at a time so concurrent queries do not fetch the same bars.
+     */
+    private final class Store {
+        private final MappedCandlestickStore store;
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        private Store(MappedCandlestickStore store) {
+            this.store = store;
+        }
+
+        private synchronized CompletableFuture<Void> fill(long from, long to) {
+            CompletableFuture<Void> f = tail.thenCompose(v -> extend(from, to));
+            tail = f.exceptionally(e -> null);
+            return f;
+        }
+
+        private CompletableFuture<Void> extend(long from, long to) {
+            if (from >= to) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (store.isEmpty()) {
+                return add(from, to);
+            }
+            CompletableFuture<Void> f = from < store.getCoveredFrom()
+                    ? add(from, store.getCoveredFrom()) : CompletableFuture.completedFuture(null);
+            return f.thenCompose(v -> to > store.getCoveredTo() ? add(store.getCoveredTo(), to) : f);
+        }
+
+        private CompletableFuture<Void> add(long from, long to) {
+            return fetch(store, from, to, new ArrayList<>()).thenAccept(bars -> {
+                try {
+                    store.add(from, to, bars);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.*;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Base class for decorators of a BinanceApiAsyncExecutorRestClient, forwarding every call to the delegate.
+ * Subclasses override the calls they want to change.
+ */
+public abstract class ForwardingBinanceApiAsyncExecutorRestClient implements BinanceApiAsyncExecutorRestClient {
+    protected final BinanceApiAsyncExecutorRestClient delegate;
+
+    protected ForwardingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Runs the callback, if any, on the executor once the future completes, for calls a decorator answers itself.
+     * As with the clients' own callbacks, the returned future completes once onResponse has run, or as soon as the
+     * call fails, with onFailure run after.  When onResponse throws, the future fails with what it threw and
+     * onFailure is run with it.
+     */
+    protected static <T> CompletableFuture<T> respond(BinanceApiCallback<T> callback, CompletableFuture<T> f, Executor executor) {
+        if (callback == null) {
+            return f;
+        }
+        CompletableFuture<T> result = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                // a call which can not be cancelled completes this future with its own failure
+                return f.cancel(mayInterruptIfRunning) && super.cancel(mayInterruptIfRunning);
+            }
+        };
+        f.whenComplete((v, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+            executor.execute(() -> {
+                if (e != null) {
+                    callback.onFailure(e);
+                    return;
+                }
+                try {
+                    callback.onResponse(v);
+                    result.complete(v);
+                } catch (Throwable x) {
+                    result.completeExceptionally(x);
+                    callback.onFailure(x);
+                }
+            });
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> ping(BinanceApiCallback<Void> callback) {
+        return delegate.ping(callback);
+    }
+
+    @Override
+    public CompletableFuture<ServerTime> getServerTime(BinanceApiCallback<ServerTime> callback) {
+        return delegate.getServerTime(callback);
+    }
+
+    @Override
+    public CompletableFuture<ExchangeInfo> getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
+        return delegate.getExchangeInfo(callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Asset>> getAllAssets(BinanceApiCallback<List<Asset>> callback) {
+        return delegate.getAllAssets(callback);
+    }
+
+    @Override
+    public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
+        return delegate.getOrderBook(symbol, limit, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return delegate.getTrades(symbol, limit, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return delegate.getHistoricalTrades(symbol, limit, fromId, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<AggTrade>> callback) {
+        return delegate.getAggTrades(symbol, fromId, limit, startTime, endTime, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, BinanceApiCallback<List<AggTrade>> callback) {
+        return delegate.getAggTrades(symbol, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<Candlestick>> callback) {
+        return delegate.getCandlestickBars(symbol, interval, limit, startTime, endTime, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, BinanceApiCallback<List<Candlestick>> callback) {
+        return delegate.getCandlestickBars(symbol, interval, callback);
+    }
+
+    @Override
+    public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol, BinanceApiCallback<TickerStatistics> callback) {
+        return delegate.get24HrPriceStatistics(symbol, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics(BinanceApiCallback<List<TickerStatistics>> callback) {
+        return delegate.getAll24HrPriceStatistics(callback);
+    }
+
+    @Override
+    public CompletableFuture<List<TickerPrice>> getAllPrices(BinanceApiCallback<List<TickerPrice>> callback) {
+        return delegate.getAllPrices(callback);
+    }
+
+    @Override
+    public CompletableFuture<TickerPrice> getPrice(String symbol , BinanceApiCallback<TickerPrice> callback) {
+        return delegate.getPrice(symbol, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<BookTicker>> getBookTickers(BinanceApiCallback<List<BookTicker>> callback) {
+        return delegate.getBookTickers(callback);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, TickerPrice>> getPrices(Collection<String> symbols, BinanceApiCallback<Map<String, TickerPrice>> callback) {
+        return delegate.getPrices(symbols, callback);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BookTicker>> getBookTickers(Collection<String> symbols, BinanceApiCallback<Map<String, BookTicker>> callback) {
+        return delegate.getBookTickers(symbols, callback);
+    }
+
+    @Override
+    public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
+        return delegate.newOrder(order, callback);
+    }
+
+    @Override
+    public CompletableFuture<Void> newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
+        return delegate.newOrderTest(order, callback);
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
+        return delegate.getOrderStatus(orderStatusRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
+        return delegate.cancelOrder(cancelOrderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return delegate.getOpenOrders(orderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return delegate.getAllOrders(orderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
+        return delegate.getAccount(recvWindow, timestamp, callback);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(BinanceApiCallback<Account> callback) {
+        return delegate.getAccount(callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, limit, fromId, recvWindow, timestamp, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, limit, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, callback);
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, BinanceApiCallback<WithdrawResult> callback) {
+        return delegate.withdraw(asset, address, amount, name, addressTag, callback);
+    }
+
+    @Override
+    public CompletableFuture<DepositHistory> getDepositHistory(String asset, BinanceApiCallback<DepositHistory> callback) {
+        return delegate.getDepositHistory(asset, callback);
+    }
+
+    @Override
+    public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, BinanceApiCallback<WithdrawHistory> callback) {
+        return delegate.getWithdrawHistory(asset, callback);
+    }
+
+    @Override
+    public CompletableFuture<DepositAddress> getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
+        return delegate.getDepositAddress(asset, callback);
+    }
+
+    @Override
+    public CompletableFuture<ListenKey> startUserDataStream(BinanceApiCallback<ListenKey> callback) {
+        return delegate.startUserDataStream(callback);
+    }
+
+    @Override
+    public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return delegate.keepAliveUserDataStream(listenKey, callback);
+    }
+
+    @Override
+    public CompletableFuture<Void> closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return delegate.closeUserDataStream(listenKey, callback);
+    }
+}
@@ -0,0 +1,143 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.limit.SlidingWindowLimiter;
+import com.binance.api.client.metrics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.binance.api.client.BinanceApiEndpoint.*;
+
+/**
+ * When and how often the {@link BinanceApiAsyncExecutorRestClientImpl} hedges reads: a read which has not
+ * answered once it is slower than a percentile of the recent latency of its endpoint, the p95 by default, is
+ * sent a second time and the first answer is used.  The other call is then cancelled.
+ *
+ * Hedges are only sent for idempotent endpoints, once enough calls have been seen to estimate the percentile, and
+ * within a budget of request weight per minute on top of the client's rate limits.
+ */
+public class HedgingPolicy {
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 60;
+    /**
+     * The number of calls seen before an endpoint is hedged.
+     */
+    public static final int MIN_SAMPLES = 100;
+    /**
+     * The number of calls after which the latency of an endpoint is measured afresh, so the threshold follows
+     * changes in the exchange's latency.
+     */
+    public static final int WINDOW_SAMPLES = 10000;
+    private static final int RECOMPUTE_EVERY = 50;
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long SECOND = TimeUnit.SECONDS.toMillis(1);
+
+    private final double percentile;
+    private final Map<BinanceApiEndpoint, Tracker> trackers = new EnumMap<>(BinanceApiEndpoint.class);
+    private final SlidingWindowLimiter budget;
+
+    /**
+     * Hedges order status, order book and price reads past their p95 with the default budget.
+     */
+    public HedgingPolicy() {
+        this(EnumSet.of(ORDER_STATUS, ORDER_BOOK, PRICE), DEFAULT_PERCENTILE, DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * @param endpoints the endpoints hedged, all idempotent
+     * @param percentile the percentile of the latency past which a call is hedged, e.g. 95
+     * @param weightPerMinute the request weight hedges may use per minute
+     */
+    public HedgingPolicy(Set<BinanceApiEndpoint> endpoints, double percentile, int weightPerMinute) {
+        for (BinanceApiEndpoint endpoint : endpoints) {
+            if (!endpoint.isIdempotent()) {
+                throw new IllegalArgumentException(endpoint + " is not idempotent and can not be hedged");
+            }
+            trackers.put(endpoint, new Tracker());
+        }
+        this.percentile = percentile;
+        this.budget = new SlidingWindowLimiter(weightPerMinute, MINUTE, SECOND);
+    }
+
+    public boolean isHedged(BinanceApiEndpoint endpoint) {
+        return trackers.containsKey(endpoint);
+    }
+
+    /**
+     * @return how long to wait for a call before hedging it, or -1 if it should not be hedged.
+     */
+    public long getDelayNanos(BinanceApiEndpoint endpoint) {
+        Tracker tracker = trackers.get(endpoint);
+        return tracker == null ? -1 : tracker.threshold;
+    }
+
+    /**
+     * Records the latency of a successful call, from when it was sent.  A call cancelled as another answered
+     * first is recorded with the time it had been waiting, a lower bound of its latency which keeps slow calls in
+     * the percentile.
+     */
+    public void record(BinanceApiEndpoint endpoint, long nanos) {
+        Tracker tracker = trackers.get(endpoint);
+        if (tracker == null) {
+            return;
+        }
+        tracker.latency.record(nanos);
+        long n = tracker.samples.incrementAndGet();
+        if (n % RECOMPUTE_EVERY == 0 && n >= MIN_SAMPLES) {
+            tracker.threshold = tracker.latency.getValueAtPercentile(percentile);
+            if (tracker.latency.getCount() >= WINDOW_SAMPLES) {
+                tracker.latency.reset();
+            }
+        }
+    }
+
+    /**
+     * Takes budget for a hedge.
+     *
+     * @return false if the budget is spent, the call should not be hedged
+     */
+    public boolean tryAcquire(BinanceApiEndpoint endpoint, int weight) {
+        boolean acquired;
+        synchronized (budget) {
+            acquired = budget.tryAcquire(weight, TimeUnit.NANOSECONDS.toMillis(System.nanoTime())) == 0;
+        }
+        if (acquired) {
+            trackers.get(endpoint).hedges.increment();
+        }
+        return acquired;
+    }
+
+    void hedgeWon(BinanceApiEndpoint endpoint) {
+        trackers.get(endpoint).wins.increment();
+    }
+
+    /**
+     * @return the number of hedges sent for the endpoint.
+     */
+    public long getHedgeCount(BinanceApiEndpoint endpoint) {
+        Tracker tracker = trackers.get(endpoint);
+        return tracker == null ? 0 : tracker.hedges.sum();
+    }
+
+    /**
+     * @return the number of hedges which answered before the call they hedged.
+     */
+    public long getHedgeWinCount(BinanceApiEndpoint endpoint) {
+        Tracker tracker = trackers.get(endpoint);
+        return tracker == null ? 0 : tracker.wins.sum();
+    }
+
+    private static final class Tracker {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong samples = new AtomicLong();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private volatile long threshold = -1;
+    }
+}
@@ -0,0 +1,398 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.*;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.*;
+import com.binance.api.client.exception.BinanceApiRateLimitException;
+import com.binance.api.client.limit.AdaptiveConcurrencyLimiter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.binance.api.client.BinanceApiEndpoint.*;
+
+/**
+ * Implementation of BinanceApiAsyncExecutorRestClient on top of the non-blocking BinanceApiAsyncRestClient, whose
+ * calls are enqueued on OkHttp's dispatcher.  No thread is held while a request is in flight: futures are completed
+ * from the I/O callbacks and the response service only runs the callbacks given by the caller.
+ *
+ * Rate limits, concurrency limits, deadlines, metrics and ordered callbacks are applied as in
+ * {@link BinanceApiAsyncExecutorRestClientImpl}, waiting for rate limit budget without holding a thread, and so
+ * are retries.  Hedging is not.  The underlying call can not be reached to abort it, so a request cancelled or past its deadline after it
+ * was sent completes its future at once while its response, when it arrives, is dropped.
+ */
+public class NonBlockingBinanceApiAsyncExecutorRestClient extends AbstractBinanceApiAsyncExecutorRestClient {
+    private final BinanceApiAsyncRestClient client;
+
+    public NonBlockingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncRestClient client, ExecutorService responseService) {
+        this(client, responseService, BinanceApiAsyncExecutorOptions.defaults());
+    }
+
+    public NonBlockingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncRestClient client, ExecutorService responseService,
+                                                        BinanceApiAsyncExecutorOptions options) {
+        super(responseService, options);
+        this.client = client;
+    }
+
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, BinanceApiCallback<T> callback, Consumer<BinanceApiCallback<T>> call){
+        return invoke(endpoint, endpoint.getWeight(), null, callback, call);
+    }
+
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, String symbol, BinanceApiCallback<T> callback, Consumer<BinanceApiCallback<T>> call){
+        return invoke(endpoint, endpoint.getWeight(), symbol, callback, call);
+    }
+
+    /**
+     * @param symbol the symbol the callback is ordered by, null if it is not ordered
+     */
+    private <T> CompletableFuture<T> invoke(BinanceApiEndpoint endpoint, int weight, String symbol, BinanceApiCallback<T> callback,
+                                            Consumer<BinanceApiCallback<T>> call){
+        return respond(endpoint, symbol, callback, send(endpoint, weight, call));
+    }
+
+    private <T> CompletableFuture<T> invokeShared(BinanceApiEndpoint endpoint, int weight, String symbol, BinanceApiCallback<T> callback,
+                                                  Consumer<BinanceApiCallback<T>> call, Object... args){
+        return invokeShared(endpoint, symbol, callback, () -> send(endpoint, weight, call), args);
+    }
+
+    private <T> CompletableFuture<T> send(BinanceApiEndpoint endpoint, int weight, Consumer<BinanceApiCallback<T>> call){
+        long deadline = BinanceApiRequestContext.getDeadline();
+        if (retry == null) {
+            return attempt(endpoint, weight, call, deadline);
+        }
+        return retry.execute(endpoint, deadline, () -> attempt(endpoint, weight, call, deadline));
+    }
+
+    private <T> CompletableFuture<T> attempt(BinanceApiEndpoint endpoint, int weight, Consumer<BinanceApiCallback<T>> call, long deadline){
+        Request<T> request = new Request<>(endpoint, weight, call, deadline);
+        metrics.onQueued(endpoint);
+        request.scheduleDeadline();
+        if (limiter != null) {
+            limiter.submit(endpoint.getLane(), request, Runnable::run);
+        } else {
+            request.acquire();
+        }
+        return request;
+    }
+
+    @Override
+    public CompletableFuture<Void> ping(BinanceApiCallback<Void> callback) {
+        return invoke(PING, callback, c -> client.ping(c));
+    }
+
+    @Override
+    public CompletableFuture<ServerTime> getServerTime(BinanceApiCallback<ServerTime> callback) {
+        return invoke(SERVER_TIME, callback, c -> client.getServerTime(c));
+    }
+
+    @Override
+    public CompletableFuture<ExchangeInfo> getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
+        return invokeShared(EXCHANGE_INFO, EXCHANGE_INFO.getWeight(), null, callback, c -> client.getExchangeInfo(c));
+    }
+
+    @Override
+    public CompletableFuture<List<Asset>> getAllAssets(BinanceApiCallback<List<Asset>> callback) {
+        return invokeShared(ALL_ASSETS, ALL_ASSETS.getWeight(), null, callback, c -> client.getAllAssets(c));
+    }
+
+    @Override
+    public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
+        return invokeShared(ORDER_BOOK, BinanceApiEndpoint.orderBookWeight(limit), symbol, callback, c -> client.getOrderBook(symbol, limit, c), symbol, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return invoke(TRADES, symbol, callback, c -> client.getTrades(symbol, limit, c));
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return invoke(HISTORICAL_TRADES, symbol, callback, c -> client.getHistoricalTrades(symbol, limit, fromId, c));
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<AggTrade>> callback) {
+        return invoke(AGG_TRADES, symbol, callback, c -> client.getAggTrades(symbol, fromId, limit, startTime, endTime, c));
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, BinanceApiCallback<List<AggTrade>> callback) {
+        return invoke(AGG_TRADES, symbol, callback, c -> client.getAggTrades(symbol, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<Candlestick>> callback) {
+        return invoke(CANDLESTICK_BARS, symbol, callback, c -> client.getCandlestickBars(symbol, interval, limit, startTime, endTime, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, BinanceApiCallback<List<Candlestick>> callback) {
+        return invoke(CANDLESTICK_BARS, symbol, callback, c -> client.getCandlestickBars(symbol, interval, c));
+    }
+
+    @Override
+    public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol, BinanceApiCallback<TickerStatistics> callback) {
+        return invokeShared(PRICE_STATISTICS_24HR, PRICE_STATISTICS_24HR.getWeight(), symbol, callback, c -> client.get24HrPriceStatistics(symbol, c), symbol);
+    }
+
+    @Override
+    public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics(BinanceApiCallback<List<TickerStatistics>> callback) {
+        return invokeShared(ALL_PRICE_STATISTICS_24HR, ALL_PRICE_STATISTICS_24HR.getWeight(), null, callback, c -> client.getAll24HrPriceStatistics(c));
+    }
+
+    @Override
+    public CompletableFuture<List<TickerPrice>> getAllPrices(BinanceApiCallback<List<TickerPrice>> callback) {
+        return invokeShared(ALL_PRICES, ALL_PRICES.getWeight(), null, callback, c -> client.getAllPrices(c));
+    }
+
+    @Override
+    public CompletableFuture<TickerPrice> getPrice(String symbol, BinanceApiCallback<TickerPrice> callback) {
+        return invokeShared(PRICE, PRICE.getWeight(), symbol, callback, c -> client.getPrice(symbol, c), symbol);
+    }
+
+    @Override
+    public CompletableFuture<List<BookTicker>> getBookTickers(BinanceApiCallback<List<BookTicker>> callback) {
+        return invokeShared(BOOK_TICKERS, BOOK_TICKERS.getWeight(), null, callback, c -> client.getBookTickers(c));
+    }
+
+    @Override
+    CompletableFuture<List<TickerPrice>> sendGetAllPrices() {
+        return send(ALL_PRICES, ALL_PRICES.getWeight(), c -> client.getAllPrices(c));
+    }
+
+    @Override
+    CompletableFuture<List<BookTicker>> sendGetBookTickers() {
+        return send(BOOK_TICKERS, BOOK_TICKERS.getWeight(), c -> client.getBookTickers(c));
+    }
+
+    @Override
+    public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
+        return invoke(NEW_ORDER, order.getSymbol(), callback, c -> client.newOrder(order, c));
+    }
+
+    @Override
+    public CompletableFuture<Void> newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
+        return invoke(NEW_ORDER_TEST, order.getSymbol(), callback, c -> client.newOrderTest(order, c));
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
+        return invoke(ORDER_STATUS, orderStatusRequest.getSymbol(), callback, c -> client.getOrderStatus(orderStatusRequest, c));
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
+        return invoke(CANCEL_ORDER, cancelOrderRequest.getSymbol(), callback, c -> client.cancelOrder(cancelOrderRequest, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return invoke(OPEN_ORDERS, BinanceApiEndpoint.openOrdersWeight(orderRequest.getSymbol()), orderRequest.getSymbol(), callback, c -> client.getOpenOrders(orderRequest, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return invoke(ALL_ORDERS, orderRequest.getSymbol(), callback, c -> client.getAllOrders(orderRequest, c));
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
+        return invoke(ACCOUNT, callback, c -> client.getAccount(recvWindow, timestamp, c));
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(BinanceApiCallback<Account> callback) {
+        return invoke(ACCOUNT, callback, c -> client.getAccount(c));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
+        return invoke(MY_TRADES, symbol, callback, c -> client.getMyTrades(symbol, limit, fromId, recvWindow, timestamp, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, BinanceApiCallback<List<Trade>> callback) {
+        return invoke(MY_TRADES, symbol, callback, c -> client.getMyTrades(symbol, limit, c));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, BinanceApiCallback<List<Trade>> callback) {
+        return invoke(MY_TRADES, symbol, callback, c -> client.getMyTrades(symbol, c));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, BinanceApiCallback<WithdrawResult> callback) {
+        return invoke(WITHDRAW, callback, c -> client.withdraw(asset, address, amount, name, addressTag, c));
+    }
+
+    @Override
+    public CompletableFuture<DepositHistory> getDepositHistory(String asset, BinanceApiCallback<DepositHistory> callback) {
+        return invoke(DEPOSIT_HISTORY, callback, c -> client.getDepositHistory(asset, c));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, BinanceApiCallback<WithdrawHistory> callback) {
+        return invoke(WITHDRAW_HISTORY, callback, c -> client.getWithdrawHistory(asset, c));
+    }
+
+    @Override
+    public CompletableFuture<DepositAddress> getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
+        return invoke(DEPOSIT_ADDRESS, callback, c -> client.getDepositAddress(asset, c));
+    }
+
+    @Override
+    public CompletableFuture<ListenKey> startUserDataStream(BinanceApiCallback<ListenKey> callback) {
+        return invoke(START_USER_DATA_STREAM, callback, c -> client.startUserDataStream(c));
+    }
+
+    @Override
+    public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return invoke(KEEP_ALIVE_USER_DATA_STREAM, callback, c -> client.keepAliveUserDataStream(listenKey, c));
+    }
+
+    @Override
+    public CompletableFuture<Void> closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return invoke(CLOSE_USER_DATA_STREAM, callback, c -> client.closeUserDataStream(listenKey, c));
+    }
+
+    /**
+     * A request enqueued on the non-blocking client, completed by its callback.  While it waits for rate limit
+     * budget it is retried on a timer rather than holding a thread.
+     */
+    private final class Request<T> extends AbortableRequest<T> implements BinanceApiCallback<T> {
+        private final Consumer<BinanceApiCallback<T>> call;
+        private long sentAt;
+        private boolean answered;
+        private boolean permitted;
+        private boolean released;
+
+        private Request(BinanceApiEndpoint endpoint, int weight, Consumer<BinanceApiCallback<T>> call, long deadline) {
+            super(endpoint, weight, deadline);
+            this.call = call;
+        }
+
+        /**
+         * Run by the concurrency limiter once the request is within its limit.
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                permitted = true;
+            }
+            acquire();
+        }
+
+        @Override
+        public void reject(Throwable cause) {
+            drop(cause);
+        }
+
+        /**
+         * Hands the concurrency limit back, once, if the request was given it.
+         */
+        private void release(long rttNanos, Throwable failure) {
+            synchronized (this) {
+                if (!permitted || released) {
+                    return;
+                }
+                released = true;
+            }
+            limiter.release(rttNanos, AdaptiveConcurrencyLimiter.isDrop(failure));
+        }
+
+        /**
+         * Takes the rate limit budget and sends the request, or tries again once the budget may be available.
+         */
+        private void acquire() {
+            synchronized (this) {
+                if (state != QUEUED) {
+                    release(-1, null);
+                    return;
+                }
+            }
+            long wait = scheduler.tryAcquire(endpoint, weight);
+            if (wait > 0) {
+                long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt);
+                long left = deadline == BinanceApiRequestContext.NO_DEADLINE ? Long.MAX_VALUE
+                        : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (waited + wait > scheduler.getMaxDelayMillis() || wait > left) {
+                    drop(new BinanceApiRateLimitException("Rate limit budget exhausted for " + endpoint
+                            + " (weight " + weight + ")", wait));
+                } else {
+                    CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS).execute(this::acquire);
+                }
+                return;
+            }
+            synchronized (this) {
+                if (state != QUEUED) {
+                    release(-1, null);
+                    return;
+                }
+                state = SENT;
+                sentAt = System.nanoTime();
+            }
+            metrics.onStarted(endpoint, sentAt - queuedAt);
+            try {
+                call.accept(this);
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        @Override
+        public void onResponse(T response) {
+            if (answer(null)) {
+                complete(response);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            if (answer(cause)) {
+                completeExceptionally(cause);
+            }
+        }
+
+        /**
+         * @return true if the answer should complete this future, false if it was aborted or already answered
+         */
+        private boolean answer(Throwable failure) {
+            boolean aborted;
+            synchronized (this) {
+                if (answered) {
+                    return false;
+                }
+                answered = true;
+                aborted = state == ABORTED;
+                if (!aborted) {
+                    state = FINISHED;
+                }
+            }
+            long rtt = System.nanoTime() - sentAt;
+            metrics.onCompleted(endpoint, rtt, aborted ? abortedWith : failure);
+            release(rtt, aborted ? abortedWith : failure);
+            return !aborted;
+        }
+
+        @Override
+        void aborted(boolean sent, Throwable failure) {
+            if (!sent) {
+                metrics.onStarted(endpoint, System.nanoTime() - queuedAt);
+                metrics.onCompleted(endpoint, 0, failure);
+                release(-1, null);
+            }
+        }
+    }
+}
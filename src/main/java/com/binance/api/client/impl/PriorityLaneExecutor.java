@@ -0,0 +1,293 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint.Lane;
+import com.binance.api.client.metrics.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A request executor queueing tasks in priority lanes, so orders never wait behind bursts of market data calls.
+ *
+ * At most maxConcurrency tasks run at once.  Each lane has a number of reserved threads only its tasks can use,
+ * the rest are shared.  Whenever a thread is free the queued task of the highest priority lane it may run is
+ * started first, lower lanes only run when no higher lane is waiting for that thread.  Running tasks are never
+ * interrupted.
+ *
+ * Tasks submitted through the ExecutorService methods go to the market data lane, use {@link #forLane(Lane)}
+ * to pick the lane.  The {@link BinanceApiAsyncExecutorRestClientImpl} does so by endpoint when it is given a
+ * PriorityLaneExecutor as its request service.
+ */
+public class PriorityLaneExecutor extends AbstractExecutorService {
+    public static final int DEFAULT_TRADING_RESERVED = 2;
+    public static final int DEFAULT_ACCOUNT_RESERVED = 1;
+
+    private static final Lane[] LANES = Lane.values();
+
+    private final ExecutorService threads;
+    private final int maxConcurrency;
+    private final int shared;
+    private final int[] reserved = new int[LANES.length];
+    private final int[] running = new int[LANES.length];
+    private final ArrayDeque<Task>[] queues;
+    private final LatencyHistogram[] queueWait = new LatencyHistogram[LANES.length];
+    private final Executor[] lanes = new Executor[LANES.length];
+    private int totalRunning;
+    private boolean shutdown;
+
+    /**
+     * An executor reserving the default number of threads for the trading and account lanes.
+     */
+    public PriorityLaneExecutor(int maxConcurrency) {
+        this(maxConcurrency, defaultReserved());
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of tasks running at once
+     * @param reserved the number of threads reserved for each lane, lanes left out have none
+     */
+    public PriorityLaneExecutor(int maxConcurrency, Map<Lane, Integer> reserved) {
+        this(maxConcurrency, reserved, defaultThreadFactory());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PriorityLaneExecutor(int maxConcurrency, Map<Lane, Integer> reserved, ThreadFactory threadFactory) {
+        int totalReserved = 0;
+        for (Map.Entry<Lane, Integer> e : reserved.entrySet()) {
+            this.reserved[e.getKey().ordinal()] = e.getValue();
+            totalReserved += e.getValue();
+        }
+        if (totalReserved > maxConcurrency) {
+            throw new IllegalArgumentException("Reserved " + totalReserved + " threads out of " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.shared = maxConcurrency - totalReserved;
+        this.queues = new ArrayDeque[LANES.length];
+        for (Lane lane : LANES) {
+            queues[lane.ordinal()] = new ArrayDeque<>();
+            queueWait[lane.ordinal()] = new LatencyHistogram();
+            lanes[lane.ordinal()] = task -> execute(lane, task);
+        }
+        this.threads = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * @return the default number of threads reserved for each lane.
+     */
+    public static Map<Lane, Integer> defaultReserved() {
+        Map<Lane, Integer> reserved = new EnumMap<>(Lane.class);
+        reserved.put(Lane.TRADING, DEFAULT_TRADING_RESERVED);
+        reserved.put(Lane.ACCOUNT, DEFAULT_ACCOUNT_RESERVED);
+        return reserved;
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "binance-api-lane-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * @return an executor queueing its tasks in the lane.
+     */
+    public Executor forLane(Lane lane) {
+        return lanes[lane.ordinal()];
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(Lane.MARKET_DATA, command);
+    }
+
+    /**
+     * Queues a task in a lane.
+     */
+    public void execute(Lane lane, Runnable command) {
+        Task task = new Task(lane, command);
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor shut down");
+            }
+            queues[lane.ordinal()].add(task);
+            task = next();
+        }
+        if (task != null) {
+            start(task);
+        }
+    }
+
+    /**
+     * Takes the task to run next, if a thread may run it, called holding the monitor.
+     */
+    private Task next() {
+        if (totalRunning >= maxConcurrency) {
+            return null;
+        }
+        int sharedInUse = 0;
+        for (int l = 0; l < LANES.length; l++) {
+            sharedInUse += Math.max(0, running[l] - reserved[l]);
+        }
+        for (int l = 0; l < LANES.length; l++) {
+            if (!queues[l].isEmpty() && (running[l] < reserved[l] || sharedInUse < shared)) {
+                running[l]++;
+                totalRunning++;
+                return queues[l].poll();
+            }
+        }
+        return null;
+    }
+
+    private void start(Task task) {
+        try {
+            threads.execute(() -> run(task));
+        } catch (RuntimeException | Error e) {
+            // no thread took the task, such as when one could not be created
+            synchronized (this) {
+                running[task.lane.ordinal()]--;
+                totalRunning--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs tasks on this thread for as long as there is one it may run.
+     */
+    private void run(Task first) {
+        Task task = first;
+        while (task != null) {
+            queueWait[task.lane.ordinal()].record(System.nanoTime() - task.queuedAt);
+            try {
+                task.command.run();
+            } catch (RuntimeException e) {
+                Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            } catch (Throwable e) {
+                // an Error ends this thread, its slot is given back and the next task started on another
+                Task next = finish(task);
+                if (next != null) {
+                    start(next);
+                }
+                throw e;
+            }
+            task = finish(task);
+        }
+    }
+
+    /**
+     * Gives back the slot of a task which ran and takes the task to run next, if any.
+     */
+    private synchronized Task finish(Task task) {
+        running[task.lane.ordinal()]--;
+        totalRunning--;
+        Task next = next();
+        if (next == null) {
+            notifyAll();
+        }
+        return next;
+    }
+
+    /**
+     * @return the time tasks of the lane waited before starting.
+     */
+    public LatencyHistogram getQueueWait(Lane lane) {
+        return queueWait[lane.ordinal()];
+    }
+
+    /**
+     * @return the number of tasks of the lane waiting to start.
+     */
+    public synchronized int getQueueDepth(Lane lane) {
+        return queues[lane.ordinal()].size();
+    }
+
+    /**
+     * @return the number of tasks of the lane running.
+     */
+    public synchronized int getRunning(Lane lane) {
+        return running[lane.ordinal()];
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        synchronized (this) {
+            shutdown = true;
+            for (ArrayDeque<Task> queue : queues) {
+                for (Task task : queue) {
+                    pending.add(task.command);
+                }
+                queue.clear();
+            }
+            notifyAll();
+        }
+        threads.shutdownNow();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && totalRunning == 0 && queued() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!isTerminated()) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        }
+        threads.shutdown();
+        return true;
+    }
+
+    private int queued() {
+        int n = 0;
+        for (ArrayDeque<Task> queue : queues) {
+            n += queue.size();
+        }
+        return n;
+    }
+
+    private static final class Task {
+        private final Lane lane;
+        private final Runnable command;
+        private final long queuedAt = System.nanoTime();
+
+        private Task(Lane lane, Runnable command) {
+            this.lane = lane;
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiError;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceApiRateLimitException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * When and how the {@link BinanceApiAsyncExecutorRestClientImpl} retries failed requests, so callers do not each
+ * write their own retry loop and retry together.
+ *
+ * Rate limit failures are told apart by the HTTP status and headers of the response, which the
+ * {@link CallCanceller} the factory's clients make their calls through reports with
+ * {@link #onRateLimited(int, long)}:
+ * <ul>
+ *     <li>429, too many requests: every request of the client waits out a shared cool-down for as long as the
+ *     response's Retry-After header says, and is then retried</li>
+ *     <li>418, an IP ban for repeating requests after a 429: requests fail at once with a
+ *     {@link BinanceApiRateLimitException} until the ban ends, and the failed request is not retried, as requests
+ *     sent during a ban lengthen it</li>
+ * </ul>
+ * A client whose calls do not go through a CallCanceller only sees the error code -1003 of either.  Every request
+ * then waits out a cool-down until the ban ends if the message says when, otherwise until the next minute when
+ * the weight limit resets.  Other failures are told apart by code:
+ * <ul>
+ *     <li>-1001, -1006 and -1007, the exchange's internal disconnects and timeouts, and I/O failures: the request
+ *     is retried after an exponential backoff with full jitter</li>
+ * </ul>
+ * Other failures are not retried, nor are requests to endpoints which are not idempotent, whose retry could
+ * place an order twice.  Retries stop at the deadline of the request, see {@link BinanceApiRequestContext}.
+ */
+public class RetryPolicy {
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+
+    public static final int TOO_MANY_REQUESTS = -1003;
+    public static final int DISCONNECTED = -1001;
+    public static final int UNEXPECTED_RESPONSE = -1006;
+    public static final int TIMEOUT = -1007;
+    public static final int INVALID_SYMBOL = -1121;
+
+    public static final int TOO_MANY_REQUESTS_STATUS = 429;
+    public static final int IP_BANNED_STATUS = 418;
+
+    private static final Pattern BANNED_UNTIL = Pattern.compile("banned until (\\d+)");
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final int maxRetries;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final AtomicLong coolDownUntil = new AtomicLong(System.nanoTime());
+    private final AtomicLong bannedUntil = new AtomicLong(System.nanoTime());
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder coolDowns = new LongAdder();
+
+    public RetryPolicy() {
+        this(DEFAULT_MAX_RETRIES, DEFAULT_BASE_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * @param maxRetries the number of times a request is retried
+     * @param baseBackoff the backoff before the first retry, doubled for each following one
+     * @param maxBackoff the longest backoff
+     */
+    public RetryPolicy(int maxRetries, Duration baseBackoff, Duration maxBackoff) {
+        this.maxRetries = maxRetries;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * @return true if the failure is the exchange refusing requests for exceeding its rate limits.
+     */
+    public static boolean isRateLimited(Throwable failure) {
+        BinanceApiError error = errorOf(failure);
+        return error != null && error.getCode() == TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * @return true if the failure is the exchange not knowing the symbol of the request.
+     */
+    public static boolean isInvalidSymbol(Throwable failure) {
+        BinanceApiError error = errorOf(failure);
+        return error != null && error.getCode() == INVALID_SYMBOL;
+    }
+
+    /**
+     * @return true if the failure may not happen again, so the request is worth retrying.
+     */
+    public static boolean isTransient(Throwable failure) {
+        BinanceApiError error = errorOf(failure);
+        if (error != null) {
+            int code = error.getCode();
+            return code == DISCONNECTED || code == UNEXPECTED_RESPONSE || code == TIMEOUT;
+        }
+        for (Throwable t = failure; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BinanceApiError errorOf(Throwable failure) {
+        Throwable t = unwrap(failure);
+        return t instanceof BinanceApiException ? ((BinanceApiException) t).getError() : null;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Starts a cool-down, or a ban, from the status and Retry-After header of a response refused for exceeding the
+     * rate limits.
+     *
+     * @param status {@link #TOO_MANY_REQUESTS_STATUS} or {@link #IP_BANNED_STATUS}
+     * @param retryAfterMillis how long the Retry-After header asks to wait, negative if there was none, in which case
+     *                         the cool-down lasts until the next minute when the weight limit resets
+     */
+    void onRateLimited(int status, long retryAfterMillis) {
+        long millis = retryAfterMillis;
+        if (millis < 0) {
+            long now = System.currentTimeMillis();
+            millis = MINUTE - now % MINUTE;
+        }
+        long untilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (status == IP_BANNED_STATUS) {
+            bannedUntil.accumulateAndGet(untilNanos, RetryPolicy::later);
+        }
+        coolDownUntil.accumulateAndGet(untilNanos, RetryPolicy::later);
+        coolDowns.increment();
+    }
+
+    /**
+     * Starts a cool-down after a rate limit failure, until the ban it reports ends or otherwise the next minute.
+     * Without a ban in the message, a cool-down already in effect is left as it is: it was set from the response's
+     * Retry-After header, or by an earlier failure.
+     */
+    void coolDown(Throwable failure) {
+        long now = System.currentTimeMillis();
+        long until;
+        String msg = errorOf(failure).getMsg();
+        Matcher m = msg == null ? null : BANNED_UNTIL.matcher(msg);
+        if (m != null && m.find()) {
+            until = Long.parseLong(m.group(1));
+        } else if (getCoolDownRemaining(TimeUnit.NANOSECONDS) > 0) {
+            return;
+        } else {
+            until = now - now % MINUTE + MINUTE;
+        }
+        long untilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, until - now));
+        coolDownUntil.accumulateAndGet(untilNanos, RetryPolicy::later);
+        coolDowns.increment();
+    }
+
+    private static long later(long a, long b) {
+        return a - b < 0 ? b : a;
+    }
+
+    /**
+     * @return how long until requests may be sent again, 0 if there is no cool-down.
+     */
+    public long getCoolDownRemaining(TimeUnit unit) {
+        return unit.convert(Math.max(0, coolDownUntil.get() - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return how long until the IP ban the exchange answered a request with ends, 0 if there is none.
+     */
+    public long getBanRemaining(TimeUnit unit) {
+        return unit.convert(Math.max(0, bannedUntil.get() - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of retries made.
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of rate limit failures which started, or extended, a cool-down.
+     */
+    public long getCoolDownCount() {
+        return coolDowns.sum();
+    }
+
+    /**
+     * Makes a request, retrying it according to the policy.
+     *
+     * @param attempt makes one attempt of the request
+     * @param deadline the nanoTime deadline of the request
+     */
+    <T> CompletableFuture<T> execute(BinanceApiEndpoint endpoint, long deadline, Supplier<CompletableFuture<T>> attempt) {
+        long banned = getBanRemaining(TimeUnit.MILLISECONDS);
+        if (banned > 0) {
+            return CompletableFuture.failedFuture(new BinanceApiRateLimitException(endpoint + " not sent, the IP is banned by the exchange for another "
+                    + banned + "ms", banned));
+        }
+        Retrying<T> retrying = new Retrying<>(endpoint, deadline, attempt);
+        long coolDown = getCoolDownRemaining(TimeUnit.NANOSECONDS);
+        if (coolDown > 0) {
+            retrying.schedule(coolDown);
+        } else {
+            // the first attempt is made at once, a request the client can not take fails the call as without retries
+            retrying.track(attempt.get());
+        }
+        return retrying;
+    }
+
+    private final class Retrying<T> extends CompletableFuture<T> {
+        private final BinanceApiEndpoint endpoint;
+        private final long deadline;
+        private final Supplier<CompletableFuture<T>> attempt;
+        private int attempts;
+        private volatile CompletableFuture<T> current;
+
+        private Retrying(BinanceApiEndpoint endpoint, long deadline, Supplier<CompletableFuture<T>> attempt) {
+            this.endpoint = endpoint;
+            this.deadline = deadline;
+            this.attempt = attempt;
+        }
+
+        private void schedule(long delayNanos) {
+            if (delayNanos <= 0) {
+                attempt();
+            } else {
+                CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(this::attempt);
+            }
+        }
+
+        private void attempt() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                track(attempt.get());
+            } catch (RuntimeException e) {
+                completeExceptionally(e);
+            }
+        }
+
+        private void track(CompletableFuture<T> f) {
+            current = f;
+            attempts++;
+            f.whenComplete((v, e) -> {
+                if (e == null) {
+                    complete(v);
+                } else {
+                    onFailure(unwrap(e));
+                }
+            });
+        }
+
+        private void onFailure(Throwable e) {
+            boolean rateLimited = isRateLimited(e);
+            if (rateLimited) {
+                coolDown(e);
+            }
+            if (isDone() || attempts > maxRetries || !endpoint.isIdempotent() || !(rateLimited || isTransient(e))
+                    || getBanRemaining(TimeUnit.NANOSECONDS) > 0) {
+                completeExceptionally(e);
+                return;
+            }
+            long backoff = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempts - 1, 30));
+            long delay = Math.max(ThreadLocalRandom.current().nextLong(backoff + 1), getCoolDownRemaining(TimeUnit.NANOSECONDS));
+            if (deadline != BinanceApiRequestContext.NO_DEADLINE && System.nanoTime() + delay >= deadline) {
+                completeExceptionally(e);
+                return;
+            }
+            retries.increment();
+            schedule(delay);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            CompletableFuture<T> f = current;
+            if (f != null && !f.isDone() && !f.cancel(mayInterruptIfRunning)) {
+                // a call which can not be cancelled completes this future with its own failure
+                return false;
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.binance.api.client.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks on an executor one key at a time, in the order their slots were reserved.  Tasks of different keys
+ * run in parallel across the threads of the executor while those of one key, such as a symbol, never overlap.
+ *
+ * A slot is reserved when a request is made and filled with its callback once the response arrives, so the
+ * callbacks of a key run in the order the requests were made even when the responses arrive out of order.
+ * Tasks without a key are passed straight to the executor.
+ */
+public class SequencedDispatcher {
+    /**
+     * The number of tasks a key runs before giving its thread back to the executor.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private final Executor executor;
+    private final int batchSize;
+    private final ConcurrentHashMap<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    public SequencedDispatcher(Executor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param executor runs the tasks
+     * @param batchSize the number of tasks a key runs before giving its thread back to the executor
+     */
+    public SequencedDispatcher(Executor executor, int batchSize) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * A place in the sequence of a key, filled with the task to run there.
+     */
+    public interface Slot {
+
+        /**
+         * Runs the task once every earlier slot of the key has run.  Must be called exactly once.
+         */
+        void execute(Runnable task);
+    }
+
+    /**
+     * Reserves the next place in the sequence of a key.
+     *
+     * @param key the key, null for a task which does not need ordering
+     */
+    public Slot reserve(Object key) {
+        if (key == null) {
+            return executor::execute;
+        }
+        while (true) {
+            KeyQueue q = queues.computeIfAbsent(key, KeyQueue::new);
+            synchronized (q) {
+                if (!q.retired) {
+                    Entry entry = new Entry(q);
+                    q.entries.add(entry);
+                    return entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a task after every slot already reserved for the key.
+     */
+    public void execute(Object key, Runnable task) {
+        reserve(key).execute(task);
+    }
+
+    /**
+     * @return the number of keys with tasks waiting or running.
+     */
+    public int getActiveKeyCount() {
+        return queues.size();
+    }
+
+    private final class KeyQueue implements Runnable {
+        private final Object key;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private boolean running;
+        private boolean retired;
+
+        private KeyQueue(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Starts draining if the head of the queue is ready, called holding the monitor.
+         */
+        private boolean schedule() {
+            Entry head = entries.peek();
+            if (running || head == null || head.task == null) {
+                return false;
+            }
+            running = true;
+            return true;
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    running = false;
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < batchSize; i++) {
+                Runnable task;
+                synchronized (this) {
+                    Entry head = entries.peek();
+                    if (head == null || head.task == null) {
+                        running = false;
+                        if (head == null) {
+                            retired = true;
+                            queues.remove(key, this);
+                        }
+                        return;
+                    }
+                    entries.poll();
+                    task = head.task;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // a failing task must not stop the ones queued behind it
+                } catch (Throwable e) {
+                    // an Error ends this thread, the tasks queued behind it are run on another
+                    try {
+                        resume();
+                    } catch (RejectedExecutionException x) {
+                        e.addSuppressed(x);
+                    }
+                    throw e;
+                }
+            }
+            resume();
+        }
+
+        /**
+         * Gives the thread back to the executor, submitting the queue again if its head is ready.
+         */
+        private void resume() {
+            synchronized (this) {
+                running = false;
+                if (!schedule()) {
+                    if (entries.isEmpty()) {
+                        retired = true;
+                        queues.remove(key, this);
+                    }
+                    return;
+                }
+            }
+            submit();
+        }
+    }
+
+    private static final class Entry implements Slot {
+        private final KeyQueue queue;
+        private Runnable task;
+
+        private Entry(KeyQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            boolean start;
+            synchronized (queue) {
+                if (this.task != null) {
+                    throw new IllegalStateException("Slot already filled");
+                }
+                this.task = task;
+                start = queue.schedule();
+            }
+            if (start) {
+                queue.submit();
+            }
+        }
+    }
+}
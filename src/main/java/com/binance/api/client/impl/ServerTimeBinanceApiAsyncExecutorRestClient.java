@@ -0,0 +1,103 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.*;
+import com.binance.api.client.time.ServerClock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorator timestamping signed requests with the server time estimated by a {@link ServerClock} rather than the
+ * local clock, so they are not rejected for being outside their receive window when the local clock is off.
+ *
+ * Account and trade calls without a timestamp get one.  The order and order request objects are timestamped in
+ * place: the caller's object has its timestamp overwritten before it is passed on, so an object must not be reused
+ * for another call until the call it was passed to has been made.  The request classes of the upstream client can
+ * not be copied without dropping the fields a later version adds.  The withdraw and deposit calls of the
+ * underlying client always use the local clock.  The timestamp is taken when the call is made, time spent waiting
+ * in the client's queues counts against the receive window.
+ */
+public class ServerTimeBinanceApiAsyncExecutorRestClient extends ForwardingBinanceApiAsyncExecutorRestClient {
+    private final ServerClock clock;
+    private final long recvWindow;
+
+    public ServerTimeBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, ServerClock clock) {
+        this(delegate, clock, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW);
+    }
+
+    /**
+     * @param delegate the client making the calls
+     * @param clock the estimate of the server time
+     * @param recvWindow the receive window of the account and trade calls made without one
+     */
+    public ServerTimeBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, ServerClock clock, long recvWindow) {
+        super(delegate);
+        this.clock = clock;
+        this.recvWindow = recvWindow;
+    }
+
+    @Override
+    public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
+        order.setTimestamp(clock.currentTimeMillis());
+        return delegate.newOrder(order, callback);
+    }
+
+    @Override
+    public CompletableFuture<Void> newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
+        order.setTimestamp(clock.currentTimeMillis());
+        return delegate.newOrderTest(order, callback);
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
+        orderStatusRequest.timestamp(clock.currentTimeMillis());
+        return delegate.getOrderStatus(orderStatusRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
+        cancelOrderRequest.timestamp(clock.currentTimeMillis());
+        return delegate.cancelOrder(cancelOrderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        orderRequest.timestamp(clock.currentTimeMillis());
+        return delegate.getOpenOrders(orderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        orderRequest.timestamp(clock.currentTimeMillis());
+        return delegate.getAllOrders(orderRequest, callback);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
+        return delegate.getAccount(recvWindow, timestamp != null ? timestamp : clock.currentTimeMillis(), callback);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(BinanceApiCallback<Account> callback) {
+        return delegate.getAccount(recvWindow, clock.currentTimeMillis(), callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, limit, fromId, recvWindow, timestamp != null ? timestamp : clock.currentTimeMillis(), callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, limit, null, recvWindow, clock.currentTimeMillis(), callback);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, BinanceApiCallback<List<Trade>> callback) {
+        return delegate.getMyTrades(symbol, null, null, recvWindow, clock.currentTimeMillis(), callback);
+    }
+}
@@ -0,0 +1,180 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiDeadlineExceededException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: while a call is in flight later callers for the same key share it
+ * instead of making a new one.  Once the call completes the key is released, so the next caller triggers a fresh
+ * call.
+ *
+ * Every caller gets a future of its own.  Cancelling it only withdraws that caller, the shared call is cancelled
+ * once every caller sharing it has been withdrawn.  The shared call runs under the deadline of the caller which
+ * made it, so a caller only joins a call whose deadline is no earlier than its own, and otherwise makes its own
+ * call.  A caller with an earlier deadline than the call it joins fails at its own deadline, withdrawing it.
+ */
+final class SingleFlight {
+    private final ConcurrentHashMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param key identifies the call, equal keys must make identical calls
+     * @param deadline the deadline of the caller, see {@link BinanceApiRequestContext#getDeadline()}
+     * @param call makes the call if none is in flight for the key
+     * @return the future of this caller's share of the call
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> execute(Object key, long deadline, Supplier<CompletableFuture<T>> call) {
+        while (true) {
+            Flight<T> flight = (Flight<T>) inFlight.get(key);
+            if (flight == null) {
+                Flight<T> leader = new Flight<>(key, deadline);
+                flight = (Flight<T>) inFlight.putIfAbsent(key, leader);
+                if (flight == null) {
+                    CompletableFuture<T> share = leader.join(deadline);
+                    leader.start(call);
+                    return share;
+                }
+            }
+            if (!flight.covers(deadline)) {
+                // the shared call may be aborted before this caller's deadline
+                return call.get();
+            }
+            CompletableFuture<T> share = flight.join(deadline);
+            if (share != null) {
+                return share;
+            }
+            // the call completed or was cancelled since it was looked up
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return the number of distinct calls currently in flight.
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * A call in flight and the number of callers sharing it.
+     */
+    private final class Flight<T> {
+        private final Object key;
+        private final long deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private CompletableFuture<T> call;
+        private int shares;
+        private boolean closed;
+
+        private Flight(Object key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        private boolean covers(long callerDeadline) {
+            return deadline == BinanceApiRequestContext.NO_DEADLINE
+                    || (callerDeadline != BinanceApiRequestContext.NO_DEADLINE && callerDeadline - deadline <= 0);
+        }
+
+        private void start(Supplier<CompletableFuture<T>> make) {
+            CompletableFuture<T> f;
+            try {
+                f = make.get();
+            } catch (RuntimeException e) {
+                f = CompletableFuture.failedFuture(e);
+            }
+            boolean abandoned;
+            synchronized (this) {
+                call = f;
+                abandoned = closed;
+            }
+            if (abandoned) {
+                f.cancel(true);
+            }
+            f.whenComplete((v, e) -> {
+                synchronized (this) {
+                    closed = true;
+                }
+                inFlight.remove(key, this);
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(v);
+                }
+            });
+        }
+
+        /**
+         * @return the future of a new share, or null if the call can no longer be joined
+         */
+        private CompletableFuture<T> join(long callerDeadline) {
+            Share share = new Share();
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                shares++;
+            }
+            result.whenComplete(share::settle);
+            if (callerDeadline != deadline && callerDeadline != BinanceApiRequestContext.NO_DEADLINE) {
+                CompletableFuture.delayedExecutor(Math.max(0, callerDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                        .execute(share::expire);
+            }
+            return share;
+        }
+
+        private void leave() {
+            boolean abandoned;
+            CompletableFuture<T> f;
+            synchronized (this) {
+                abandoned = --shares == 0 && !closed;
+                if (abandoned) {
+                    closed = true;
+                }
+                f = call;
+            }
+            if (abandoned) {
+                inFlight.remove(key, this);
+                // a call not made yet is cancelled once it is
+                if (f != null) {
+                    f.cancel(true);
+                }
+            }
+        }
+
+        /**
+         * The future of one caller, completed with the shared call's result unless withdrawn first.
+         */
+        private final class Share extends CompletableFuture<T> {
+
+            private void settle(T v, Throwable e) {
+                if (e != null) {
+                    completeExceptionally(e);
+                } else {
+                    complete(v);
+                }
+            }
+
+            private void expire() {
+                if (completeExceptionally(new BinanceApiDeadlineExceededException(key + " shared an in flight call"
+                        + " past its deadline", true))) {
+                    leave();
+                }
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    leave();
+                }
+                return cancelled;
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.binance.api.client.limit;
+
+import com.binance.api.client.BinanceApiEndpoint.Lane;
+import com.binance.api.client.exception.BinanceApiDeadlineExceededException;
+import com.binance.api.client.exception.BinanceApiOverloadException;
+import com.binance.api.client.exception.BinanceApiUnknownOutcomeException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests in flight with a limit adapted to the round trips observed, in the manner of TCP
+ * Vegas: the shortest round trip seen is taken as the latency without load, and the number of requests queued at
+ * the exchange is estimated as {@code limit * (1 - minRtt / rtt)}.  While that estimate is small the limit grows,
+ * once it is large, or a request times out or fails to connect, the limit shrinks.  So when the exchange slows
+ * down fewer requests are sent rather than more queueing up behind each other.
+ *
+ * Requests over the limit wait in a bounded queue, the highest priority lane first and in order within a lane.
+ * A request which waited longer than the max queue wait is shed when it reaches the head of the queue, and once
+ * the queue is full the {@link OverloadPolicy} decides which request is shed.  Shed requests fail with a
+ * {@link BinanceApiOverloadException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 2;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    public static final Duration DEFAULT_MAX_QUEUE_WAIT = Duration.ofSeconds(5);
+    /**
+     * The number of round trips after which the latency without load is measured afresh.
+     */
+    public static final int PROBE_SAMPLES = 1000;
+
+    private static final Lane[] LANES = Lane.values();
+
+    /**
+     * What to shed when a request arrives and the queue is full.
+     */
+    public enum OverloadPolicy {
+        /**
+         * Fail the new request.
+         */
+        REJECT,
+        /**
+         * Fail the request which has waited the longest, the new one is queued.
+         */
+        SHED_OLDEST,
+        /**
+         * Fail the newest request of the lowest priority lane queued, if it is not of a higher priority than the
+         * new request, which is queued.  Otherwise fail the new request.
+         */
+        SHED_LOWEST_PRIORITY
+    }
+
+    /**
+     * A request run by the limiter.
+     */
+    public interface Task extends Runnable {
+
+        /**
+         * Fails the request, it will not be run.
+         */
+        void reject(Throwable cause);
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxQueueWaitNanos;
+    private final OverloadPolicy policy;
+    private final ArrayDeque<Entry>[] queues;
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long minRtt = Long.MAX_VALUE;
+    private long samples;
+    private long rejectedCount;
+    private long shedCount;
+
+    public AdaptiveConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_QUEUE_WAIT,
+                OverloadPolicy.REJECT);
+    }
+
+    /**
+     * @param initialLimit the number of requests allowed in flight before any round trip is seen
+     * @param minLimit the lowest the limit goes
+     * @param maxLimit the highest the limit goes
+     * @param queueCapacity the number of requests which may wait for the limit
+     * @param maxQueueWait the longest a request may wait before it is shed
+     * @param policy what to shed once the queue is full
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueCapacity, Duration maxQueueWait,
+                                      OverloadPolicy policy) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.policy = policy;
+        this.queues = new ArrayDeque[LANES.length];
+        for (Lane lane : LANES) {
+            queues[lane.ordinal()] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Runs the task on the executor once it is within the limit, or sheds it.  Every task run must be followed by
+     * a call to {@link #release(long, boolean)}.
+     */
+    public void submit(Lane lane, Task task, Executor executor) {
+        Entry entry = new Entry(lane, task, executor);
+        Entry shed = null;
+        synchronized (this) {
+            if (queued == 0 && inFlight < (int) limit) {
+                inFlight++;
+            } else {
+                if (queued >= queueCapacity) {
+                    shed = victim(entry);
+                    if (shed == entry) {
+                        rejectedCount++;
+                    } else {
+                        shedCount++;
+                        queued--;
+                    }
+                }
+                if (shed != entry) {
+                    queues[lane.ordinal()].add(entry);
+                    queued++;
+                }
+                entry = null;
+            }
+        }
+        if (shed != null) {
+            shed.task.reject(new BinanceApiOverloadException("Request queue full (" + queueCapacity + " waiting, limit "
+                    + getLimit() + ")"));
+        }
+        if (entry != null) {
+            start(entry);
+        }
+    }
+
+    /**
+     * Picks the entry to shed for a new one, removing it from its queue, called holding the monitor.
+     */
+    private Entry victim(Entry entry) {
+        switch (policy) {
+            case SHED_OLDEST:
+                Entry oldest = null;
+                for (ArrayDeque<Entry> queue : queues) {
+                    Entry head = queue.peekFirst();
+                    if (head != null && (oldest == null || head.queuedAt < oldest.queuedAt)) {
+                        oldest = head;
+                    }
+                }
+                if (oldest == null) {
+                    return entry;
+                }
+                queues[oldest.lane.ordinal()].pollFirst();
+                return oldest;
+            case SHED_LOWEST_PRIORITY:
+                for (int l = LANES.length - 1; l >= entry.lane.ordinal(); l--) {
+                    if (!queues[l].isEmpty()) {
+                        return queues[l].pollLast();
+                    }
+                }
+                return entry;
+            default:
+                return entry;
+        }
+    }
+
+    private void start(Entry entry) {
+        try {
+            entry.executor.execute(entry.task);
+        } catch (RejectedExecutionException e) {
+            release(-1, false);
+            entry.task.reject(e);
+        }
+    }
+
+    /**
+     * Ends a task run by the limiter and starts the queued tasks now within the limit.
+     *
+     * @param rttNanos the round trip of the request, or -1 if it was not sent
+     * @param dropped true if the request timed out or failed to reach the exchange
+     */
+    public void release(long rttNanos, boolean dropped) {
+        List<Entry> start = null;
+        List<Entry> shed = null;
+        synchronized (this) {
+            inFlight--;
+            if (rttNanos >= 0) {
+                update(rttNanos, dropped);
+            }
+            long now = System.nanoTime();
+            Entry entry;
+            while (inFlight < (int) limit && (entry = poll()) != null) {
+                if (now - entry.queuedAt > maxQueueWaitNanos) {
+                    shedCount++;
+                    shed = add(shed, entry);
+                } else {
+                    inFlight++;
+                    start = add(start, entry);
+                }
+            }
+        }
+        if (shed != null) {
+            for (Entry entry : shed) {
+                entry.task.reject(new BinanceApiOverloadException("Request waited more than "
+                        + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos) + "ms for the concurrency limit"));
+            }
+        }
+        if (start != null) {
+            for (Entry entry : start) {
+                start(entry);
+            }
+        }
+    }
+
+    private static List<Entry> add(List<Entry> list, Entry entry) {
+        if (list == null) {
+            list = new ArrayList<>();
+        }
+        list.add(entry);
+        return list;
+    }
+
+    /**
+     * Takes the next queued entry, highest priority lane first, called holding the monitor.
+     */
+    private Entry poll() {
+        for (ArrayDeque<Entry> queue : queues) {
+            Entry entry = queue.poll();
+            if (entry != null) {
+                queued--;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adapts the limit to a round trip, called holding the monitor.  Vegas adjusts the limit once per round trip,
+     * so each of the limit's worth of requests answered in a round trip moves it by a fraction of the step.
+     */
+    private void update(long rtt, boolean dropped) {
+        if (++samples % PROBE_SAMPLES == 0) {
+            minRtt = rtt;
+        }
+        minRtt = Math.min(minRtt, Math.max(rtt, 1));
+        double log = Math.max(1, Math.log10(limit));
+        double step = 0;
+        if (dropped) {
+            step = -log;
+        } else if (inFlight * 2 < limit) {
+            // too few requests to tell how the exchange copes with the limit
+            return;
+        } else {
+            double queue = Math.ceil(limit * (1 - (double) minRtt / Math.max(rtt, 1)));
+            if (queue <= log) {
+                step = 6 * log;
+            } else if (queue < 3 * log) {
+                step = log;
+            } else if (queue > 6 * log) {
+                step = -log;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit + step / limit));
+    }
+
+    /**
+     * @return true if a request failed in a way showing the exchange, or the path to it, is overloaded.
+     */
+    public static boolean isDrop(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof IOException || t instanceof BinanceApiDeadlineExceededException
+                    || t instanceof BinanceApiUnknownOutcomeException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of requests currently allowed in flight.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queued;
+    }
+
+    /**
+     * @return the shortest round trip seen, the latency without load, in nanoseconds.
+     */
+    public synchronized long getMinRttNanos() {
+        return minRtt == Long.MAX_VALUE ? 0 : minRtt;
+    }
+
+    /**
+     * @return the number of new requests failed because the queue was full.
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return the number of queued requests failed to make room for new ones, or because they waited too long.
+     */
+    public synchronized long getShedCount() {
+        return shedCount;
+    }
+
+    private static final class Entry {
+        private final Lane lane;
+        private final Task task;
+        private final Executor executor;
+        private final long queuedAt = System.nanoTime();
+
+        private Entry(Lane lane, Task task, Executor executor) {
+            this.lane = lane;
+            this.task = task;
+            this.executor = executor;
+        }
+    }
+}
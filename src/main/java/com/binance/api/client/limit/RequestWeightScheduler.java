@@ -0,0 +1,148 @@
+package com.binance.api.client.limit;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceApiRateLimitException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a local account of the request weight and order count used against Binance's rate limits so requests
+ * are delayed, or rejected, before they are sent rather than being refused by the exchange with a 429/418.
+ *
+ * Binance applies the limits per IP (request weight) and per account (orders), so a single scheduler should be
+ * shared by every client talking to the exchange from the same process.
+ */
+public class RequestWeightScheduler {
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 1200;
+    public static final int DEFAULT_ORDERS_PER_10_SECONDS = 50;
+    public static final int DEFAULT_ORDERS_PER_DAY = 160000;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(10);
+
+    private static final long SECOND = TimeUnit.SECONDS.toMillis(1);
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final SlidingWindowLimiter weightLimiter;
+    private final SlidingWindowLimiter orderLimiter;
+    private final SlidingWindowLimiter dailyOrderLimiter;
+    private final long maxDelayMillis;
+
+    /**
+     * Creates a scheduler with Binance's default spot limits.
+     */
+    public RequestWeightScheduler() {
+        this(DEFAULT_WEIGHT_PER_MINUTE, DEFAULT_ORDERS_PER_10_SECONDS, DEFAULT_ORDERS_PER_DAY, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * @param weightPerMinute the request weight allowed per minute
+     * @param ordersPer10Seconds the number of orders allowed per 10 seconds
+     * @param ordersPerDay the number of orders allowed per day
+     * @param maxDelay the longest a request is held back waiting for budget before it is rejected
+     */
+    public RequestWeightScheduler(int weightPerMinute, int ordersPer10Seconds, int ordersPerDay, Duration maxDelay) {
+        this.weightLimiter = new SlidingWindowLimiter(weightPerMinute, MINUTE, SECOND);
+        this.orderLimiter = new SlidingWindowLimiter(ordersPer10Seconds, 10 * SECOND, SECOND);
+        this.dailyOrderLimiter = new SlidingWindowLimiter(ordersPerDay, DAY, MINUTE);
+        this.maxDelayMillis = maxDelay.toMillis();
+    }
+
+    /**
+     * Takes the weight for a request, waiting for the budget to become available if needed.
+     *
+     * @param endpoint the endpoint being called
+     * @param weight the weight of the call
+     * @throws BinanceApiRateLimitException if the budget will not be available within the max delay
+     */
+    public void acquire(BinanceApiEndpoint endpoint, int weight) {
+        acquire(endpoint, weight, Long.MAX_VALUE);
+    }
+
+    /**
+     * Takes the weight for a request, waiting for the budget to become available if needed.
+     *
+     * @param endpoint the endpoint being called
+     * @param weight the weight of the call
+     * @param maxDelayMillis the longest to wait, capped by the max delay of the scheduler
+     * @throws BinanceApiRateLimitException if the budget will not be available in time
+     */
+    public void acquire(BinanceApiEndpoint endpoint, int weight, long maxDelayMillis) {
+        long deadline = now() + Math.min(maxDelayMillis, this.maxDelayMillis);
+        long wait;
+        while ((wait = tryAcquire(endpoint, weight)) > 0) {
+            long remaining = deadline - now();
+            if (wait > remaining) {
+                throw new BinanceApiRateLimitException("Rate limit budget exhausted for " + endpoint
+                        + " (weight " + weight + ")", wait);
+            }
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BinanceApiException("Interrupted waiting for rate limit budget", e);
+            }
+        }
+    }
+
+    /**
+     * Takes the weight for a request if it is available without waiting.
+     *
+     * @return 0 if the weight was taken, otherwise the number of milliseconds to wait before trying again.
+     */
+    public synchronized long tryAcquire(BinanceApiEndpoint endpoint, int weight) {
+        long now = now();
+        long wait = weightLimiter.waitTime(weight, now);
+        if (endpoint.isOrder()) {
+            wait = Math.max(wait, orderLimiter.waitTime(1, now));
+            wait = Math.max(wait, dailyOrderLimiter.waitTime(1, now));
+        }
+        if (wait == 0) {
+            weightLimiter.consume(weight, now);
+            if (endpoint.isOrder()) {
+                orderLimiter.consume(1, now);
+                dailyOrderLimiter.consume(1, now);
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Accounts for the weight the exchange reports as used in the current minute, in the X-MBX-USED-WEIGHT-1M
+     * header of its responses, when it is more than the local account: weight used by other processes sharing
+     * the IP, or by requests made before the scheduler was created.
+     */
+    public synchronized void onUsedWeight(int usedWeight) {
+        long now = now();
+        int missing = usedWeight - weightLimiter.getUsed(now);
+        if (missing > 0) {
+            weightLimiter.consume(missing, now);
+        }
+    }
+
+    /**
+     * @return the longest a request is held back waiting for budget before it is rejected.
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * @return the request weight used in the last minute.
+     */
+    public synchronized int getUsedWeight() {
+        return weightLimiter.getUsed(now());
+    }
+
+    /**
+     * @return the number of orders sent in the last 10 seconds.
+     */
+    public synchronized int getOrderCount() {
+        return orderLimiter.getUsed(now());
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
@@ -0,0 +1,109 @@
+package com.binance.api.client.limit;
+
+/**
+ * A budget of permits over a sliding time window.  The window is split into fixed size buckets, a bucket's
+ * permits are only returned to the budget once the whole bucket has left the window, which keeps the limiter
+ * on the safe side of the exchange's own fixed window counters.
+ *
+ * This class is not thread safe, callers are expected to synchronize access.
+ */
+public class SlidingWindowLimiter {
+    private final int limit;
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int[] counts;
+    private long lastBucket = Long.MIN_VALUE;
+    private int used;
+
+    /**
+     * @param limit the number of permits available in any window
+     * @param windowMillis the length of the window
+     * @param bucketMillis the granularity of the window, must divide windowMillis
+     */
+    public SlidingWindowLimiter(int limit, long windowMillis, long bucketMillis) {
+        if (limit <= 0 || bucketMillis <= 0 || windowMillis % bucketMillis != 0) {
+            throw new IllegalArgumentException("Invalid window " + limit + "/" + windowMillis + "ms in " + bucketMillis + "ms buckets");
+        }
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.bucketMillis = bucketMillis;
+        this.counts = new int[(int) (windowMillis / bucketMillis) + 1];
+    }
+
+    /**
+     * Takes the permits if they are available.
+     *
+     * @param permits the number of permits to take
+     * @param nowMillis the current time in milliseconds
+     * @return 0 if the permits were taken, otherwise the number of milliseconds until enough permits are returned
+     * to the budget or Long.MAX_VALUE if the request can never be satisfied.
+     */
+    public long tryAcquire(int permits, long nowMillis) {
+        long wait = waitTime(permits, nowMillis);
+        if (wait == 0) {
+            counts[index(lastBucket)] += permits;
+            used += permits;
+        }
+        return wait;
+    }
+
+    /**
+     * As {@link #tryAcquire(int, long)} without taking the permits.
+     */
+    public long waitTime(int permits, long nowMillis) {
+        if (permits > limit) {
+            return Long.MAX_VALUE;
+        }
+        advance(nowMillis);
+        int excess = used + permits - limit;
+        if (excess <= 0) {
+            return 0;
+        }
+        for (long bucket = lastBucket - counts.length + 1; bucket <= lastBucket; bucket++) {
+            excess -= counts[index(bucket)];
+            if (excess <= 0) {
+                return (bucket + 1) * bucketMillis + windowMillis - nowMillis;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Takes the permits regardless of the budget, for usage which happened outside of this limiter's control.
+     */
+    public void consume(int permits, long nowMillis) {
+        advance(nowMillis);
+        counts[index(lastBucket)] += permits;
+        used += permits;
+    }
+
+    /**
+     * @return the number of permits used in the current window.
+     */
+    public int getUsed(long nowMillis) {
+        advance(nowMillis);
+        return used;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private void advance(long nowMillis) {
+        long bucket = Math.floorDiv(nowMillis, bucketMillis);
+        if (bucket <= lastBucket) {
+            return;
+        }
+        long expired = lastBucket == Long.MIN_VALUE ? counts.length : Math.min(bucket - lastBucket, counts.length);
+        for (long b = bucket - expired + 1; b <= bucket; b++) {
+            int i = index(b);
+            used -= counts[i];
+            counts[i] = 0;
+        }
+        lastBucket = bucket;
+    }
+
+    private int index(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+}
@@ -0,0 +1,76 @@
+package com.binance.api.client.market;
+
+import java.util.Arrays;
+
+/**
+ * One side of an order book held in parallel primitive arrays.  The levels are sorted with the best price last so
+ * the updates near the top of the book, which are the most frequent, move the fewest elements.
+ *
+ * Not thread safe, access is guarded by the owning {@link LocalOrderBook}.
+ */
+final class BookSide {
+    private final boolean bids;
+    long[] prices;
+    long[] quantities;
+    int size;
+
+    BookSide(boolean bids, int capacity) {
+        this.bids = bids;
+        this.prices = new long[capacity];
+        this.quantities = new long[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the quantity at a price level, a quantity of zero removes the level.
+     */
+    void update(long price, long quantity) {
+        int i = search(price);
+        if (i >= 0) {
+            if (quantity == 0) {
+                System.arraycopy(prices, i + 1, prices, i, size - i - 1);
+                System.arraycopy(quantities, i + 1, quantities, i, size - i - 1);
+                size--;
+            } else {
+                quantities[i] = quantity;
+            }
+        } else if (quantity != 0) {
+            i = -i - 1;
+            if (size == prices.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            System.arraycopy(prices, i, prices, i + 1, size - i);
+            System.arraycopy(quantities, i, quantities, i + 1, size - i);
+            prices[i] = price;
+            quantities[i] = quantity;
+            size++;
+        }
+    }
+
+    /**
+     * Binary search over the levels, which are ascending for bids and descending for asks.
+     *
+     * @return the index of the price or (-(insertion point) - 1) if it is not in the book
+     */
+    private int search(long price) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long p = prices[mid];
+            if (p == price) {
+                return mid;
+            }
+            if (bids == p < price) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+}
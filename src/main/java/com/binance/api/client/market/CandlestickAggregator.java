@@ -0,0 +1,422 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the candlesticks of higher intervals of one symbol from its bars of a base interval, so only the base
+ * interval has to be fetched or streamed.  A higher bar opens with the open of its first base bar, closes with the
+ * close of its last, has the highest high and lowest low of them and the sums of their volumes and trades.
+ *
+ * Base bars are fed in open time order.  The latest base bar is taken to be open and may be fed again as it
+ * updates, it is folded into the higher bars once the next base bar arrives, so each base bar costs O(1) per
+ * interval.  The open base bar is merged into the last higher bar when it is read.  A higher bar only partly
+ * covered by the base bars fed, because they started after it opened, is left out.
+ *
+ * Values are held as fixed point longs, as {@link com.binance.api.client.history.MappedCandlestickStore} holds
+ * them: prices with Binance's 8 decimals and volumes at scales of their own, as a long at 8 decimals can not hold
+ * the daily volume of a low priced token.  Queries return candlesticks formatted as the REST API does.  Prices,
+ * volumes and trade counts come out identical to the exchange's own bars, quote volumes, which the exchange rounds
+ * per bar, may differ from them in the last decimal.  Each interval keeps at least its capacity of the latest bars.
+ *
+ * A base bar whose volumes would not fit in a long once summed into a higher bar is refused with an
+ * ArithmeticException, leaving the bars as they were: the volume scales are too fine for the symbol.
+ */
+public class CandlestickAggregator {
+    public static final int SCALE = SymbolScales.DEFAULT_SCALE;
+    public static final int DEFAULT_VOLUME_SCALE = SymbolScales.DEFAULT_SCALE;
+    public static final int DEFAULT_CAPACITY = 1000;
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final CandlestickInterval base;
+    private final Series baseBars;
+    private final Map<CandlestickInterval, Series> derived = new EnumMap<>(CandlestickInterval.class);
+    private final int volumeScale;
+    private final int quoteVolumeScale;
+    private final Series open;
+
+    public CandlestickAggregator(CandlestickInterval base, CandlestickInterval... intervals) {
+        this(base, DEFAULT_CAPACITY, intervals);
+    }
+
+    /**
+     * Holds volumes with {@link #DEFAULT_VOLUME_SCALE} decimals.
+     *
+     * @param base the interval of the bars fed
+     * @param capacity the number of latest bars kept for each interval
+     * @param intervals the intervals built, each a multiple of the base interval
+     */
+    public CandlestickAggregator(CandlestickInterval base, int capacity, CandlestickInterval... intervals) {
+        this(base, capacity, DEFAULT_VOLUME_SCALE, DEFAULT_VOLUME_SCALE, intervals);
+    }
+
+    /**
+     * Holds volumes at the symbol's quantity and quote scales.
+     *
+     * @param symbol the symbol of the bars fed
+     * @param scales the scales of the symbols
+     */
+    public CandlestickAggregator(String symbol, SymbolScales scales, CandlestickInterval base, int capacity,
+                                 CandlestickInterval... intervals) {
+        this(base, capacity, scales.getQuantityScale(symbol), scales.getQuoteScale(symbol), intervals);
+    }
+
+    /**
+     * @param base the interval of the bars fed
+     * @param capacity the number of latest bars kept for each interval
+     * @param volumeScale the decimals of the base asset volumes
+     * @param quoteVolumeScale the decimals of the quote asset volumes
+     * @param intervals the intervals built, each a multiple of the base interval
+     */
+    public CandlestickAggregator(CandlestickInterval base, int capacity, int volumeScale, int quoteVolumeScale,
+                                 CandlestickInterval... intervals) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Non-positive capacity " + capacity);
+        }
+        checkScale(volumeScale);
+        checkScale(quoteVolumeScale);
+        long length = CandlestickIntervals.toMillis(base);
+        for (CandlestickInterval interval : intervals) {
+            boolean aligned = CandlestickIntervals.isFixedLength(interval)
+                    ? CandlestickIntervals.toMillis(interval) % length == 0
+                    : DAY % length == 0;
+            if (!aligned || CandlestickIntervals.toMillis(interval) < length) {
+                throw new IllegalArgumentException(interval + " can not be built from " + base + " bars");
+            }
+        }
+        this.base = base;
+        this.volumeScale = volumeScale;
+        this.quoteVolumeScale = quoteVolumeScale;
+        this.baseBars = new Series(base, capacity, volumeScale, quoteVolumeScale);
+        this.open = new Series(null, 1, volumeScale, quoteVolumeScale);
+        for (CandlestickInterval interval : intervals) {
+            if (interval != base) {
+                derived.put(interval, new Series(interval, capacity, volumeScale, quoteVolumeScale));
+            }
+        }
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > SymbolScales.DEFAULT_SCALE) {
+            throw new IllegalArgumentException("Scale " + scale + " is not between 0 and " + SymbolScales.DEFAULT_SCALE);
+        }
+    }
+
+    public CandlestickInterval getBaseInterval() {
+        return base;
+    }
+
+    /**
+     * Feeds the latest base bar, either an update of the open bar or the bar following it.
+     *
+     * @throws IllegalArgumentException if the bar opened before the open bar
+     * @throws NumberFormatException if a value of the bar does not fit in a long at its scale
+     * @throws ArithmeticException if a volume of a higher bar would not fit in a long once the open bar is added
+     */
+    public synchronized void update(Candlestick bar) {
+        long openTime = bar.getOpenTime();
+        if (open.size == 1) {
+            long current = open.openTimes[0];
+            if (openTime < current) {
+                throw new IllegalArgumentException("Bar opened at " + openTime + " is older than the open bar at " + current);
+            }
+        }
+        long o = FixedPoint.parse(bar.getOpen(), SCALE);
+        long high = FixedPoint.parse(bar.getHigh(), SCALE);
+        long low = FixedPoint.parse(bar.getLow(), SCALE);
+        long close = FixedPoint.parse(bar.getClose(), SCALE);
+        long volume = FixedPoint.parse(bar.getVolume(), volumeScale);
+        long quoteVolume = FixedPoint.parse(bar.getQuoteAssetVolume(), quoteVolumeScale);
+        long takerBaseVolume = FixedPoint.parse(bar.getTakerBuyBaseAssetVolume(), volumeScale);
+        long takerQuoteVolume = FixedPoint.parse(bar.getTakerBuyQuoteAssetVolume(), quoteVolumeScale);
+        if (open.size == 1 && openTime > open.openTimes[0]) {
+            fold();
+        }
+        open.size = 0;
+        open.append(openTime, o, high, low, close, volume, quoteVolume, bar.getNumberOfTrades(), takerBaseVolume,
+                takerQuoteVolume);
+    }
+
+    /**
+     * Feeds base bars in open time order, skipping those older than the open bar, as returned by
+     * {@code getCandlestickBars} for the base interval.
+     */
+    public synchronized void update(List<Candlestick> bars) {
+        for (Candlestick bar : bars) {
+            if (open.size == 0 || bar.getOpenTime() >= open.openTimes[0]) {
+                update(bar);
+            }
+        }
+    }
+
+    /**
+     * Moves the open base bar, now closed, into the base series and the higher bars containing it.
+     */
+    private void fold() {
+        long openTime = open.openTimes[0];
+        for (Series series : derived.values()) {
+            if (series.size > 0 && openTime < series.nextOpenTime) {
+                // checked before any series changes, so a bar which does not fit changes none
+                series.checkMerge(open, 0);
+            }
+        }
+        baseBars.add(open, 0);
+        for (Series series : derived.values()) {
+            if (series.size > 0 && openTime < series.nextOpenTime) {
+                series.merge(open, 0);
+                continue;
+            }
+            long barOpen = CandlestickIntervals.openTime(series.interval, openTime);
+            if (series.size > 0 || barOpen == openTime) {
+                series.add(open, 0);
+                series.openTimes[series.size - 1] = barOpen;
+                series.nextOpenTime = CandlestickIntervals.nextOpenTime(series.interval, barOpen);
+            }
+        }
+    }
+
+    /**
+     * Answers a candlestick query as the REST API would, from the bars held.
+     *
+     * @param interval the base interval or one of the intervals built
+     * @param limit the maximum number of bars, default 500, at most 1000
+     * @param startTime the earliest open time, or null
+     * @param endTime the latest open time, or null
+     * @return the bars in open time order, the last one still open if the open base bar is in it
+     * @throws IllegalArgumentException if the interval is not held
+     */
+    public synchronized List<Candlestick> getCandlestickBars(CandlestickInterval interval, Integer limit, Long startTime, Long endTime) {
+        Series series = interval == base ? baseBars : derived.get(interval);
+        if (series == null) {
+            throw new IllegalArgumentException("Interval " + interval + " is not built from " + base);
+        }
+        Series tail = tail(series);
+        int closed = series.size;
+        if (tail != null && closed > 0 && series.openTimes[closed - 1] == tail.openTimes[0]) {
+            closed--;
+        }
+        int total = closed + (tail == null ? 0 : 1);
+        int max = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        long from = startTime == null ? Long.MIN_VALUE : startTime;
+        long to = endTime == null ? Long.MAX_VALUE : endTime;
+        int first = 0;
+        while (first < total && (first < closed ? series.openTimes[first] : tail.openTimes[0]) < from) {
+            first++;
+        }
+        int end = first;
+        while (end < total && (end < closed ? series.openTimes[end] : tail.openTimes[0]) <= to) {
+            end++;
+        }
+        if (startTime == null) {
+            // without a start time the latest bars are returned
+            first = Math.max(first, end - max);
+        } else {
+            end = Math.min(end, first + max);
+        }
+        List<Candlestick> bars = new ArrayList<>(end - first);
+        for (int row = first; row < end; row++) {
+            bars.add(row < closed ? series.toCandlestick(row) : tail.toCandlestick(0));
+        }
+        return bars;
+    }
+
+    /**
+     * @return the bar of the series holding the open base bar, its closed part merged with the open bar, or null if
+     * there is no open bar or its bar is only partly covered.
+     */
+    private Series tail(Series series) {
+        if (open.size == 0) {
+            return null;
+        }
+        Series tail = new Series(series.interval, 1, volumeScale, quoteVolumeScale);
+        if (series.size > 0 && open.openTimes[0] < series.nextOpenTime) {
+            tail.add(series, series.size - 1);
+            tail.merge(open, 0);
+            return tail;
+        }
+        long barOpen = CandlestickIntervals.openTime(series.interval, open.openTimes[0]);
+        if (series.size > 0 || barOpen == open.openTimes[0]) {
+            tail.add(open, 0);
+            tail.openTimes[0] = barOpen;
+        } else {
+            return null;
+        }
+        return tail;
+    }
+
+    private static final class Series {
+        private final CandlestickInterval interval;
+        private final int capacity;
+        private final int volumeScale;
+        private final int quoteVolumeScale;
+        private long[] openTimes;
+        private long[] opens;
+        private long[] highs;
+        private long[] lows;
+        private long[] closes;
+        private long[] volumes;
+        private long[] quoteVolumes;
+        private long[] trades;
+        private long[] takerBaseVolumes;
+        private long[] takerQuoteVolumes;
+        private int size;
+        /**
+         * The open time of the bar after the last one, a later bar of a lower interval belongs to it when it opened
+         * before this.
+         */
+        private long nextOpenTime;
+
+        private Series(CandlestickInterval interval, int capacity, int volumeScale, int quoteVolumeScale) {
+            this.interval = interval;
+            this.capacity = capacity;
+            this.volumeScale = volumeScale;
+            this.quoteVolumeScale = quoteVolumeScale;
+            int n = Math.min(capacity, 64);
+            openTimes = new long[n];
+            opens = new long[n];
+            highs = new long[n];
+            lows = new long[n];
+            closes = new long[n];
+            volumes = new long[n];
+            quoteVolumes = new long[n];
+            trades = new long[n];
+            takerBaseVolumes = new long[n];
+            takerQuoteVolumes = new long[n];
+        }
+
+        private void append(long openTime, long open, long high, long low, long close, long volume, long quoteVolume,
+                            long trade, long takerBaseVolume, long takerQuoteVolume) {
+            if (size == openTimes.length) {
+                grow();
+            }
+            openTimes[size] = openTime;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            volumes[size] = volume;
+            quoteVolumes[size] = quoteVolume;
+            trades[size] = trade;
+            takerBaseVolumes[size] = takerBaseVolume;
+            takerQuoteVolumes[size] = takerQuoteVolume;
+            size++;
+        }
+
+        private void add(Series from, int row) {
+            append(from.openTimes[row], from.opens[row], from.highs[row], from.lows[row], from.closes[row],
+                    from.volumes[row], from.quoteVolumes[row], from.trades[row], from.takerBaseVolumes[row],
+                    from.takerQuoteVolumes[row]);
+        }
+
+        /**
+         * Merges a later bar into the last bar.
+         *
+         * @throws ArithmeticException if a sum does not fit in a long, the last bar is left as it was
+         */
+        private void merge(Series from, int row) {
+            int last = size - 1;
+            long volume = Math.addExact(volumes[last], from.volumes[row]);
+            long quoteVolume = Math.addExact(quoteVolumes[last], from.quoteVolumes[row]);
+            long trade = Math.addExact(trades[last], from.trades[row]);
+            long takerBaseVolume = Math.addExact(takerBaseVolumes[last], from.takerBaseVolumes[row]);
+            long takerQuoteVolume = Math.addExact(takerQuoteVolumes[last], from.takerQuoteVolumes[row]);
+            highs[last] = Math.max(highs[last], from.highs[row]);
+            lows[last] = Math.min(lows[last], from.lows[row]);
+            closes[last] = from.closes[row];
+            volumes[last] = volume;
+            quoteVolumes[last] = quoteVolume;
+            trades[last] = trade;
+            takerBaseVolumes[last] = takerBaseVolume;
+            takerQuoteVolumes[last] = takerQuoteVolume;
+        }
+
+        /**
+         * @throws ArithmeticException if merging the bar into the last bar would overflow
+         */
+        private void checkMerge(Series from, int row) {
+            int last = size - 1;
+            Math.addExact(volumes[last], from.volumes[row]);
+            Math.addExact(quoteVolumes[last], from.quoteVolumes[row]);
+            Math.addExact(trades[last], from.trades[row]);
+            Math.addExact(takerBaseVolumes[last], from.takerBaseVolumes[row]);
+            Math.addExact(takerQuoteVolumes[last], from.takerQuoteVolumes[row]);
+        }
+
+        /**
+         * Makes room for a bar, doubling the arrays until they hold twice the capacity and then dropping the
+         * oldest capacity bars, so appends stay amortised O(1).
+         */
+        private void grow() {
+            if (openTimes.length >= 2 * capacity) {
+                int keep = size - capacity;
+                shift(openTimes, keep);
+                shift(opens, keep);
+                shift(highs, keep);
+                shift(lows, keep);
+                shift(closes, keep);
+                shift(volumes, keep);
+                shift(quoteVolumes, keep);
+                shift(trades, keep);
+                shift(takerBaseVolumes, keep);
+                shift(takerQuoteVolumes, keep);
+                size = capacity;
+                return;
+            }
+            int n = openTimes.length * 2;
+            openTimes = Arrays.copyOf(openTimes, n);
+            opens = Arrays.copyOf(opens, n);
+            highs = Arrays.copyOf(highs, n);
+            lows = Arrays.copyOf(lows, n);
+            closes = Arrays.copyOf(closes, n);
+            volumes = Arrays.copyOf(volumes, n);
+            quoteVolumes = Arrays.copyOf(quoteVolumes, n);
+            trades = Arrays.copyOf(trades, n);
+            takerBaseVolumes = Arrays.copyOf(takerBaseVolumes, n);
+            takerQuoteVolumes = Arrays.copyOf(takerQuoteVolumes, n);
+        }
+
+        private static void shift(long[] column, int from) {
+            System.arraycopy(column, from, column, 0, column.length - from);
+        }
+
+        private Candlestick toCandlestick(int row) {
+            Candlestick c = new Candlestick();
+            c.setOpenTime(openTimes[row]);
+            c.setCloseTime(CandlestickIntervals.closeTime(interval, openTimes[row]));
+            c.setOpen(FixedPoint.toString(opens[row], SCALE));
+            c.setHigh(FixedPoint.toString(highs[row], SCALE));
+            c.setLow(FixedPoint.toString(lows[row], SCALE));
+            c.setClose(FixedPoint.toString(closes[row], SCALE));
+            c.setVolume(volume(volumes[row], volumeScale));
+            c.setQuoteAssetVolume(volume(quoteVolumes[row], quoteVolumeScale));
+            c.setNumberOfTrades(trades[row]);
+            c.setTakerBuyBaseAssetVolume(volume(takerBaseVolumes[row], volumeScale));
+            c.setTakerBuyQuoteAssetVolume(volume(takerQuoteVolumes[row], quoteVolumeScale));
+            return c;
+        }
+
+        /**
+         * Formats a volume with Binance's 8 decimals, as the REST API does, whatever its scale.
+         */
+        private static String volume(long mantissa, int scale) {
+            StringBuilder sb = FixedPoint.append(new StringBuilder(32), mantissa, scale);
+            if (scale == 0) {
+                sb.append('.');
+            }
+            for (int i = scale; i < SCALE; i++) {
+                sb.append('0');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time arithmetic for candlestick intervals.  Binance aligns bars to UTC, weeks start on Monday and months are
+ * calendar months.
+ */
+public final class CandlestickIntervals {
+    /**
+     * The first Monday after the epoch, which weekly bars are aligned to.
+     */
+    private static final long WEEK_ORIGIN = TimeUnit.DAYS.toMillis(4);
+
+    private CandlestickIntervals() {
+    }
+
+    /**
+     * @return the length of the interval in milliseconds, for monthly bars the length of the longest month.
+     */
+    public static long toMillis(CandlestickInterval interval) {
+        String id = interval.getIntervalId();
+        long n = Long.parseLong(id.substring(0, id.length() - 1));
+        switch (id.charAt(id.length() - 1)) {
+            case 'm':
+                return TimeUnit.MINUTES.toMillis(n);
+            case 'h':
+                return TimeUnit.HOURS.toMillis(n);
+            case 'd':
+                return TimeUnit.DAYS.toMillis(n);
+            case 'w':
+                return TimeUnit.DAYS.toMillis(7 * n);
+            case 'M':
+                return TimeUnit.DAYS.toMillis(31 * n);
+            default:
+                throw new IllegalArgumentException("Unknown interval " + id);
+        }
+    }
+
+    /**
+     * @return true if every bar of the interval has the same length.
+     */
+    public static boolean isFixedLength(CandlestickInterval interval) {
+        return interval != CandlestickInterval.MONTHLY;
+    }
+
+    /**
+     * @return the open time of the bar containing the given time.
+     */
+    public static long openTime(CandlestickInterval interval, long timeMillis) {
+        if (interval == CandlestickInterval.MONTHLY) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneOffset.UTC)
+                    .truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).toInstant().toEpochMilli();
+        }
+        long length = toMillis(interval);
+        long origin = interval == CandlestickInterval.WEEKLY ? WEEK_ORIGIN : 0;
+        return Math.floorDiv(timeMillis - origin, length) * length + origin;
+    }
+
+    /**
+     * @return the open time of the bar following the one opened at the given time.
+     */
+    public static long nextOpenTime(CandlestickInterval interval, long openTime) {
+        if (interval == CandlestickInterval.MONTHLY) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(openTime), ZoneOffset.UTC)
+                    .plusMonths(1).toInstant().toEpochMilli();
+        }
+        return openTime + toMillis(interval);
+    }
+
+    /**
+     * @return the close time Binance reports for the bar opened at the given time.
+     */
+    public static long closeTime(CandlestickInterval interval, long openTime) {
+        return nextOpenTime(interval, openTime) - 1;
+    }
+}
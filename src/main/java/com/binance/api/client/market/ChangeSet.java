@@ -0,0 +1,90 @@
+package com.binance.api.client.market;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of the symbols which changed between two snapshots, see {@link SnapshotDiff}.  Each change holds
+ * the symbol's id, its old and new row and a mask of the fields which differ, bit i for field i of the diff.  A
+ * symbol which appeared has no old row and a symbol which disappeared has no new row, their masks have every field
+ * set.
+ */
+public class ChangeSet<T> {
+    private int[] ids = new int[16];
+    private long[] masks = new long[16];
+    private Object[] olds = new Object[16];
+    private Object[] news = new Object[16];
+    private SymbolIndex symbols;
+    private int size;
+
+    void clear(SymbolIndex symbols) {
+        Arrays.fill(olds, 0, size, null);
+        Arrays.fill(news, 0, size, null);
+        this.symbols = symbols;
+        size = 0;
+    }
+
+    void add(int id, T oldRow, T newRow, long mask) {
+        if (size == ids.length) {
+            int n = size * 2;
+            ids = Arrays.copyOf(ids, n);
+            masks = Arrays.copyOf(masks, n);
+            olds = Arrays.copyOf(olds, n);
+            news = Arrays.copyOf(news, n);
+        }
+        ids[size] = id;
+        masks[size] = mask;
+        olds[size] = oldRow;
+        news[size] = newRow;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSymbolId(int change) {
+        return ids[check(change)];
+    }
+
+    public String getSymbol(int change) {
+        return symbols.getSymbol(ids[check(change)]);
+    }
+
+    /**
+     * @return the row of the previous snapshot, null if the symbol appeared.
+     */
+    @SuppressWarnings("unchecked")
+    public T getOld(int change) {
+        return (T) olds[check(change)];
+    }
+
+    /**
+     * @return the row of the new snapshot, null if the symbol disappeared.
+     */
+    @SuppressWarnings("unchecked")
+    public T getNew(int change) {
+        return (T) news[check(change)];
+    }
+
+    /**
+     * @return the mask of the fields which changed, bit i for field i.
+     */
+    public long getChangedFields(int change) {
+        return masks[check(change)];
+    }
+
+    public boolean isChanged(int change, int field) {
+        return (masks[check(change)] & 1L << field) != 0;
+    }
+
+    private int check(int change) {
+        if (change < 0 || change >= size) {
+            throw new IndexOutOfBoundsException("Change " + change + " of " + size);
+        }
+        return change;
+    }
+}
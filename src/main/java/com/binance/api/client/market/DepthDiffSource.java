@@ -0,0 +1,22 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+
+/**
+ * A feed of order book diff events, such as the depth web socket stream or a replay of recorded events.
+ */
+@FunctionalInterface
+public interface DepthDiffSource {
+
+  /**
+   * Starts delivering the diff events of a symbol.  Events must be delivered in order and one at a time.
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   * @param callback receives the events
+   * @return closing it stops the events
+   */
+  Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback);
+}
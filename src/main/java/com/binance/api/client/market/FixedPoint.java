@@ -0,0 +1,151 @@
+package com.binance.api.client.market;
+
+/**
+ * Conversion between Binance's decimal strings and fixed point longs, a mantissa with an implied number of
+ * decimal places (the scale).  Parsing does not allocate.
+ *
+ * A long holds about 18 significant digits, so at a scale of 8 values must stay below 92,233,720,368.  Values
+ * which do not fit are rejected rather than wrapped around.
+ */
+public final class FixedPoint {
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /**
+     * @return 10 to the power of the scale.
+     */
+    public static long pow10(int scale) {
+        return POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Parses a decimal such as "0.01634790" into a mantissa of the given scale.
+     *
+     * @throws NumberFormatException if the value is not a decimal, has non zero digits beyond the scale or does not
+     * fit in a long at the scale
+     */
+    public static long parse(CharSequence value, int scale) {
+        return parse(value, 0, value.length(), scale);
+    }
+
+    /**
+     * As {@link #parse(CharSequence, int)} for part of a sequence.
+     */
+    public static long parse(CharSequence value, int offset, int length, int scale) {
+        return parse(value, null, offset, length, scale);
+    }
+
+    /**
+     * As {@link #parse(CharSequence, int)} for characters in a buffer, such as the text buffer of a JSON parser.
+     */
+    public static long parse(char[] value, int offset, int length, int scale) {
+        return parse(null, value, offset, length, scale);
+    }
+
+    private static long parse(CharSequence sequence, char[] buffer, int offset, int length, int scale) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (charAt(sequence, buffer, i) == '-' || charAt(sequence, buffer, i) == '+')) {
+            negative = charAt(sequence, buffer, i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = charAt(sequence, buffer, i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                if (decimals >= scale) {
+                    if (c != '0') {
+                        throw new NumberFormatException("More than " + scale + " decimals in "
+                                + text(sequence, buffer, offset, length));
+                    }
+                    continue;
+                }
+                try {
+                    mantissa = Math.addExact(Math.multiplyExact(mantissa, 10), c - '0');
+                } catch (ArithmeticException e) {
+                    throw outOfRange(sequence, buffer, offset, length, scale);
+                }
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else {
+                throw new NumberFormatException("Not a decimal: " + text(sequence, buffer, offset, length));
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not a decimal: " + text(sequence, buffer, offset, length));
+        }
+        try {
+            mantissa = Math.multiplyExact(mantissa, POWERS_OF_TEN[scale - Math.max(decimals, 0)]);
+        } catch (ArithmeticException e) {
+            throw outOfRange(sequence, buffer, offset, length, scale);
+        }
+        return negative ? -mantissa : mantissa;
+    }
+
+    private static NumberFormatException outOfRange(CharSequence sequence, char[] buffer, int offset, int length, int scale) {
+        return new NumberFormatException("Out of range at scale " + scale + ": " + text(sequence, buffer, offset, length));
+    }
+
+    private static char charAt(CharSequence sequence, char[] buffer, int i) {
+        return buffer != null ? buffer[i] : sequence.charAt(i);
+    }
+
+    private static String text(CharSequence sequence, char[] buffer, int offset, int length) {
+        return buffer != null ? new String(buffer, offset, length) : sequence.subSequence(offset, offset + length).toString();
+    }
+
+    /**
+     * Formats a mantissa with exactly scale decimals, the format Binance uses for prices and quantities.
+     */
+    public static String toString(long mantissa, int scale) {
+        return append(new StringBuilder(24), mantissa, scale).toString();
+    }
+
+    /**
+     * Appends a mantissa with exactly scale decimals.
+     */
+    public static StringBuilder append(StringBuilder sb, long mantissa, int scale) {
+        if (mantissa < 0) {
+            sb.append('-');
+            mantissa = -mantissa;
+        }
+        long unit = POWERS_OF_TEN[scale];
+        sb.append(mantissa / unit);
+        if (scale > 0) {
+            sb.append('.');
+            long fraction = mantissa % unit;
+            for (long p = unit / 10; p > 0; p /= 10) {
+                sb.append((char) ('0' + fraction / p % 10));
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * Changes the scale of a mantissa, truncating any digits that do not fit the new scale.
+     *
+     * @throws ArithmeticException if the value does not fit in a long at the new scale
+     */
+    public static long rescale(long mantissa, int fromScale, int toScale) {
+        if (toScale >= fromScale) {
+            return Math.multiplyExact(mantissa, POWERS_OF_TEN[toScale - fromScale]);
+        }
+        return mantissa / POWERS_OF_TEN[fromScale - toScale];
+    }
+}
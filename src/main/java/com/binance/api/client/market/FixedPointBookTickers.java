@@ -0,0 +1,138 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.BookTicker;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable columnar fixed point view of a list of {@link BookTicker}s, each symbol decoded with its own scales.
+ * Row i holds the ticker at index i of the decoded list.
+ */
+public class FixedPointBookTickers {
+    private String[] symbols = new String[0];
+    private int[] priceScales = new int[0];
+    private int[] quantityScales = new int[0];
+    private long[] bidPrices = new long[0];
+    private long[] bidQuantities = new long[0];
+    private long[] askPrices = new long[0];
+    private long[] askQuantities = new long[0];
+    private int size;
+
+    /**
+     * Decodes the tickers into this view, replacing its content.
+     *
+     * @return this view
+     */
+    public FixedPointBookTickers decode(List<BookTicker> tickers, SymbolScales scales) {
+        int n = tickers.size();
+        if (symbols.length < n) {
+            symbols = new String[n];
+            priceScales = new int[n];
+            quantityScales = new int[n];
+            bidPrices = new long[n];
+            bidQuantities = new long[n];
+            askPrices = new long[n];
+            askQuantities = new long[n];
+        }
+        for (int i = 0; i < n; i++) {
+            BookTicker t = tickers.get(i);
+            String symbol = t.getSymbol();
+            int ps = scales.getPriceScale(symbol);
+            int qs = scales.getQuantityScale(symbol);
+            symbols[i] = symbol;
+            priceScales[i] = ps;
+            quantityScales[i] = qs;
+            bidPrices[i] = FixedPoint.parse(t.getBidPrice(), ps);
+            bidQuantities[i] = FixedPoint.parse(t.getBidQty(), qs);
+            askPrices[i] = FixedPoint.parse(t.getAskPrice(), ps);
+            askQuantities[i] = FixedPoint.parse(t.getAskQty(), qs);
+        }
+        for (int i = n; i < size; i++) {
+            symbols[i] = null;
+        }
+        size = n;
+        return this;
+    }
+
+    /**
+     * Empties the view, keeping its arrays, before rows are added one at a time.
+     */
+    void clear() {
+        Arrays.fill(symbols, 0, size, null);
+        size = 0;
+    }
+
+    void add(String symbol, int priceScale, int quantityScale, long bidPrice, long bidQuantity, long askPrice,
+             long askQuantity) {
+        if (size == symbols.length) {
+            int n = Math.max(16, size * 2);
+            symbols = Arrays.copyOf(symbols, n);
+            priceScales = Arrays.copyOf(priceScales, n);
+            quantityScales = Arrays.copyOf(quantityScales, n);
+            bidPrices = Arrays.copyOf(bidPrices, n);
+            bidQuantities = Arrays.copyOf(bidQuantities, n);
+            askPrices = Arrays.copyOf(askPrices, n);
+            askQuantities = Arrays.copyOf(askQuantities, n);
+        }
+        symbols[size] = symbol;
+        priceScales[size] = priceScale;
+        quantityScales[size] = quantityScale;
+        bidPrices[size] = bidPrice;
+        bidQuantities[size] = bidQuantity;
+        askPrices[size] = askPrice;
+        askQuantities[size] = askQuantity;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSymbol(int row) {
+        return symbols[check(row)];
+    }
+
+    public int getPriceScale(int row) {
+        return priceScales[check(row)];
+    }
+
+    public int getQuantityScale(int row) {
+        return quantityScales[check(row)];
+    }
+
+    public long getBidPrice(int row) {
+        return bidPrices[check(row)];
+    }
+
+    public long getBidQuantity(int row) {
+        return bidQuantities[check(row)];
+    }
+
+    public long getAskPrice(int row) {
+        return askPrices[check(row)];
+    }
+
+    public long getAskQuantity(int row) {
+        return askQuantities[check(row)];
+    }
+
+    /**
+     * @return the row of the symbol or -1, a linear scan which does not allocate.
+     */
+    public int indexOf(String symbol) {
+        for (int i = 0; i < size; i++) {
+            if (symbols[i].equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,118 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.Candlestick;
+
+import java.util.List;
+
+/**
+ * A reusable columnar fixed point view of a list of {@link Candlestick}s of one symbol.  Prices use the symbol's
+ * price scale, volumes its quantity scale and quote volumes Binance's full precision of 8 decimals.  A value which
+ * does not fit in a long at its scale fails the decode with a NumberFormatException.
+ */
+public class FixedPointCandlesticks {
+    public static final int QUOTE_SCALE = SymbolScales.DEFAULT_SCALE;
+
+    private int priceScale;
+    private int quantityScale;
+    private long[] openTimes = new long[0];
+    private long[] closeTimes = new long[0];
+    private long[] opens = new long[0];
+    private long[] highs = new long[0];
+    private long[] lows = new long[0];
+    private long[] closes = new long[0];
+    private long[] volumes = new long[0];
+    private long[] quoteVolumes = new long[0];
+    private long[] trades = new long[0];
+    private int size;
+
+    /**
+     * Decodes the candlesticks into this view, replacing its content.
+     *
+     * @return this view
+     */
+    public FixedPointCandlesticks decode(List<Candlestick> candlesticks, int priceScale, int quantityScale) {
+        int n = candlesticks.size();
+        if (openTimes.length < n) {
+            openTimes = new long[n];
+            closeTimes = new long[n];
+            opens = new long[n];
+            highs = new long[n];
+            lows = new long[n];
+            closes = new long[n];
+            volumes = new long[n];
+            quoteVolumes = new long[n];
+            trades = new long[n];
+        }
+        this.priceScale = priceScale;
+        this.quantityScale = quantityScale;
+        for (int i = 0; i < n; i++) {
+            Candlestick c = candlesticks.get(i);
+            openTimes[i] = c.getOpenTime();
+            closeTimes[i] = c.getCloseTime();
+            opens[i] = FixedPoint.parse(c.getOpen(), priceScale);
+            highs[i] = FixedPoint.parse(c.getHigh(), priceScale);
+            lows[i] = FixedPoint.parse(c.getLow(), priceScale);
+            closes[i] = FixedPoint.parse(c.getClose(), priceScale);
+            volumes[i] = FixedPoint.parse(c.getVolume(), quantityScale);
+            quoteVolumes[i] = FixedPoint.parse(c.getQuoteAssetVolume(), QUOTE_SCALE);
+            trades[i] = c.getNumberOfTrades();
+        }
+        size = n;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getQuantityScale() {
+        return quantityScale;
+    }
+
+    public long getOpenTime(int row) {
+        return openTimes[check(row)];
+    }
+
+    public long getCloseTime(int row) {
+        return closeTimes[check(row)];
+    }
+
+    public long getOpen(int row) {
+        return opens[check(row)];
+    }
+
+    public long getHigh(int row) {
+        return highs[check(row)];
+    }
+
+    public long getLow(int row) {
+        return lows[check(row)];
+    }
+
+    public long getClose(int row) {
+        return closes[check(row)];
+    }
+
+    public long getVolume(int row) {
+        return volumes[check(row)];
+    }
+
+    public long getQuoteAssetVolume(int row) {
+        return quoteVolumes[check(row)];
+    }
+
+    public long getNumberOfTrades(int row) {
+        return trades[check(row)];
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,71 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Market data calls of a {@link BinanceApiAsyncExecutorRestClient} with the results decoded into fixed point views
+ * instead of string priced domain objects.  Each call decodes into the view passed in, so a caller polling in a
+ * loop can reuse one view and avoid allocating per level or per symbol.  Decoding happens on the request thread.
+ */
+public class FixedPointMarketDataClient {
+    private final BinanceApiAsyncExecutorRestClient client;
+    private final SymbolScales scales;
+
+    /**
+     * @param client the client making the calls
+     * @param scales the scales of each symbol, see {@link SymbolScales#load(BinanceApiAsyncExecutorRestClient)}
+     */
+    public FixedPointMarketDataClient(BinanceApiAsyncExecutorRestClient client, SymbolScales scales) {
+        this.client = client;
+        this.scales = scales;
+    }
+
+    public SymbolScales getScales() {
+        return scales;
+    }
+
+    /**
+     * Get order book of a symbol.
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param limit depth of the order book
+     * @param into the view to decode into
+     */
+    public CompletableFuture<FixedPointOrderBook> getOrderBook(String symbol, Integer limit, FixedPointOrderBook into) {
+        return client.getOrderBook(symbol, limit, null).thenApply(book ->
+                into.decode(symbol, book, scales.getPriceScale(symbol), scales.getQuantityScale(symbol)));
+    }
+
+    /**
+     * Get best price/qty on the order book for all symbols.
+     *
+     * @param into the view to decode into
+     */
+    public CompletableFuture<FixedPointBookTickers> getBookTickers(FixedPointBookTickers into) {
+        return client.getBookTickers(null).thenApply(tickers -> into.decode(tickers, scales));
+    }
+
+    /**
+     * Get latest price for all symbols.
+     *
+     * @param into the view to decode into
+     */
+    public CompletableFuture<FixedPointPrices> getAllPrices(FixedPointPrices into) {
+        return client.getAllPrices(null).thenApply(prices -> into.decode(prices, scales));
+    }
+
+    /**
+     * Kline/candlestick bars for a symbol.
+     *
+     * @see BinanceApiAsyncExecutorRestClient#getCandlestickBars(String, CandlestickInterval, Integer, Long, Long, com.binance.api.client.BinanceApiCallback)
+     * @param into the view to decode into
+     */
+    public CompletableFuture<FixedPointCandlesticks> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit,
+                                                                        Long startTime, Long endTime, FixedPointCandlesticks into) {
+        return client.getCandlestickBars(symbol, interval, limit, startTime, endTime, null).thenApply(bars ->
+                into.decode(bars, scales.getPriceScale(symbol), scales.getQuantityScale(symbol)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+
+import java.util.List;
+
+/**
+ * A reusable fixed point view of an {@link OrderBook}.  Levels are held in primitive arrays, best price first,
+ * which are only reallocated when a deeper book than any before is decoded into the view.
+ */
+public class FixedPointOrderBook {
+    private String symbol;
+    private long lastUpdateId;
+    private int priceScale;
+    private int quantityScale;
+    private long[] bidPrices = new long[0];
+    private long[] bidQuantities = new long[0];
+    private long[] askPrices = new long[0];
+    private long[] askQuantities = new long[0];
+    private int bidCount;
+    private int askCount;
+
+    /**
+     * Decodes the order book into this view, replacing its content.
+     *
+     * @return this view
+     */
+    public FixedPointOrderBook decode(String symbol, OrderBook book, int priceScale, int quantityScale) {
+        this.symbol = symbol;
+        this.lastUpdateId = book.getLastUpdateId();
+        this.priceScale = priceScale;
+        this.quantityScale = quantityScale;
+        List<OrderBookEntry> bids = book.getBids();
+        List<OrderBookEntry> asks = book.getAsks();
+        if (bidPrices.length < bids.size()) {
+            bidPrices = new long[bids.size()];
+            bidQuantities = new long[bids.size()];
+        }
+        if (askPrices.length < asks.size()) {
+            askPrices = new long[asks.size()];
+            askQuantities = new long[asks.size()];
+        }
+        bidCount = decode(bids, bidPrices, bidQuantities);
+        askCount = decode(asks, askPrices, askQuantities);
+        return this;
+    }
+
+    private int decode(List<OrderBookEntry> entries, long[] prices, long[] quantities) {
+        int n = entries.size();
+        for (int i = 0; i < n; i++) {
+            OrderBookEntry entry = entries.get(i);
+            prices[i] = FixedPoint.parse(entry.getPrice(), priceScale);
+            quantities[i] = FixedPoint.parse(entry.getQty(), quantityScale);
+        }
+        return n;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getLastUpdateId() {
+        return lastUpdateId;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getQuantityScale() {
+        return quantityScale;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+
+    /**
+     * @param level 0 for the best bid
+     */
+    public long getBidPrice(int level) {
+        return bidPrices[checkLevel(level, bidCount)];
+    }
+
+    public long getBidQuantity(int level) {
+        return bidQuantities[checkLevel(level, bidCount)];
+    }
+
+    /**
+     * @param level 0 for the best ask
+     */
+    public long getAskPrice(int level) {
+        return askPrices[checkLevel(level, askCount)];
+    }
+
+    public long getAskQuantity(int level) {
+        return askQuantities[checkLevel(level, askCount)];
+    }
+
+    /**
+     * @return the total bid quantity of the best levels.
+     */
+    public long sumBidQuantity(int levels) {
+        return sum(bidQuantities, Math.min(levels, bidCount));
+    }
+
+    /**
+     * @return the total ask quantity of the best levels.
+     */
+    public long sumAskQuantity(int levels) {
+        return sum(askQuantities, Math.min(levels, askCount));
+    }
+
+    private static long sum(long[] values, int n) {
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    private static int checkLevel(int level, int count) {
+        if (level < 0 || level >= count) {
+            throw new IndexOutOfBoundsException("Level " + level + " of " + count);
+        }
+        return level;
+    }
+}
@@ -0,0 +1,98 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.TickerPrice;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable columnar fixed point view of a list of {@link TickerPrice}s, each symbol decoded with its own price
+ * scale.  Row i holds the price at index i of the decoded list.
+ */
+public class FixedPointPrices {
+    private String[] symbols = new String[0];
+    private int[] scales = new int[0];
+    private long[] prices = new long[0];
+    private int size;
+
+    /**
+     * Decodes the prices into this view, replacing its content.
+     *
+     * @return this view
+     */
+    public FixedPointPrices decode(List<TickerPrice> tickerPrices, SymbolScales symbolScales) {
+        int n = tickerPrices.size();
+        if (symbols.length < n) {
+            symbols = new String[n];
+            scales = new int[n];
+            prices = new long[n];
+        }
+        for (int i = 0; i < n; i++) {
+            TickerPrice p = tickerPrices.get(i);
+            symbols[i] = p.getSymbol();
+            scales[i] = symbolScales.getPriceScale(p.getSymbol());
+            prices[i] = FixedPoint.parse(p.getPrice(), scales[i]);
+        }
+        for (int i = n; i < size; i++) {
+            symbols[i] = null;
+        }
+        size = n;
+        return this;
+    }
+
+    /**
+     * Empties the view, keeping its arrays, before rows are added one at a time.
+     */
+    void clear() {
+        Arrays.fill(symbols, 0, size, null);
+        size = 0;
+    }
+
+    void add(String symbol, int scale, long price) {
+        if (size == symbols.length) {
+            int n = Math.max(16, size * 2);
+            symbols = Arrays.copyOf(symbols, n);
+            scales = Arrays.copyOf(scales, n);
+            prices = Arrays.copyOf(prices, n);
+        }
+        symbols[size] = symbol;
+        scales[size] = scale;
+        prices[size] = price;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSymbol(int row) {
+        return symbols[check(row)];
+    }
+
+    public int getScale(int row) {
+        return scales[check(row)];
+    }
+
+    public long getPrice(int row) {
+        return prices[check(row)];
+    }
+
+    /**
+     * @return the row of the symbol or -1, a linear scan which does not allocate.
+     */
+    public int indexOf(String symbol) {
+        for (int i = 0; i < size; i++) {
+            if (symbols[i].equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+}
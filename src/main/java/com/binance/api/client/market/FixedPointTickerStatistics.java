@@ -0,0 +1,160 @@
+package com.binance.api.client.market;
+
+/**
+ * A reusable fixed point view of one symbol's 24 hour price change statistics, filled by
+ * {@link StreamingMarketDataDecoder}.  Prices, price changes and the quote volume use Binance's full precision of
+ * 8 decimals, quantities the symbol's quantity scale.
+ */
+public class FixedPointTickerStatistics {
+    public static final int PRICE_SCALE = SymbolScales.DEFAULT_SCALE;
+
+    static final int PRICE_CHANGE = 0;
+    static final int PRICE_CHANGE_PERCENT = 1;
+    static final int WEIGHTED_AVG_PRICE = 2;
+    static final int PREV_CLOSE_PRICE = 3;
+    static final int LAST_PRICE = 4;
+    static final int LAST_QTY = 5;
+    static final int BID_PRICE = 6;
+    static final int BID_QTY = 7;
+    static final int ASK_PRICE = 8;
+    static final int ASK_QTY = 9;
+    static final int OPEN_PRICE = 10;
+    static final int HIGH_PRICE = 11;
+    static final int LOW_PRICE = 12;
+    static final int VOLUME = 13;
+    static final int QUOTE_VOLUME = 14;
+    static final int OPEN_TIME = 15;
+    static final int CLOSE_TIME = 16;
+    static final int FIRST_ID = 17;
+    static final int LAST_ID = 18;
+    static final int COUNT = 19;
+    static final int FIELDS = 20;
+
+    final long[] values = new long[FIELDS];
+    String symbol;
+    int quantityScale;
+
+    /**
+     * @return the index of a field of Binance's 24hr ticker, or -1 if it is not held.
+     */
+    static int field(String name) {
+        switch (name) {
+            case "priceChange": return PRICE_CHANGE;
+            case "priceChangePercent": return PRICE_CHANGE_PERCENT;
+            case "weightedAvgPrice": return WEIGHTED_AVG_PRICE;
+            case "prevClosePrice": return PREV_CLOSE_PRICE;
+            case "lastPrice": return LAST_PRICE;
+            case "lastQty": return LAST_QTY;
+            case "bidPrice": return BID_PRICE;
+            case "bidQty": return BID_QTY;
+            case "askPrice": return ASK_PRICE;
+            case "askQty": return ASK_QTY;
+            case "openPrice": return OPEN_PRICE;
+            case "highPrice": return HIGH_PRICE;
+            case "lowPrice": return LOW_PRICE;
+            case "volume": return VOLUME;
+            case "quoteVolume": return QUOTE_VOLUME;
+            case "openTime": return OPEN_TIME;
+            case "closeTime": return CLOSE_TIME;
+            case "firstId": return FIRST_ID;
+            case "lastId": return LAST_ID;
+            case "count": return COUNT;
+            default: return -1;
+        }
+    }
+
+    /**
+     * @return true if the field is a quantity, held at the symbol's quantity scale.
+     */
+    static boolean isQuantity(int field) {
+        return field == LAST_QTY || field == BID_QTY || field == ASK_QTY || field == VOLUME;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getQuantityScale() {
+        return quantityScale;
+    }
+
+    public long getPriceChange() {
+        return values[PRICE_CHANGE];
+    }
+
+    public long getPriceChangePercent() {
+        return values[PRICE_CHANGE_PERCENT];
+    }
+
+    public long getWeightedAvgPrice() {
+        return values[WEIGHTED_AVG_PRICE];
+    }
+
+    public long getPrevClosePrice() {
+        return values[PREV_CLOSE_PRICE];
+    }
+
+    public long getLastPrice() {
+        return values[LAST_PRICE];
+    }
+
+    public long getLastQty() {
+        return values[LAST_QTY];
+    }
+
+    public long getBidPrice() {
+        return values[BID_PRICE];
+    }
+
+    public long getBidQty() {
+        return values[BID_QTY];
+    }
+
+    public long getAskPrice() {
+        return values[ASK_PRICE];
+    }
+
+    public long getAskQty() {
+        return values[ASK_QTY];
+    }
+
+    public long getOpenPrice() {
+        return values[OPEN_PRICE];
+    }
+
+    public long getHighPrice() {
+        return values[HIGH_PRICE];
+    }
+
+    public long getLowPrice() {
+        return values[LOW_PRICE];
+    }
+
+    public long getVolume() {
+        return values[VOLUME];
+    }
+
+    public long getQuoteVolume() {
+        return values[QUOTE_VOLUME];
+    }
+
+    public long getOpenTime() {
+        return values[OPEN_TIME];
+    }
+
+    public long getCloseTime() {
+        return values[CLOSE_TIME];
+    }
+
+    public long getFirstId() {
+        return values[FIRST_ID];
+    }
+
+    public long getLastId() {
+        return values[LAST_ID];
+    }
+
+    public long getCount() {
+        return values[COUNT];
+    }
+}
@@ -0,0 +1,518 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An order book for one symbol maintained locally from a {@link BinanceApiAsyncExecutorRestClient#getOrderBook}
+ * snapshot and a feed of diff events, following Binance's procedure for managing a local order book:
+ * <ol>
+ *     <li>diff events are buffered while the snapshot is fetched</li>
+ *     <li>buffered events older than the snapshot are dropped</li>
+ *     <li>each following event must continue from the update id of the previous one</li>
+ * </ol>
+ * A gap in the update ids, or a failure of the feed, triggers a resync from a new snapshot.  Failed snapshots and
+ * failed subscriptions are retried after a delay doubling with each consecutive failure, up to a maximum.
+ *
+ * Prices and quantities are held as fixed point longs in sorted primitive arrays, see {@link FixedPoint}.  The
+ * read methods do not allocate and can be called from any thread while the book is updated.
+ */
+public class LocalOrderBook implements Closeable {
+    public static final int DEFAULT_SNAPSHOT_LIMIT = 1000;
+    public static final int DEFAULT_SCALE = 8;
+    public static final Duration DEFAULT_RESYNC_DELAY = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_RESYNC_DELAY = Duration.ofSeconds(30);
+
+    private final String symbol;
+    private final BinanceApiAsyncExecutorRestClient client;
+    private final DepthDiffSource source;
+    private final int snapshotLimit;
+    private final int priceScale;
+    private final int quantityScale;
+    private final long resyncDelayMillis;
+    private final long maxResyncDelayMillis;
+
+    private final StampedLock lock = new StampedLock();
+    private final BookSide bids = new BookSide(true, DEFAULT_SNAPSHOT_LIMIT);
+    private final BookSide asks = new BookSide(false, DEFAULT_SNAPSHOT_LIMIT);
+    private final ArrayDeque<DepthEvent> buffer = new ArrayDeque<>();
+    private final Object sync = new Object();
+
+    private volatile boolean live;
+    private volatile long lastUpdateId = -1;
+    private volatile long resyncCount;
+    private boolean syncing;
+    private boolean started;
+    private volatile boolean closed;
+    private Closeable subscription;
+    private BinanceApiCallback<DepthEvent> feed;
+    private int snapshotFailures;
+    private int feedFailures;
+
+    /**
+     * A book with Binance's maximum precision of 8 decimals for prices and quantities.
+     */
+    public LocalOrderBook(String symbol, BinanceApiAsyncExecutorRestClient client, DepthDiffSource source) {
+        this(symbol, client, source, DEFAULT_SNAPSHOT_LIMIT, DEFAULT_SCALE, DEFAULT_SCALE, DEFAULT_RESYNC_DELAY);
+    }
+
+    /**
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param client the client fetching the snapshots
+     * @param source the diff events
+     * @param snapshotLimit the depth of the snapshots
+     * @param priceScale the number of decimals of the prices
+     * @param quantityScale the number of decimals of the quantities
+     * @param resyncDelay the delay before retrying a snapshot or subscription which failed
+     */
+    public LocalOrderBook(String symbol, BinanceApiAsyncExecutorRestClient client, DepthDiffSource source,
+                          int snapshotLimit, int priceScale, int quantityScale, Duration resyncDelay) {
+        this(symbol, client, source, snapshotLimit, priceScale, quantityScale, resyncDelay, DEFAULT_MAX_RESYNC_DELAY);
+    }
+
+    /**
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param client the client fetching the snapshots
+     * @param source the diff events
+     * @param snapshotLimit the depth of the snapshots
+     * @param priceScale the number of decimals of the prices
+     * @param quantityScale the number of decimals of the quantities
+     * @param resyncDelay the delay before retrying a snapshot or subscription which failed once
+     * @param maxResyncDelay the longest delay, however many times in a row it failed
+     */
+    public LocalOrderBook(String symbol, BinanceApiAsyncExecutorRestClient client, DepthDiffSource source,
+                          int snapshotLimit, int priceScale, int quantityScale, Duration resyncDelay,
+                          Duration maxResyncDelay) {
+        if (resyncDelay.isNegative() || maxResyncDelay.compareTo(resyncDelay) < 0) {
+            throw new IllegalArgumentException("Invalid resync delays " + resyncDelay + " to " + maxResyncDelay);
+        }
+        this.symbol = symbol;
+        this.client = client;
+        this.source = source;
+        this.snapshotLimit = snapshotLimit;
+        this.priceScale = priceScale;
+        this.quantityScale = quantityScale;
+        this.resyncDelayMillis = resyncDelay.toMillis();
+        this.maxResyncDelayMillis = maxResyncDelay.toMillis();
+    }
+
+    /**
+     * Subscribes to the diff events and fetches the first snapshot.
+     */
+    public void start() {
+        synchronized (sync) {
+            if (started || closed) {
+                throw new IllegalStateException("Order book for " + symbol + " already started");
+            }
+            started = true;
+            subscribe();
+            resync(null);
+        }
+    }
+
+    /**
+     * Subscribes to the diff events, called holding the sync monitor.  A failure of the feed subscribes again
+     * after a backoff and rebuilds the book, as events may have been missed.  Events and failures of a
+     * subscription which has been replaced are ignored.
+     */
+    private void subscribe() {
+        BinanceApiCallback<DepthEvent> callback = new BinanceApiCallback<DepthEvent>() {
+            @Override
+            public void onResponse(DepthEvent event) {
+                onDiff(this, event);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                onFeedFailure(this);
+            }
+        };
+        feed = callback;
+        subscription = source.subscribe(symbol, callback);
+    }
+
+    private void onFeedFailure(BinanceApiCallback<DepthEvent> callback) {
+        synchronized (sync) {
+            if (closed || callback != feed) {
+                return;
+            }
+            closeQuietly(subscription);
+            subscription = null;
+            feed = null;
+            live = false;
+            buffer.clear();
+            CompletableFuture.delayedExecutor(backoffMillis(feedFailures++), TimeUnit.MILLISECONDS).execute(() -> {
+                synchronized (sync) {
+                    if (closed) {
+                        return;
+                    }
+                    subscribe();
+                    resync(null);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the delay before the next attempt after a number of consecutive failures.
+     */
+    private long backoffMillis(int failures) {
+        long delay = resyncDelayMillis << Math.min(failures, 30);
+        return delay < 0 || delay > maxResyncDelayMillis ? maxResyncDelayMillis : delay;
+    }
+
+    private static void closeQuietly(Closeable c) {
+        try {
+            c.close();
+        } catch (IOException | RuntimeException e) {
+            // the subscription has already failed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Closeable s;
+        synchronized (sync) {
+            closed = true;
+            live = false;
+            s = subscription;
+            subscription = null;
+            feed = null;
+            buffer.clear();
+        }
+        if (s != null) {
+            s.close();
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getQuantityScale() {
+        return quantityScale;
+    }
+
+    /**
+     * @return true if the book is in sync with the exchange, false while it is waiting for a snapshot.
+     */
+    public boolean isLive() {
+        return live;
+    }
+
+    /**
+     * @return the update id of the last snapshot or event applied.
+     */
+    public long getLastUpdateId() {
+        return lastUpdateId;
+    }
+
+    /**
+     * @return the number of times the book had to be rebuilt from a new snapshot.
+     */
+    public long getResyncCount() {
+        return resyncCount;
+    }
+
+    /**
+     * Reads the highest bid price and its quantity together, as {@link #getBestBidPrice()} and
+     * {@link #getBestBidQuantity()} may see different versions of the book.
+     *
+     * @param level receives the price at index 0 and the quantity at index 1
+     * @return false, leaving the array unchanged, if there are no bids
+     */
+    public boolean getBestBid(long[] level) {
+        return best(bids, level);
+    }
+
+    /**
+     * Reads the lowest ask price and its quantity together.
+     *
+     * @param level receives the price at index 0 and the quantity at index 1
+     * @return false, leaving the array unchanged, if there are no asks
+     */
+    public boolean getBestAsk(long[] level) {
+        return best(asks, level);
+    }
+
+    /**
+     * @return the highest bid price, or Long.MIN_VALUE if there are no bids.
+     */
+    public long getBestBidPrice() {
+        return price(bids, 0, Long.MIN_VALUE);
+    }
+
+    /**
+     * @return the quantity at the highest bid price, or 0 if there are no bids.
+     */
+    public long getBestBidQuantity() {
+        return quantity(bids, 0);
+    }
+
+    /**
+     * @return the lowest ask price, or Long.MAX_VALUE if there are no asks.
+     */
+    public long getBestAskPrice() {
+        return price(asks, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the quantity at the lowest ask price, or 0 if there are no asks.
+     */
+    public long getBestAskQuantity() {
+        return quantity(asks, 0);
+    }
+
+    /**
+     * Copies the best bid levels into the arrays.
+     *
+     * @return the number of levels copied, at most the length of the arrays
+     */
+    public int getBids(long[] prices, long[] quantities) {
+        return copy(bids, prices, quantities);
+    }
+
+    /**
+     * Copies the best ask levels into the arrays.
+     *
+     * @return the number of levels copied, at most the length of the arrays
+     */
+    public int getAsks(long[] prices, long[] quantities) {
+        return copy(asks, prices, quantities);
+    }
+
+    /**
+     * @return the number of bid levels in the book.
+     */
+    public int getBidDepth() {
+        return depth(bids);
+    }
+
+    /**
+     * @return the number of ask levels in the book.
+     */
+    public int getAskDepth() {
+        return depth(asks);
+    }
+
+    private long price(BookSide side, int level, long empty) {
+        long stamp = lock.tryOptimisticRead();
+        long[] prices = side.prices;
+        int size = side.size;
+        long price = level < size && size <= prices.length ? prices[size - 1 - level] : empty;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                price = level < side.size ? side.prices[side.size - 1 - level] : empty;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    private long quantity(BookSide side, int level) {
+        long stamp = lock.tryOptimisticRead();
+        long[] quantities = side.quantities;
+        int size = side.size;
+        long quantity = level < size && size <= quantities.length ? quantities[size - 1 - level] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                quantity = level < side.size ? side.quantities[side.size - 1 - level] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return quantity;
+    }
+
+    private boolean best(BookSide side, long[] level) {
+        long stamp = lock.tryOptimisticRead();
+        long[] prices = side.prices;
+        long[] quantities = side.quantities;
+        int size = side.size;
+        boolean present = size > 0 && size <= prices.length && size <= quantities.length;
+        long price = present ? prices[size - 1] : 0;
+        long quantity = present ? quantities[size - 1] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = side.size;
+                present = size > 0;
+                price = present ? side.prices[size - 1] : 0;
+                quantity = present ? side.quantities[size - 1] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (present) {
+            level[0] = price;
+            level[1] = quantity;
+        }
+        return present;
+    }
+
+    private int depth(BookSide side) {
+        long stamp = lock.tryOptimisticRead();
+        int size = side.size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = side.size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private int copy(BookSide side, long[] prices, long[] quantities) {
+        long stamp = lock.readLock();
+        try {
+            int n = Math.min(side.size, Math.min(prices.length, quantities.length));
+            for (int i = 0; i < n; i++) {
+                prices[i] = side.prices[side.size - 1 - i];
+                quantities[i] = side.quantities[side.size - 1 - i];
+            }
+            return n;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void onDiff(BinanceApiCallback<DepthEvent> callback, DepthEvent event) {
+        synchronized (sync) {
+            if (closed || callback != feed) {
+                return;
+            }
+            feedFailures = 0;
+            if (syncing) {
+                buffer.add(event);
+            } else if (event.getFinalUpdateId() > lastUpdateId) {
+                if (event.getFirstUpdateId() > lastUpdateId + 1) {
+                    resync(event);
+                } else {
+                    apply(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the book and fetches a new snapshot, called holding the sync monitor.
+     *
+     * @param pending an event to keep for when the snapshot arrives, may be null
+     */
+    private void resync(DepthEvent pending) {
+        if (closed) {
+            return;
+        }
+        if (lastUpdateId >= 0) {
+            resyncCount++;
+        }
+        live = false;
+        buffer.clear();
+        if (pending != null) {
+            buffer.add(pending);
+        }
+        if (!syncing) {
+            syncing = true;
+            fetchSnapshot();
+        }
+    }
+
+    /**
+     * Fetches a snapshot, retrying after a backoff until one arrives.  Diff events are buffered meanwhile.
+     */
+    private void fetchSnapshot() {
+        if (closed) {
+            return;
+        }
+        client.getOrderBook(symbol, snapshotLimit, null).whenComplete((snapshot, e) -> {
+            synchronized (sync) {
+                if (closed) {
+                    return;
+                }
+                if (feed == null) {
+                    // the feed failed meanwhile, subscribing again fetches a new snapshot
+                    syncing = false;
+                } else if (e != null) {
+                    retrySnapshot();
+                } else {
+                    syncing = false;
+                    snapshotFailures = 0;
+                    onSnapshot(snapshot);
+                }
+            }
+        });
+    }
+
+    private void retrySnapshot() {
+        CompletableFuture.delayedExecutor(backoffMillis(snapshotFailures++), TimeUnit.MILLISECONDS)
+                .execute(this::fetchSnapshot);
+    }
+
+    private void onSnapshot(OrderBook snapshot) {
+        long stamp = lock.writeLock();
+        try {
+            bids.clear();
+            asks.clear();
+            load(bids, snapshot.getBids());
+            load(asks, snapshot.getAsks());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        lastUpdateId = snapshot.getLastUpdateId();
+        while (!buffer.isEmpty()) {
+            DepthEvent event = buffer.poll();
+            if (event.getFinalUpdateId() <= lastUpdateId) {
+                continue;
+            }
+            if (event.getFirstUpdateId() > lastUpdateId + 1) {
+                // the snapshot is older than the buffered events, try again once the exchange has caught up
+                resyncCount++;
+                buffer.addFirst(event);
+                syncing = true;
+                retrySnapshot();
+                return;
+            }
+            apply(event);
+        }
+        live = true;
+    }
+
+    private void apply(DepthEvent event) {
+        long stamp = lock.writeLock();
+        try {
+            load(bids, event.getBids());
+            load(asks, event.getAsks());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        lastUpdateId = event.getFinalUpdateId();
+    }
+
+    private void load(BookSide side, List<OrderBookEntry> entries) {
+        for (int i = 0, n = entries.size(); i < n; i++) {
+            OrderBookEntry entry = entries.get(i);
+            side.update(FixedPoint.parse(entry.getPrice(), priceScale), FixedPoint.parse(entry.getQty(), quantityScale));
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.impl.RetryPolicy;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Polls the all-symbol market snapshots once for every component interested in them and publishes each snapshot to
+ * all their subscribers, instead of each component polling the same data on its own timer.
+ *
+ * Each snapshot is polled as long as it has subscribers, at the shortest interval any of them asked for, one poll at
+ * a time.  Subscribers are conflating: a subscriber is given the latest snapshot when it requests one, a snapshot
+ * it has not requested yet is replaced by the next, so a slow subscriber skips snapshots rather than falling behind.
+ * A new subscriber is given the last snapshot polled, if any, without waiting for the next poll.  Failed polls are
+ * counted and skipped, subscribers only complete when the poller is closed.
+ *
+ * After a failed poll the next one waits for a backoff, doubling with each consecutive failure, when it is longer
+ * than the subscribers' interval.  A poll refused for exceeding the rate limits waits for the longest backoff, as
+ * polling on would only extend the ban.
+ */
+public class MarketDataPoller implements Closeable {
+    public static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final Executor executor;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final Feed<List<BookTicker>> bookTickers;
+    private final Feed<List<TickerPrice>> prices;
+    private final Feed<List<TickerStatistics>> statistics;
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param client the client making the polls
+     * @param executor runs the subscribers' callbacks
+     */
+    public MarketDataPoller(BinanceApiAsyncExecutorRestClient client, Executor executor) {
+        this(client, executor, DEFAULT_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * @param client the client making the polls
+     * @param executor runs the subscribers' callbacks
+     * @param backoff the delay before polling again after a failed poll
+     * @param maxBackoff the longest delay before polling again after consecutive failed polls
+     */
+    public MarketDataPoller(BinanceApiAsyncExecutorRestClient client, Executor executor, Duration backoff, Duration maxBackoff) {
+        this.executor = executor;
+        this.backoffNanos = backoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.bookTickers = new Feed<>(() -> client.getBookTickers(null));
+        this.prices = new Feed<>(() -> client.getAllPrices(null));
+        this.statistics = new Feed<>(() -> client.getAll24HrPriceStatistics(null));
+    }
+
+    /**
+     * @param interval the longest time between snapshots the subscribers of the publisher need
+     * @return best price/qty on the order book for all symbols
+     */
+    public Flow.Publisher<List<BookTicker>> bookTickers(Duration interval) {
+        return subscriber -> bookTickers.subscribe(subscriber, interval.toNanos());
+    }
+
+    /**
+     * @param interval the longest time between snapshots the subscribers of the publisher need
+     * @return latest price for all symbols
+     */
+    public Flow.Publisher<List<TickerPrice>> prices(Duration interval) {
+        return subscriber -> prices.subscribe(subscriber, interval.toNanos());
+    }
+
+    /**
+     * @param interval the longest time between snapshots the subscribers of the publisher need
+     * @return 24 hour price change statistics for all symbols
+     */
+    public Flow.Publisher<List<TickerStatistics>> statistics24Hr(Duration interval) {
+        return subscriber -> statistics.subscribe(subscriber, interval.toNanos());
+    }
+
+    /**
+     * Stops polling and completes every subscriber.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        bookTickers.complete();
+        prices.complete();
+        statistics.complete();
+    }
+
+    /**
+     * @return the number of polls made.
+     */
+    public long getPollCount() {
+        return polls.sum();
+    }
+
+    /**
+     * @return the number of polls which failed.
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of snapshots replaced by a newer one before a subscriber requested them.
+     */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    /**
+     * The subscribers of one snapshot and the polling of it.
+     */
+    private final class Feed<T> {
+        private final Supplier<CompletableFuture<T>> poll;
+        private final Set<Subscription<T>> subscriptions = ConcurrentHashMap.newKeySet();
+        private volatile T last;
+        // guarded by the monitor: whether a poll is running or scheduled, when the last one started, when the next
+        // one is due and the generation of its timer, so a timer replaced by an earlier one does nothing, and the
+        // consecutive failed polls with the time no poll is made before
+        private boolean polling;
+        private boolean running;
+        private long lastStarted;
+        private long nextPoll;
+        private long timer;
+        private int failuresInRow;
+        private long backoffUntil;
+
+        private Feed(Supplier<CompletableFuture<T>> poll) {
+            this.poll = poll;
+        }
+
+        private void subscribe(Flow.Subscriber<? super T> subscriber, long intervalNanos) {
+            Subscription<T> subscription = new Subscription<>(this, subscriber, intervalNanos);
+            subscriber.onSubscribe(subscription);
+            subscriptions.add(subscription);
+            if (closed) {
+                remove(subscription);
+                subscription.complete();
+                return;
+            }
+            T snapshot = last;
+            if (snapshot != null) {
+                subscription.offer(snapshot);
+            }
+            boolean start = false;
+            synchronized (this) {
+                if (!polling) {
+                    polling = true;
+                    running = true;
+                    start = true;
+                } else if (!running && notBeforeBackoff(lastStarted + intervalNanos) - nextPoll < 0) {
+                    // a subscriber in more of a hurry than the others brings the next poll forward
+                    schedule(notBeforeBackoff(lastStarted + intervalNanos));
+                }
+            }
+            if (start) {
+                poll();
+            }
+        }
+
+        private void poll() {
+            synchronized (this) {
+                lastStarted = System.nanoTime();
+            }
+            polls.increment();
+            CompletableFuture<T> f;
+            try {
+                f = poll.get();
+            } catch (RuntimeException e) {
+                f = CompletableFuture.failedFuture(e);
+            }
+            f.whenComplete((snapshot, e) -> {
+                if (e != null) {
+                    failures.increment();
+                    failed(e);
+                } else {
+                    synchronized (this) {
+                        failuresInRow = 0;
+                    }
+                    last = snapshot;
+                    for (Subscription<T> subscription : subscriptions) {
+                        subscription.offer(snapshot);
+                    }
+                }
+                next();
+            });
+        }
+
+        private synchronized void failed(Throwable failure) {
+            long delay;
+            if (RetryPolicy.isRateLimited(failure)) {
+                delay = maxBackoffNanos;
+            } else {
+                delay = backoffNanos << Math.min(failuresInRow, 30);
+                if (delay < 0 || delay > maxBackoffNanos) {
+                    delay = maxBackoffNanos;
+                }
+            }
+            failuresInRow++;
+            backoffUntil = System.nanoTime() + delay;
+        }
+
+        /**
+         * @return the time, or the end of the backoff after failed polls if it is later, called holding the monitor.
+         */
+        private long notBeforeBackoff(long at) {
+            return failuresInRow > 0 && at - backoffUntil < 0 ? backoffUntil : at;
+        }
+
+        /**
+         * Schedules the next poll at the shortest interval of the subscribers from the start of the last one, or
+         * the end of the backoff, or stops polling once there are none.
+         */
+        private void next() {
+            long interval = Long.MAX_VALUE;
+            synchronized (this) {
+                for (Subscription<T> subscription : subscriptions) {
+                    interval = Math.min(interval, subscription.intervalNanos);
+                }
+                running = false;
+                if (closed || interval == Long.MAX_VALUE) {
+                    polling = false;
+                    return;
+                }
+                schedule(notBeforeBackoff(lastStarted + interval));
+            }
+        }
+
+        /**
+         * Schedules the next poll, replacing any scheduled before, called holding the monitor.
+         */
+        private void schedule(long at) {
+            nextPoll = at;
+            long generation = ++timer;
+            long delay = Math.max(0, at - System.nanoTime());
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                synchronized (this) {
+                    if (timer != generation || running) {
+                        return;
+                    }
+                    running = true;
+                }
+                poll();
+            });
+        }
+
+        private void remove(Subscription<T> subscription) {
+            subscriptions.remove(subscription);
+        }
+
+        private void complete() {
+            for (Subscription<T> subscription : subscriptions) {
+                subscription.complete();
+            }
+            subscriptions.clear();
+        }
+    }
+
+    /**
+     * A subscriber holding only the latest snapshot it has not been given.  Snapshots are delivered on the
+     * executor by one drain at a time, counted by {@code work}.
+     */
+    private final class Subscription<T> implements Flow.Subscription {
+        private final Feed<T> feed;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final long intervalNanos;
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean done;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        private Subscription(Feed<T> feed, Flow.Subscriber<? super T> subscriber, long intervalNanos) {
+            this.feed = feed;
+            this.subscriber = subscriber;
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non-positive request " + n + " (rule 3.9)");
+            } else {
+                demand.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            feed.remove(this);
+        }
+
+        private void offer(T snapshot) {
+            if (latest.getAndSet(snapshot) != null) {
+                conflated.increment();
+            }
+            drain();
+        }
+
+        private void complete() {
+            completed = true;
+            drain();
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::run);
+                } catch (RejectedExecutionException e) {
+                    done = true;
+                    feed.remove(this);
+                }
+            }
+        }
+
+        private void run() {
+            int missed = 1;
+            do {
+                try {
+                    while (!done) {
+                        if (error != null) {
+                            cancel();
+                            subscriber.onError(error);
+                        } else if (demand.get() > 0 && latest.get() != null) {
+                            demand.decrementAndGet();
+                            subscriber.onNext(latest.getAndSet(null));
+                        } else if (completed) {
+                            done = true;
+                            subscriber.onComplete();
+                        } else {
+                            break;
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // a subscriber throwing breaks the contract, it is given nothing more
+                    cancel();
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
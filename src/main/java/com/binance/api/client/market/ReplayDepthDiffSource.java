@@ -0,0 +1,46 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A diff source driven by the caller, for replaying recorded events into a {@link LocalOrderBook}.
+ * Events are delivered synchronously on the thread publishing them.
+ */
+public class ReplayDepthDiffSource implements DepthDiffSource {
+    private final Map<String, BinanceApiCallback<DepthEvent>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback) {
+        subscribers.put(symbol, callback);
+        return () -> subscribers.remove(symbol, callback);
+    }
+
+    /**
+     * Delivers an event to the subscriber of its symbol.
+     *
+     * @return false if nothing is subscribed to the symbol
+     */
+    public boolean publish(DepthEvent event) {
+        BinanceApiCallback<DepthEvent> callback = subscribers.get(event.getSymbol());
+        if (callback == null) {
+            return false;
+        }
+        callback.onResponse(event);
+        return true;
+    }
+
+    /**
+     * Delivers a failure, such as a dropped connection, to the subscriber of a symbol.
+     */
+    public void fail(String symbol, Throwable cause) {
+        BinanceApiCallback<DepthEvent> callback = subscribers.get(symbol);
+        if (callback != null) {
+            callback.onFailure(cause);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Finds the symbols which changed between successive all-symbol snapshots, such as those of
+ * {@link MarketDataPoller}, so consumers handle the few symbols which changed rather than rescanning every one.
+ *
+ * The rows of the last snapshot are kept in an array indexed by interned symbol id, see {@link SymbolIndex}.  Each
+ * row of a new snapshot is compared to the kept row of its symbol field by field, and the symbols with a changed
+ * field, and those which appeared or disappeared, are written to a {@link ChangeSet}.  Unchanged symbols cost a
+ * lookup and a comparison of their fields and allocate nothing.  Not thread safe, a diff is fed one snapshot at a
+ * time.
+ */
+public class SnapshotDiff<T> {
+    public static final int BID_PRICE = 0;
+    public static final int BID_QTY = 1;
+    public static final int ASK_PRICE = 2;
+    public static final int ASK_QTY = 3;
+
+    public static final int PRICE = 0;
+
+    public static final int PRICE_CHANGE = 0;
+    public static final int PRICE_CHANGE_PERCENT = 1;
+    public static final int WEIGHTED_AVG_PRICE = 2;
+    public static final int PREV_CLOSE_PRICE = 3;
+    public static final int LAST_PRICE = 4;
+    public static final int STATISTICS_BID_PRICE = 5;
+    public static final int STATISTICS_ASK_PRICE = 6;
+    public static final int OPEN_PRICE = 7;
+    public static final int HIGH_PRICE = 8;
+    public static final int LOW_PRICE = 9;
+    public static final int VOLUME = 10;
+    public static final int FIRST_ID = 11;
+    public static final int LAST_ID = 12;
+    public static final int COUNT = 13;
+
+    /**
+     * A compared field of a row.
+     */
+    public abstract static class Field<T> {
+        private final String name;
+
+        protected Field(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return true if the field has the same value in both rows.
+         */
+        public abstract boolean same(T a, T b);
+
+        public static <T> Field<T> text(String name, Function<T, String> getter) {
+            return new Field<T>(name) {
+                @Override
+                public boolean same(T a, T b) {
+                    return Objects.equals(getter.apply(a), getter.apply(b));
+                }
+            };
+        }
+
+        public static <T> Field<T> number(String name, ToLongFunction<T> getter) {
+            return new Field<T>(name) {
+                @Override
+                public boolean same(T a, T b) {
+                    return getter.applyAsLong(a) == getter.applyAsLong(b);
+                }
+            };
+        }
+    }
+
+    private final Function<T, String> symbolOf;
+    private final Field<T>[] fields;
+    private final SymbolIndex symbols = new SymbolIndex();
+    private Object[] rows = new Object[64];
+    private long[] seen = new long[64];
+    private long generation;
+    private int count;
+
+    /**
+     * @param symbolOf the symbol of a row
+     * @param fields the fields compared, at most 64, field i is bit i of the change masks
+     */
+    @SafeVarargs
+    public SnapshotDiff(Function<T, String> symbolOf, Field<T>... fields) {
+        if (fields.length > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " fields, got " + fields.length);
+        }
+        this.symbolOf = symbolOf;
+        this.fields = fields.clone();
+    }
+
+    /**
+     * @return a diff of {@link BookTicker}s on bid price, bid qty, ask price and ask qty.
+     */
+    public static SnapshotDiff<BookTicker> bookTickers() {
+        return new SnapshotDiff<>(BookTicker::getSymbol,
+                Field.text("bidPrice", BookTicker::getBidPrice),
+                Field.text("bidQty", BookTicker::getBidQty),
+                Field.text("askPrice", BookTicker::getAskPrice),
+                Field.text("askQty", BookTicker::getAskQty));
+    }
+
+    /**
+     * @return a diff of {@link TickerPrice}s on price.
+     */
+    public static SnapshotDiff<TickerPrice> prices() {
+        return new SnapshotDiff<>(TickerPrice::getSymbol, Field.text("price", TickerPrice::getPrice));
+    }
+
+    /**
+     * @return a diff of {@link TickerStatistics} on every field but the open and close times, which move with the
+     * rolling 24 hour window at every poll whether the symbol traded or not.
+     */
+    public static SnapshotDiff<TickerStatistics> statistics24Hr() {
+        return new SnapshotDiff<>(TickerStatistics::getSymbol,
+                Field.text("priceChange", TickerStatistics::getPriceChange),
+                Field.text("priceChangePercent", TickerStatistics::getPriceChangePercent),
+                Field.text("weightedAvgPrice", TickerStatistics::getWeightedAvgPrice),
+                Field.text("prevClosePrice", TickerStatistics::getPrevClosePrice),
+                Field.text("lastPrice", TickerStatistics::getLastPrice),
+                Field.text("bidPrice", TickerStatistics::getBidPrice),
+                Field.text("askPrice", TickerStatistics::getAskPrice),
+                Field.text("openPrice", TickerStatistics::getOpenPrice),
+                Field.text("highPrice", TickerStatistics::getHighPrice),
+                Field.text("lowPrice", TickerStatistics::getLowPrice),
+                Field.text("volume", TickerStatistics::getVolume),
+                Field.number("firstId", TickerStatistics::getFirstId),
+                Field.number("lastId", TickerStatistics::getLastId),
+                Field.number("count", TickerStatistics::getCount));
+    }
+
+    /**
+     * Compares a snapshot to the previous one and keeps it for the next comparison.  Every symbol of the first
+     * snapshot appears.
+     *
+     * @param snapshot every row of the new snapshot, one per symbol
+     * @param into the change set to write the changes to, replacing its content
+     * @return the change set
+     */
+    @SuppressWarnings("unchecked")
+    public ChangeSet<T> diff(List<T> snapshot, ChangeSet<T> into) {
+        into.clear(symbols);
+        long g = ++generation;
+        int matched = 0;
+        for (int i = 0, n = snapshot.size(); i < n; i++) {
+            T row = snapshot.get(i);
+            int id = symbols.intern(symbolOf.apply(row));
+            if (id >= rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+                seen = Arrays.copyOf(seen, seen.length * 2);
+            }
+            T old = (T) rows[id];
+            if (old == null) {
+                into.add(id, null, row, -1L);
+            } else {
+                matched++;
+                if (old != row) {
+                    long mask = 0;
+                    for (int f = 0; f < fields.length; f++) {
+                        if (!fields[f].same(old, row)) {
+                            mask |= 1L << f;
+                        }
+                    }
+                    if (mask != 0) {
+                        into.add(id, old, row, mask);
+                    }
+                }
+            }
+            rows[id] = row;
+            seen[id] = g;
+        }
+        if (matched < count) {
+            // only scan for the symbols which disappeared when some did
+            for (int id = 0, n = symbols.size(); id < n; id++) {
+                if (rows[id] != null && seen[id] != g) {
+                    into.add(id, (T) rows[id], null, -1L);
+                    rows[id] = null;
+                }
+            }
+        }
+        count = snapshot.size();
+        return into;
+    }
+
+    /**
+     * @return the fields compared, field i is bit i of the change masks.
+     */
+    public Field<T> getField(int field) {
+        return fields[field];
+    }
+
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    public SymbolIndex getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @return the row of the symbol in the last snapshot, or null if it was not in it.
+     */
+    @SuppressWarnings("unchecked")
+    public T getLast(String symbol) {
+        int id = symbols.indexOf(symbol);
+        return id < 0 ? null : (T) rows[id];
+    }
+}
@@ -0,0 +1,176 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiError;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fetches the bulk market data endpoints and decodes each response with a {@link StreamingMarketDataDecoder} as it
+ * streams in, rather than through the upstream client which binds the whole response to a list of domain objects
+ * first.  Requests are made with {@link HttpURLConnection} on the request service, a thread is held for each one,
+ * and take their weight from the {@link RequestWeightScheduler} as the other clients' requests do.  Responses are
+ * gzip compressed on the wire.
+ *
+ * Failures complete the future with a {@link BinanceApiException}, holding the exchange's error when it sent one
+ * and the IOException when the request failed, as the upstream client does.
+ */
+public class StreamingMarketDataClient {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String baseUrl;
+    private final Executor requestService;
+    private final RequestWeightScheduler scheduler;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    /**
+     * @param baseUrl the REST API's base url, such as https://api.binance.com
+     * @param requestService the executor making the requests, sinks are called on it
+     * @param scheduler the scheduler keeping requests within the rate limits, shared with the other clients
+     */
+    public StreamingMarketDataClient(String baseUrl, Executor requestService, RequestWeightScheduler scheduler) {
+        this(baseUrl, requestService, scheduler, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    public StreamingMarketDataClient(String baseUrl, Executor requestService, RequestWeightScheduler scheduler,
+                                     Duration connectTimeout, Duration readTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestService = requestService;
+        this.scheduler = scheduler;
+        this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+        this.readTimeoutMillis = (int) readTimeout.toMillis();
+    }
+
+    /**
+     * Get latest price for all symbols, the wanted ones given to the sink.
+     *
+     * @return the number of rows given to the sink
+     */
+    public CompletableFuture<Integer> getAllPrices(StreamingMarketDataDecoder decoder, StreamingMarketDataDecoder.PriceSink sink) {
+        return fetch(BinanceApiEndpoint.ALL_PRICES, "/api/v3/ticker/price", in -> decoder.decodePrices(in, sink));
+    }
+
+    /**
+     * Get latest price for all symbols, the wanted ones decoded into the view.
+     */
+    public CompletableFuture<FixedPointPrices> getAllPrices(StreamingMarketDataDecoder decoder, FixedPointPrices into) {
+        return fetch(BinanceApiEndpoint.ALL_PRICES, "/api/v3/ticker/price", in -> decoder.decodePrices(in, into));
+    }
+
+    /**
+     * Get best price/qty on the order book for all symbols, the wanted ones given to the sink.
+     *
+     * @return the number of rows given to the sink
+     */
+    public CompletableFuture<Integer> getBookTickers(StreamingMarketDataDecoder decoder, StreamingMarketDataDecoder.BookTickerSink sink) {
+        return fetch(BinanceApiEndpoint.BOOK_TICKERS, "/api/v3/ticker/bookTicker", in -> decoder.decodeBookTickers(in, sink));
+    }
+
+    /**
+     * Get best price/qty on the order book for all symbols, the wanted ones decoded into the view.
+     */
+    public CompletableFuture<FixedPointBookTickers> getBookTickers(StreamingMarketDataDecoder decoder, FixedPointBookTickers into) {
+        return fetch(BinanceApiEndpoint.BOOK_TICKERS, "/api/v3/ticker/bookTicker", in -> decoder.decodeBookTickers(in, into));
+    }
+
+    /**
+     * Get 24 hour price change statistics for all symbols, the wanted ones given to the sink.
+     *
+     * @return the number of rows given to the sink
+     */
+    public CompletableFuture<Integer> getAll24HrPriceStatistics(StreamingMarketDataDecoder decoder,
+                                                                StreamingMarketDataDecoder.StatisticsSink sink) {
+        return fetch(BinanceApiEndpoint.ALL_PRICE_STATISTICS_24HR, "/api/v3/ticker/24hr", in -> decoder.decodeStatistics24Hr(in, sink));
+    }
+
+    /**
+     * Get the scales of the wanted symbols from the current exchange trading rules.
+     */
+    public CompletableFuture<SymbolScales> getSymbolScales(StreamingMarketDataDecoder decoder) {
+        return fetch(BinanceApiEndpoint.EXCHANGE_INFO, "/api/v3/exchangeInfo", decoder::decodeScales);
+    }
+
+    private interface Decode<T> {
+        T decode(InputStream in) throws IOException;
+    }
+
+    private <T> CompletableFuture<T> fetch(BinanceApiEndpoint endpoint, String path, Decode<T> decode) {
+        long deadline = BinanceApiRequestContext.getDeadline();
+        return CompletableFuture.supplyAsync(() -> {
+            long left = deadline == BinanceApiRequestContext.NO_DEADLINE ? Long.MAX_VALUE
+                    : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            scheduler.acquire(endpoint, endpoint.getWeight(), Math.max(0, left));
+            try {
+                return get(path, decode);
+            } catch (IOException e) {
+                throw new BinanceApiException(e);
+            }
+        }, requestService);
+    }
+
+    private <T> T get(String path, Decode<T> decode) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        int status = connection.getResponseCode();
+        boolean gzip = "gzip".equalsIgnoreCase(connection.getContentEncoding());
+        if (status >= 400) {
+            InputStream error = connection.getErrorStream();
+            if (error == null) {
+                throw new BinanceApiException("HTTP " + status + " from " + path);
+            }
+            try (InputStream in = gzip ? new GZIPInputStream(error) : error) {
+                throw new BinanceApiException(error(in, status, path));
+            }
+        }
+        try (InputStream in = gzip ? new GZIPInputStream(connection.getInputStream()) : connection.getInputStream()) {
+            return decode.decode(in);
+        }
+    }
+
+    /**
+     * Reads the error the exchange answered with, {"code":-1121,"msg":"Invalid symbol."}.
+     */
+    private static BinanceApiError error(InputStream in, int status, String path) throws IOException {
+        BinanceApiError error = new BinanceApiError();
+        error.setMsg("HTTP " + status + " from " + path);
+        try {
+            JsonParser p = JSON.createParser(in);
+            if (p.nextToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    p.nextToken();
+                    if ("code".equals(name)) {
+                        error.setCode(p.getIntValue());
+                    } else if ("msg".equals(name)) {
+                        error.setMsg(p.getText());
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // a body which is not an error object, such as an HTML page from a proxy
+        }
+        return error;
+    }
+}
@@ -0,0 +1,388 @@
+package com.binance.api.client.market;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes the bulk market data responses token by token, as they stream in, instead of binding them to lists of
+ * domain objects.  The rows of unwanted symbols are skipped as soon as their symbol is read, without creating a
+ * string, and wanted rows are decoded to fixed point straight from the parser's buffer into a sink or a reusable
+ * view.  Once every symbol has been seen, decoding allocates nothing but the parser's own buffers.
+ *
+ * Rows are expected to begin with their symbol, as Binance's do, values read before the symbol are decoded at
+ * {@link SymbolScales#DEFAULT_SCALE} and rescaled.  A decoder reuses its row, so it must not decode two responses
+ * at once.
+ */
+public class StreamingMarketDataDecoder {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Receives the latest price of each wanted symbol.
+     */
+    public interface PriceSink {
+
+        /**
+         * @param price the price at the given scale
+         */
+        void onPrice(String symbol, long price, int scale);
+    }
+
+    /**
+     * Receives the best bid and ask of each wanted symbol.
+     */
+    public interface BookTickerSink {
+
+        /**
+         * Prices are at the price scale, quantities at the quantity scale.
+         */
+        void onBookTicker(String symbol, long bidPrice, long bidQuantity, long askPrice, long askQuantity,
+                          int priceScale, int quantityScale);
+    }
+
+    /**
+     * Receives the 24 hour statistics of each wanted symbol.
+     */
+    public interface StatisticsSink {
+
+        /**
+         * @param statistics the decoder's row, only valid during the call
+         */
+        void onStatistics(FixedPointTickerStatistics statistics);
+    }
+
+    private final SymbolLookup symbols;
+    private final SymbolScales scales;
+    private final FixedPointTickerStatistics row = new FixedPointTickerStatistics();
+    private final long[] values = new long[4];
+
+    /**
+     * @param symbols the symbols decoded
+     * @param scales the scales of each symbol
+     */
+    public StreamingMarketDataDecoder(SymbolLookup symbols, SymbolScales scales) {
+        this.symbols = symbols;
+        this.scales = scales;
+    }
+
+    public SymbolLookup getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Decodes a {@code /api/v3/ticker/price} response for all symbols.
+     *
+     * @return the number of rows given to the sink
+     */
+    public int decodePrices(InputStream in, PriceSink sink) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            startArray(p);
+            int rows = 0;
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                values[0] = 0;
+                String symbol = null;
+                int scale = SymbolScales.DEFAULT_SCALE;
+                boolean early = false;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    p.nextToken();
+                    if ("symbol".equals(name)) {
+                        symbol = symbol(p);
+                        if (symbol == null) {
+                            skipObject(p);
+                            break;
+                        }
+                        scale = scales.getPriceScale(symbol);
+                    } else if ("price".equals(name)) {
+                        values[0] = decimal(p, scale);
+                        early = symbol == null;
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                if (symbol != null) {
+                    sink.onPrice(symbol, early ? rescale(values[0], scale) : values[0], scale);
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Decodes a {@code /api/v3/ticker/price} response into a view, replacing its content.
+     *
+     * @return the view
+     */
+    public FixedPointPrices decodePrices(InputStream in, FixedPointPrices into) throws IOException {
+        into.clear();
+        decodePrices(in, (symbol, price, scale) -> into.add(symbol, scale, price));
+        return into;
+    }
+
+    /**
+     * Decodes a {@code /api/v3/ticker/bookTicker} response for all symbols.
+     *
+     * @return the number of rows given to the sink
+     */
+    public int decodeBookTickers(InputStream in, BookTickerSink sink) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            startArray(p);
+            int rows = 0;
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                Arrays.fill(values, 0);
+                String symbol = null;
+                int ps = SymbolScales.DEFAULT_SCALE;
+                int qs = SymbolScales.DEFAULT_SCALE;
+                int early = 0;
+                fields:
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    p.nextToken();
+                    int field;
+                    switch (name) {
+                        case "symbol":
+                            symbol = symbol(p);
+                            if (symbol == null) {
+                                skipObject(p);
+                                break fields;
+                            }
+                            ps = scales.getPriceScale(symbol);
+                            qs = scales.getQuantityScale(symbol);
+                            continue;
+                        case "bidPrice": field = 0; break;
+                        case "bidQty": field = 1; break;
+                        case "askPrice": field = 2; break;
+                        case "askQty": field = 3; break;
+                        default:
+                            p.skipChildren();
+                            continue;
+                    }
+                    values[field] = decimal(p, field % 2 == 0 ? ps : qs);
+                    if (symbol == null) {
+                        early |= 1 << field;
+                    }
+                }
+                if (symbol != null) {
+                    for (int field = 0; field < 4; field++) {
+                        if ((early & 1 << field) != 0) {
+                            values[field] = rescale(values[field], field % 2 == 0 ? ps : qs);
+                        }
+                    }
+                    sink.onBookTicker(symbol, values[0], values[1], values[2], values[3], ps, qs);
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Decodes a {@code /api/v3/ticker/bookTicker} response into a view, replacing its content.
+     *
+     * @return the view
+     */
+    public FixedPointBookTickers decodeBookTickers(InputStream in, FixedPointBookTickers into) throws IOException {
+        into.clear();
+        decodeBookTickers(in, (symbol, bidPrice, bidQuantity, askPrice, askQuantity, ps, qs) ->
+                into.add(symbol, ps, qs, bidPrice, bidQuantity, askPrice, askQuantity));
+        return into;
+    }
+
+    /**
+     * Decodes a {@code /api/v3/ticker/24hr} response for all symbols.
+     *
+     * @return the number of rows given to the sink
+     */
+    public int decodeStatistics24Hr(InputStream in, StatisticsSink sink) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            startArray(p);
+            long[] v = row.values;
+            int rows = 0;
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                // a field missing from this row must not keep the previous row's value
+                Arrays.fill(v, 0);
+                String symbol = null;
+                int qs = SymbolScales.DEFAULT_SCALE;
+                int early = 0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    JsonToken token = p.nextToken();
+                    if ("symbol".equals(name)) {
+                        symbol = symbol(p);
+                        if (symbol == null) {
+                            skipObject(p);
+                            break;
+                        }
+                        qs = scales.getQuantityScale(symbol);
+                        continue;
+                    }
+                    int field = FixedPointTickerStatistics.field(name);
+                    if (field < 0) {
+                        p.skipChildren();
+                    } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                        v[field] = p.getLongValue();
+                    } else if (token == JsonToken.VALUE_STRING) {
+                        boolean quantity = FixedPointTickerStatistics.isQuantity(field);
+                        v[field] = decimal(p, quantity ? qs : FixedPointTickerStatistics.PRICE_SCALE);
+                        if (quantity && symbol == null) {
+                            early |= 1 << field;
+                        }
+                    } else {
+                        v[field] = 0;
+                    }
+                }
+                if (symbol != null) {
+                    for (int field = 0; early != 0; field++, early >>>= 1) {
+                        if ((early & 1) != 0) {
+                            v[field] = rescale(v[field], qs);
+                        }
+                    }
+                    row.symbol = symbol;
+                    row.quantityScale = qs;
+                    sink.onStatistics(row);
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Decodes the scales of the wanted symbols from a {@code /api/v3/exchangeInfo} response, skipping everything
+     * else in it.
+     */
+    public SymbolScales decodeScales(InputStream in) throws IOException {
+        Map<String, int[]> found = new HashMap<>();
+        try (JsonParser p = JSON.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Expected an exchange info object");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.getCurrentName();
+                p.nextToken();
+                if (!"symbols".equals(name)) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    String symbol = null;
+                    int[] scale = {SymbolScales.DEFAULT_SCALE, SymbolScales.DEFAULT_SCALE};
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = p.getCurrentName();
+                        p.nextToken();
+                        if ("symbol".equals(field)) {
+                            symbol = symbol(p);
+                            if (symbol == null) {
+                                skipObject(p);
+                                break;
+                            }
+                        } else if ("filters".equals(field)) {
+                            decodeFilters(p, scale);
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    if (symbol != null) {
+                        found.put(symbol, scale);
+                    }
+                }
+            }
+        }
+        return new SymbolScales(found);
+    }
+
+    /**
+     * Reads the tick size of the PRICE_FILTER and the step size of the LOT_SIZE filter, in whichever order their
+     * fields come.
+     */
+    private static void decodeFilters(JsonParser p, int[] scale) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            int type = -1;
+            int tick = -1;
+            int step = -1;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.getCurrentName();
+                p.nextToken();
+                switch (name) {
+                    case "filterType":
+                        type = textEquals(p, "PRICE_FILTER") ? 0 : textEquals(p, "LOT_SIZE") ? 1 : 2;
+                        break;
+                    case "tickSize":
+                        tick = SymbolScales.scaleOf(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                        break;
+                    case "stepSize":
+                        step = SymbolScales.scaleOf(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            if (type == 0 && tick >= 0) {
+                scale[0] = tick;
+            } else if (type == 1 && step >= 0) {
+                scale[1] = step;
+            }
+        }
+    }
+
+    private static boolean textEquals(JsonParser p, String text) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        if (p.getTextLength() != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (chars[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void startArray(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(p, "Expected an array of rows");
+        }
+    }
+
+    /**
+     * @return the symbol at the current token if it is wanted, otherwise null.
+     */
+    private String symbol(JsonParser p) throws IOException {
+        int id = symbols.indexOf(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        return id < 0 ? null : symbols.getSymbol(id);
+    }
+
+    /**
+     * Skips the rest of the current object.
+     */
+    private static void skipObject(JsonParser p) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            p.nextToken();
+            p.skipChildren();
+        }
+    }
+
+    private static long decimal(JsonParser p, int scale) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        return FixedPoint.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), scale);
+    }
+
+    private static long rescale(long value, int scale) {
+        return FixedPoint.rescale(value, SymbolScales.DEFAULT_SCALE, scale);
+    }
+}
@@ -0,0 +1,53 @@
+package com.binance.api.client.market;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns symbols to dense ids, 0 for the first symbol seen, 1 for the next and so on, so per symbol state can be
+ * held in arrays indexed by id.  Ids are never reused.  Not thread safe.
+ */
+public class SymbolIndex {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] symbols = new String[64];
+
+    /**
+     * @return the id of the symbol, assigning the next one if it has none.
+     */
+    public int intern(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        int next = ids.size();
+        if (next == symbols.length) {
+            symbols = Arrays.copyOf(symbols, next * 2);
+        }
+        symbols[next] = symbol;
+        ids.put(symbol, next);
+        return next;
+    }
+
+    /**
+     * @return the id of the symbol or -1 if it has not been interned.
+     */
+    public int indexOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    public String getSymbol(int id) {
+        if (id < 0 || id >= ids.size()) {
+            throw new IndexOutOfBoundsException("Symbol id " + id + " of " + ids.size());
+        }
+        return symbols[id];
+    }
+
+    /**
+     * @return the number of symbols interned, one more than the highest id.
+     */
+    public int size() {
+        return ids.size();
+    }
+}
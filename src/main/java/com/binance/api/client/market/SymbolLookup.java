@@ -0,0 +1,134 @@
+package com.binance.api.client.market;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The symbols wanted from a bulk response, looked up straight from the characters of the parser's buffer so
+ * unwanted symbols are skipped without creating a string.  A lookup accepting every symbol learns each one the first
+ * time it is seen and only creates its string then.  Not thread safe.
+ */
+public class SymbolLookup {
+    private final boolean acceptAll;
+    private String[] symbols = new String[16];
+    private int[] table = new int[32];
+    private int size;
+
+    private SymbolLookup(boolean acceptAll) {
+        this.acceptAll = acceptAll;
+        Arrays.fill(table, -1);
+    }
+
+    /**
+     * @return a lookup accepting only the given symbols.
+     */
+    public static SymbolLookup of(Collection<String> symbols) {
+        SymbolLookup lookup = new SymbolLookup(false);
+        for (String symbol : symbols) {
+            char[] chars = symbol.toCharArray();
+            if (lookup.find(chars, 0, chars.length) < 0) {
+                lookup.add(symbol);
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * @return a lookup accepting every symbol.
+     */
+    public static SymbolLookup all() {
+        return new SymbolLookup(true);
+    }
+
+    /**
+     * @return the id of the symbol held in the characters, or -1 if it is not wanted.
+     */
+    public int indexOf(char[] chars, int offset, int length) {
+        int id = find(chars, offset, length);
+        if (id < 0 && acceptAll) {
+            id = add(new String(chars, offset, length));
+        }
+        return id;
+    }
+
+    public String getSymbol(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Symbol id " + id + " of " + size);
+        }
+        return symbols[id];
+    }
+
+    /**
+     * @return the number of symbols known, those wanted or, accepting every symbol, those seen.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int find(char[] chars, int offset, int length) {
+        int mask = table.length - 1;
+        for (int slot = hash(chars, offset, length) & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot];
+            if (id < 0) {
+                return -1;
+            }
+            if (matches(symbols[id], chars, offset, length)) {
+                return id;
+            }
+        }
+    }
+
+    private int add(String symbol) {
+        if (size == symbols.length) {
+            symbols = Arrays.copyOf(symbols, size * 2);
+        }
+        symbols[size] = symbol;
+        if (2 * (size + 1) > table.length) {
+            table = new int[table.length * 2];
+            Arrays.fill(table, -1);
+            for (int id = 0; id < size; id++) {
+                insert(id);
+            }
+        }
+        insert(size);
+        return size++;
+    }
+
+    private void insert(int id) {
+        String symbol = symbols[id];
+        int h = 0;
+        for (int i = 0; i < symbol.length(); i++) {
+            h = 31 * h + symbol.charAt(i);
+        }
+        int mask = table.length - 1;
+        int slot = spread(h) & mask;
+        while (table[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id;
+    }
+
+    private static int hash(char[] chars, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String symbol, char[] chars, int offset, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.domain.general.SymbolFilter;
+import com.binance.api.client.domain.general.SymbolInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The fixed point scale of each symbol's prices and quantities, the number of decimals of the tick size of its
+ * PRICE_FILTER and of the step size of its LOT_SIZE filter.  Symbols without filters use {@link #DEFAULT_SCALE}.
+ */
+public class SymbolScales {
+    /**
+     * Binance's maximum precision.
+     */
+    public static final int DEFAULT_SCALE = 8;
+
+    private final Map<String, int[]> scales;
+
+    SymbolScales(Map<String, int[]> scales) {
+        this.scales = scales;
+    }
+
+    /**
+     * @return the scales of every symbol of the exchange info.
+     */
+    public static SymbolScales from(ExchangeInfo exchangeInfo) {
+        Map<String, int[]> scales = new HashMap<>();
+        for (SymbolInfo info : exchangeInfo.getSymbols()) {
+            SymbolFilter price = info.getSymbolFilter(FilterType.PRICE_FILTER);
+            SymbolFilter lot = info.getSymbolFilter(FilterType.LOT_SIZE);
+            scales.put(info.getSymbol(), new int[]{
+                    price == null ? DEFAULT_SCALE : scaleOf(price.getTickSize()),
+                    lot == null ? DEFAULT_SCALE : scaleOf(lot.getStepSize())});
+        }
+        return new SymbolScales(scales);
+    }
+
+    /**
+     * Loads the scales from the client's exchange info.
+     */
+    public static CompletableFuture<SymbolScales> load(BinanceApiAsyncExecutorRestClient client) {
+        return client.getExchangeInfo(null).thenApply(SymbolScales::from);
+    }
+
+    /**
+     * @return the number of significant decimals of a tick or step size such as "0.01000000", which is 2.
+     */
+    public static int scaleOf(String increment) {
+        if (increment == null) {
+            return DEFAULT_SCALE;
+        }
+        int dot = increment.indexOf('.');
+        if (dot < 0) {
+            return 0;
+        }
+        int end = increment.length();
+        while (end > dot + 1 && increment.charAt(end - 1) == '0') {
+            end--;
+        }
+        return end - dot - 1;
+    }
+
+    /**
+     * As {@link #scaleOf(String)} for characters in a buffer, such as the text buffer of a JSON parser.
+     */
+    public static int scaleOf(char[] increment, int offset, int length) {
+        int dot = -1;
+        for (int i = offset; i < offset + length; i++) {
+            if (increment[i] == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return 0;
+        }
+        int end = offset + length;
+        while (end > dot + 1 && increment[end - 1] == '0') {
+            end--;
+        }
+        return end - dot - 1;
+    }
+
+    public int getPriceScale(String symbol) {
+        int[] s = scales.get(symbol);
+        return s == null ? DEFAULT_SCALE : s[0];
+    }
+
+    public int getQuantityScale(String symbol) {
+        int[] s = scales.get(symbol);
+        return s == null ? DEFAULT_SCALE : s[1];
+    }
+
+    /**
+     * @return the scale of quote asset amounts, such as quote volumes: a price times a quantity has the decimals of
+     * both, up to Binance's maximum precision.
+     */
+    public int getQuoteScale(String symbol) {
+        return Math.min(DEFAULT_SCALE, getPriceScale(symbol) + getQuantityScale(symbol));
+    }
+}
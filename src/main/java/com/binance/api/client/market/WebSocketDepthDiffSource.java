@@ -0,0 +1,23 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+
+/**
+ * Diff events from Binance's depth web socket stream.
+ */
+public class WebSocketDepthDiffSource implements DepthDiffSource {
+    private final BinanceApiWebSocketClient client;
+
+    public WebSocketDepthDiffSource(BinanceApiWebSocketClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback) {
+        return client.onDepthEvent(symbol.toLowerCase(), callback);
+    }
+}
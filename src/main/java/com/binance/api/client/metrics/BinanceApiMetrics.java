@@ -0,0 +1,65 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiEndpoint;
+
+/**
+ * Receives the timings of the requests made by a {@link com.binance.api.client.BinanceApiAsyncExecutorRestClient}.
+ * Every method is called on the thread doing the work, so implementations must be thread safe and cheap.
+ *
+ * A request goes through three phases: it waits in the request executor and the request weight scheduler, it
+ * makes the call, then its callback waits in the response executor.
+ */
+public interface BinanceApiMetrics {
+
+  /**
+   * Records nothing.
+   */
+  BinanceApiMetrics NOOP = new BinanceApiMetrics() {
+    @Override
+    public void onQueued(BinanceApiEndpoint endpoint) {
+    }
+
+    @Override
+    public void onStarted(BinanceApiEndpoint endpoint, long queueWaitNanos) {
+    }
+
+    @Override
+    public void onCompleted(BinanceApiEndpoint endpoint, long callNanos, Throwable failure) {
+    }
+
+    @Override
+    public void onCallback(BinanceApiEndpoint endpoint, long responseWaitNanos) {
+    }
+  };
+
+  enum Phase {
+    /** from submission until the call starts, including any rate limit delay */
+    QUEUE_WAIT,
+    /** the call itself */
+    CALL,
+    /** from the end of the call until the callback starts */
+    RESPONSE_WAIT
+  }
+
+  /**
+   * A request was submitted to the request executor.
+   */
+  void onQueued(BinanceApiEndpoint endpoint);
+
+  /**
+   * A request is about to make its call.
+   */
+  void onStarted(BinanceApiEndpoint endpoint, long queueWaitNanos);
+
+  /**
+   * A call returned or failed.
+   *
+   * @param failure the failure, null if the call succeeded
+   */
+  void onCompleted(BinanceApiEndpoint endpoint, long callNanos, Throwable failure);
+
+  /**
+   * A callback is about to run on the response executor.
+   */
+  void onCallback(BinanceApiEndpoint endpoint, long responseWaitNanos);
+}
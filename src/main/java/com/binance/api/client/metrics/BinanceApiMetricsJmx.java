@@ -0,0 +1,148 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.metrics.BinanceApiMetrics.Phase;
+import com.binance.api.client.time.ServerClock;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the MXBeans of a {@link HistogramBinanceApiMetrics}: one for the client, named
+ * {@code com.binance.api.client:type=BinanceApiMetrics,name=<name>}, and one per endpoint with an added
+ * {@code endpoint} key.  Also registers the {@link ServerClock} MXBean, named
+ * {@code com.binance.api.client:type=ServerClock,name=<name>}.
+ */
+public final class BinanceApiMetricsJmx {
+    public static final String DOMAIN = "com.binance.api.client";
+
+    private BinanceApiMetricsJmx() {
+    }
+
+    /**
+     * Registers with the platform MBean server.
+     */
+    public static Closeable register(HistogramBinanceApiMetrics metrics, String name) throws JMException {
+        return register(metrics, name, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * @param metrics the metrics exposed
+     * @param name tells apart the metrics of different clients
+     * @param server the server the MXBeans are registered with
+     * @return closing it unregisters the MXBeans
+     */
+    public static Closeable register(HistogramBinanceApiMetrics metrics, String name, MBeanServer server) throws JMException {
+        List<ObjectName> names = new ArrayList<>();
+        String prefix = DOMAIN + ":type=BinanceApiMetrics,name=" + ObjectName.quote(name);
+        try {
+            ObjectName client = new ObjectName(prefix);
+            server.registerMBean(new ClientMetrics(metrics), client);
+            names.add(client);
+            for (BinanceApiEndpoint endpoint : BinanceApiEndpoint.values()) {
+                ObjectName n = new ObjectName(prefix + ",endpoint=" + endpoint.name());
+                server.registerMBean(new EndpointMetrics(metrics, endpoint), n);
+                names.add(n);
+            }
+        } catch (JMException e) {
+            unregister(server, names);
+            throw e;
+        }
+        return () -> unregister(server, names);
+    }
+
+    /**
+     * Registers the clock with the platform MBean server.
+     */
+    public static Closeable register(ServerClock clock, String name) throws JMException {
+        return register(clock, name, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * @param clock the clock exposed
+     * @param name tells apart the clocks of different clients
+     * @param server the server the MXBean is registered with
+     * @return closing it unregisters the MXBean
+     */
+    public static Closeable register(ServerClock clock, String name, MBeanServer server) throws JMException {
+        List<ObjectName> names = new ArrayList<>();
+        ObjectName n = new ObjectName(DOMAIN + ":type=ServerClock,name=" + ObjectName.quote(name));
+        server.registerMBean(clock, n);
+        names.add(n);
+        return () -> unregister(server, names);
+    }
+
+    private static void unregister(MBeanServer server, List<ObjectName> names) {
+        for (ObjectName n : names) {
+            try {
+                server.unregisterMBean(n);
+            } catch (JMException e) {
+                // already unregistered
+            }
+        }
+        names.clear();
+    }
+
+    private static final class ClientMetrics implements ClientMetricsMXBean {
+        private final HistogramBinanceApiMetrics metrics;
+
+        private ClientMetrics(HistogramBinanceApiMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public long getQueueDepth() {
+            return metrics.getQueueDepth();
+        }
+
+        @Override
+        public long getInFlight() {
+            return metrics.getInFlight();
+        }
+
+        @Override
+        public void reset() {
+            metrics.reset();
+        }
+    }
+
+    private static final class EndpointMetrics implements EndpointMetricsMXBean {
+        private final HistogramBinanceApiMetrics metrics;
+        private final BinanceApiEndpoint endpoint;
+
+        private EndpointMetrics(HistogramBinanceApiMetrics metrics, BinanceApiEndpoint endpoint) {
+            this.metrics = metrics;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public long getRequestCount() {
+            return metrics.getRequestCount(endpoint);
+        }
+
+        @Override
+        public long getFailureCount() {
+            return metrics.getFailureCount(endpoint);
+        }
+
+        @Override
+        public PhaseStatistics getQueueWait() {
+            return new PhaseStatistics(metrics.getHistogram(endpoint, Phase.QUEUE_WAIT));
+        }
+
+        @Override
+        public PhaseStatistics getCall() {
+            return new PhaseStatistics(metrics.getHistogram(endpoint, Phase.CALL));
+        }
+
+        @Override
+        public PhaseStatistics getResponseWait() {
+            return new PhaseStatistics(metrics.getHistogram(endpoint, Phase.RESPONSE_WAIT));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.binance.api.client.metrics;
+
+/**
+ * JMX view of the requests of a client across every endpoint.
+ */
+public interface ClientMetricsMXBean {
+
+  long getQueueDepth();
+
+  long getInFlight();
+
+  /**
+   * Clears the histograms of every endpoint.
+   */
+  void reset();
+}
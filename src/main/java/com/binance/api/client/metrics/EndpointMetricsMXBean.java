@@ -0,0 +1,17 @@
+package com.binance.api.client.metrics;
+
+/**
+ * JMX view of the metrics of one endpoint, durations are in microseconds.
+ */
+public interface EndpointMetricsMXBean {
+
+  long getRequestCount();
+
+  long getFailureCount();
+
+  PhaseStatistics getQueueWait();
+
+  PhaseStatistics getCall();
+
+  PhaseStatistics getResponseWait();
+}
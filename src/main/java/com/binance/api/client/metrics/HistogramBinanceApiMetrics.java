@@ -0,0 +1,99 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiEndpoint;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics keeping a {@link LatencyHistogram} for each endpoint and phase, along with request and failure counts.
+ * Every histogram and counter is created up front, recording does not allocate.
+ */
+public class HistogramBinanceApiMetrics implements BinanceApiMetrics {
+    private static final BinanceApiEndpoint[] ENDPOINTS = BinanceApiEndpoint.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[ENDPOINTS.length * PHASES.length];
+    private final LongAdder[] requests = new LongAdder[ENDPOINTS.length];
+    private final LongAdder[] failures = new LongAdder[ENDPOINTS.length];
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public HistogramBinanceApiMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            requests[i] = new LongAdder();
+            failures[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onQueued(BinanceApiEndpoint endpoint) {
+        requests[endpoint.ordinal()].increment();
+        queued.incrementAndGet();
+        inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onStarted(BinanceApiEndpoint endpoint, long queueWaitNanos) {
+        queued.decrementAndGet();
+        getHistogram(endpoint, Phase.QUEUE_WAIT).record(queueWaitNanos);
+    }
+
+    @Override
+    public void onCompleted(BinanceApiEndpoint endpoint, long callNanos, Throwable failure) {
+        inFlight.decrementAndGet();
+        getHistogram(endpoint, Phase.CALL).record(callNanos);
+        if (failure != null) {
+            failures[endpoint.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void onCallback(BinanceApiEndpoint endpoint, long responseWaitNanos) {
+        getHistogram(endpoint, Phase.RESPONSE_WAIT).record(responseWaitNanos);
+    }
+
+    public LatencyHistogram getHistogram(BinanceApiEndpoint endpoint, Phase phase) {
+        return histograms[endpoint.ordinal() * PHASES.length + phase.ordinal()];
+    }
+
+    /**
+     * @return the number of requests submitted to the endpoint.
+     */
+    public long getRequestCount(BinanceApiEndpoint endpoint) {
+        return requests[endpoint.ordinal()].sum();
+    }
+
+    /**
+     * @return the number of calls to the endpoint which failed.
+     */
+    public long getFailureCount(BinanceApiEndpoint endpoint) {
+        return failures[endpoint.ordinal()].sum();
+    }
+
+    /**
+     * @return the number of requests waiting to start their call.
+     */
+    public long getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return the number of requests submitted whose call has not completed, including the queued ones.
+     */
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Clears every histogram, the counters are kept.
+     */
+    public void reset() {
+        for (LatencyHistogram h : histograms) {
+            h.reset();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.binance.api.client.metrics;
+
+/**
+ * A snapshot of a {@link LatencyHistogram} in microseconds, exposed over JMX as composite data.
+ */
+public class PhaseStatistics {
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public PhaseStatistics(LatencyHistogram histogram) {
+        count = histogram.getCount();
+        mean = histogram.getMean() / NANOS_PER_MICRO;
+        p50 = histogram.getValueAtPercentile(50) / NANOS_PER_MICRO;
+        p90 = histogram.getValueAtPercentile(90) / NANOS_PER_MICRO;
+        p99 = histogram.getValueAtPercentile(99) / NANOS_PER_MICRO;
+        p999 = histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO;
+        max = histogram.getMax() / NANOS_PER_MICRO;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
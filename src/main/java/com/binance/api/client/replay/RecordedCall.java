@@ -0,0 +1,224 @@
+package com.binance.api.client.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One call recorded by a {@link TrafficRecorder}: the method of {@link com.binance.api.client.BinanceApiAsyncExecutorRestClient}
+ * called and its arguments, when it was made, how long it took and how it completed.  Arguments and responses are
+ * held as the JSON Jackson writes for them.
+ *
+ * A log is a header followed by records, each written whole:
+ * <pre>
+ *   long start, long latency, method, arguments, byte outcome, int error code, body
+ * </pre>
+ * with strings and the body written as an int length followed by UTF-8 bytes, at most {@link #MAX_LENGTH} of
+ * them.  A record cut short by a crash is ignored when reading, and cut off by a recorder appending to the log.
+ */
+public class RecordedCall {
+    static final int MAGIC = 0x42525243;
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 8;
+    /**
+     * The longest string or body a record holds, well above the largest response of the exchange.
+     */
+    public static final int MAX_LENGTH = 64 << 20;
+
+    /**
+     * How a recorded call completed.
+     */
+    public enum Outcome {
+        /** completed with a response, the body is its JSON */
+        RESPONSE,
+        /** failed with an error from the exchange, the body is its message */
+        API_ERROR,
+        /** failed without reaching the exchange or getting an answer from it, the body is the failure */
+        FAILURE
+    }
+
+    private final long start;
+    private final long latency;
+    private final String method;
+    private final String arguments;
+    private final Outcome outcome;
+    private final int errorCode;
+    private final byte[] body;
+
+    public RecordedCall(long start, long latency, String method, String arguments, Outcome outcome, int errorCode, byte[] body) {
+        this.start = start;
+        this.latency = latency;
+        this.method = method;
+        this.arguments = arguments;
+        this.outcome = outcome;
+        this.errorCode = errorCode;
+        this.body = body;
+    }
+
+    /**
+     * @return when the call was made, in nanoseconds since the epoch.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return how long the call took to complete, in nanoseconds.
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the name of the method called.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the arguments of the call, the callback left out, as a JSON array.
+     */
+    public String getArguments() {
+        return arguments;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return the exchange's error code if the outcome is API_ERROR, otherwise 0.
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Reads every complete record of a log, in the order they were written.
+     */
+    public static List<RecordedCall> readAll(Path file) throws IOException {
+        List<RecordedCall> calls = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            readHeader(data, file);
+            while (true) {
+                RecordedCall call;
+                try {
+                    call = read(data);
+                } catch (EOFException e) {
+                    break;
+                }
+                calls.add(call);
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * @return the length of the header and the complete records of a log, shorter than the file if its last record
+     * was cut short.
+     * @throws IOException if the file is not a traffic log or a record before the last is invalid
+     */
+    static long completeLength(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            readHeader(data, file);
+            long length = HEADER_LENGTH;
+            while (true) {
+                try {
+                    length += read(data).length();
+                } catch (EOFException e) {
+                    return length;
+                }
+            }
+        }
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void readHeader(DataInputStream in, Path file) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException(file + " is not a traffic log");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException(file + " is a traffic log of version " + version + ", expected " + VERSION);
+        }
+    }
+
+    /**
+     * @throws IOException if a string or the body is longer than {@link #MAX_LENGTH}, nothing is written then
+     */
+    void write(DataOutputStream out) throws IOException {
+        byte[] m = method.getBytes(StandardCharsets.UTF_8);
+        byte[] a = arguments.getBytes(StandardCharsets.UTF_8);
+        if (m.length > MAX_LENGTH || a.length > MAX_LENGTH || body.length > MAX_LENGTH) {
+            throw new IOException("A call to " + method + " is too long to record");
+        }
+        out.writeLong(start);
+        out.writeLong(latency);
+        writeBytes(out, m);
+        writeBytes(out, a);
+        out.writeByte(outcome.ordinal());
+        out.writeInt(errorCode);
+        writeBytes(out, body);
+    }
+
+    /**
+     * @return the number of bytes the record takes in a log.
+     */
+    private long length() {
+        return 8 + 8 + 4 + method.getBytes(StandardCharsets.UTF_8).length + 4 + arguments.getBytes(StandardCharsets.UTF_8).length
+                + 1 + 4 + 4 + body.length;
+    }
+
+    private static RecordedCall read(DataInputStream in) throws IOException {
+        long start = in.readLong();
+        long latency = in.readLong();
+        String method = new String(readBytes(in), StandardCharsets.UTF_8);
+        String arguments = new String(readBytes(in), StandardCharsets.UTF_8);
+        int outcome = in.readUnsignedByte();
+        if (outcome >= Outcome.values().length) {
+            throw new IOException("Unknown outcome " + outcome + " of a call to " + method);
+        }
+        int errorCode = in.readInt();
+        byte[] body = readBytes(in);
+        return new RecordedCall(start, latency, method, arguments, Outcome.values()[outcome], errorCode, body);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return method + arguments + " " + outcome + " after " + latency / 1000 + "us";
+    }
+}
@@ -0,0 +1,230 @@
+package com.binance.api.client.replay;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.*;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.*;
+import com.binance.api.client.impl.ForwardingBinanceApiAsyncExecutorRestClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorator recording every call, its arguments, response and latency, to a {@link TrafficRecorder}, so production
+ * traffic can later be served by a {@link ReplayServer} and driven again by a {@link ReplayLoadDriver}.
+ *
+ * The latency is taken around the call, from the moment it is made until its future completes, so it includes the
+ * time spent queued in the delegate as well as on the network.
+ */
+public class RecordingBinanceApiAsyncExecutorRestClient extends ForwardingBinanceApiAsyncExecutorRestClient {
+    private final TrafficRecorder recorder;
+
+    /**
+     * @param delegate the client making the calls
+     * @param recorder the log calls are appended to, closed by its owner
+     */
+    public RecordingBinanceApiAsyncExecutorRestClient(BinanceApiAsyncExecutorRestClient delegate, TrafficRecorder recorder) {
+        super(delegate);
+        this.recorder = recorder;
+    }
+
+    public TrafficRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @param start when the call was made, taken before making it
+     * @param args the arguments of the call without its callback
+     */
+    private <T> CompletableFuture<T> record(long start, String method, CompletableFuture<T> f, Object... args) {
+        f.whenComplete((v, e) -> recorder.record(start, method, args, v, e));
+        return f;
+    }
+
+    @Override
+    public CompletableFuture<Void> ping(BinanceApiCallback<Void> callback) {
+        return record(recorder.now(), "ping", delegate.ping(callback));
+    }
+
+    @Override
+    public CompletableFuture<ServerTime> getServerTime(BinanceApiCallback<ServerTime> callback) {
+        return record(recorder.now(), "getServerTime", delegate.getServerTime(callback));
+    }
+
+    @Override
+    public CompletableFuture<ExchangeInfo> getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
+        return record(recorder.now(), "getExchangeInfo", delegate.getExchangeInfo(callback));
+    }
+
+    @Override
+    public CompletableFuture<List<Asset>> getAllAssets(BinanceApiCallback<List<Asset>> callback) {
+        return record(recorder.now(), "getAllAssets", delegate.getAllAssets(callback));
+    }
+
+    @Override
+    public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
+        return record(recorder.now(), "getOrderBook", delegate.getOrderBook(symbol, limit, callback), symbol, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return record(recorder.now(), "getTrades", delegate.getTrades(symbol, limit, callback), symbol, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId, BinanceApiCallback<List<TradeHistoryItem>> callback) {
+        return record(recorder.now(), "getHistoricalTrades", delegate.getHistoricalTrades(symbol, limit, fromId, callback), symbol, limit, fromId);
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<AggTrade>> callback) {
+        return record(recorder.now(), "getAggTrades", delegate.getAggTrades(symbol, fromId, limit, startTime, endTime, callback), symbol, fromId, limit, startTime, endTime);
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, BinanceApiCallback<List<AggTrade>> callback) {
+        return record(recorder.now(), "getAggTrades", delegate.getAggTrades(symbol, callback), symbol);
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<Candlestick>> callback) {
+        return record(recorder.now(), "getCandlestickBars", delegate.getCandlestickBars(symbol, interval, limit, startTime, endTime, callback), symbol, interval, limit, startTime, endTime);
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, BinanceApiCallback<List<Candlestick>> callback) {
+        return record(recorder.now(), "getCandlestickBars", delegate.getCandlestickBars(symbol, interval, callback), symbol, interval);
+    }
+
+    @Override
+    public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol, BinanceApiCallback<TickerStatistics> callback) {
+        return record(recorder.now(), "get24HrPriceStatistics", delegate.get24HrPriceStatistics(symbol, callback), symbol);
+    }
+
+    @Override
+    public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics(BinanceApiCallback<List<TickerStatistics>> callback) {
+        return record(recorder.now(), "getAll24HrPriceStatistics", delegate.getAll24HrPriceStatistics(callback));
+    }
+
+    @Override
+    public CompletableFuture<List<TickerPrice>> getAllPrices(BinanceApiCallback<List<TickerPrice>> callback) {
+        return record(recorder.now(), "getAllPrices", delegate.getAllPrices(callback));
+    }
+
+    @Override
+    public CompletableFuture<TickerPrice> getPrice(String symbol , BinanceApiCallback<TickerPrice> callback) {
+        return record(recorder.now(), "getPrice", delegate.getPrice(symbol, callback), symbol);
+    }
+
+    @Override
+    public CompletableFuture<List<BookTicker>> getBookTickers(BinanceApiCallback<List<BookTicker>> callback) {
+        return record(recorder.now(), "getBookTickers", delegate.getBookTickers(callback));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, TickerPrice>> getPrices(Collection<String> symbols, BinanceApiCallback<Map<String, TickerPrice>> callback) {
+        return record(recorder.now(), "getPrices", delegate.getPrices(symbols, callback), symbols);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BookTicker>> getBookTickers(Collection<String> symbols, BinanceApiCallback<Map<String, BookTicker>> callback) {
+        return record(recorder.now(), "getBookTickers", delegate.getBookTickers(symbols, callback), symbols);
+    }
+
+    @Override
+    public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
+        return record(recorder.now(), "newOrder", delegate.newOrder(order, callback), order);
+    }
+
+    @Override
+    public CompletableFuture<Void> newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
+        return record(recorder.now(), "newOrderTest", delegate.newOrderTest(order, callback), order);
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
+        return record(recorder.now(), "getOrderStatus", delegate.getOrderStatus(orderStatusRequest, callback), orderStatusRequest);
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
+        return record(recorder.now(), "cancelOrder", delegate.cancelOrder(cancelOrderRequest, callback), cancelOrderRequest);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return record(recorder.now(), "getOpenOrders", delegate.getOpenOrders(orderRequest, callback), orderRequest);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
+        return record(recorder.now(), "getAllOrders", delegate.getAllOrders(orderRequest, callback), orderRequest);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
+        return record(recorder.now(), "getAccount", delegate.getAccount(recvWindow, timestamp, callback), recvWindow, timestamp);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(BinanceApiCallback<Account> callback) {
+        return record(recorder.now(), "getAccount", delegate.getAccount(callback));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
+        return record(recorder.now(), "getMyTrades", delegate.getMyTrades(symbol, limit, fromId, recvWindow, timestamp, callback), symbol, limit, fromId, recvWindow, timestamp);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, BinanceApiCallback<List<Trade>> callback) {
+        return record(recorder.now(), "getMyTrades", delegate.getMyTrades(symbol, limit, callback), symbol, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, BinanceApiCallback<List<Trade>> callback) {
+        return record(recorder.now(), "getMyTrades", delegate.getMyTrades(symbol, callback), symbol);
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, BinanceApiCallback<WithdrawResult> callback) {
+        return record(recorder.now(), "withdraw", delegate.withdraw(asset, address, amount, name, addressTag, callback), asset, address, amount, name, addressTag);
+    }
+
+    @Override
+    public CompletableFuture<DepositHistory> getDepositHistory(String asset, BinanceApiCallback<DepositHistory> callback) {
+        return record(recorder.now(), "getDepositHistory", delegate.getDepositHistory(asset, callback), asset);
+    }
+
+    @Override
+    public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, BinanceApiCallback<WithdrawHistory> callback) {
+        return record(recorder.now(), "getWithdrawHistory", delegate.getWithdrawHistory(asset, callback), asset);
+    }
+
+    @Override
+    public CompletableFuture<DepositAddress> getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
+        return record(recorder.now(), "getDepositAddress", delegate.getDepositAddress(asset, callback), asset);
+    }
+
+    @Override
+    public CompletableFuture<ListenKey> startUserDataStream(BinanceApiCallback<ListenKey> callback) {
+        return record(recorder.now(), "startUserDataStream", delegate.startUserDataStream(callback));
+    }
+
+    @Override
+    public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return record(recorder.now(), "keepAliveUserDataStream", delegate.keepAliveUserDataStream(listenKey, callback), listenKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
+        return record(recorder.now(), "closeUserDataStream", delegate.closeUserDataStream(listenKey, callback), listenKey);
+    }
+}
@@ -0,0 +1,113 @@
+package com.binance.api.client.replay;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON mapping of recorded arguments and responses, shared by the recorder, the server and the clients so the
+ * same arguments always give the same text.  Fields are read and written directly, as the request objects of the
+ * upstream client have fluent setters and no default constructor.
+ */
+final class ReplayJson {
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
+    private ReplayJson() {
+    }
+
+    /**
+     * @return the arguments as a JSON array.
+     */
+    static String arguments(Object... args) throws IOException {
+        return MAPPER.writeValueAsString(args);
+    }
+
+    /**
+     * Rebuilds the first parameters of a method from a recorded JSON array, those past its end are null.
+     */
+    static Object[] arguments(Method method, String json, int count) throws IOException {
+        JsonNode array = MAPPER.readTree(json);
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[count];
+        for (int i = 0; i < count; i++) {
+            JsonNode node = array.get(i);
+            if (node != null && !node.isNull()) {
+                args[i] = read(node, types[i]);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Reads a value, building objects without a default constructor through their shortest constructor given empty
+     * arguments, and then setting their fields.
+     */
+    static Object read(JsonNode node, Type type) throws IOException {
+        JavaType javaType = MAPPER.getTypeFactory().constructType(type);
+        try {
+            return MAPPER.readerFor(javaType).readValue(node);
+        } catch (InvalidDefinitionException e) {
+            if (!node.isObject()) {
+                throw e;
+            }
+            return MAPPER.readerForUpdating(instantiate(javaType.getRawClass(), e)).readValue(node);
+        }
+    }
+
+    private static Object instantiate(Class<?> type, IOException cause) throws IOException {
+        Constructor<?> shortest = null;
+        for (Constructor<?> c : type.getConstructors()) {
+            if (shortest == null || c.getParameterCount() < shortest.getParameterCount()) {
+                shortest = c;
+            }
+        }
+        if (shortest == null) {
+            throw cause;
+        }
+        Class<?>[] types = shortest.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = emptyValue(types[i]);
+        }
+        try {
+            return shortest.newInstance(args);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            cause.addSuppressed(e);
+            throw cause;
+        }
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == float.class) {
+            return 0f;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,227 @@
+package com.binance.api.client.replay;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Makes the recorded calls again through a client, on their recorded schedule compressed by a rate: at 1 the calls
+ * are made as far apart as they were recorded, at 10 ten times as fast.  Together with a {@link ReplayServer} this
+ * measures the throughput and latency of a client under production traffic, or a multiple of it, offline.
+ *
+ * Latency is measured from the moment each call was due, not the moment it was made, so time lost by a driver
+ * falling behind its schedule is counted rather than hidden.  The arguments of every call are rebuilt up front;
+ * calls whose method is not part of {@link BinanceApiAsyncExecutorRestClient} are skipped.
+ */
+public class ReplayLoadDriver {
+    private final List<Scheduled> calls = new ArrayList<>();
+    private final int skipped;
+
+    /**
+     * @param recorded the calls to make, in any order
+     */
+    public ReplayLoadDriver(List<RecordedCall> recorded) {
+        Map<String, Method> methods = new HashMap<>();
+        for (Method m : BinanceApiAsyncExecutorRestClient.class.getMethods()) {
+            methods.put(m.getName() + "/" + m.getParameterCount(), m);
+        }
+        List<RecordedCall> sorted = new ArrayList<>(recorded);
+        sorted.sort(Comparator.comparingLong(RecordedCall::getStart));
+        int skipped = 0;
+        for (RecordedCall call : sorted) {
+            Scheduled s = prepare(call, methods);
+            if (s == null) {
+                skipped++;
+            } else {
+                calls.add(s);
+            }
+        }
+        this.skipped = skipped;
+    }
+
+    private static Scheduled prepare(RecordedCall call, Map<String, Method> methods) {
+        try {
+            int count = ReplayJson.MAPPER.readTree(call.getArguments()).size();
+            Method method = methods.get(call.getMethod() + "/" + (count + 1));
+            if (method == null || method.getParameterTypes()[count] != BinanceApiCallback.class) {
+                return null;
+            }
+            // the callback, left null, is the last parameter
+            return new Scheduled(call.getStart(), method, ReplayJson.arguments(method, call.getArguments(), count + 1));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of calls which will be made.
+     */
+    public int size() {
+        return calls.size();
+    }
+
+    /**
+     * @return the number of recorded calls which could not be rebuilt and are skipped.
+     */
+    public int getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * Makes the calls on the calling thread, then waits for all of them to complete.
+     *
+     * @param rate how many times faster than recorded the calls are made
+     */
+    public Report run(BinanceApiAsyncExecutorRestClient client, double rate) throws InterruptedException {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Rate must be positive, not " + rate);
+        }
+        Report report = new Report(calls.size(), skipped);
+        if (calls.isEmpty()) {
+            return report;
+        }
+        CountDownLatch done = new CountDownLatch(calls.size());
+        long first = calls.get(0).start;
+        long origin = System.nanoTime();
+        for (Scheduled call : calls) {
+            long due = origin + (long) ((call.start - first) / rate);
+            long wait = due - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                wait = due - System.nanoTime();
+            }
+            report.lag(-wait);
+            CompletableFuture<?> f;
+            try {
+                f = (CompletableFuture<?>) call.method.invoke(client, call.args);
+            } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+                f = CompletableFuture.failedFuture(e);
+            }
+            f.whenComplete((v, e) -> {
+                report.complete(System.nanoTime() - due, e == null);
+                done.countDown();
+            });
+        }
+        done.await();
+        report.elapsed = System.nanoTime() - origin;
+        return report;
+    }
+
+    /**
+     * A call rebuilt from the log.
+     */
+    private static final class Scheduled {
+        private final long start;
+        private final Method method;
+        private final Object[] args;
+
+        private Scheduled(long start, Method method, Object[] args) {
+            this.start = start;
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    /**
+     * The outcome of a run.
+     */
+    public static final class Report {
+        private final int calls;
+        private final int skipped;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong failed = new AtomicLong();
+        private long maxLag;
+        private volatile long elapsed;
+
+        private Report(int calls, int skipped) {
+            this.calls = calls;
+            this.skipped = skipped;
+        }
+
+        private void lag(long nanos) {
+            maxLag = Math.max(maxLag, nanos);
+        }
+
+        private void complete(long nanos, boolean succeeded) {
+            latency.record(nanos);
+            if (!succeeded) {
+                failed.incrementAndGet();
+            }
+        }
+
+        /**
+         * @return the number of calls made.
+         */
+        public int getCallCount() {
+            return calls;
+        }
+
+        /**
+         * @return the number of recorded calls which could not be rebuilt.
+         */
+        public int getSkippedCount() {
+            return skipped;
+        }
+
+        /**
+         * @return the number of calls which failed, whatever their recorded outcome.
+         */
+        public long getFailedCount() {
+            return failed.get();
+        }
+
+        /**
+         * @return the time from the first call being made to the last one completing, in nanoseconds.
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return the calls completed per second.
+         */
+        public double getThroughput() {
+            return elapsed == 0 ? 0 : calls * 1e9 / elapsed;
+        }
+
+        /**
+         * @return the latency of the calls, from when each was due until it completed.
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the most a call was made behind its schedule, in nanoseconds.  A large lag means the calling
+         * thread, not the client, limited the rate.
+         */
+        public long getMaxLag() {
+            return maxLag;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d calls in %.3fs, %.1f/s, %d failed, %d skipped, latency p50 %.3fms p99 %.3fms "
+                            + "max %.3fms, max lag %.3fms", calls, elapsed / 1e9, getThroughput(), getFailedCount(), skipped,
+                    latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(99) / 1e6,
+                    latency.getMax() / 1e6, maxLag / 1e6);
+        }
+    }
+}
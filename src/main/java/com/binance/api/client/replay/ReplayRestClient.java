@@ -0,0 +1,96 @@
+package com.binance.api.client.replay;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.exception.BinanceApiError;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link BinanceApiRestClient} making each call to a {@link ReplayServer}: the method name in the path and its
+ * arguments as a JSON array in the body.  Answers are decoded with Jackson, as the upstream client does, and
+ * failures raised as it raises them: a BinanceApiException holding the exchange's error, or holding an IOException
+ * when no answer came.
+ */
+final class ReplayRestClient implements InvocationHandler {
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int READ_TIMEOUT_MILLIS = 60_000;
+
+    private final String baseUrl;
+
+    private ReplayRestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    static BinanceApiRestClient create(String baseUrl) {
+        return (BinanceApiRestClient) Proxy.newProxyInstance(BinanceApiRestClient.class.getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, new ReplayRestClient(baseUrl));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                default: return "ReplayRestClient(" + baseUrl + ")";
+            }
+        }
+        try {
+            byte[] body = call(method.getName(), ReplayJson.arguments(args == null ? new Object[0] : args));
+            if (method.getReturnType() == void.class || body.length == 0) {
+                return null;
+            }
+            JsonNode node = ReplayJson.MAPPER.readTree(body);
+            if (method.getReturnType() == String.class && node.isObject()) {
+                // startUserDataStream answers the key alone, the asynchronous client records it in a ListenKey
+                return node.path("listenKey").asText();
+            }
+            return ReplayJson.read(node, method.getGenericReturnType());
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+    }
+
+    private byte[] call(String method, String arguments) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + ReplayServer.PATH + method).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(arguments.getBytes(StandardCharsets.UTF_8));
+        }
+        int status = connection.getResponseCode();
+        if (status < 400) {
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes();
+            }
+        }
+        byte[] body;
+        InputStream error = connection.getErrorStream();
+        if (error == null) {
+            body = new byte[0];
+        } else {
+            try (InputStream in = error) {
+                body = in.readAllBytes();
+            }
+        }
+        if (status == 400) {
+            throw new BinanceApiException(ReplayJson.MAPPER.readValue(body, BinanceApiError.class));
+        }
+        if (status == 503) {
+            throw new IOException(new String(body, StandardCharsets.UTF_8));
+        }
+        throw new BinanceApiException("HTTP " + status + " from " + method + ": " + new String(body, StandardCharsets.UTF_8));
+    }
+}
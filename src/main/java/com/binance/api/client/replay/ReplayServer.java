@@ -0,0 +1,337 @@
+package com.binance.api.client.replay;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A local HTTP server answering the calls of a {@link #newRestClient() replay REST client} with recorded responses,
+ * so a {@link com.binance.api.client.impl.BinanceApiAsyncExecutorRestClientImpl} can be driven offline.
+ *
+ * A call is answered with a response recorded for the same method and arguments or, failing that, for the same
+ * method and number of arguments.  When several were recorded they are served in turn.  Each answer is held back
+ * for its recorded latency multiplied by the latency scale: 1 replays the original latency profile, 0 answers
+ * at once.  Held answers wait on a timer, not on a thread.
+ *
+ * Calls the client splits into others, such as getPrices and getBookTickers for some symbols, are answered from
+ * the recorded composite response when nothing was recorded for the calls themselves.
+ *
+ * The server also answers the public market data requests of the upstream REST clients under {@link #REST_PATH},
+ * such as GET /api/v3/ticker/price?symbol=ETHBTC, from the calls recorded for the same data, so a client talking
+ * HTTP to the exchange can be pointed at it too.  Their responses are the recorded objects in Jackson's default
+ * form, which the upstream domain classes read back, except for order books and candlesticks whose upstream form
+ * is an array.
+ */
+public class ReplayServer implements Closeable {
+    static final String PATH = "/call/";
+    public static final String REST_PATH = "/api/";
+    private static final Pattern REST_VERSION = Pattern.compile("^/api/v\\d+/");
+
+    private final HttpServer server;
+    private final ScheduledThreadPoolExecutor timer;
+    private final double latencyScale;
+    private final Map<String, Responses> byArguments = new HashMap<>();
+    private final Map<String, Responses> byArity = new HashMap<>();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+
+    /**
+     * Serves the calls with their original latency on an ephemeral port of the loopback address.
+     */
+    public ReplayServer(List<RecordedCall> calls) throws IOException {
+        this(calls, 1);
+    }
+
+    /**
+     * Serves the calls on an ephemeral port of the loopback address.
+     *
+     * @param latencyScale the factor applied to the recorded latencies
+     */
+    public ReplayServer(List<RecordedCall> calls, double latencyScale) throws IOException {
+        this(calls, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), latencyScale,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param address the address to listen on
+     * @param latencyScale the factor applied to the recorded latencies
+     * @param threads the number of threads reading requests and writing responses
+     */
+    public ReplayServer(List<RecordedCall> calls, InetSocketAddress address, double latencyScale, int threads) throws IOException {
+        if (latencyScale < 0) {
+            throw new IllegalArgumentException("Negative latency scale " + latencyScale);
+        }
+        this.latencyScale = latencyScale;
+        index(calls);
+        timer = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, "binance-api-replay");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        server = HttpServer.create(address, 0);
+        server.createContext(PATH, this::handle);
+        server.createContext(REST_PATH, this::handleRest);
+        server.setExecutor(timer);
+        server.start();
+    }
+
+    /**
+     * @return the url the server is reached at, such as http://127.0.0.1:49152
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * @return a REST client making its calls to this server.
+     */
+    public BinanceApiRestClient newRestClient() {
+        return connect(getBaseUrl());
+    }
+
+    /**
+     * @return a REST client making its calls to a replay server, possibly in another process.
+     */
+    public static BinanceApiRestClient connect(String baseUrl) {
+        return ReplayRestClient.create(baseUrl);
+    }
+
+    /**
+     * @return the number of calls answered with a recorded response.
+     */
+    public long getServedCount() {
+        return served.get();
+    }
+
+    /**
+     * @return the number of calls nothing was recorded for, answered with a 404.
+     */
+    public long getUnmatchedCount() {
+        return unmatched.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        timer.shutdownNow();
+    }
+
+    private void index(List<RecordedCall> calls) throws IOException {
+        List<RecordedCall> derived = new ArrayList<>();
+        for (RecordedCall call : calls) {
+            int arity = arity(call.getArguments());
+            add(byArguments, call.getMethod() + call.getArguments(), call);
+            add(byArity, call.getMethod() + "/" + arity, call);
+            if (call.getOutcome() == RecordedCall.Outcome.RESPONSE && arity == 1) {
+                if ("getPrices".equals(call.getMethod())) {
+                    derive(call, "getPrice", "getAllPrices", derived);
+                } else if ("getBookTickers".equals(call.getMethod())) {
+                    derive(call, null, "getBookTickers", derived);
+                }
+            }
+        }
+        for (RecordedCall call : derived) {
+            String exact = call.getMethod() + call.getArguments();
+            if (!byArguments.containsKey(exact) || byArguments.get(exact).derived) {
+                add(byArguments, exact, call).derived = true;
+            }
+            String key = call.getMethod() + "/" + arity(call.getArguments());
+            if (!byArity.containsKey(key) || byArity.get(key).derived) {
+                add(byArity, key, call).derived = true;
+            }
+        }
+    }
+
+    /**
+     * Splits a response indexed by symbol into a response for each symbol and one for all of them.
+     */
+    private static void derive(RecordedCall call, String each, String all, List<RecordedCall> derived) throws IOException {
+        JsonNode bySymbol = ReplayJson.MAPPER.readTree(call.getBody());
+        List<JsonNode> values = new ArrayList<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = bySymbol.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> e = it.next();
+            values.add(e.getValue());
+            if (each != null) {
+                derived.add(new RecordedCall(call.getStart(), call.getLatency(), each, ReplayJson.arguments(e.getKey()),
+                        RecordedCall.Outcome.RESPONSE, 0, ReplayJson.MAPPER.writeValueAsBytes(e.getValue())));
+            }
+        }
+        derived.add(new RecordedCall(call.getStart(), call.getLatency(), all, ReplayJson.arguments(),
+                RecordedCall.Outcome.RESPONSE, 0, ReplayJson.MAPPER.writeValueAsBytes(values)));
+    }
+
+    private static int arity(String arguments) throws IOException {
+        JsonNode array = ReplayJson.MAPPER.readTree(arguments);
+        return array == null ? 0 : array.size();
+    }
+
+    private static Responses add(Map<String, Responses> index, String key, RecordedCall call) {
+        Responses responses = index.computeIfAbsent(key, k -> new Responses());
+        responses.calls.add(call);
+        return responses;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long arrived = System.nanoTime();
+        String method = exchange.getRequestURI().getPath().substring(PATH.length());
+        String arguments;
+        try (InputStream in = exchange.getRequestBody()) {
+            arguments = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        answer(exchange, arrived, method, arguments);
+    }
+
+    /**
+     * Answers a market data request of an upstream REST client with the response recorded for the call the
+     * asynchronous clients make for it.
+     */
+    private void handleRest(HttpExchange exchange) throws IOException {
+        long arrived = System.nanoTime();
+        exchange.getRequestBody().close();
+        String endpoint = REST_VERSION.matcher(exchange.getRequestURI().getPath()).replaceFirst("");
+        String symbol = query(exchange.getRequestURI().getRawQuery()).get("symbol");
+        String method = null;
+        String arguments = symbol == null ? ReplayJson.arguments() : ReplayJson.arguments(symbol);
+        switch (endpoint) {
+            case "ping":
+                method = "ping";
+                break;
+            case "time":
+                method = "getServerTime";
+                break;
+            case "exchangeInfo":
+                method = "getExchangeInfo";
+                break;
+            case "ticker/price":
+                method = symbol == null ? "getAllPrices" : "getPrice";
+                break;
+            case "ticker/allPrices":
+                method = "getAllPrices";
+                break;
+            case "ticker/bookTicker":
+            case "ticker/allBookTickers":
+                method = symbol == null ? "getBookTickers" : null;
+                break;
+            case "ticker/24hr":
+                method = symbol == null ? "getAll24HrPriceStatistics" : "get24HrPriceStatistics";
+                break;
+            default:
+                break;
+        }
+        if (method == null || !"GET".equals(exchange.getRequestMethod())) {
+            unmatched.incrementAndGet();
+            send(exchange, 404, ("Nothing recorded for " + exchange.getRequestURI()).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        answer(exchange, arrived, method, arguments);
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int eq = parameter.indexOf('=');
+                if (eq > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, eq), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private void answer(HttpExchange exchange, long arrived, String method, String arguments) throws IOException {
+        RecordedCall call = next(byArguments.get(method + arguments));
+        if (call == null) {
+            call = next(byArity.get(method + "/" + arity(arguments)));
+        }
+        if (call == null) {
+            unmatched.incrementAndGet();
+            send(exchange, 404, ("Nothing recorded for " + method + arguments).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        served.incrementAndGet();
+        RecordedCall answer = call;
+        long delay = (long) (call.getLatency() * latencyScale) - (System.nanoTime() - arrived);
+        if (delay <= 0) {
+            respond(exchange, answer);
+        } else {
+            timer.schedule(() -> {
+                try {
+                    respond(exchange, answer);
+                } catch (IOException e) {
+                    exchange.close();
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static RecordedCall next(Responses responses) {
+        if (responses == null) {
+            return null;
+        }
+        List<RecordedCall> calls = responses.calls;
+        return calls.get(Math.floorMod(responses.next.getAndIncrement(), calls.size()));
+    }
+
+    /**
+     * Answers as the exchange would: the response, or its error object {"code":-1121,"msg":"Invalid symbol."}.
+     * Calls which failed without an answer are answered with a 503.
+     */
+    private static void respond(HttpExchange exchange, RecordedCall call) throws IOException {
+        switch (call.getOutcome()) {
+            case RESPONSE:
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                send(exchange, 200, call.getBody());
+                break;
+            case API_ERROR:
+                ObjectNode error = ReplayJson.MAPPER.createObjectNode();
+                error.put("code", call.getErrorCode());
+                error.put("msg", new String(call.getBody(), StandardCharsets.UTF_8));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                send(exchange, 400, ReplayJson.MAPPER.writeValueAsBytes(error));
+                break;
+            default:
+                send(exchange, 503, call.getBody());
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * The responses recorded for a key, served in turn.
+     */
+    private static final class Responses {
+        private final List<RecordedCall> calls = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+        private boolean derived;
+    }
+}
@@ -0,0 +1,176 @@
+package com.binance.api.client.replay;
+
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends recorded calls to a log, see {@link RecordedCall} for its format.  Responses are serialized and written on
+ * the recorder's own thread, off the thread completing the call; an existing log is appended to, after cutting off
+ * a last record left incomplete by a crash, so the records appended stay aligned.
+ *
+ * Calls are timed against the wall clock at nanosecond resolution, so logs of several sessions replay in order.
+ */
+public class TrafficRecorder implements Closeable {
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final ExecutorService writer;
+    private final long originNanos = System.nanoTime();
+    private final long originEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile IOException lastFailure;
+
+    /**
+     * Opens a log for appending, creating it if needed.
+     *
+     * @throws IOException if the file can not be opened, is not a traffic log or holds an invalid record
+     */
+    public TrafficRecorder(Path file) throws IOException {
+        this.file = file;
+        boolean exists = Files.exists(file) && Files.size(file) > 0;
+        if (exists) {
+            long complete = RecordedCall.completeLength(file);
+            if (complete < Files.size(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(complete);
+                }
+            }
+        }
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        if (!exists) {
+            RecordedCall.writeHeader(out);
+        }
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "binance-api-recorder");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the current time of the recorder's clock, in nanoseconds since the epoch.
+     */
+    long now() {
+        return originEpochNanos + System.nanoTime() - originNanos;
+    }
+
+    /**
+     * Queues a completed call for writing.
+     *
+     * @param start when the call was made, from {@link #now()}
+     * @param args the arguments of the call without its callback
+     * @param value the response, null if the call failed
+     * @param failure the failure, null if the call succeeded
+     */
+    void record(long start, String method, Object[] args, Object value, Throwable failure) {
+        long latency = now() - start;
+        writer.execute(() -> {
+            try {
+                RecordedCall call = toCall(start, latency, method, args, value, failure);
+                synchronized (out) {
+                    call.write(out);
+                }
+                recorded.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                lastFailure = e instanceof IOException ? (IOException) e : new IOException(e);
+            }
+        });
+    }
+
+    private static RecordedCall toCall(long start, long latency, String method, Object[] args, Object value,
+                                       Throwable failure) throws IOException {
+        String arguments = ReplayJson.arguments(args);
+        if (failure == null) {
+            byte[] body = value == null ? NO_BODY : ReplayJson.MAPPER.writeValueAsBytes(value);
+            return new RecordedCall(start, latency, method, arguments, RecordedCall.Outcome.RESPONSE, 0, body);
+        }
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof BinanceApiException && ((BinanceApiException) cause).getError() != null) {
+            BinanceApiException e = (BinanceApiException) cause;
+            String msg = e.getError().getMsg() == null ? "" : e.getError().getMsg();
+            return new RecordedCall(start, latency, method, arguments, RecordedCall.Outcome.API_ERROR,
+                    e.getError().getCode(), msg.getBytes(StandardCharsets.UTF_8));
+        }
+        return new RecordedCall(start, latency, method, arguments, RecordedCall.Outcome.FAILURE, 0,
+                cause.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the number of calls written.
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    /**
+     * @return the number of calls which could not be serialized or written, see {@link #getLastFailure()}.
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Writes the calls queued so far to the file.
+     */
+    public void flush() throws IOException {
+        try {
+            writer.submit(() -> {
+                synchronized (out) {
+                    out.flush();
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing " + file, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes the calls queued so far and closes the file, calls completing later are not recorded.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (out) {
+            out.close();
+        }
+    }
+}
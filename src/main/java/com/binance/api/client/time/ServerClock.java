@@ -0,0 +1,284 @@
+package com.binance.api.client.time;
+
+import com.binance.api.client.BinanceApiRestClient;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An estimate of the exchange's clock, so signed requests can be timestamped in server time without asking the
+ * exchange first.  The server time is sampled in the background, a burst of samples when started and one per
+ * sample interval after, the way NTP does:
+ * <ul>
+ *     <li>each sample assumes the server read its clock half way through the round trip</li>
+ *     <li>only the samples with the lowest round trips are kept for the estimate, a slow round trip is most likely
+ *     asymmetric as well</li>
+ *     <li>the offset and the drift of the server clock are fitted to those samples by least squares once they
+ *     span enough time, before that the offset of the fastest sample is used</li>
+ * </ul>
+ * Local time is measured with {@link System#nanoTime()} from the time the clock is created, so steps of the wall
+ * clock do not disturb the estimate.  Reading the clock does not call the exchange and does not allocate.
+ *
+ * Samples are taken with a blocking client on a thread of the clock and time the call alone: the queues and rate
+ * limits of an asynchronous client would add their waits to the round trip, and skew the offset of the sample as
+ * the server read its clock in the first part of it.  The samples are therefore not counted by the rate limits of
+ * the asynchronous clients, they weigh 1 per sample interval.
+ */
+public class ServerClock implements ServerClockMXBean, Closeable {
+    public static final Duration DEFAULT_SAMPLE_INTERVAL = Duration.ofSeconds(30);
+    public static final int DEFAULT_WINDOW = 64;
+    public static final int BURST = 8;
+    /**
+     * The time the fitted samples must span before drift is estimated.
+     */
+    public static final long MIN_DRIFT_SPAN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final BinanceApiRestClient client;
+    private final long sampleIntervalMillis;
+    private final ScheduledThreadPoolExecutor sampler;
+    private final long epochAnchor = System.currentTimeMillis();
+    private final long nanoAnchor = System.nanoTime();
+
+    private final double[] localTimes;
+    private final double[] offsets;
+    private final double[] roundTrips;
+    private final int[] order;
+    private int samples;
+    private int next;
+
+    private volatile Estimate estimate;
+    private volatile long sampleCount;
+    private volatile long failureCount;
+    private volatile boolean closed;
+
+    public ServerClock(BinanceApiRestClient client) {
+        this(client, DEFAULT_SAMPLE_INTERVAL, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param client the client sampling the server time
+     * @param sampleInterval the interval between samples once the first burst is taken
+     * @param window the number of recent samples the estimate is made from
+     */
+    public ServerClock(BinanceApiRestClient client, Duration sampleInterval, int window) {
+        this.client = client;
+        this.sampleIntervalMillis = sampleInterval.toMillis();
+        this.sampler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "binance-api-server-clock");
+            t.setDaemon(true);
+            return t;
+        });
+        this.localTimes = new double[window];
+        this.offsets = new double[window];
+        this.roundTrips = new double[window];
+        this.order = new int[window];
+    }
+
+    /**
+     * Takes a burst of samples and keeps sampling in the background until closed.
+     *
+     * @return completes once the first burst has been taken
+     */
+    public CompletableFuture<Void> start() {
+        // one at a time on the single sampling thread, concurrent samples would inflate each other's round trips
+        CompletableFuture<Void> burst = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < BURST; i++) {
+            burst = burst.thenCompose(v -> sample());
+        }
+        return burst.whenComplete((v, e) -> {
+            try {
+                sampler.scheduleWithFixedDelay(this::take, sampleIntervalMillis, sampleIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException x) {
+                // closed
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        sampler.shutdownNow();
+    }
+
+    /**
+     * Samples the server time once.
+     *
+     * @return completes once the sample is taken, a failed sample is counted and not reported
+     */
+    public CompletableFuture<Void> sample() {
+        try {
+            return CompletableFuture.runAsync(this::take, sampler);
+        } catch (RejectedExecutionException e) {
+            // closed
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void take() {
+        if (closed) {
+            return;
+        }
+        long sent = System.nanoTime();
+        long serverTime;
+        try {
+            serverTime = client.getServerTime();
+        } catch (RuntimeException e) {
+            failed();
+            return;
+        }
+        long received = System.nanoTime();
+        double roundTrip = (received - sent) / 1e6;
+        double local = localMillis(sent) + roundTrip / 2;
+        add(local, serverTime - local, roundTrip);
+    }
+
+    private synchronized void failed() {
+        failureCount++;
+    }
+
+    /**
+     * Adds a sample taken at a local time, with the offset of the server clock at that time.
+     */
+    synchronized void add(double localTime, double offset, double roundTrip) {
+        localTimes[next] = localTime;
+        offsets[next] = offset;
+        roundTrips[next] = roundTrip;
+        next = (next + 1) % localTimes.length;
+        samples = Math.min(samples + 1, localTimes.length);
+        sampleCount++;
+        estimate = fit();
+    }
+
+    /**
+     * Fits the offset and drift to the fastest quarter of the samples, called holding the monitor.
+     */
+    private Estimate fit() {
+        for (int i = 0; i < samples; i++) {
+            order[i] = i;
+        }
+        // insertion sort by round trip, the window is small
+        for (int i = 1; i < samples; i++) {
+            int s = order[i];
+            int j = i - 1;
+            while (j >= 0 && roundTrips[order[j]] > roundTrips[s]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = s;
+        }
+        int n = Math.max(Math.min(samples, 4), samples / 4);
+        int best = order[0];
+        double minRoundTrip = roundTrips[best];
+        double first = Double.MAX_VALUE;
+        double last = -Double.MAX_VALUE;
+        double meanTime = 0;
+        double meanOffset = 0;
+        for (int i = 0; i < n; i++) {
+            int s = order[i];
+            first = Math.min(first, localTimes[s]);
+            last = Math.max(last, localTimes[s]);
+            meanTime += localTimes[s];
+            meanOffset += offsets[s];
+        }
+        meanTime /= n;
+        meanOffset /= n;
+        if (n < 2 || last - first < MIN_DRIFT_SPAN_MILLIS) {
+            return new Estimate(localTimes[best], offsets[best], 0, minRoundTrip / 2, minRoundTrip);
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            int s = order[i];
+            double dt = localTimes[s] - meanTime;
+            covariance += dt * (offsets[s] - meanOffset);
+            variance += dt * dt;
+        }
+        double drift = covariance / variance;
+        double residuals = 0;
+        for (int i = 0; i < n; i++) {
+            int s = order[i];
+            double r = offsets[s] - meanOffset - drift * (localTimes[s] - meanTime);
+            residuals += r * r;
+        }
+        return new Estimate(meanTime, meanOffset, drift, minRoundTrip / 2 + Math.sqrt(residuals / n), minRoundTrip);
+    }
+
+    private double localMillis(long nanos) {
+        return epochAnchor + (nanos - nanoAnchor) / 1e6;
+    }
+
+    /**
+     * @return the current server time in milliseconds, or the local wall clock until a sample has been taken.
+     */
+    public long currentTimeMillis() {
+        Estimate e = estimate;
+        if (e == null) {
+            return System.currentTimeMillis();
+        }
+        double local = localMillis(System.nanoTime());
+        return Math.round(local + e.offset + e.drift * (local - e.baseTime));
+    }
+
+    @Override
+    public boolean isSynced() {
+        return estimate != null;
+    }
+
+    @Override
+    public double getOffsetMillis() {
+        Estimate e = estimate;
+        if (e == null) {
+            return 0;
+        }
+        double local = localMillis(System.nanoTime());
+        return local + e.offset + e.drift * (local - e.baseTime) - System.currentTimeMillis();
+    }
+
+    @Override
+    public double getDriftPpm() {
+        Estimate e = estimate;
+        return e == null ? 0 : e.drift * 1e6;
+    }
+
+    @Override
+    public double getErrorBoundMillis() {
+        Estimate e = estimate;
+        return e == null ? Double.POSITIVE_INFINITY : e.errorBound;
+    }
+
+    @Override
+    public double getMinRoundTripMillis() {
+        Estimate e = estimate;
+        return e == null ? 0 : e.minRoundTrip;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    private static final class Estimate {
+        private final double baseTime;
+        private final double offset;
+        private final double drift;
+        private final double errorBound;
+        private final double minRoundTrip;
+
+        private Estimate(double baseTime, double offset, double drift, double errorBound, double minRoundTrip) {
+            this.baseTime = baseTime;
+            this.offset = offset;
+            this.drift = drift;
+            this.errorBound = errorBound;
+            this.minRoundTrip = minRoundTrip;
+        }
+    }
+}
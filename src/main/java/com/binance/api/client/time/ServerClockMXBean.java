@@ -0,0 +1,36 @@
+package com.binance.api.client.time;
+
+/**
+ * JMX view of the estimate of the exchange's clock.
+ */
+public interface ServerClockMXBean {
+
+  /**
+   * @return true once a sample of the server time has been taken.
+   */
+  boolean isSynced();
+
+  /**
+   * @return how far the server clock is ahead of the local wall clock, in milliseconds.
+   */
+  double getOffsetMillis();
+
+  /**
+   * @return how fast the server clock gains on the local clock, in parts per million.
+   */
+  double getDriftPpm();
+
+  /**
+   * @return the bound on the error of a corrected timestamp, in milliseconds.
+   */
+  double getErrorBoundMillis();
+
+  /**
+   * @return the lowest round trip of the samples the estimate is made from, in milliseconds.
+   */
+  double getMinRoundTripMillis();
+
+  long getSampleCount();
+
+  long getFailureCount();
+}
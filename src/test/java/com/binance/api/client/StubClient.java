@@ -0,0 +1,46 @@
+package com.binance.api.client;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A stub of one of the client interfaces for tests, answering the calls it is given an answer for and failing any
+ * other with an UnsupportedOperationException naming the call.  Overloads of a call share its answer.
+ */
+public final class StubClient<T> {
+    /**
+     * Answers a call, or throws what the call throws.
+     */
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    private final Class<T> type;
+    private final Map<String, Answer> answers = new HashMap<>();
+
+    private StubClient(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> StubClient<T> of(Class<T> type) {
+        return new StubClient<>(type);
+    }
+
+    public StubClient<T> answer(String method, Answer answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    public T create() {
+        Map<String, Answer> answers = new HashMap<>(this.answers);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Answer answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return answer.answer(args);
+        }));
+    }
+}
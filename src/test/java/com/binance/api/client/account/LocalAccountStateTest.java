@@ -0,0 +1,145 @@
+package com.binance.api.client.account;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalAccountStateTest {
+    private final CompletableFuture<Account> account = new CompletableFuture<>();
+    private List<Order> openOrders = Collections.emptyList();
+    private BinanceApiCallback<UserDataUpdateEvent> events;
+    private LocalAccountState state;
+
+    /**
+     * A client answering the stream calls at once and the account snapshot when the test completes it.
+     */
+    @BeforeEach
+    void setUp() {
+        BinanceApiAsyncExecutorRestClient client = (BinanceApiAsyncExecutorRestClient) Proxy.newProxyInstance(
+                BinanceApiAsyncExecutorRestClient.class.getClassLoader(), new Class<?>[]{BinanceApiAsyncExecutorRestClient.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "startUserDataStream":
+                            ListenKey key = new ListenKey();
+                            key.setListenKey("listen-key");
+                            return CompletableFuture.completedFuture(key);
+                        case "getAccount":
+                            return account;
+                        case "getOpenOrders":
+                            return CompletableFuture.completedFuture(openOrders);
+                        default:
+                            return CompletableFuture.completedFuture(null);
+                    }
+                });
+        state = new LocalAccountState(client, (listenKey, callback) -> {
+            events = callback;
+            return () -> { };
+        }, Duration.ofHours(1), Duration.ofHours(1), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        state.close();
+    }
+
+    private static Account account(long updateTime, AssetBalance... balances) {
+        Account account = new Account();
+        account.setUpdateTime(updateTime);
+        account.setBalances(Arrays.asList(balances));
+        return account;
+    }
+
+    private static AssetBalance balance(String asset, String free) {
+        AssetBalance balance = new AssetBalance();
+        balance.setAsset(asset);
+        balance.setFree(free);
+        balance.setLocked("0.00000000");
+        return balance;
+    }
+
+    private static Order order(String symbol, long orderId) {
+        Order order = new Order();
+        order.setSymbol(symbol);
+        order.setOrderId(orderId);
+        order.setStatus(OrderStatus.NEW);
+        return order;
+    }
+
+    private static UserDataUpdateEvent accountUpdate(long time, AssetBalance... balances) {
+        AccountUpdateEvent update = new AccountUpdateEvent();
+        update.setEventTime(time);
+        update.setBalances(Arrays.asList(balances));
+        UserDataUpdateEvent event = new UserDataUpdateEvent();
+        event.setEventType(UserDataUpdateEventType.ACCOUNT_UPDATE);
+        event.setEventTime(time);
+        event.setAccountUpdateEvent(update);
+        return event;
+    }
+
+    private static UserDataUpdateEvent orderUpdate(long time, String symbol, long orderId, OrderStatus status) {
+        OrderTradeUpdateEvent update = new OrderTradeUpdateEvent();
+        update.setEventTime(time);
+        update.setSymbol(symbol);
+        update.setOrderId(orderId);
+        update.setOrderStatus(status);
+        UserDataUpdateEvent event = new UserDataUpdateEvent();
+        event.setEventType(UserDataUpdateEventType.ORDER_TRADE_UPDATE);
+        event.setEventTime(time);
+        event.setOrderTradeUpdateEvent(update);
+        return event;
+    }
+
+    @Test
+    void keepsOrdersOfDifferentSymbolsWithTheSameId() {
+        openOrders = Arrays.asList(order("ETHBTC", 1), order("LTCBTC", 1));
+        state.start();
+        account.complete(account(1000));
+        assertTrue(state.isLive());
+        assertEquals(2, state.getOpenOrderCount());
+
+        events.onResponse(orderUpdate(1100, "LTCBTC", 1, OrderStatus.CANCELED));
+        assertNull(state.getOpenOrder("LTCBTC", 1));
+        assertNotNull(state.getOpenOrder("ETHBTC", 1));
+        assertEquals(1, state.getOpenOrders("ETHBTC").size());
+    }
+
+    @Test
+    void dropsBufferedEventsTheSnapshotAlreadyReflects() {
+        state.start();
+        events.onResponse(accountUpdate(900, balance("BTC", "1.00000000")));
+        events.onResponse(orderUpdate(950, "LTCBTC", 7, OrderStatus.NEW));
+        events.onResponse(accountUpdate(1100, balance("ETH", "2.00000000")));
+        // the order was placed and filled before the snapshot was taken
+        account.complete(account(1000, balance("BTC", "0.50000000")));
+
+        assertTrue(state.isLive());
+        assertEquals(50_000_000, state.getFree("BTC"));
+        assertEquals(200_000_000, state.getFree("ETH"));
+        assertNull(state.getOpenOrder("LTCBTC", 7));
+        assertEquals(0, state.getOpenOrderCount());
+    }
+}
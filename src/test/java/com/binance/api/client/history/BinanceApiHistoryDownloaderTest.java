@@ -0,0 +1,72 @@
+package com.binance.api.client.history;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.StubClient;
+import com.binance.api.client.domain.market.AggTrade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinanceApiHistoryDownloaderTest {
+    private static List<AggTrade> trades(long fromId, int count) {
+        List<AggTrade> trades = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            AggTrade trade = new AggTrade();
+            trade.setAggregatedTradeId(id);
+            trade.setTradeTime(id);
+            trades.add(trade);
+        }
+        return trades;
+    }
+
+    @Test
+    void pagesThroughAWindowByTradeId() {
+        List<List<Object>> calls = new ArrayList<>();
+        BinanceApiAsyncExecutorRestClient client = StubClient.of(BinanceApiAsyncExecutorRestClient.class)
+                .answer("getAggTrades", args -> {
+                    calls.add(Arrays.asList(args).subList(0, 5));
+                    long fromId = args[1] == null ? 0 : Long.parseLong((String) args[1]);
+                    return CompletableFuture.completedFuture(trades(fromId, BinanceApiHistoryDownloader.MAX_LIMIT));
+                })
+                .create();
+        List<Long> ids = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        new BinanceApiHistoryDownloader(client, Runnable::run).aggTrades("ETHBTC", 0, 2500)
+                .subscribe(new Flow.Subscriber<AggTrade>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(AggTrade item) {
+                        ids.add(item.getAggregatedTradeId());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed[0] = true;
+                    }
+                });
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("ETHBTC", null, 1000, 0L, 2499L),
+                Arrays.asList("ETHBTC", "1000", 1000, null, null),
+                Arrays.asList("ETHBTC", "2000", 1000, null, null)), calls);
+        assertEquals(2500, ids.size());
+        assertEquals(0L, ids.get(0));
+        assertEquals(2499L, ids.get(ids.size() - 1));
+        assertTrue(completed[0]);
+    }
+}
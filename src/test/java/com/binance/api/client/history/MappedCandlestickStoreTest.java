@@ -0,0 +1,104 @@
+package com.binance.api.client.history;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedCandlestickStoreTest {
+    private static final long MINUTE = 60_000;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void readsBackWhatWasAdded() throws IOException {
+        try (MappedCandlestickStore store = MappedCandlestickStore.open(root, "ETHBTC", CandlestickInterval.ONE_MINUTE)) {
+            store.add(0, 2 * MINUTE, Arrays.asList(bar(0, "0.07", "12.5", "0.875"), bar(MINUTE, "0.071", "3", "0.213")));
+            store.add(-MINUTE, 0, Collections.singletonList(bar(-MINUTE, "0.069", "1", "0.069")));
+
+            assertEquals(3, store.size());
+            assertEquals(-MINUTE, store.getCoveredFrom());
+            assertEquals(2 * MINUTE, store.getCoveredTo());
+            assertEquals(1, store.lowerBound(0));
+            assertEquals(7000000, store.getOpen(1));
+            assertEquals(1250000000, store.getVolume(1));
+            List<Candlestick> bars = store.read(0, 2 * MINUTE, 10);
+            assertEquals(2, bars.size());
+            assertEquals("0.07100000", bars.get(1).getOpen());
+            assertEquals("3.00000000", bars.get(1).getVolume());
+            assertEquals("0.21300000", bars.get(1).getQuoteAssetVolume());
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getOpen(3));
+        }
+    }
+
+    @Test
+    void holdsLargeVolumesAtASmallerScale() throws IOException {
+        try (MappedCandlestickStore store = MappedCandlestickStore.open(root, "SHIBUSDT", CandlestickInterval.MONTHLY, 0, 6)) {
+            store.add(0, MINUTE, Collections.singletonList(bar(0, "0.00001234", "4123456789012.00000000",
+                    "50884456.77640900")));
+
+            assertEquals(4123456789012L, store.getVolume(0));
+            assertEquals(50884456776409L, store.getQuoteAssetVolume(0));
+            Candlestick bar = store.read(0, MINUTE, 1).get(0);
+            assertEquals("0.00001234", bar.getOpen());
+            assertEquals("4123456789012", bar.getVolume());
+            assertEquals("50884456.776409", bar.getQuoteAssetVolume());
+        }
+        try (MappedCandlestickStore store = MappedCandlestickStore.open(root, "SHIBUSDT", CandlestickInterval.MONTHLY)) {
+            assertEquals(0, store.getVolumeScale());
+            assertEquals(6, store.getQuoteVolumeScale());
+            assertEquals(4123456789012L, store.getVolume(0));
+        }
+    }
+
+    @Test
+    void rejectsBarsWhichDoNotFitWithoutWritingAny() throws IOException {
+        try (MappedCandlestickStore store = MappedCandlestickStore.open(root, "SHIBUSDT", CandlestickInterval.ONE_MINUTE)) {
+            store.add(MINUTE, 2 * MINUTE, Collections.singletonList(bar(MINUTE, "0.00001234", "1", "0.00001234")));
+
+            List<Candlestick> bars = Arrays.asList(bar(0, "0.00001234", "2", "0.00002468"),
+                    bar(2 * MINUTE, "0.00001234", "412345678901.00000000", "5088445.67764090"));
+            assertThrows(NumberFormatException.class, () -> store.add(0, 3 * MINUTE, bars));
+
+            assertEquals(1, store.size());
+            assertEquals(MINUTE, store.getCoveredFrom());
+            assertEquals(2 * MINUTE, store.getCoveredTo());
+            assertEquals(MINUTE, store.getOpenTime(0));
+        }
+    }
+
+    @Test
+    void rejectsRangesWhichAreNotContiguous() throws IOException {
+        try (MappedCandlestickStore store = MappedCandlestickStore.open(root, "ETHBTC", CandlestickInterval.ONE_MINUTE)) {
+            store.add(0, MINUTE, Collections.singletonList(bar(0, "0.07", "1", "0.07")));
+            assertThrows(IllegalArgumentException.class, () -> store.add(2 * MINUTE, 3 * MINUTE, Collections.emptyList()));
+            assertEquals(1, store.read(0, MINUTE, 10).size());
+        }
+    }
+
+    private static Candlestick bar(long openTime, String price, String volume, String quoteVolume) {
+        Candlestick c = new Candlestick();
+        c.setOpenTime(openTime);
+        c.setCloseTime(openTime + MINUTE - 1);
+        c.setOpen(price);
+        c.setHigh(price);
+        c.setLow(price);
+        c.setClose(price);
+        c.setVolume(volume);
+        c.setQuoteAssetVolume(quoteVolume);
+        c.setNumberOfTrades(1L);
+        c.setTakerBuyBaseAssetVolume("0");
+        c.setTakerBuyQuoteAssetVolume("0");
+        return c;
+    }
+}
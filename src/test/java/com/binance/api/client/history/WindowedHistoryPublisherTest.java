@@ -0,0 +1,131 @@
+package com.binance.api.client.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WindowedHistoryPublisherTest {
+    /**
+     * The windows fetched by their start, completed by the test.
+     */
+    private final Map<Long, CompletableFuture<List<Long>>> windows = new LinkedHashMap<>();
+    private final List<Long> received = new ArrayList<>();
+    private Flow.Subscription subscription;
+    private Throwable error;
+    private boolean completed;
+
+    private WindowedHistoryPublisher<Long> publisher(long startTime, long endTime, long windowMillis, int maxConcurrency) {
+        return new WindowedHistoryPublisher<>(startTime, endTime, windowMillis, maxConcurrency, (from, to) -> {
+            CompletableFuture<List<Long>> window = new CompletableFuture<>();
+            windows.put(from, window);
+            return window;
+        }, Runnable::run);
+    }
+
+    private void subscribe(Flow.Publisher<Long> publisher) {
+        publisher.subscribe(new Flow.Subscriber<Long>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+            }
+
+            @Override
+            public void onNext(Long item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error = throwable;
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        });
+    }
+
+    @Test
+    void splitsTheRangeIntoWindows() {
+        List<long[]> fetched = new ArrayList<>();
+        subscribe(new WindowedHistoryPublisher<>(0, 250, 100, 8, (from, to) -> {
+            fetched.add(new long[]{from, to});
+            return CompletableFuture.completedFuture(Arrays.asList(from, to - 1));
+        }, Runnable::run));
+        subscription.request(Long.MAX_VALUE);
+
+        assertEquals(3, fetched.size());
+        assertEquals(Arrays.asList(0L, 100L), Arrays.asList(fetched.get(0)[0], fetched.get(0)[1]));
+        assertEquals(Arrays.asList(200L, 250L), Arrays.asList(fetched.get(2)[0], fetched.get(2)[1]));
+        assertEquals(Arrays.asList(0L, 99L, 100L, 199L, 200L, 249L), received);
+        assertTrue(completed);
+    }
+
+    @Test
+    void deliversInWindowOrderWithinTheDemand() {
+        subscribe(publisher(0, 400, 100, 2));
+        // no more windows are fetched than may be buffered ahead of the subscriber
+        assertEquals(Arrays.asList(0L, 100L), new ArrayList<>(windows.keySet()));
+
+        windows.get(100L).complete(Arrays.asList(100L, 101L));
+        subscription.request(3);
+        assertTrue(received.isEmpty());
+        windows.get(0L).complete(Arrays.asList(0L, 1L));
+        assertEquals(Arrays.asList(0L, 1L, 100L), received);
+        assertEquals(Arrays.asList(0L, 100L, 200L, 300L), new ArrayList<>(windows.keySet()));
+
+        subscription.request(1);
+        assertEquals(Arrays.asList(0L, 1L, 100L, 101L), received);
+        assertEquals(4, windows.size());
+        windows.get(200L).complete(Arrays.asList(200L));
+        windows.get(300L).complete(Arrays.asList());
+        assertFalse(completed);
+        subscription.request(10);
+        assertEquals(Arrays.asList(0L, 1L, 100L, 101L, 200L), received);
+        assertTrue(completed);
+    }
+
+    @Test
+    void cancelsTheWindowsInFlight() {
+        subscribe(publisher(0, 400, 100, 2));
+        subscription.request(Long.MAX_VALUE);
+        windows.get(0L).complete(Arrays.asList(0L));
+        subscription.cancel();
+
+        assertEquals(Arrays.asList(0L), received);
+        assertTrue(windows.get(100L).isCancelled());
+        assertTrue(windows.get(200L).isCancelled());
+        assertEquals(3, windows.size());
+        assertFalse(completed);
+        assertNull(error);
+    }
+
+    @Test
+    void endsWithTheErrorOfAFetchWhichThrows() {
+        IllegalStateException thrown = new IllegalStateException("executor shut down");
+        subscribe(new WindowedHistoryPublisher<>(0, 300, 100, 4, (from, to) -> {
+            if (from == 100) {
+                throw thrown;
+            }
+            return CompletableFuture.completedFuture(Arrays.asList(from));
+        }, Runnable::run));
+        subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList(0L), received);
+        assertSame(thrown, error);
+        assertFalse(completed);
+    }
+}
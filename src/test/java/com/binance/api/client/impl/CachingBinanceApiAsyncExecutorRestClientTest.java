@@ -0,0 +1,151 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.StubClient;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingBinanceApiAsyncExecutorRestClientTest {
+    private static final Duration TTL = Duration.ofMillis(50);
+
+    private final ExecutorService responseService = Executors.newSingleThreadExecutor();
+    private final Deque<StubClient.Answer> answers = new ArrayDeque<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CachingBinanceApiAsyncExecutorRestClient client = new CachingBinanceApiAsyncExecutorRestClient(
+            StubClient.of(BinanceApiAsyncExecutorRestClient.class).answer("getExchangeInfo", args -> {
+                calls.incrementAndGet();
+                return answers.remove().answer(args);
+            }).create(), responseService, Collections.singletonMap(BinanceApiEndpoint.EXCHANGE_INFO, TTL));
+
+    @AfterEach
+    void tearDown() {
+        responseService.shutdownNow();
+    }
+
+    private void answer(ExchangeInfo info) {
+        answers.add(args -> CompletableFuture.completedFuture(info));
+    }
+
+    private ExchangeInfo get() throws Exception {
+        return client.getExchangeInfo(null).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void servesHitsFromTheCache() throws Exception {
+        ExchangeInfo info = new ExchangeInfo();
+        answer(info);
+        assertSame(info, get());
+        assertSame(info, get());
+        assertSame(info, get());
+        assertEquals(1, calls.get());
+        assertEquals(1, client.getMissCount(BinanceApiEndpoint.EXCHANGE_INFO));
+        assertEquals(2, client.getHitCount(BinanceApiEndpoint.EXCHANGE_INFO));
+        assertEquals(0, client.getRefreshCount(BinanceApiEndpoint.EXCHANGE_INFO));
+    }
+
+    @Test
+    void refreshesAheadOnceTheTtlHasPassed() throws Exception {
+        ExchangeInfo stale = new ExchangeInfo();
+        CompletableFuture<ExchangeInfo> refresh = new CompletableFuture<>();
+        answer(stale);
+        answers.add(args -> refresh);
+        assertSame(stale, get());
+        Thread.sleep(TTL.toMillis() * 2);
+
+        // the stale value is returned at once while a single refresh is made
+        assertSame(stale, get());
+        assertSame(stale, get());
+        ExchangeInfo fresh = new ExchangeInfo();
+        refresh.complete(fresh);
+        assertSame(fresh, get());
+        assertEquals(2, calls.get());
+        assertEquals(1, client.getRefreshCount(BinanceApiEndpoint.EXCHANGE_INFO));
+        assertEquals(3, client.getHitCount(BinanceApiEndpoint.EXCHANGE_INFO));
+    }
+
+    @Test
+    void keepsTheValueWhenARefreshFails() throws Exception {
+        ExchangeInfo info = new ExchangeInfo();
+        ExchangeInfo fresh = new ExchangeInfo();
+        answer(info);
+        // the delegate throws rather than failing its future, as when its executor is shut down
+        answers.add(args -> {
+            throw new RejectedExecutionException();
+        });
+        answer(fresh);
+        get();
+        Thread.sleep(TTL.toMillis() * 2);
+
+        assertSame(info, get());
+        assertEquals(1, client.getRefreshFailureCount(BinanceApiEndpoint.EXCHANGE_INFO));
+        // the next call refreshes again, the delegate answering at once
+        assertSame(fresh, get());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void dropsAFailedLoad() throws Exception {
+        ExchangeInfo info = new ExchangeInfo();
+        answers.add(args -> CompletableFuture.failedFuture(new BinanceApiException("unavailable")));
+        answers.add(args -> {
+            throw new RejectedExecutionException();
+        });
+        answer(info);
+
+        ExecutionException failed = assertThrows(ExecutionException.class, this::get);
+        assertInstanceOf(BinanceApiException.class, failed.getCause());
+        ExecutionException rejected = assertThrows(ExecutionException.class, this::get);
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        assertSame(info, get());
+        assertEquals(3, calls.get());
+        assertEquals(3, client.getMissCount(BinanceApiEndpoint.EXCHANGE_INFO));
+    }
+
+    @Test
+    void completesTheFutureOnceTheCallbackHasRun() throws Exception {
+        ExchangeInfo info = new ExchangeInfo();
+        answer(info);
+        AtomicInteger responses = new AtomicInteger();
+        assertSame(info, client.getExchangeInfo(v -> responses.incrementAndGet()).get(5, TimeUnit.SECONDS));
+        assertEquals(1, responses.get());
+
+        // a callback which throws fails the future, and is told what it threw
+        IllegalStateException thrown = new IllegalStateException("callback");
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        CompletableFuture<ExchangeInfo> f = client.getExchangeInfo(new BinanceApiCallback<ExchangeInfo>() {
+            @Override
+            public void onResponse(ExchangeInfo response) {
+                throw thrown;
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                failure.complete(cause);
+            }
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        assertSame(thrown, e.getCause());
+        assertSame(thrown, failure.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,186 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.limit.RequestWeightScheduler;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallCancellerTest {
+    private final CallCanceller canceller = new CallCanceller();
+    private final OkHttpClient http = new OkHttpClient.Builder()
+            .readTimeout(30, TimeUnit.SECONDS)
+            .addInterceptor(canceller)
+            .build();
+    private final BlockingQueue<Socket> accepted = new LinkedBlockingQueue<>();
+    private ServerSocket server;
+
+    /**
+     * A server reading requests and never answering, so a call blocks in its read of the response.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    Socket socket = server.accept();
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    String line;
+                    do {
+                        line = in.readLine();
+                    } while (line != null && !line.isEmpty());
+                    accepted.add(socket);
+                }
+            } catch (IOException e) {
+                // closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getLocalPort() + "/api/v1/time";
+    }
+
+    @Test
+    void cancelsTheCallOfABlockedThread() throws Exception {
+        CompletableFuture<Thread> caller = new CompletableFuture<>();
+        CompletableFuture<Void> call = CompletableFuture.runAsync(() -> {
+            caller.complete(Thread.currentThread());
+            try {
+                http.newCall(new Request.Builder().url(url()).build())
+                        .execute();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertNotNull(accepted.poll(5, TimeUnit.SECONDS), "no request read");
+        Thread thread = caller.get(5, TimeUnit.SECONDS);
+
+        assertTrue(canceller.cancel(thread));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getCause() instanceof IOException);
+        assertFalse(canceller.cancel(thread));
+    }
+
+    @Test
+    void abortsTheHttpCallOfACancelledRequest() throws Exception {
+        CompletableFuture<Throwable> ended = new CompletableFuture<>();
+        BinanceApiRestClient blocking = (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    try {
+                        http.newCall(new Request.Builder().url(url()).build()).execute();
+                        ended.complete(null);
+                    } catch (IOException e) {
+                        ended.complete(e);
+                    }
+                    throw new IllegalStateException("no answer");
+                });
+        ExecutorService requestService = Executors.newSingleThreadExecutor();
+        try {
+            BinanceApiAsyncExecutorRestClientImpl client = new BinanceApiAsyncExecutorRestClientImpl(blocking, canceller,
+                    requestService, requestService, BinanceApiAsyncExecutorOptions.defaults());
+            CompletableFuture<ServerTime> time = client.getServerTime(null);
+            assertNotNull(accepted.poll(5, TimeUnit.SECONDS), "no request read");
+
+            assertTrue(time.cancel(true));
+
+            assertTrue(ended.get(5, TimeUnit.SECONDS) instanceof IOException, "HTTP call not aborted");
+        } finally {
+            requestService.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelsTheCallsOfTheUpstreamClientItCreates() throws Exception {
+        BinanceApiRestClient upstream = canceller.newRestClient("http://127.0.0.1:" + server.getLocalPort(), null, null);
+        CompletableFuture<Thread> caller = new CompletableFuture<>();
+        CompletableFuture<Long> call = CompletableFuture.supplyAsync(() -> {
+            caller.complete(Thread.currentThread());
+            return upstream.getServerTime();
+        });
+        assertNotNull(accepted.poll(5, TimeUnit.SECONDS), "no request read");
+
+        assertTrue(canceller.cancel(caller.get(5, TimeUnit.SECONDS)));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BinanceApiException);
+    }
+
+    @Test
+    void readsTheRateLimitHeaders() throws Exception {
+        HttpServer refusing = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        refusing.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Retry-After", "2");
+            exchange.getResponseHeaders().set("X-MBX-USED-WEIGHT-1M", "1150");
+            exchange.sendResponseHeaders(RetryPolicy.TOO_MANY_REQUESTS_STATUS, -1);
+            exchange.close();
+        });
+        refusing.start();
+        try {
+            RetryPolicy retry = new RetryPolicy();
+            RequestWeightScheduler scheduler = new RequestWeightScheduler();
+            OkHttpClient observed = new OkHttpClient.Builder().addInterceptor(new CallCanceller(retry, scheduler)).build();
+            observed.newCall(new Request.Builder().url("http://127.0.0.1:" + refusing.getAddress().getPort() + "/api/v3/ticker/price")
+                    .build()).execute().close();
+
+            assertEquals(1150, scheduler.getUsedWeight());
+            long coolDown = retry.getCoolDownRemaining(TimeUnit.MILLISECONDS);
+            assertTrue(coolDown > 1000 && coolDown <= 2000, "cool-down " + coolDown);
+            assertEquals(0, retry.getBanRemaining(TimeUnit.MILLISECONDS));
+        } finally {
+            refusing.stop(0);
+        }
+    }
+
+    @Test
+    void cancelsACallStartedOnAnInterruptedThread() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(IOException.class, () -> http.newCall(new Request.Builder()
+                    .url(url()).build()).execute());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallbackDispatcherTest {
+    private final CallbackDispatcher dispatcher = new CallbackDispatcher(Runnable::run, true, BinanceApiMetrics.NOOP);
+    private final List<Object> seen = new ArrayList<>();
+
+    @Test
+    void runsOnFailureWhenOnResponseThrows() {
+        IllegalStateException thrown = new IllegalStateException("bad response");
+        CompletableFuture<String> f = new CompletableFuture<>();
+        BinanceApiCallback<String> callback = new BinanceApiCallback<String>() {
+            @Override
+            public void onResponse(String response) {
+                seen.add(response);
+                throw thrown;
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                seen.add(cause);
+            }
+        };
+        CompletableFuture<String> result = dispatcher.respond(BinanceApiEndpoint.PRICE_STATISTICS_24HR, "ETHBTC", callback, f);
+
+        f.complete("ok");
+
+        assertEquals(List.of("ok", thrown), seen);
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertSame(thrown, e.getCause());
+    }
+
+    @Test
+    void runsCallbacksOfASymbolInRequestOrder() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        dispatcher.respond(BinanceApiEndpoint.PRICE_STATISTICS_24HR, "ETHBTC", callback(), first);
+        dispatcher.respond(BinanceApiEndpoint.PRICE_STATISTICS_24HR, "ETHBTC", callback(), second);
+
+        second.complete("second");
+        assertTrue(seen.isEmpty());
+        first.completeExceptionally(new IOException("first"));
+
+        assertEquals(2, seen.size());
+        assertTrue(seen.get(0) instanceof IOException);
+        assertEquals("second", seen.get(1));
+    }
+
+    private BinanceApiCallback<String> callback() {
+        return new BinanceApiCallback<String>() {
+            @Override
+            public void onResponse(String response) {
+                seen.add(response);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                seen.add(cause);
+            }
+        };
+    }
+}
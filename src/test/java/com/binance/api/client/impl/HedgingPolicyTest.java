@@ -0,0 +1,98 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.StubClient;
+import com.binance.api.client.domain.market.TickerPrice;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingPolicyTest {
+
+    @Test
+    void hedgesPastThePercentileOnceEnoughCallsWereSeen() {
+        HedgingPolicy policy = new HedgingPolicy(EnumSet.of(BinanceApiEndpoint.PRICE), 95, 60);
+        for (int ms = 1; ms < HedgingPolicy.MIN_SAMPLES; ms++) {
+            policy.record(BinanceApiEndpoint.PRICE, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        assertEquals(-1, policy.getDelayNanos(BinanceApiEndpoint.PRICE));
+        policy.record(BinanceApiEndpoint.PRICE, TimeUnit.MILLISECONDS.toNanos(HedgingPolicy.MIN_SAMPLES));
+        double delayMillis = policy.getDelayNanos(BinanceApiEndpoint.PRICE) / 1e6;
+        assertEquals(95, delayMillis, 95 * 0.05);
+
+        assertFalse(policy.isHedged(BinanceApiEndpoint.ORDER_BOOK));
+        assertEquals(-1, policy.getDelayNanos(BinanceApiEndpoint.ORDER_BOOK));
+    }
+
+    @Test
+    void hedgesWithinItsWeightBudget() {
+        HedgingPolicy policy = new HedgingPolicy(EnumSet.of(BinanceApiEndpoint.PRICE), 95, 3);
+        assertTrue(policy.tryAcquire(BinanceApiEndpoint.PRICE, 1));
+        assertTrue(policy.tryAcquire(BinanceApiEndpoint.PRICE, 2));
+        assertFalse(policy.tryAcquire(BinanceApiEndpoint.PRICE, 1));
+        assertEquals(2, policy.getHedgeCount(BinanceApiEndpoint.PRICE));
+    }
+
+    @Test
+    void refusesToHedgeAnOrder() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HedgingPolicy(EnumSet.of(BinanceApiEndpoint.NEW_ORDER), 95, 60));
+    }
+
+    @Test
+    void recordsTheCallAHedgeBeatAsCensored() throws Exception {
+        List<Long> samples = new CopyOnWriteArrayList<>();
+        HedgingPolicy policy = new HedgingPolicy(EnumSet.of(BinanceApiEndpoint.PRICE), 95, 60) {
+            @Override
+            public void record(BinanceApiEndpoint endpoint, long nanos) {
+                samples.add(nanos);
+                super.record(endpoint, nanos);
+            }
+        };
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.record(BinanceApiEndpoint.PRICE, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        samples.clear();
+        TickerPrice price = new TickerPrice();
+        AtomicInteger calls = new AtomicInteger();
+        BinanceApiRestClient slowFirst = StubClient.of(BinanceApiRestClient.class).answer("getPrice", args -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            }
+            return price;
+        }).create();
+        ExecutorService requestService = Executors.newFixedThreadPool(2);
+        try {
+            BinanceApiAsyncExecutorRestClientImpl client = new BinanceApiAsyncExecutorRestClientImpl(slowFirst, requestService,
+                    requestService, BinanceApiAsyncExecutorOptions.defaults().hedgingPolicy(policy));
+            assertSame(price, client.getPrice("ETHBTC", null).get(5, TimeUnit.SECONDS));
+            // the win is counted, and the other call cancelled, once the answer is in
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (samples.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            assertEquals(1, policy.getHedgeWinCount(BinanceApiEndpoint.PRICE));
+            // the hedge's latency, and the time the cancelled call had been waiting
+            assertEquals(2, samples.size());
+            assertTrue(samples.get(1) >= policy.getDelayNanos(BinanceApiEndpoint.PRICE),
+                    "censored " + samples.get(1));
+        } finally {
+            requestService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiAsyncExecutorOptions;
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.replay.RecordedCall;
+import com.binance.api.client.replay.ReplayServer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Makes the same requests through the non-blocking client and through the executor based one, and expects the same
+ * results from them.  Both are built on the upstream clients, pointed at a local {@link ReplayServer} answering
+ * their HTTP requests from the same recording: the non-blocking client enqueues its calls on OkHttp's dispatcher and
+ * completes its futures from the I/O callbacks, the executor based one blocks a request thread in each call.
+ */
+class NonBlockingBinanceApiAsyncExecutorRestClientTest {
+    // equal maps are written the same whatever their iteration order
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final ExecutorService requestService = Executors.newFixedThreadPool(4);
+    private final ExecutorService responseService = Executors.newFixedThreadPool(2);
+    private ReplayServer server;
+    private BinanceApiAsyncExecutorRestClient executor;
+    private BinanceApiAsyncExecutorRestClient nonBlocking;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ReplayServer(Arrays.asList(
+                response("getServerTime", "[]", "{\"serverTime\":1650000000000}"),
+                response("getPrice", "[\"ETHBTC\"]", "{\"symbol\":\"ETHBTC\",\"price\":\"0.07473200\"}"),
+                response("getPrice", "[\"LTCBTC\"]", "{\"symbol\":\"LTCBTC\",\"price\":\"0.00191300\"}"),
+                new RecordedCall(0, 0, "getPrice", "[\"XXXBTC\"]", RecordedCall.Outcome.API_ERROR, RetryPolicy.INVALID_SYMBOL,
+                        "Invalid symbol.".getBytes(StandardCharsets.UTF_8)),
+                response("getAllPrices", "[]", "[{\"symbol\":\"ETHBTC\",\"price\":\"0.07473200\"},"
+                        + "{\"symbol\":\"LTCBTC\",\"price\":\"0.00191300\"},{\"symbol\":\"BNBBTC\",\"price\":\"0.00965100\"}]"),
+                response("getBookTickers", "[]", "[{\"symbol\":\"ETHBTC\",\"bidPrice\":\"0.07473100\",\"bidQty\":\"3.20000000\","
+                        + "\"askPrice\":\"0.07473200\",\"askQty\":\"0.41000000\"},{\"symbol\":\"LTCBTC\",\"bidPrice\":\"0.00191200\","
+                        + "\"bidQty\":\"12.00000000\",\"askPrice\":\"0.00191300\",\"askQty\":\"8.50000000\"}]")), 0);
+        CallCanceller canceller = new CallCanceller();
+        executor = new BinanceApiAsyncExecutorRestClientImpl(canceller.newRestClient(server.getBaseUrl(), null, null), canceller,
+                requestService, responseService, BinanceApiAsyncExecutorOptions.defaults());
+        nonBlocking = new NonBlockingBinanceApiAsyncExecutorRestClient(
+                new CallCanceller().newAsyncRestClient(server.getBaseUrl(), null, null), responseService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        requestService.shutdownNow();
+        responseService.shutdownNow();
+    }
+
+    private static RecordedCall response(String method, String arguments, String body) {
+        return new RecordedCall(0, 0, method, arguments, RecordedCall.Outcome.RESPONSE, 0,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void assertSameResult(Function<BinanceApiAsyncExecutorRestClient, CompletableFuture<?>> request) throws Exception {
+        String expected = json(request.apply(executor).get(10, TimeUnit.SECONDS));
+        String actual = json(request.apply(nonBlocking).get(10, TimeUnit.SECONDS));
+        assertEquals(expected, actual);
+    }
+
+    private static String json(Object response) throws JsonProcessingException {
+        return MAPPER.writeValueAsString(response);
+    }
+
+    @Test
+    void getsTheServerTime() throws Exception {
+        assertSameResult(c -> c.getServerTime(null));
+        assertEquals(1650000000000L, nonBlocking.getServerTime(null).get(10, TimeUnit.SECONDS).getServerTime());
+    }
+
+    @Test
+    void getsThePriceOfASymbol() throws Exception {
+        assertSameResult(c -> c.getPrice("ETHBTC", null));
+    }
+
+    @Test
+    void getsPricesSymbolBySymbol() throws Exception {
+        // two symbols weigh no more than the bulk call, an unknown one is left out as the bulk call leaves it out
+        assertSameResult(c -> c.getPrices(Arrays.asList("ETHBTC", "XXXBTC"), null));
+    }
+
+    @Test
+    void getsPricesInBulk() throws Exception {
+        List<String> symbols = Arrays.asList("ETHBTC", "LTCBTC", "XXXBTC");
+        assertSameResult(c -> c.getPrices(symbols, null));
+        assertEquals(2, nonBlocking.getPrices(symbols, null).get(10, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void getsBookTickers() throws Exception {
+        assertSameResult(c -> c.getBookTickers(Arrays.asList("LTCBTC", "XXXBTC"), null));
+    }
+
+    @Test
+    void failsAsTheExecutorClientFails() {
+        for (BinanceApiAsyncExecutorRestClient client : Arrays.asList(executor, nonBlocking)) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> client.getPrice("XXXBTC", null).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(BinanceApiException.class, failure.getCause());
+            assertEquals(RetryPolicy.INVALID_SYMBOL, ((BinanceApiException) failure.getCause()).getError().getCode());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint.Lane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityLaneExecutorTest {
+    private final BlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<>();
+    private final ThreadFactory threadFactory = r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        t.setUncaughtExceptionHandler((thread, e) -> uncaught.add(e));
+        return t;
+    };
+    private PriorityLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsTheHighestPriorityLaneFirst() throws InterruptedException {
+        executor = new PriorityLaneExecutor(1, Collections.emptyMap(), threadFactory);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<Lane> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        executor.execute(Lane.MARKET_DATA, () -> await(blocked));
+        executor.execute(Lane.MARKET_DATA, () -> ran(order, Lane.MARKET_DATA, done));
+        executor.execute(Lane.ACCOUNT, () -> ran(order, Lane.ACCOUNT, done));
+        executor.execute(Lane.TRADING, () -> ran(order, Lane.TRADING, done));
+        assertEquals(1, executor.getQueueDepth(Lane.MARKET_DATA));
+
+        blocked.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Lane.TRADING, Lane.ACCOUNT, Lane.MARKET_DATA), order);
+    }
+
+    @Test
+    void keepsReservedThreadsForTheirLane() throws InterruptedException {
+        executor = new PriorityLaneExecutor(2, Collections.singletonMap(Lane.TRADING, 1), threadFactory);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch traded = new CountDownLatch(1);
+        executor.execute(Lane.MARKET_DATA, () -> await(blocked));
+        executor.execute(Lane.MARKET_DATA, () -> await(blocked));
+        assertEquals(1, executor.getRunning(Lane.MARKET_DATA));
+        assertEquals(1, executor.getQueueDepth(Lane.MARKET_DATA));
+
+        executor.execute(Lane.TRADING, traded::countDown);
+
+        assertTrue(traded.await(5, TimeUnit.SECONDS));
+        blocked.countDown();
+    }
+
+    @Test
+    void givesBackTheSlotOfATaskThrowingAnError() throws InterruptedException {
+        executor = new PriorityLaneExecutor(1, Collections.emptyMap(), threadFactory);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(Lane.MARKET_DATA, () -> {
+            await(blocked);
+            throw new AssertionError("task failed");
+        });
+        executor.execute(Lane.MARKET_DATA, done::countDown);
+
+        blocked.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "queued task never started");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getRunning(Lane.MARKET_DATA));
+        // the handler runs once the thread ends, after the slot was given back
+        assertTrue(uncaught.poll(5, TimeUnit.SECONDS) instanceof AssertionError);
+    }
+
+    private static void ran(List<Lane> order, Lane lane, CountDownLatch done) {
+        order.add(lane);
+        done.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
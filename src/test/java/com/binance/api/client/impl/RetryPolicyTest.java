@@ -0,0 +1,147 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiError;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceApiRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(10));
+
+    private static BinanceApiException error(int code, String msg) {
+        BinanceApiError error = new BinanceApiError();
+        error.setCode(code);
+        error.setMsg(msg);
+        return new BinanceApiException(error);
+    }
+
+    /**
+     * Fails the first attempts with the failure, then answers.
+     */
+    private static CompletableFuture<String> attempt(AtomicInteger attempts, int failures, Throwable failure) {
+        return attempts.incrementAndGet() <= failures ? CompletableFuture.failedFuture(failure) : CompletableFuture.completedFuture("answer");
+    }
+
+    @Test
+    void retriesTransientFailures() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        BinanceApiException disconnected = new BinanceApiException(new IOException("connection reset"));
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(attempts, 2, disconnected));
+        assertEquals("answer", f.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2, policy.getRetryCount());
+    }
+
+    @Test
+    void givesUpAfterTheMaxRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+        BinanceApiException timeout = error(RetryPolicy.TIMEOUT, "Timeout waiting for response from backend server.");
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(attempts, Integer.MAX_VALUE, timeout));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        assertSame(timeout, e.getCause());
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void doesNotRetryAnOrderOrAPermanentFailure() {
+        AtomicInteger orders = new AtomicInteger();
+        CompletableFuture<String> order = policy.execute(BinanceApiEndpoint.NEW_ORDER, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(orders, 1, new BinanceApiException(new IOException("connection reset"))));
+        assertThrows(ExecutionException.class, () -> order.get(5, TimeUnit.SECONDS));
+        assertEquals(1, orders.get());
+
+        AtomicInteger prices = new AtomicInteger();
+        CompletableFuture<String> price = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(prices, 1, error(RetryPolicy.INVALID_SYMBOL, "Invalid symbol.")));
+        assertThrows(ExecutionException.class, () -> price.get(5, TimeUnit.SECONDS));
+        assertEquals(1, prices.get());
+        assertEquals(0, policy.getRetryCount());
+    }
+
+    @Test
+    void coolsDownUntilTheBanEnds() throws Exception {
+        long until = System.currentTimeMillis() + 300;
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(attempts, 1, error(RetryPolicy.TOO_MANY_REQUESTS, "Way too much request weight used; IP banned until " + until + ".")));
+        long remaining = policy.getCoolDownRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > 100 && remaining <= 300, "cool-down " + remaining);
+        assertEquals(1, policy.getCoolDownCount());
+
+        // a request made during the cool-down waits it out before its first attempt
+        AtomicInteger waiting = new AtomicInteger();
+        CompletableFuture<String> later = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(waiting, 0, null));
+        assertEquals(0, waiting.get());
+        assertEquals("answer", f.get(5, TimeUnit.SECONDS));
+        assertEquals("answer", later.get(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() >= until - 1);
+    }
+
+    @Test
+    void coolsDownForAsLongAsTheRetryAfterHeaderSays() throws Exception {
+        policy.onRateLimited(RetryPolicy.TOO_MANY_REQUESTS_STATUS, 200);
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE,
+                () -> attempt(attempts, 0, null));
+        // the error of the refused request does not stretch the cool-down to the next minute
+        policy.coolDown(error(RetryPolicy.TOO_MANY_REQUESTS, "Too much request weight used."));
+        long remaining = policy.getCoolDownRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > 100 && remaining <= 200, "cool-down " + remaining);
+        assertEquals(1, policy.getCoolDownCount());
+        assertEquals(0, attempts.get());
+        assertEquals("answer", f.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsRequestsAtOnceDuringABan() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE, () -> {
+            policy.onRateLimited(RetryPolicy.IP_BANNED_STATUS, TimeUnit.MINUTES.toMillis(2));
+            return attempt(attempts, 1, error(RetryPolicy.TOO_MANY_REQUESTS, "Way too much request weight used."));
+        });
+        // the banned request is not retried, nor is a later one sent
+        assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        assertEquals(1, attempts.get());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> policy.execute(BinanceApiEndpoint.PRICE,
+                BinanceApiRequestContext.NO_DEADLINE, () -> attempt(attempts, 0, null)).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BinanceApiRateLimitException);
+        assertTrue(((BinanceApiRateLimitException) e.getCause()).getRetryAfterMillis() > TimeUnit.MINUTES.toMillis(1));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void stopsRetryingAtTheDeadline() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy slow = new RetryPolicy(3, Duration.ofSeconds(10), Duration.ofSeconds(10));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        CompletableFuture<String> f = slow.execute(BinanceApiEndpoint.PRICE, deadline,
+                () -> attempt(attempts, Integer.MAX_VALUE, new BinanceApiException(new IOException("connection reset"))));
+        // fails rather than waiting up to 10 seconds for a retry which would end past the deadline
+        assertThrows(ExecutionException.class, () -> f.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelsTheAttemptInFlight() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> f = policy.execute(BinanceApiEndpoint.PRICE, BinanceApiRequestContext.NO_DEADLINE, () -> call);
+        assertTrue(f.cancel(true));
+        assertTrue(call.isCancelled());
+    }
+}
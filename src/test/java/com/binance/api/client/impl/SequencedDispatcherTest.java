@@ -0,0 +1,54 @@
+package com.binance.api.client.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SequencedDispatcherTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        // the Error a task throws ends its thread
+        t.setUncaughtExceptionHandler((thread, e) -> { });
+        return t;
+    });
+    private final SequencedDispatcher dispatcher = new SequencedDispatcher(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsTheTasksOfAKeyInOrder() throws Exception {
+        BlockingQueue<Integer> ran = new LinkedBlockingQueue<>();
+        SequencedDispatcher.Slot first = dispatcher.reserve("ETHBTC");
+        SequencedDispatcher.Slot second = dispatcher.reserve("ETHBTC");
+        second.execute(() -> ran.add(2));
+        first.execute(() -> ran.add(1));
+        assertEquals(1, ran.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, ran.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keepsRunningAKeyAfterATaskThrowsAnError() throws Exception {
+        BlockingQueue<String> ran = new LinkedBlockingQueue<>();
+        SequencedDispatcher.Slot failing = dispatcher.reserve("ETHBTC");
+        SequencedDispatcher.Slot next = dispatcher.reserve("ETHBTC");
+        next.execute(() -> ran.add("next"));
+        failing.execute(() -> {
+            throw new AssertionError("callback");
+        });
+        assertEquals("next", ran.poll(5, TimeUnit.SECONDS));
+
+        dispatcher.execute("ETHBTC", () -> ran.add("later"));
+        assertEquals("later", ran.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,85 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRequestContext;
+import com.binance.api.client.exception.BinanceApiDeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private static final long NONE = BinanceApiRequestContext.NO_DEADLINE;
+
+    private final SingleFlight flight = new SingleFlight();
+    private final List<CompletableFuture<String>> calls = new ArrayList<>();
+
+    private CompletableFuture<String> call() {
+        CompletableFuture<String> f = new CompletableFuture<>();
+        calls.add(f);
+        return f;
+    }
+
+    @Test
+    void sharesACallInFlight() {
+        CompletableFuture<String> first = flight.execute("key", NONE, this::call);
+        CompletableFuture<String> second = flight.execute("key", NONE, this::call);
+        assertEquals(1, calls.size());
+        assertNotSame(first, second);
+
+        calls.get(0).complete("answer");
+
+        assertEquals("answer", first.join());
+        assertEquals("answer", second.join());
+        assertEquals(0, flight.size());
+        flight.execute("key", NONE, this::call);
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void cancelsTheCallOnceEveryCallerCancelled() {
+        CompletableFuture<String> first = flight.execute("key", NONE, this::call);
+        CompletableFuture<String> second = flight.execute("key", NONE, this::call);
+
+        assertTrue(first.cancel(true));
+        assertFalse(calls.get(0).isDone());
+        assertTrue(second.cancel(true));
+
+        assertTrue(calls.get(0).isCancelled());
+        assertEquals(0, flight.size());
+        flight.execute("key", NONE, this::call);
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void makesItsOwnCallRatherThanShareOneWithAnEarlierDeadline() {
+        long soon = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        flight.execute("key", soon, this::call);
+        flight.execute("key", NONE, this::call);
+        flight.execute("key", soon + 1, this::call);
+        assertEquals(3, calls.size());
+        flight.execute("key", soon - 1, this::call);
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void failsASharerAtItsOwnEarlierDeadline() throws InterruptedException {
+        CompletableFuture<String> first = flight.execute("key", NONE, this::call);
+        CompletableFuture<String> hurried = flight.execute("key", System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50), this::call);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> hurried.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BinanceApiDeadlineExceededException);
+        assertFalse(calls.get(0).isDone());
+
+        calls.get(0).complete("answer");
+        assertEquals("answer", first.join());
+    }
+}
@@ -0,0 +1,143 @@
+package com.binance.api.client.limit;
+
+import com.binance.api.client.BinanceApiEndpoint.Lane;
+import com.binance.api.client.exception.BinanceApiOverloadException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    /**
+     * Tasks handed to it are recorded rather than run, the test releases them.
+     */
+    private final List<Runnable> started = new ArrayList<>();
+
+    private static final class Request implements AdaptiveConcurrencyLimiter.Task {
+        private Throwable rejected;
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void reject(Throwable cause) {
+            rejected = cause;
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int limit, int queueCapacity, Duration maxQueueWait,
+                                               AdaptiveConcurrencyLimiter.OverloadPolicy policy) {
+        return new AdaptiveConcurrencyLimiter(limit, 1, 100, queueCapacity, maxQueueWait, policy);
+    }
+
+    private Request submit(AdaptiveConcurrencyLimiter limiter, Lane lane) {
+        Request request = new Request();
+        limiter.submit(lane, request, started::add);
+        return request;
+    }
+
+    @Test
+    void queuesOverTheLimitAndStartsTheHighestPriorityLaneFirst() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10, Duration.ofMinutes(1), AdaptiveConcurrencyLimiter.OverloadPolicy.REJECT);
+        submit(limiter, Lane.MARKET_DATA);
+        submit(limiter, Lane.MARKET_DATA);
+        Request data = submit(limiter, Lane.MARKET_DATA);
+        Request order = submit(limiter, Lane.TRADING);
+        assertEquals(2, started.size());
+        assertEquals(2, limiter.getQueueDepth());
+
+        limiter.release(-1, false);
+        assertEquals(order, started.get(2));
+        limiter.release(-1, false);
+        assertEquals(data, started.get(3));
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void rejectsANewRequestOnceTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofMinutes(1), AdaptiveConcurrencyLimiter.OverloadPolicy.REJECT);
+        submit(limiter, Lane.MARKET_DATA);
+        Request queued = submit(limiter, Lane.MARKET_DATA);
+        Request rejected = submit(limiter, Lane.TRADING);
+        assertNull(queued.rejected);
+        assertInstanceOf(BinanceApiOverloadException.class, rejected.rejected);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void shedsALowerPriorityRequestForAnOrder() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofMinutes(1),
+                AdaptiveConcurrencyLimiter.OverloadPolicy.SHED_LOWEST_PRIORITY);
+        submit(limiter, Lane.MARKET_DATA);
+        Request data = submit(limiter, Lane.MARKET_DATA);
+        Request order = submit(limiter, Lane.TRADING);
+        assertInstanceOf(BinanceApiOverloadException.class, data.rejected);
+        assertNull(order.rejected);
+        assertEquals(1, limiter.getShedCount());
+        // a request of a lower priority than every queued one is rejected itself
+        Request late = submit(limiter, Lane.MARKET_DATA);
+        assertInstanceOf(BinanceApiOverloadException.class, late.rejected);
+    }
+
+    @Test
+    void shedsARequestWhichWaitedTooLong() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10, Duration.ofMillis(1), AdaptiveConcurrencyLimiter.OverloadPolicy.REJECT);
+        submit(limiter, Lane.MARKET_DATA);
+        Request waiting = submit(limiter, Lane.MARKET_DATA);
+        Thread.sleep(10);
+        limiter.release(-1, false);
+        assertInstanceOf(BinanceApiOverloadException.class, waiting.rejected);
+        assertEquals(1, started.size());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void growsWhileRoundTripsStayShortAndShrinksOnDrops() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100, Duration.ofMinutes(1), AdaptiveConcurrencyLimiter.OverloadPolicy.REJECT);
+        long rtt = TimeUnit.MILLISECONDS.toNanos(20);
+        for (int i = 0; i < 200; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                submit(limiter, Lane.MARKET_DATA);
+            }
+            limiter.release(rtt, false);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit " + grown);
+        assertEquals(rtt, limiter.getMinRttNanos());
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                submit(limiter, Lane.MARKET_DATA);
+            }
+            limiter.release(rtt, true);
+        }
+        assertTrue(limiter.getLimit() < grown, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenRoundTripsShowAQueueAtTheExchange() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 100, Duration.ofMinutes(1), AdaptiveConcurrencyLimiter.OverloadPolicy.REJECT);
+        for (int i = 0; i < 50; i++) {
+            submit(limiter, Lane.MARKET_DATA);
+        }
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(20), false);
+        int limit = limiter.getLimit();
+        for (int i = 0; i < 200; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                submit(limiter, Lane.MARKET_DATA);
+            }
+            // five times the latency without load, most of the limit is waiting at the exchange
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(100), false);
+        }
+        assertTrue(limiter.getLimit() < limit, "limit " + limiter.getLimit());
+    }
+}
@@ -0,0 +1,45 @@
+package com.binance.api.client.limit;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.exception.BinanceApiRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestWeightSchedulerTest {
+
+    @Test
+    void limitsOrdersApartFromWeight() {
+        RequestWeightScheduler scheduler = new RequestWeightScheduler(100, 2, 1_000, Duration.ZERO);
+        assertEquals(0, scheduler.tryAcquire(BinanceApiEndpoint.NEW_ORDER, 1));
+        assertEquals(0, scheduler.tryAcquire(BinanceApiEndpoint.NEW_ORDER, 1));
+        assertTrue(scheduler.tryAcquire(BinanceApiEndpoint.NEW_ORDER, 1) > 0);
+        assertEquals(0, scheduler.tryAcquire(BinanceApiEndpoint.PRICE, 1));
+        assertEquals(2, scheduler.getOrderCount());
+        assertEquals(3, scheduler.getUsedWeight());
+    }
+
+    @Test
+    void rejectsARequestItCanNotServeWithinTheMaxDelay() {
+        RequestWeightScheduler scheduler = new RequestWeightScheduler(10, 50, 1_000, Duration.ofMillis(100));
+        scheduler.acquire(BinanceApiEndpoint.ALL_PRICES, 10);
+        assertThrows(BinanceApiRateLimitException.class, () -> scheduler.acquire(BinanceApiEndpoint.PRICE, 1));
+        assertEquals(10, scheduler.getUsedWeight());
+    }
+
+    @Test
+    void takesTheWeightTheExchangeReportsBeyondItsOwn() {
+        RequestWeightScheduler scheduler = new RequestWeightScheduler(100, 50, 1_000, Duration.ZERO);
+        scheduler.acquire(BinanceApiEndpoint.PRICE, 1);
+        scheduler.onUsedWeight(95);
+        assertEquals(95, scheduler.getUsedWeight());
+        assertTrue(scheduler.tryAcquire(BinanceApiEndpoint.ALL_PRICES, 10) > 0);
+        // a report older than the local account takes nothing back
+        scheduler.onUsedWeight(1);
+        assertEquals(95, scheduler.getUsedWeight());
+    }
+}
@@ -0,0 +1,49 @@
+package com.binance.api.client.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlidingWindowLimiterTest {
+
+    @Test
+    void returnsPermitsOnceTheirBucketLeavesTheWindow() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(10, 1_000, 100);
+        assertEquals(0, limiter.tryAcquire(6, 0));
+        assertEquals(0, limiter.tryAcquire(3, 450));
+        // the permits taken at 0 are returned once their bucket [0, 100) is a whole window old
+        assertEquals(1_050, limiter.tryAcquire(2, 50));
+        assertEquals(1, limiter.tryAcquire(2, 1_099));
+        assertEquals(9, limiter.getUsed(1_099));
+        assertEquals(0, limiter.tryAcquire(2, 1_100));
+        assertEquals(5, limiter.getUsed(1_100));
+        assertEquals(0, limiter.getUsed(10_000));
+    }
+
+    @Test
+    void waitsForEnoughBucketsToFreeTheRequest() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(10, 1_000, 100);
+        limiter.tryAcquire(4, 0);
+        limiter.tryAcquire(4, 200);
+        limiter.tryAcquire(2, 300);
+        // 6 permits need the buckets of 0 and 200 to leave the window
+        assertEquals(1_300 - 500, limiter.waitTime(6, 500));
+        assertEquals(10, limiter.getUsed(500));
+    }
+
+    @Test
+    void countsUsageBeyondTheLimit() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(10, 1_000, 100);
+        limiter.consume(15, 0);
+        assertEquals(15, limiter.getUsed(0));
+        assertEquals(1_100 - 500, limiter.waitTime(1, 500));
+        assertEquals(Long.MAX_VALUE, limiter.waitTime(11, 500));
+    }
+
+    @Test
+    void rejectsAnInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(0, 1_000, 100));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(10, 1_000, 300));
+    }
+}
@@ -0,0 +1,121 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CandlestickAggregatorTest {
+    /**
+     * ETHBTC bars as the REST API returns them: open time, open, high, low, close, volume, close time, quote
+     * volume, trades, taker buy base volume and taker buy quote volume.
+     */
+    private static final String[][] ONE_MINUTE = {
+            {"1650000000000", "0.07473200", "0.07473700", "0.07472000", "0.07473300", "91.01110000", "1650000059999", "6.80148703", "890", "21.84270000", "1.63235958"},
+            {"1650000060000", "0.07473300", "0.07476400", "0.07472200", "0.07476100", "107.30600000", "1650000119999", "8.02080158", "569", "83.69870000", "6.25622673"},
+            {"1650000120000", "0.07476100", "0.07476200", "0.07474600", "0.07474800", "737.53670000", "1650000179999", "55.13418724", "121", "339.26690000", "25.36172748"},
+            {"1650000180000", "0.07474800", "0.07475000", "0.07472100", "0.07473800", "722.22500000", "1650000239999", "53.98126318", "896", "166.11180000", "12.41569427"},
+            {"1650000240000", "0.07473800", "0.07477300", "0.07473100", "0.07477000", "113.78720000", "1650000299999", "8.50604835", "649", "63.72080000", "4.76338468"},
+            {"1650000300000", "0.07477000", "0.07478100", "0.07476300", "0.07478000", "88.15270000", "1650000359999", "6.59161814", "186", "48.48400000", "3.62539110"},
+            {"1650000360000", "0.07478000", "0.07479300", "0.07477300", "0.07477700", "207.62250000", "1650000419999", "15.52569912", "365", "116.26860000", "8.69439151"},
+            {"1650000420000", "0.07477700", "0.07481300", "0.07477400", "0.07480800", "325.19520000", "1650000479999", "24.32216200", "149", "139.83390000", "10.45852697"},
+            {"1650000480000", "0.07480800", "0.07484000", "0.07479000", "0.07483800", "109.99410000", "1650000539999", "8.23008854", "260", "64.89650000", "4.85575082"},
+            {"1650000540000", "0.07483800", "0.07487800", "0.07482500", "0.07486100", "537.05140000", "1650000599999", "40.19802876", "649", "263.15520000", "19.69703514"},
+    };
+    private static final String[][] FIVE_MINUTES = {
+            {"1650000000000", "0.07473200", "0.07477300", "0.07472000", "0.07477000", "1771.86600000", "1650000299999", "132.44378738", "3125", "674.64090000", "50.42939274"},
+            {"1650000300000", "0.07477000", "0.07487800", "0.07476300", "0.07486100", "1268.01590000", "1650000599999", "94.86759656", "1609", "632.63820000", "47.33109554"},
+    };
+
+    private static Candlestick bar(String[] row) {
+        Candlestick bar = new Candlestick();
+        bar.setOpenTime(Long.parseLong(row[0]));
+        bar.setOpen(row[1]);
+        bar.setHigh(row[2]);
+        bar.setLow(row[3]);
+        bar.setClose(row[4]);
+        bar.setVolume(row[5]);
+        bar.setCloseTime(Long.parseLong(row[6]));
+        bar.setQuoteAssetVolume(row[7]);
+        bar.setNumberOfTrades(Long.parseLong(row[8]));
+        bar.setTakerBuyBaseAssetVolume(row[9]);
+        bar.setTakerBuyQuoteAssetVolume(row[10]);
+        return bar;
+    }
+
+    private static List<Candlestick> bars(String[][] rows) {
+        List<Candlestick> bars = new ArrayList<>();
+        for (String[] row : rows) {
+            bars.add(bar(row));
+        }
+        return bars;
+    }
+
+    private static List<List<String>> rows(List<Candlestick> bars) {
+        List<List<String>> rows = new ArrayList<>();
+        for (Candlestick c : bars) {
+            rows.add(Arrays.asList(String.valueOf(c.getOpenTime()), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(),
+                    c.getVolume(), String.valueOf(c.getCloseTime()), c.getQuoteAssetVolume(), String.valueOf(c.getNumberOfTrades()),
+                    c.getTakerBuyBaseAssetVolume(), c.getTakerBuyQuoteAssetVolume()));
+        }
+        return rows;
+    }
+
+    @Test
+    void buildsTheBarsTheRestApiReturns() {
+        for (CandlestickAggregator aggregator : Arrays.asList(
+                new CandlestickAggregator(CandlestickInterval.ONE_MINUTE, 100, CandlestickInterval.FIVE_MINUTES),
+                // ETHBTC's lot step size is 0.0001
+                new CandlestickAggregator(CandlestickInterval.ONE_MINUTE, 100, 4, 8, CandlestickInterval.FIVE_MINUTES))) {
+            aggregator.update(bars(ONE_MINUTE));
+            assertEquals(rows(bars(ONE_MINUTE)), rows(aggregator.getCandlestickBars(CandlestickInterval.ONE_MINUTE, null, null, null)));
+            assertEquals(rows(bars(FIVE_MINUTES)), rows(aggregator.getCandlestickBars(CandlestickInterval.FIVE_MINUTES, null, null, null)));
+            assertEquals(rows(bars(FIVE_MINUTES)).subList(1, 2),
+                    rows(aggregator.getCandlestickBars(CandlestickInterval.FIVE_MINUTES, 1, null, null)));
+        }
+    }
+
+    @Test
+    void holdsVolumesBeyondTheRangeOfEightDecimals() {
+        // a low priced token trades volumes a long at 8 decimals can not hold
+        CandlestickAggregator aggregator = new CandlestickAggregator(CandlestickInterval.ONE_MINUTE, 100, 0, 8,
+                CandlestickInterval.FIVE_MINUTES);
+        for (int i = 0; i < 6; i++) {
+            aggregator.update(bar(new String[]{String.valueOf(1650000000000L + i * 60_000), "0.00002400", "0.00002400",
+                    "0.00002400", "0.00002400", "400000000000.00000000", String.valueOf(1650000059999L + i * 60_000),
+                    "9600000.00000000", "1", "0.00000000", "0.00000000"}));
+        }
+        List<Candlestick> bars = aggregator.getCandlestickBars(CandlestickInterval.FIVE_MINUTES, null, null, null);
+        assertEquals("2000000000000.00000000", bars.get(0).getVolume());
+        assertEquals("48000000.00000000", bars.get(0).getQuoteAssetVolume());
+    }
+
+    @Test
+    void refusesABarOverflowingAHigherBar() {
+        CandlestickAggregator aggregator = new CandlestickAggregator(CandlestickInterval.ONE_MINUTE, 100, 0, 8,
+                CandlestickInterval.FIVE_MINUTES);
+        String[] row = {"1650000000000", "1.00000000", "1.00000000", "1.00000000", "1.00000000", "5000000000000000000",
+                "1650000059999", "1.00000000", "1", "0", "0"};
+        aggregator.update(bar(row));
+        row[0] = "1650000060000";
+        aggregator.update(bar(row));
+        row[0] = "1650000120000";
+        assertThrows(ArithmeticException.class, () -> aggregator.update(bar(row)));
+        // the bars are left as they were, the second still open
+        List<Candlestick> bars = aggregator.getCandlestickBars(CandlestickInterval.ONE_MINUTE, null, null, null);
+        assertEquals(2, bars.size());
+        assertEquals(1650000060000L, bars.get(1).getOpenTime());
+    }
+
+    @Test
+    void rejectsANonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CandlestickAggregator(CandlestickInterval.ONE_MINUTE, 0, CandlestickInterval.FIVE_MINUTES));
+    }
+}
@@ -0,0 +1,50 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandlestickIntervalsTest {
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+    @Test
+    void alignsFixedIntervalsToTheEpoch() {
+        assertEquals(60_000, CandlestickIntervals.toMillis(CandlestickInterval.ONE_MINUTE));
+        assertEquals(millis("2018-03-07T12:00:00Z"),
+                CandlestickIntervals.openTime(CandlestickInterval.FOUR_HOURLY, millis("2018-03-07T15:59:59.999Z")));
+        assertEquals(millis("2018-03-07T16:00:00Z"),
+                CandlestickIntervals.nextOpenTime(CandlestickInterval.FOUR_HOURLY, millis("2018-03-07T12:00:00Z")));
+        assertTrue(CandlestickIntervals.isFixedLength(CandlestickInterval.WEEKLY));
+    }
+
+    @Test
+    void startsWeeksOnMonday() {
+        // 2018-03-07 is a Wednesday
+        long open = CandlestickIntervals.openTime(CandlestickInterval.WEEKLY, millis("2018-03-07T10:00:00Z"));
+        assertEquals(millis("2018-03-05T00:00:00Z"), open);
+        assertEquals(open, CandlestickIntervals.openTime(CandlestickInterval.WEEKLY, open));
+        assertEquals(millis("2018-03-11T23:59:59.999Z"), CandlestickIntervals.closeTime(CandlestickInterval.WEEKLY, open));
+        // before the first Monday after the epoch
+        assertEquals(millis("1969-12-29T00:00:00Z"),
+                CandlestickIntervals.openTime(CandlestickInterval.WEEKLY, millis("1970-01-02T00:00:00Z")));
+    }
+
+    @Test
+    void followsCalendarMonths() {
+        assertFalse(CandlestickIntervals.isFixedLength(CandlestickInterval.MONTHLY));
+        long open = CandlestickIntervals.openTime(CandlestickInterval.MONTHLY, millis("2020-02-29T23:59:59Z"));
+        assertEquals(millis("2020-02-01T00:00:00Z"), open);
+        assertEquals(millis("2020-03-01T00:00:00Z"), CandlestickIntervals.nextOpenTime(CandlestickInterval.MONTHLY, open));
+        assertEquals(millis("2020-02-29T23:59:59.999Z"), CandlestickIntervals.closeTime(CandlestickInterval.MONTHLY, open));
+        assertEquals(millis("2021-01-01T00:00:00Z"),
+                CandlestickIntervals.nextOpenTime(CandlestickInterval.MONTHLY, millis("2020-12-01T00:00:00Z")));
+        assertEquals(31 * 86_400_000L, CandlestickIntervals.toMillis(CandlestickInterval.MONTHLY));
+    }
+}
@@ -0,0 +1,68 @@
+package com.binance.api.client.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FixedPointTest {
+
+    @Test
+    void parsesDecimalsAtTheScale() {
+        assertEquals(1634790, FixedPoint.parse("0.01634790", 8));
+        assertEquals(1634790, FixedPoint.parse("0.0163479", 8));
+        assertEquals(4200000000L, FixedPoint.parse("42", 8));
+        assertEquals(4200000000L, FixedPoint.parse("42.", 8));
+        assertEquals(-150, FixedPoint.parse("-1.5", 2));
+        assertEquals(150, FixedPoint.parse("+1.50000000", 2));
+        assertEquals(0, FixedPoint.parse("0.00000000", 0));
+    }
+
+    @Test
+    void parsesPartOfABuffer() {
+        char[] buffer = "[\"12.345\"]".toCharArray();
+        assertEquals(12345, FixedPoint.parse(buffer, 2, 6, 3));
+        assertEquals(12345, FixedPoint.parse("x12.345x", 1, 6, 3));
+    }
+
+    @Test
+    void rejectsDigitsBeyondTheScale() {
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("0.001", 2));
+    }
+
+    @Test
+    void rejectsWhatIsNotADecimal() {
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("", 2));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("-", 2));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1.2.3", 2));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1e5", 2));
+    }
+
+    @Test
+    void rejectsValuesTooLargeForTheScale() {
+        assertEquals(9223372036854775807L, FixedPoint.parse("92233720368.54775807", 8));
+        assertEquals(-9223372036854775807L, FixedPoint.parse("-92233720368.54775807", 8));
+        // a base volume of a low priced token, too large at 8 decimals
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("92233720368.54775808", 8));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("412345678901.00000000", 8));
+        // overflowing when the missing decimals are filled in, not while reading the digits
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("100000000000", 8));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("99999999999999999999", 0));
+        assertEquals(412345678901L, FixedPoint.parse("412345678901.00000000", 0));
+    }
+
+    @Test
+    void formatsWithExactlyTheScale() {
+        assertEquals("0.01634790", FixedPoint.toString(1634790, 8));
+        assertEquals("-1.50", FixedPoint.toString(-150, 2));
+        assertEquals("42", FixedPoint.toString(42, 0));
+        assertEquals("92233720368.54775807", FixedPoint.toString(Long.MAX_VALUE, 8));
+    }
+
+    @Test
+    void rescales() {
+        assertEquals(12, FixedPoint.rescale(1299, 2, 0));
+        assertEquals(129900, FixedPoint.rescale(1299, 2, 4));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.rescale(Long.MAX_VALUE / 10, 0, 2));
+    }
+}
@@ -0,0 +1,214 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.binance.api.client.impl.ForwardingBinanceApiAsyncExecutorRestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalOrderBookTest {
+    private static final String SYMBOL = "ETHBTC";
+
+    private final BlockingQueue<CompletableFuture<OrderBook>> snapshots = new LinkedBlockingQueue<>();
+    private final ReplayDepthDiffSource source = new ReplayDepthDiffSource();
+    private LocalOrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        ForwardingBinanceApiAsyncExecutorRestClient client = new ForwardingBinanceApiAsyncExecutorRestClient(null) {
+            @Override
+            public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
+                CompletableFuture<OrderBook> f = new CompletableFuture<>();
+                snapshots.add(f);
+                return f;
+            }
+        };
+        book = new LocalOrderBook(SYMBOL, client, source, 100, 8, 8, Duration.ofMillis(200), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        book.close();
+    }
+
+    @Test
+    void appliesBufferedEventsNewerThanTheSnapshot() throws InterruptedException {
+        book.start();
+        CompletableFuture<OrderBook> snapshot = nextSnapshot();
+        assertTrue(source.publish(event(98, 100, level("0.1", "1"), null)));
+        assertTrue(source.publish(event(101, 102, level("0.1", "0"), level("0.3", "5"))));
+        assertFalse(book.isLive());
+
+        snapshot.complete(snapshot(100, level("0.1", "2"), level("0.2", "3")));
+
+        assertTrue(book.isLive());
+        assertEquals(102, book.getLastUpdateId());
+        assertEquals(Long.MIN_VALUE, book.getBestBidPrice());
+        assertEquals(FixedPoint.parse("0.2", 8), book.getBestAskPrice());
+        assertEquals(2, book.getAskDepth());
+        long[] prices = new long[3];
+        long[] quantities = new long[3];
+        assertEquals(2, book.getAsks(prices, quantities));
+        assertArrayEquals(new long[]{FixedPoint.parse("0.2", 8), FixedPoint.parse("0.3", 8), 0}, prices);
+        assertArrayEquals(new long[]{FixedPoint.parse("3", 8), FixedPoint.parse("5", 8), 0}, quantities);
+    }
+
+    @Test
+    void readsTheBestLevelsWhole() throws InterruptedException {
+        book.start();
+        nextSnapshot().complete(snapshot(10, level("0.1", "2"), level("0.2", "3")));
+        source.publish(event(11, 11, level("0.15", "4"), null));
+
+        long[] level = new long[2];
+        assertTrue(book.getBestBid(level));
+        assertArrayEquals(new long[]{FixedPoint.parse("0.15", 8), FixedPoint.parse("4", 8)}, level);
+        assertTrue(book.getBestAsk(level));
+        assertArrayEquals(new long[]{FixedPoint.parse("0.2", 8), FixedPoint.parse("3", 8)}, level);
+
+        source.publish(event(12, 12, null, level("0.2", "0")));
+        level[0] = -1;
+        assertFalse(book.getBestAsk(level));
+        assertEquals(-1, level[0]);
+        assertEquals(0, book.getBestAskQuantity());
+    }
+
+    @Test
+    void resyncsOnAGapInTheUpdateIds() throws InterruptedException {
+        book.start();
+        nextSnapshot().complete(snapshot(10, level("0.1", "2"), null));
+        assertTrue(book.isLive());
+
+        source.publish(event(13, 14, level("0.1", "1"), null));
+
+        assertFalse(book.isLive());
+        assertEquals(1, book.getResyncCount());
+        nextSnapshot().complete(snapshot(12, level("0.1", "7"), null));
+        awaitLive();
+        assertEquals(14, book.getLastUpdateId());
+        assertEquals(FixedPoint.parse("1", 8), book.getBestBidQuantity());
+    }
+
+    @Test
+    void retriesASnapshotOlderThanTheBufferedEvents() throws InterruptedException {
+        book.start();
+        CompletableFuture<OrderBook> first = nextSnapshot();
+        source.publish(event(21, 22, level("0.1", "1"), null));
+        first.complete(snapshot(10, level("0.1", "2"), null));
+
+        assertFalse(book.isLive());
+        nextSnapshot().complete(snapshot(21, level("0.1", "3"), null));
+        awaitLive();
+        assertEquals(22, book.getLastUpdateId());
+        assertEquals(FixedPoint.parse("1", 8), book.getBestBidQuantity());
+    }
+
+    @Test
+    void resubscribesAfterABackoffWhenTheFeedFails() throws InterruptedException {
+        book.start();
+        nextSnapshot().complete(snapshot(10, level("0.1", "2"), null));
+        assertTrue(book.isLive());
+
+        long failed = System.nanoTime();
+        source.fail(SYMBOL, new IOException("disconnected"));
+
+        assertFalse(book.isLive());
+        assertFalse(source.publish(event(11, 11, level("0.1", "1"), null)), "subscribed again without a backoff");
+        CompletableFuture<OrderBook> snapshot = nextSnapshot();
+        assertTrue(System.nanoTime() - failed >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(source.publish(event(11, 12, level("0.1", "1"), null)));
+        snapshot.complete(snapshot(11, level("0.1", "2"), null));
+        awaitLive();
+        assertEquals(12, book.getLastUpdateId());
+    }
+
+    @Test
+    void ignoresASnapshotArrivingWhileTheFeedIsDown() throws InterruptedException {
+        book.start();
+        CompletableFuture<OrderBook> stale = nextSnapshot();
+        source.fail(SYMBOL, new IOException("disconnected"));
+        stale.complete(snapshot(10, level("0.1", "2"), null));
+        assertFalse(book.isLive());
+
+        nextSnapshot().complete(snapshot(20, level("0.1", "3"), null));
+        awaitLive();
+        assertEquals(FixedPoint.parse("3", 8), book.getBestBidQuantity());
+    }
+
+    @Test
+    void stopsAfterClose() throws IOException, InterruptedException {
+        book.start();
+        nextSnapshot();
+        book.close();
+        assertFalse(source.publish(event(1, 1, level("0.1", "1"), null)));
+        assertNull(snapshots.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    private CompletableFuture<OrderBook> nextSnapshot() throws InterruptedException {
+        CompletableFuture<OrderBook> f = snapshots.poll(5, TimeUnit.SECONDS);
+        assertNotNull(f, "no snapshot requested");
+        return f;
+    }
+
+    /**
+     * Snapshots fetched again are requested from a timer thread, which may not have registered its completion yet.
+     */
+    private void awaitLive() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!book.isLive() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(book.isLive());
+    }
+
+    private static OrderBookEntry level(String price, String qty) {
+        OrderBookEntry entry = new OrderBookEntry();
+        entry.setPrice(price);
+        entry.setQty(qty);
+        return entry;
+    }
+
+    private static List<OrderBookEntry> levels(OrderBookEntry entry) {
+        List<OrderBookEntry> levels = new ArrayList<>();
+        if (entry != null) {
+            levels.add(entry);
+        }
+        return levels;
+    }
+
+    private static OrderBook snapshot(long lastUpdateId, OrderBookEntry bid, OrderBookEntry ask) {
+        OrderBook book = new OrderBook();
+        book.setLastUpdateId(lastUpdateId);
+        book.setBids(levels(bid));
+        book.setAsks(levels(ask));
+        return book;
+    }
+
+    private static DepthEvent event(long firstUpdateId, long finalUpdateId, OrderBookEntry bid, OrderBookEntry ask) {
+        DepthEvent event = new DepthEvent();
+        event.setSymbol(SYMBOL);
+        event.setFirstUpdateId(firstUpdateId);
+        event.setFinalUpdateId(finalUpdateId);
+        event.setBids(levels(bid));
+        event.setAsks(levels(ask));
+        return event;
+    }
+}
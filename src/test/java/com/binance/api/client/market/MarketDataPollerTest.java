@@ -0,0 +1,72 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.BinanceApiAsyncExecutorRestClient;
+import com.binance.api.client.StubClient;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarketDataPollerTest {
+
+    private static BinanceApiAsyncExecutorRestClient client(AtomicBoolean failing) {
+        return StubClient.of(BinanceApiAsyncExecutorRestClient.class).answer("getAllPrices", args -> failing.get()
+                ? CompletableFuture.failedFuture(new BinanceApiException("unavailable"))
+                : CompletableFuture.completedFuture(Collections.<TickerPrice>emptyList())).create();
+    }
+
+    private static Flow.Subscriber<List<TickerPrice>> subscriber(BlockingQueue<List<TickerPrice>> received) {
+        return new Flow.Subscriber<List<TickerPrice>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<TickerPrice> item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+    }
+
+    @Test
+    void backsOffAfterFailedPolls() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        BlockingQueue<List<TickerPrice>> received = new LinkedBlockingQueue<>();
+        try (MarketDataPoller poller = new MarketDataPoller(client(failing), Runnable::run,
+                Duration.ofMillis(100), Duration.ofMillis(400))) {
+            poller.prices(Duration.ofMillis(5)).subscribe(subscriber(received));
+            Thread.sleep(500);
+            // polls at 0, 100 and 300ms rather than one every 5ms
+            assertTrue(poller.getFailureCount() >= 2, "failures " + poller.getFailureCount());
+            assertTrue(poller.getPollCount() <= 4, "polls " + poller.getPollCount());
+
+            failing.set(false);
+            assertNotNull(received.poll(5, TimeUnit.SECONDS));
+            long polls = poller.getPollCount();
+            Thread.sleep(200);
+            // a successful poll ends the backoff
+            assertTrue(poller.getPollCount() - polls > 5, "polls " + (poller.getPollCount() - polls));
+        }
+    }
+}
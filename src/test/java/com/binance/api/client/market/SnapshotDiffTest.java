@@ -0,0 +1,167 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotDiffTest {
+    private final SnapshotDiff<TickerPrice> diff = SnapshotDiff.prices();
+    private final ChangeSet<TickerPrice> changes = new ChangeSet<>();
+
+    private static TickerPrice price(String symbol, String price) {
+        TickerPrice row = new TickerPrice();
+        row.setSymbol(symbol);
+        row.setPrice(price);
+        return row;
+    }
+
+    private static BookTicker bookTicker(String symbol, String bidPrice, String bidQty, String askPrice, String askQty) {
+        BookTicker row = new BookTicker();
+        row.setSymbol(symbol);
+        row.setBidPrice(bidPrice);
+        row.setBidQty(bidQty);
+        row.setAskPrice(askPrice);
+        row.setAskQty(askQty);
+        return row;
+    }
+
+    @Test
+    void everySymbolOfTheFirstSnapshotAppears() {
+        TickerPrice eth = price("ETHBTC", "0.032");
+        TickerPrice ltc = price("LTCBTC", "0.017");
+        diff.diff(Arrays.asList(eth, ltc), changes);
+
+        assertEquals(2, changes.size());
+        assertEquals("ETHBTC", changes.getSymbol(0));
+        assertEquals(0, changes.getSymbolId(0));
+        assertNull(changes.getOld(0));
+        assertSame(eth, changes.getNew(0));
+        assertEquals(-1L, changes.getChangedFields(0));
+        assertEquals("LTCBTC", changes.getSymbol(1));
+        assertSame(ltc, diff.getLast("LTCBTC"));
+    }
+
+    @Test
+    void findsOnlyTheSymbolsWhichChanged() {
+        diff.diff(Arrays.asList(price("ETHBTC", "0.032"), price("LTCBTC", "0.017")), changes);
+        TickerPrice old = diff.getLast("LTCBTC");
+        TickerPrice ltc = price("LTCBTC", "0.018");
+        diff.diff(Arrays.asList(price("ETHBTC", "0.032"), ltc), changes);
+
+        assertEquals(1, changes.size());
+        assertEquals("LTCBTC", changes.getSymbol(0));
+        assertSame(old, changes.getOld(0));
+        assertSame(ltc, changes.getNew(0));
+        assertTrue(changes.isChanged(0, SnapshotDiff.PRICE));
+
+        diff.diff(Arrays.asList(price("ETHBTC", "0.032"), price("LTCBTC", "0.018")), changes);
+        assertTrue(changes.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> changes.getNew(0));
+    }
+
+    @Test
+    void masksTheFieldsWhichChanged() {
+        SnapshotDiff<BookTicker> books = SnapshotDiff.bookTickers();
+        ChangeSet<BookTicker> bookChanges = new ChangeSet<>();
+        books.diff(Arrays.asList(bookTicker("ETHBTC", "0.0321", "1.5", "0.0322", "2.0")), bookChanges);
+        books.diff(Arrays.asList(bookTicker("ETHBTC", "0.0321", "1.2", "0.0323", "2.0")), bookChanges);
+
+        assertEquals(1, bookChanges.size());
+        assertEquals(1L << SnapshotDiff.BID_QTY | 1L << SnapshotDiff.ASK_PRICE, bookChanges.getChangedFields(0));
+        assertFalse(bookChanges.isChanged(0, SnapshotDiff.BID_PRICE));
+        assertTrue(bookChanges.isChanged(0, SnapshotDiff.ASK_PRICE));
+        assertEquals("askPrice", books.getField(SnapshotDiff.ASK_PRICE).getName());
+        assertEquals(4, books.getFieldCount());
+    }
+
+    @Test
+    void skipsRowsWhichAreTheSameObject() {
+        AtomicInteger compared = new AtomicInteger();
+        SnapshotDiff<TickerPrice> counting = new SnapshotDiff<>(TickerPrice::getSymbol,
+                new SnapshotDiff.Field<TickerPrice>("price") {
+                    @Override
+                    public boolean same(TickerPrice a, TickerPrice b) {
+                        compared.incrementAndGet();
+                        return a.getPrice().equals(b.getPrice());
+                    }
+                });
+        List<TickerPrice> snapshot = Arrays.asList(price("ETHBTC", "0.032"), price("LTCBTC", "0.017"));
+        counting.diff(snapshot, changes);
+        counting.diff(snapshot, changes);
+
+        assertTrue(changes.isEmpty());
+        assertEquals(0, compared.get());
+    }
+
+    @Test
+    void findsTheSymbolsWhichDisappeared() {
+        TickerPrice eth = price("ETHBTC", "0.032");
+        diff.diff(Arrays.asList(eth, price("LTCBTC", "0.017"), price("BNBBTC", "0.001")), changes);
+        // as many rows as before, so only the scan finds ETHBTC gone
+        TickerPrice xrp = price("XRPBTC", "0.0001");
+        diff.diff(Arrays.asList(price("LTCBTC", "0.017"), price("BNBBTC", "0.001"), xrp), changes);
+
+        assertEquals(2, changes.size());
+        assertEquals("XRPBTC", changes.getSymbol(0));
+        assertSame(xrp, changes.getNew(0));
+        assertEquals("ETHBTC", changes.getSymbol(1));
+        assertSame(eth, changes.getOld(1));
+        assertNull(changes.getNew(1));
+        assertEquals(-1L, changes.getChangedFields(1));
+        assertNull(diff.getLast("ETHBTC"));
+
+        // a symbol which comes back appears again, keeping its id
+        diff.diff(Arrays.asList(price("LTCBTC", "0.017"), price("BNBBTC", "0.001"), xrp, price("ETHBTC", "0.033")), changes);
+        assertEquals(1, changes.size());
+        assertEquals(0, changes.getSymbolId(0));
+        assertNull(changes.getOld(0));
+    }
+
+    @Test
+    void growsPastTheInitialSymbols() {
+        List<TickerPrice> snapshot = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            snapshot.add(price("S" + i, "1"));
+        }
+        diff.diff(snapshot, changes);
+        assertEquals(200, changes.size());
+        assertEquals(200, diff.getSymbols().size());
+
+        List<TickerPrice> next = new ArrayList<>(snapshot.subList(0, 150));
+        next.set(100, price("S100", "2"));
+        diff.diff(next, changes);
+
+        Set<String> changed = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            changed.add(changes.getSymbol(i));
+        }
+        assertEquals(51, changed.size());
+        assertTrue(changed.contains("S100"));
+        assertTrue(changed.contains("S199"));
+        assertFalse(changed.contains("S149"));
+        assertEquals("2", diff.getLast("S100").getPrice());
+        assertNull(diff.getLast("S150"));
+    }
+
+    @Test
+    void rejectsMoreFieldsThanFitInAMask() {
+        @SuppressWarnings("unchecked")
+        SnapshotDiff.Field<TickerPrice>[] fields = new SnapshotDiff.Field[65];
+        Arrays.fill(fields, SnapshotDiff.Field.text("price", TickerPrice::getPrice));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotDiff<>(TickerPrice::getSymbol, fields));
+    }
+}
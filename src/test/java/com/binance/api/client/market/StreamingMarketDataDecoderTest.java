@@ -0,0 +1,183 @@
+package com.binance.api.client.market;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingMarketDataDecoderTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String EXCHANGE_INFO = "{\"timezone\":\"UTC\",\"serverTime\":1520000000000,"
+            + "\"rateLimits\":[{\"rateLimitType\":\"REQUESTS\",\"interval\":\"MINUTE\",\"limit\":1200}],"
+            + "\"symbols\":["
+            + "{\"symbol\":\"XXXBTC\",\"filters\":[{\"filterType\":\"PRICE_FILTER\",\"tickSize\":\"0.1\"}]},"
+            + "{\"symbol\":\"ETHBTC\",\"status\":\"TRADING\",\"orderTypes\":[\"LIMIT\",\"MARKET\"],\"filters\":["
+            + "{\"tickSize\":\"0.00000100\",\"minPrice\":\"0.00000100\",\"filterType\":\"PRICE_FILTER\"},"
+            + "{\"filterType\":\"MIN_NOTIONAL\",\"minNotional\":\"0.00100000\"},"
+            + "{\"filterType\":\"LOT_SIZE\",\"minQty\":\"0.00100000\",\"stepSize\":\"0.00100000\"}]},"
+            + "{\"filters\":[{\"filterType\":\"LOT_SIZE\",\"stepSize\":\"0.00001000\"},"
+            + "{\"filterType\":\"PRICE_FILTER\",\"tickSize\":\"0.01000000\"}],\"symbol\":\"LTCUSDT\"},"
+            + "{\"symbol\":\"BNBBTC\",\"filters\":[]}]}";
+
+    private final StreamingMarketDataDecoder decoder = new StreamingMarketDataDecoder(
+            SymbolLookup.of(Arrays.asList("ETHBTC", "LTCUSDT", "BNBBTC")), scales());
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SymbolScales scales() {
+        try {
+            return SymbolScales.from(MAPPER.readValue(EXCHANGE_INFO, ExchangeInfo.class));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void decodesTheScalesOfTheWantedSymbolsAsTheBoundExchangeInfo() throws IOException {
+        SymbolScales bound = scales();
+        SymbolScales decoded = decoder.decodeScales(json(EXCHANGE_INFO));
+
+        for (String symbol : Arrays.asList("ETHBTC", "LTCUSDT", "BNBBTC")) {
+            assertEquals(bound.getPriceScale(symbol), decoded.getPriceScale(symbol), symbol);
+            assertEquals(bound.getQuantityScale(symbol), decoded.getQuantityScale(symbol), symbol);
+        }
+        assertEquals(6, decoded.getPriceScale("ETHBTC"));
+        assertEquals(3, decoded.getQuantityScale("ETHBTC"));
+        assertEquals(2, decoded.getPriceScale("LTCUSDT"));
+        assertEquals(5, decoded.getQuantityScale("LTCUSDT"));
+        assertEquals(SymbolScales.DEFAULT_SCALE, decoded.getPriceScale("BNBBTC"));
+        // the unwanted symbol's filters were skipped
+        assertEquals(SymbolScales.DEFAULT_SCALE, decoded.getPriceScale("XXXBTC"));
+    }
+
+    @Test
+    void decodesPricesAsTheBoundTickerPrices() throws IOException {
+        String prices = "[{\"symbol\":\"XXXBTC\",\"price\":\"1.0\"},"
+                + "{\"symbol\":\"ETHBTC\",\"price\":\"0.03212300\"},"
+                + "{\"price\":\"70.12000000\",\"symbol\":\"LTCUSDT\"}]";
+        FixedPointPrices bound = new FixedPointPrices().decode(
+                MAPPER.readValue(prices, new TypeReference<List<TickerPrice>>() { }), scales());
+        FixedPointPrices decoded = decoder.decodePrices(json(prices), new FixedPointPrices());
+
+        assertEquals(2, decoded.size());
+        for (String symbol : Arrays.asList("ETHBTC", "LTCUSDT")) {
+            int b = bound.indexOf(symbol);
+            int d = decoded.indexOf(symbol);
+            assertEquals(bound.getScale(b), decoded.getScale(d), symbol);
+            assertEquals(bound.getPrice(b), decoded.getPrice(d), symbol);
+        }
+        // read before its symbol at the default scale, then rescaled
+        assertEquals(7012, decoded.getPrice(decoded.indexOf("LTCUSDT")));
+    }
+
+    @Test
+    void decodesBookTickersAsTheBoundBookTickers() throws IOException {
+        String tickers = "[{\"symbol\":\"ETHBTC\",\"bidPrice\":\"0.03212300\",\"bidQty\":\"1.50000000\","
+                + "\"askPrice\":\"0.03212400\",\"askQty\":\"0.00200000\"},"
+                + "{\"symbol\":\"XXXBTC\",\"bidPrice\":\"1.0\",\"bidQty\":\"1.0\",\"askPrice\":\"1.1\",\"askQty\":\"1.0\"},"
+                + "{\"bidQty\":\"12.34500000\",\"askPrice\":\"70.13000000\",\"symbol\":\"LTCUSDT\","
+                + "\"bidPrice\":\"70.12000000\",\"askQty\":\"0.00001000\"}]";
+        FixedPointBookTickers bound = new FixedPointBookTickers().decode(
+                MAPPER.readValue(tickers, new TypeReference<List<BookTicker>>() { }), scales());
+        FixedPointBookTickers decoded = decoder.decodeBookTickers(json(tickers), new FixedPointBookTickers());
+
+        assertEquals(2, decoded.size());
+        for (String symbol : Arrays.asList("ETHBTC", "LTCUSDT")) {
+            int b = bound.indexOf(symbol);
+            int d = decoded.indexOf(symbol);
+            assertEquals(bound.getPriceScale(b), decoded.getPriceScale(d), symbol);
+            assertEquals(bound.getQuantityScale(b), decoded.getQuantityScale(d), symbol);
+            assertEquals(bound.getBidPrice(b), decoded.getBidPrice(d), symbol);
+            assertEquals(bound.getBidQuantity(b), decoded.getBidQuantity(d), symbol);
+            assertEquals(bound.getAskPrice(b), decoded.getAskPrice(d), symbol);
+            assertEquals(bound.getAskQuantity(b), decoded.getAskQuantity(d), symbol);
+        }
+        assertEquals(1234500, decoded.getBidQuantity(decoded.indexOf("LTCUSDT")));
+    }
+
+    @Test
+    void decodesStatisticsAsTheBoundTickerStatistics() throws IOException {
+        String statistics = "[{\"volume\":\"1234.56700000\",\"lastQty\":\"0.50000000\",\"symbol\":\"LTCUSDT\","
+                + "\"priceChange\":\"-1.25000000\",\"priceChangePercent\":\"-1.750\",\"weightedAvgPrice\":\"70.5\","
+                + "\"prevClosePrice\":\"71.37000000\",\"lastPrice\":\"70.12000000\",\"bidPrice\":\"70.12000000\","
+                + "\"bidQty\":\"3.00000000\",\"askPrice\":\"70.13000000\",\"askQty\":\"0.00001000\","
+                + "\"openPrice\":\"71.37000000\",\"highPrice\":\"72.00000000\",\"lowPrice\":\"69.50000000\","
+                + "\"quoteVolume\":\"86543.21000000\",\"openTime\":1520000000000,\"closeTime\":1520086399999,"
+                + "\"firstId\":100,\"lastId\":199,\"count\":100},"
+                + "{\"symbol\":\"XXXBTC\",\"highPrice\":\"9.0\",\"nested\":{\"a\":[1,2]},\"volume\":\"1.0\"},"
+                + "{\"symbol\":\"ETHBTC\",\"priceChange\":\"0.00010000\",\"priceChangePercent\":\"0.312\","
+                + "\"weightedAvgPrice\":\"0.03200000\",\"prevClosePrice\":\"0.03202300\",\"lastPrice\":\"0.03212300\","
+                + "\"bidPrice\":\"0.03212300\",\"askPrice\":\"0.03212400\",\"openPrice\":\"0.03202300\","
+                + "\"lowPrice\":\"0.03100000\",\"volume\":\"4321.00000000\",\"openTime\":1520000000000,"
+                + "\"closeTime\":1520086399999,\"firstId\":500,\"lastId\":899,\"count\":400}]";
+        List<TickerStatistics> bound = MAPPER.readValue(statistics, new TypeReference<List<TickerStatistics>>() { });
+        Map<String, long[]> decoded = new HashMap<>();
+        Map<String, Integer> quantityScales = new HashMap<>();
+        int rows = decoder.decodeStatistics24Hr(json(statistics), row -> {
+            decoded.put(row.getSymbol(), row.values.clone());
+            quantityScales.put(row.getSymbol(), row.getQuantityScale());
+        });
+
+        assertEquals(2, rows);
+        assertEquals(2, decoded.size());
+        for (TickerStatistics b : bound) {
+            long[] d = decoded.get(b.getSymbol());
+            if (d == null) {
+                continue;
+            }
+            int qs = quantityScales.get(b.getSymbol());
+            assertEquals(scales().getQuantityScale(b.getSymbol()), qs);
+            assertEquals(price(b.getPriceChange()), d[FixedPointTickerStatistics.PRICE_CHANGE]);
+            assertEquals(price(b.getPriceChangePercent()), d[FixedPointTickerStatistics.PRICE_CHANGE_PERCENT]);
+            assertEquals(price(b.getWeightedAvgPrice()), d[FixedPointTickerStatistics.WEIGHTED_AVG_PRICE]);
+            assertEquals(price(b.getPrevClosePrice()), d[FixedPointTickerStatistics.PREV_CLOSE_PRICE]);
+            assertEquals(price(b.getLastPrice()), d[FixedPointTickerStatistics.LAST_PRICE]);
+            assertEquals(price(b.getBidPrice()), d[FixedPointTickerStatistics.BID_PRICE]);
+            assertEquals(price(b.getAskPrice()), d[FixedPointTickerStatistics.ASK_PRICE]);
+            assertEquals(price(b.getOpenPrice()), d[FixedPointTickerStatistics.OPEN_PRICE]);
+            assertEquals(price(b.getHighPrice()), d[FixedPointTickerStatistics.HIGH_PRICE]);
+            assertEquals(price(b.getLowPrice()), d[FixedPointTickerStatistics.LOW_PRICE]);
+            assertEquals(FixedPoint.parse(b.getVolume(), qs), d[FixedPointTickerStatistics.VOLUME]);
+            assertEquals(b.getOpenTime(), d[FixedPointTickerStatistics.OPEN_TIME]);
+            assertEquals(b.getCloseTime(), d[FixedPointTickerStatistics.CLOSE_TIME]);
+            assertEquals(b.getFirstId(), d[FixedPointTickerStatistics.FIRST_ID]);
+            assertEquals(b.getLastId(), d[FixedPointTickerStatistics.LAST_ID]);
+            assertEquals(b.getCount(), d[FixedPointTickerStatistics.COUNT]);
+        }
+
+        long[] ltc = decoded.get("LTCUSDT");
+        // the quantities read before the symbol were rescaled to its quantity scale
+        assertEquals(123456700, ltc[FixedPointTickerStatistics.VOLUME]);
+        assertEquals(50000, ltc[FixedPointTickerStatistics.LAST_QTY]);
+        assertEquals(300000, ltc[FixedPointTickerStatistics.BID_QTY]);
+        assertEquals(1, ltc[FixedPointTickerStatistics.ASK_QTY]);
+        assertEquals(8654321000000L, ltc[FixedPointTickerStatistics.QUOTE_VOLUME]);
+        // the fields missing from a row are zero rather than those of the row before it
+        long[] eth = decoded.get("ETHBTC");
+        assertEquals(0, eth[FixedPointTickerStatistics.HIGH_PRICE]);
+        assertEquals(0, eth[FixedPointTickerStatistics.LAST_QTY]);
+        assertEquals(0, eth[FixedPointTickerStatistics.BID_QTY]);
+        assertEquals(0, eth[FixedPointTickerStatistics.QUOTE_VOLUME]);
+    }
+
+    private static long price(String value) {
+        return value == null ? 0 : FixedPoint.parse(value, FixedPointTickerStatistics.PRICE_SCALE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.binance.api.client.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SymbolIndexTest {
+
+    @Test
+    void assignsDenseIdsInTheOrderSymbolsAreSeen() {
+        SymbolIndex index = new SymbolIndex();
+        assertEquals(0, index.intern("ETHBTC"));
+        assertEquals(1, index.intern("LTCBTC"));
+        assertEquals(0, index.intern("ETHBTC"));
+        assertEquals(2, index.size());
+        assertEquals("LTCBTC", index.getSymbol(1));
+        assertEquals(-1, index.indexOf("BNBBTC"));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getSymbol(2));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        SymbolIndex index = new SymbolIndex();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, index.intern("S" + i));
+        }
+        assertEquals(200, index.size());
+        assertEquals("S64", index.getSymbol(64));
+        assertEquals(199, index.indexOf("S199"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.Closeable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinanceApiMetricsJmxTest {
+
+    @Test
+    void convertsAHistogramToMicroseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(3_000);
+        PhaseStatistics statistics = new PhaseStatistics(histogram);
+
+        assertEquals(2, statistics.getCount());
+        assertEquals(2.0, statistics.getMean(), 1e-9);
+        assertEquals(3.0, statistics.getMax(), 1e-9);
+        assertEquals(histogram.getValueAtPercentile(50) / 1000.0, statistics.getP50(), 1e-9);
+        assertEquals(3.0, statistics.getP999(), 1e-9);
+    }
+
+    @Test
+    void exposesTheMetricsUntilClosed() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        HistogramBinanceApiMetrics metrics = new HistogramBinanceApiMetrics();
+        Closeable registration = BinanceApiMetricsJmx.register(metrics, "test", server);
+        ObjectName client = new ObjectName(BinanceApiMetricsJmx.DOMAIN + ":type=BinanceApiMetrics,name=\"test\"");
+        ObjectName ping = new ObjectName(BinanceApiMetricsJmx.DOMAIN + ":type=BinanceApiMetrics,name=\"test\",endpoint=PING");
+
+        metrics.onQueued(BinanceApiEndpoint.PING);
+        metrics.onQueued(BinanceApiEndpoint.PING);
+        metrics.onStarted(BinanceApiEndpoint.PING, 4_000);
+        assertEquals(1L, server.getAttribute(client, "QueueDepth"));
+        assertEquals(2L, server.getAttribute(client, "InFlight"));
+        assertEquals(2L, server.getAttribute(ping, "RequestCount"));
+        CompositeData queueWait = (CompositeData) server.getAttribute(ping, "QueueWait");
+        assertEquals(1L, queueWait.get("count"));
+        assertEquals(4.0, (Double) queueWait.get("max"), 1e-9);
+
+        server.invoke(client, "reset", new Object[0], new String[0]);
+        assertEquals(0L, ((CompositeData) server.getAttribute(ping, "QueueWait")).get("count"));
+        assertEquals(1 + BinanceApiEndpoint.values().length,
+                server.queryNames(new ObjectName(BinanceApiMetricsJmx.DOMAIN + ":*"), null).size());
+
+        registration.close();
+        assertFalse(server.isRegistered(client));
+        assertTrue(server.queryNames(new ObjectName(BinanceApiMetricsJmx.DOMAIN + ":*"), null).isEmpty());
+    }
+}
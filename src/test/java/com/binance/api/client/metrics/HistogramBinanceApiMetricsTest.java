@@ -0,0 +1,53 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiEndpoint;
+import com.binance.api.client.metrics.BinanceApiMetrics.Phase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HistogramBinanceApiMetricsTest {
+
+    @Test
+    void countsQueuedAndInFlightRequests() {
+        HistogramBinanceApiMetrics metrics = new HistogramBinanceApiMetrics();
+        metrics.onQueued(BinanceApiEndpoint.PING);
+        metrics.onQueued(BinanceApiEndpoint.PING);
+        metrics.onQueued(BinanceApiEndpoint.SERVER_TIME);
+        assertEquals(3, metrics.getQueueDepth());
+        assertEquals(3, metrics.getInFlight());
+
+        metrics.onStarted(BinanceApiEndpoint.PING, 2_000);
+        assertEquals(2, metrics.getQueueDepth());
+        assertEquals(3, metrics.getInFlight());
+
+        metrics.onCompleted(BinanceApiEndpoint.PING, 5_000, new RuntimeException("timeout"));
+        metrics.onCallback(BinanceApiEndpoint.PING, 300);
+        assertEquals(2, metrics.getQueueDepth());
+        assertEquals(2, metrics.getInFlight());
+
+        assertEquals(2, metrics.getRequestCount(BinanceApiEndpoint.PING));
+        assertEquals(1, metrics.getRequestCount(BinanceApiEndpoint.SERVER_TIME));
+        assertEquals(1, metrics.getFailureCount(BinanceApiEndpoint.PING));
+        assertEquals(0, metrics.getFailureCount(BinanceApiEndpoint.SERVER_TIME));
+    }
+
+    @Test
+    void recordsEachPhaseInItsOwnHistogram() {
+        HistogramBinanceApiMetrics metrics = new HistogramBinanceApiMetrics();
+        metrics.onQueued(BinanceApiEndpoint.PING);
+        metrics.onStarted(BinanceApiEndpoint.PING, 2_000);
+        metrics.onCompleted(BinanceApiEndpoint.PING, 5_000, null);
+        metrics.onCallback(BinanceApiEndpoint.PING, 300);
+
+        assertEquals(2_000, metrics.getHistogram(BinanceApiEndpoint.PING, Phase.QUEUE_WAIT).getMax());
+        assertEquals(5_000, metrics.getHistogram(BinanceApiEndpoint.PING, Phase.CALL).getMax());
+        assertEquals(300, metrics.getHistogram(BinanceApiEndpoint.PING, Phase.RESPONSE_WAIT).getMax());
+        assertEquals(0, metrics.getHistogram(BinanceApiEndpoint.SERVER_TIME, Phase.CALL).getCount());
+        assertEquals(0, metrics.getFailureCount(BinanceApiEndpoint.PING));
+
+        metrics.reset();
+        assertEquals(0, metrics.getHistogram(BinanceApiEndpoint.PING, Phase.CALL).getCount());
+        assertEquals(1, metrics.getRequestCount(BinanceApiEndpoint.PING));
+    }
+}
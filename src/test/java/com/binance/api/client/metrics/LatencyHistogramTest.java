@@ -0,0 +1,80 @@
+package com.binance.api.client.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void splitsEachPowerOfTwoInSixteen() {
+        assertEquals(672, LatencyHistogram.BUCKETS);
+        for (int v = 0; v < 32; v++) {
+            // exact up to twice the sub-buckets
+            assertEquals(v, LatencyHistogram.index(v));
+            assertEquals(v, LatencyHistogram.upperBound(v));
+        }
+        assertEquals(32, LatencyHistogram.index(32));
+        assertEquals(32, LatencyHistogram.index(33));
+        assertEquals(33, LatencyHistogram.index(34));
+        assertEquals(33, LatencyHistogram.upperBound(32));
+        assertEquals(48, LatencyHistogram.index(64));
+        assertEquals(67, LatencyHistogram.upperBound(48));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(LatencyHistogram.MAX_VALUE));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        assertEquals((1L << 45) - 1, LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    void keepsEveryValueWithinItsBucket() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long v = random.nextLong() >>> (19 + random.nextInt(45));
+            int index = LatencyHistogram.index(v);
+            long upper = LatencyHistogram.upperBound(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.upperBound(index - 1) + 1;
+            assertTrue(lower <= v && v <= upper, v + " in bucket " + index);
+            assertTrue(upper - lower <= v / 16, v + " in bucket " + index);
+        }
+    }
+
+    @Test
+    void reportsPercentilesWithinTheBucketWidth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1000; v >= 1; v--) {
+            histogram.record(v);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1000, histogram.getMax());
+        for (double percentile : new double[]{0, 10, 50, 90, 99, 99.9}) {
+            long exact = Math.max(1, (long) Math.ceil(percentile * 10));
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(exact <= reported && reported <= exact + exact / 16, percentile + ": " + reported);
+        }
+        assertEquals(511, histogram.getValueAtPercentile(50));
+        // the last bucket is capped at the largest value recorded
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void countsNegativeDurationsAsZeroAndResets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        // values beyond the last bucket are reported as its bound
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,91 @@
+package com.binance.api.client.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrafficRecorderTest {
+    @TempDir
+    Path dir;
+
+    private static RecordedCall call(long start, String method, String arguments, String body) {
+        return new RecordedCall(start, 1_000, method, arguments, RecordedCall.Outcome.RESPONSE, 0,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write(Path file, RecordedCall... calls) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            RecordedCall.writeHeader(out);
+            for (RecordedCall call : calls) {
+                call.write(out);
+            }
+        }
+    }
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Path file = dir.resolve("calls.log");
+        write(file, call(1, "getPrice", "[\"ETHBTC\"]", "{\"symbol\":\"ETHBTC\",\"price\":\"0.07473200\"}"),
+                new RecordedCall(2, 3_000, "getPrice", "[\"XXXBTC\"]", RecordedCall.Outcome.API_ERROR, -1121,
+                        "Invalid symbol.".getBytes(StandardCharsets.UTF_8)));
+        List<RecordedCall> calls = RecordedCall.readAll(file);
+        assertEquals(2, calls.size());
+        RecordedCall error = calls.get(1);
+        assertEquals(2, error.getStart());
+        assertEquals(3_000, error.getLatency());
+        assertEquals("getPrice", error.getMethod());
+        assertEquals("[\"XXXBTC\"]", error.getArguments());
+        assertEquals(RecordedCall.Outcome.API_ERROR, error.getOutcome());
+        assertEquals(-1121, error.getErrorCode());
+        assertArrayEquals("Invalid symbol.".getBytes(StandardCharsets.UTF_8), error.getBody());
+        assertEquals(Files.size(file), RecordedCall.completeLength(file));
+    }
+
+    @Test
+    void cutsOffATornRecordBeforeAppending() throws IOException {
+        Path file = dir.resolve("calls.log");
+        write(file, call(1, "getServerTime", "[]", "{\"serverTime\":1650000000000}"));
+        long complete = Files.size(file);
+        // a crash in the middle of writing the next record
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            out.write(new byte[]{0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0});
+        }
+        assertEquals(complete, RecordedCall.completeLength(file));
+
+        try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+            assertEquals(complete, Files.size(file));
+            recorder.record(recorder.now(), "getAllPrices", new Object[0], Arrays.asList("ETHBTC"), null);
+        }
+        List<RecordedCall> calls = RecordedCall.readAll(file);
+        assertEquals(2, calls.size());
+        assertEquals("getServerTime", calls.get(0).getMethod());
+        assertEquals("getAllPrices", calls.get(1).getMethod());
+        assertEquals("[\"ETHBTC\"]", new String(calls.get(1).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsALengthBeyondTheBound() throws IOException {
+        Path file = dir.resolve("calls.log");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            RecordedCall.writeHeader(out);
+            out.writeLong(1);
+            out.writeLong(1_000);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+        assertThrows(IOException.class, () -> RecordedCall.readAll(file));
+        assertThrows(IOException.class, () -> new TrafficRecorder(file));
+    }
+}
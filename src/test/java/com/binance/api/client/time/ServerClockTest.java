@@ -0,0 +1,59 @@
+package com.binance.api.client.time;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.StubClient;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerClockTest {
+    private static final long OFFSET_MILLIS = 5_000;
+
+    /**
+     * A server whose clock runs 5 seconds ahead, answering after a 10ms round trip.
+     */
+    private static BinanceApiRestClient server(AtomicBoolean failing) {
+        return StubClient.of(BinanceApiRestClient.class).answer("getServerTime", args -> {
+            if (failing.get()) {
+                throw new BinanceApiException("unavailable");
+            }
+            Thread.sleep(5);
+            long now = System.currentTimeMillis() + OFFSET_MILLIS;
+            Thread.sleep(5);
+            return now;
+        }).create();
+    }
+
+    @Test
+    void estimatesTheOffsetFromABurstOfSamples() throws Exception {
+        try (ServerClock clock = new ServerClock(server(new AtomicBoolean()), Duration.ofHours(1), ServerClock.DEFAULT_WINDOW)) {
+            assertFalse(clock.isSynced());
+            clock.start().get(10, TimeUnit.SECONDS);
+            assertTrue(clock.isSynced());
+            assertEquals(ServerClock.BURST, clock.getSampleCount());
+            assertEquals(OFFSET_MILLIS, clock.getOffsetMillis(), 5);
+            assertEquals(OFFSET_MILLIS, clock.currentTimeMillis() - System.currentTimeMillis(), 10);
+            assertTrue(clock.getMinRoundTripMillis() >= 10);
+        }
+    }
+
+    @Test
+    void countsFailedSamples() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        try (ServerClock clock = new ServerClock(server(failing), Duration.ofHours(1), ServerClock.DEFAULT_WINDOW)) {
+            clock.sample().get(10, TimeUnit.SECONDS);
+            assertFalse(clock.isSynced());
+            assertEquals(1, clock.getFailureCount());
+            failing.set(false);
+            clock.sample().get(10, TimeUnit.SECONDS);
+            assertTrue(clock.isSynced());
+        }
+    }
+}